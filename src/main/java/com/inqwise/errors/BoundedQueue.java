@@ -0,0 +1,92 @@
+package com.inqwise.errors;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free bounded array queue after Dmitry Vyukov's design: each cell carries a sequence number
+ * telling producers and consumers whose turn it is, so {@link #offer(Object)} and {@link #poll()}
+ * each cost one compare-and-set on their cursor. Any thread may poll, which lets producers evict
+ * the oldest element when the queue is full.
+ *
+ * @param <E> element type
+ */
+final class BoundedQueue<E> {
+	private final int mask;
+	private final AtomicLongArray sequences;
+	private final AtomicReferenceArray<E> elements;
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicLong head = new AtomicLong();
+
+	/**
+	 * @param size power of two of at least {@code 2}
+	 */
+	BoundedQueue(int size) {
+		this.mask = size - 1;
+		this.sequences = new AtomicLongArray(size);
+		this.elements = new AtomicReferenceArray<>(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * Adds an element unless the queue is full.
+	 *
+	 * @param element non-null element
+	 * @return {@code false} when the queue is full
+	 */
+	boolean offer(E element) {
+		for (;;) {
+			long position = tail.get();
+			int cell = (int) position & mask;
+			long difference = sequences.get(cell) - position;
+			if (0 == difference) {
+				if (tail.compareAndSet(position, position + 1)) {
+					elements.lazySet(cell, element);
+					sequences.set(cell, position + 1);
+					return true;
+				}
+			} else if (difference < 0) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Removes the oldest element.
+	 *
+	 * @return the element, or {@code null} when the queue is empty
+	 */
+	E poll() {
+		for (;;) {
+			long position = head.get();
+			int cell = (int) position & mask;
+			long difference = sequences.get(cell) - (position + 1);
+			if (0 == difference) {
+				if (head.compareAndSet(position, position + 1)) {
+					var element = elements.get(cell);
+					elements.lazySet(cell, null);
+					sequences.set(cell, position + mask + 1);
+					return element;
+				}
+			} else if (difference < 0) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of queued elements; approximate while other threads offer or poll.
+	 *
+	 * @return element count
+	 */
+	int size() {
+		return (int) Math.max(0, Math.min(tail.get() - head.get(), mask + 1));
+	}
+
+	int capacity() {
+		return mask + 1;
+	}
+}
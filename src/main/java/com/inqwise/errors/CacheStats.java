@@ -0,0 +1,19 @@
+package com.inqwise.errors;
+
+/**
+ * Size and lookup counts of an internal cache, as reported by {@link ErrorRegistryManagement}.
+ *
+ * @param size current number of entries
+ * @param capacity maximum number of entries
+ * @param hits lookups answered by the cache
+ * @param misses lookups not answered by the cache
+ */
+record CacheStats(int size, int capacity, long hits, long misses) {
+	/**
+	 * @return share of lookups answered by the cache, {@code 0} before the first lookup
+	 */
+	double hitRatio() {
+		long lookups = hits + misses;
+		return 0 == lookups ? 0 : (double) hits / lookups;
+	}
+}
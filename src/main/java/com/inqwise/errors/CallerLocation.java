@@ -0,0 +1,86 @@
+package com.inqwise.errors;
+
+import java.util.stream.Stream;
+
+/**
+ * Resolves the first stack frame outside of this library using {@link StackWalker}, which is
+ * considerably cheaper than filling in a complete stack trace.
+ */
+final class CallerLocation {
+	private static final StackWalker WALKER = StackWalker.getInstance();
+	private static final int MAX_DEPTH = 16;
+	/** Top-level library classes; their nested classes and lambdas are library frames too. */
+	private static final String[] LIBRARY_CLASSES = {
+		CallerLocation.class.getName(),
+		ErrorTicket.class.getName(),
+		ErrorTicketFutures.class.getName(),
+		ErrorTicketReplies.class.getName(),
+		ErrorTickets.class.getName(),
+		// by name, so that the core does not load vertx-web classes
+		"com.inqwise.errors.vertx.ErrorTicketFailureHandler",
+		ExceptionMappers.class.getName(),
+		ObjectValidator.class.getName(),
+		Outcome.class.getName(),
+		Throws.class.getName(),
+		Validation.class.getName()
+	};
+
+	private CallerLocation() {
+	}
+
+	/**
+	 * Captures the calling frame formatted as {@code class.method(File.java:line)}.
+	 *
+	 * @return the caller location, or {@code null} when no frame outside the library was found
+	 *         within the walk limit
+	 */
+	static String capture() {
+		return WALKER.walk(CallerLocation::firstCaller);
+	}
+
+	static boolean isLibraryFrame(String className) {
+		for (String library : LIBRARY_CLASSES) {
+			if (className.startsWith(library)
+					&& (className.length() == library.length() || '$' == className.charAt(library.length()))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String firstCaller(Stream<StackWalker.StackFrame> frames) {
+		return frames.limit(MAX_DEPTH)
+				.filter(frame -> !isLibraryFrame(frame.getClassName()))
+				.findFirst()
+				.map(CallerLocation::format)
+				.orElse(null);
+	}
+
+	private static String format(StackWalker.StackFrame frame) {
+		return format(frame.getClassName(), frame.getMethodName(), frame.getFileName(), frame.getLineNumber());
+	}
+
+	/**
+	 * Formats a stack trace element like a captured caller location.
+	 *
+	 * @param frame the frame to format
+	 * @return {@code class.method(File.java:line)}
+	 */
+	static String format(StackTraceElement frame) {
+		return format(frame.getClassName(), frame.getMethodName(), frame.getFileName(), frame.getLineNumber());
+	}
+
+	private static String format(String className, String methodName, String fileName, int lineNumber) {
+		var sb = new StringBuilder(96)
+				.append(className).append('.').append(methodName).append('(');
+		if (null == fileName) {
+			sb.append("Unknown Source");
+		} else {
+			sb.append(fileName);
+			if (lineNumber >= 0) {
+				sb.append(':').append(lineNumber);
+			}
+		}
+		return sb.append(')').toString();
+	}
+}
@@ -34,6 +34,18 @@ class ErrorCodeProviders {
 		return null;
 	}
 	
+	/**
+	 * Discards the loaded providers and looks them up again through the {@link ServiceLoader}.
+	 * Code ids of the shared {@link ErrorCodeRegistry} are not affected.
+	 *
+	 * @return number of providers found
+	 */
+	synchronized static int reload() {
+		providers = null;
+		load();
+		return (int) providers.stream().count();
+	}
+
 	public synchronized static List<ErrorCodeProvider> getAll() {
 		load();
 		return Lists.newArrayList(providers.iterator());
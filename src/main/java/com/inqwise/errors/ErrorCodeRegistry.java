@@ -0,0 +1,185 @@
+package com.inqwise.errors;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.MoreObjects;
+import com.inqwise.errors.spi.ErrorCodeProvider;
+
+/**
+ * Assigns dense {@code int} ids to the {@link ErrorCode}s enumerated by the registered
+ * {@link ErrorCodeProvider}s, so codes can cross process boundaries as a number and be resolved by
+ * array index.
+ *
+ * <p>Providers are ordered by group name (case-insensitive) and then by class name, and each
+ * contributes its {@link ErrorCodeProvider#values()} in order. Two processes therefore agree on the
+ * ids as long as they register the same providers with the same codes; appending codes to the last
+ * group, or adding a group that sorts last, keeps the existing ids. Enum codes are looked up by
+ * ordinal from a per-class offset cached in a {@link ClassValue}.</p>
+ */
+public final class ErrorCodeRegistry {
+	/** Id returned for codes that are not registered. */
+	public static final int UNKNOWN = -1;
+
+	private final ErrorCode[] codes;
+	private final Map<ErrorCode, Integer> otherIds;
+	private final Map<String, Integer> names;
+	private final LongAdder findHits = new LongAdder();
+	private final LongAdder findMisses = new LongAdder();
+	private final ClassValue<int[]> enumIds = new ClassValue<>() {
+		@Override
+		protected int[] computeValue(Class<?> type) {
+			return enumIds(type);
+		}
+	};
+
+	private ErrorCodeRegistry(List<ErrorCode> codes) {
+		this.codes = codes.toArray(ErrorCode[]::new);
+		this.otherIds = new IdentityHashMap<>();
+		this.names = new HashMap<>();
+		for (int id = 0; id < this.codes.length; id++) {
+			var code = this.codes[id];
+			if (!(code instanceof Enum<?>)) {
+				otherIds.put(code, id);
+			}
+			names.putIfAbsent(key(code.group(), code.toString()), id);
+		}
+	}
+
+	private static final class Holder {
+		private static final ErrorCodeRegistry INSTANCE = of(ErrorCodeProviders.getAll());
+	}
+
+	/**
+	 * Returns the registry built from the {@link ErrorCodeProvider}s found through
+	 * {@link java.util.ServiceLoader} on first use.
+	 *
+	 * @return shared registry
+	 */
+	public static ErrorCodeRegistry getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * Builds a registry from the given providers.
+	 *
+	 * @param providers providers enumerating their codes
+	 * @return new registry
+	 */
+	public static ErrorCodeRegistry of(List<? extends ErrorCodeProvider> providers) {
+		var ordered = new ArrayList<ErrorCodeProvider>(providers);
+		ordered.sort(Comparator.<ErrorCodeProvider, String>comparing(provider -> provider.group().toLowerCase(Locale.ROOT))
+				.thenComparing(provider -> provider.getClass().getName()));
+		var seen = new IdentityHashMap<ErrorCode, Boolean>();
+		var codes = new ArrayList<ErrorCode>();
+		for (ErrorCodeProvider provider : ordered) {
+			for (ErrorCode code : provider.values()) {
+				if (null == seen.putIfAbsent(code, Boolean.TRUE)) {
+					codes.add(code);
+				}
+			}
+		}
+		return new ErrorCodeRegistry(codes);
+	}
+
+	/**
+	 * Returns the dense id of a code.
+	 *
+	 * @param code error code
+	 * @return id, or {@link #UNKNOWN} when the code is not registered
+	 */
+	public int idOf(ErrorCode code) {
+		if (code instanceof Enum<?> constant) {
+			var ids = enumIds.get(constant.getDeclaringClass());
+			int ordinal = constant.ordinal();
+			return ordinal < ids.length ? ids[ordinal] : UNKNOWN;
+		}
+		if (null == code) {
+			return UNKNOWN;
+		}
+		var id = otherIds.get(code);
+		return null == id ? UNKNOWN : id;
+	}
+
+	/**
+	 * Resolves a code by id.
+	 *
+	 * @param id dense id
+	 * @return the code, or {@code null} when the id is out of range
+	 */
+	public ErrorCode byId(int id) {
+		return id >= 0 && id < codes.length ? codes[id] : null;
+	}
+
+	/**
+	 * Resolves a code by group and name, for payloads that carry no id.
+	 *
+	 * @param group error group (case-insensitive)
+	 * @param name code name as returned by {@code toString()}
+	 * @return the code, or {@code null} when not registered
+	 */
+	public ErrorCode find(String group, String name) {
+		if (null == group || null == name) {
+			return null;
+		}
+		var id = names.get(key(group, name));
+		if (null == id) {
+			findMisses.increment();
+			return null;
+		}
+		findHits.increment();
+		return codes[id];
+	}
+
+	/**
+	 * Returns the size and hit counts of the group and name index used by {@link #find(String, String)}.
+	 */
+	CacheStats findStats() {
+		return new CacheStats(names.size(), names.size(), findHits.sum(), findMisses.sum());
+	}
+
+	void resetFindStats() {
+		findHits.reset();
+		findMisses.reset();
+	}
+
+	/**
+	 * Returns the number of registered codes.
+	 *
+	 * @return registry size
+	 */
+	public int size() {
+		return codes.length;
+	}
+
+	private int[] enumIds(Class<?> type) {
+		var constants = type.getEnumConstants();
+		var ids = new int[constants.length];
+		for (int i = 0; i < constants.length; i++) {
+			var id = UNKNOWN;
+			for (int candidate = 0; candidate < codes.length; candidate++) {
+				if (codes[candidate] == constants[i]) {
+					id = candidate;
+					break;
+				}
+			}
+			ids[i] = id;
+		}
+		return ids;
+	}
+
+	private static String key(String group, String name) {
+		return group.toLowerCase(Locale.ROOT) + ':' + name;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).add("size", codes.length).toString();
+	}
+}
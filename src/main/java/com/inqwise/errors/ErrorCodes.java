@@ -24,7 +24,9 @@ public enum ErrorCodes implements ErrorCode {
 	/** Action not permitted. */
 	NotPermitted(403),
 	/** Argument should have been null but wasn't. */
-	ArgumentShouldBeNull(400);
+	ArgumentShouldBeNull(400),
+	/** Operation did not complete in time. */
+	Timeout(504);
 	
 	/** Default provider group for builtin codes. */
 	public static final String GROUP = "default";
@@ -1,10 +1,13 @@
 package com.inqwise.errors;
 
+import java.util.List;
+
 import com.google.common.base.Enums;
 import com.inqwise.errors.spi.ErrorCodeProvider;
 
 /** Default {@link ErrorCodeProvider} that resolves {@link ErrorCodes}. */
 public class ErrorCodesProvider implements ErrorCodeProvider {
+	private static final List<ErrorCodes> VALUES = List.of(ErrorCodes.values());
 
 	/** Creates the provider. */
 	public ErrorCodesProvider() {
@@ -19,4 +22,9 @@ public class ErrorCodesProvider implements ErrorCodeProvider {
 	public ErrorCode valueOf(String errorCodeName) {
 		return Enums.getIfPresent(ErrorCodes.class, errorCodeName).orNull();
 	}
+
+	@Override
+	public List<ErrorCodes> values() {
+		return VALUES;
+	}
 }
@@ -0,0 +1,326 @@
+package com.inqwise.errors;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.inqwise.errors.spi.ErrorTicketListener;
+
+/**
+ * Tracks the most frequent (error code, throw site) pairs in fixed memory.
+ *
+ * <p>Every ticket is keyed by its error code and a {@link StackTraceFocuser#fingerprint(Throwable)}
+ * of the throw site: the propagated throwable, the ticket's own stack trace, or its
+ * {@linkplain ErrorTicket#getSource() caller location} when it is stackless. Occurrences are counted
+ * lock-free in a Count-Min sketch, and keys whose estimate exceeds the smallest tracked count take
+ * its place among at most {@link Builder#capacity(int)} candidates (Space-Saving). Counts are
+ * therefore upper estimates, and the first-seen time of an entry is when it started being
+ * tracked. Candidates are looked up by their primitive {@code long} key without locking or
+ * boxing.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * ErrorHotspots hotspots = ErrorHotspots.builder().build().install();
+ * // during an incident
+ * hotspots.top(20).forEach(System.out::println);
+ * }</pre>
+ */
+public final class ErrorHotspots implements ErrorTicketListener {
+	private final int capacity;
+	private final int depth;
+	private final int widthMask;
+	private final StackTraceFocuser focuser;
+	private final LongSupplier clock;
+	private final AtomicLongArray sketch;
+	private final LongKeyedTable<Entry> entries;
+	private final LongAdder total = new LongAdder();
+	private volatile long admissionThreshold;
+
+	private ErrorHotspots(Builder builder) {
+		this.capacity = builder.capacity;
+		this.depth = builder.depth;
+		this.widthMask = builder.width - 1;
+		this.focuser = builder.focuser;
+		this.clock = builder.clock;
+		this.sketch = new AtomicLongArray(builder.depth * builder.width);
+		this.entries = new LongKeyedTable<>(builder.capacity);
+	}
+
+	/**
+	 * Creates a new {@link Builder} tracking 64 candidates in a 4 x 2048 sketch.
+	 *
+	 * @return new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Starts recording every ticket created through {@link ErrorTicket}.
+	 *
+	 * @return this tracker
+	 */
+	public ErrorHotspots install() {
+		ErrorTicket.addListener(this);
+		return this;
+	}
+
+	/**
+	 * Stops recording; tracked entries are kept.
+	 *
+	 * @return {@code true} when the tracker was installed
+	 */
+	public boolean uninstall() {
+		return ErrorTicket.removeListener(this);
+	}
+
+	@Override
+	public void onBuild(ErrorTicket ticket) {
+		record(ticket, ticket);
+	}
+
+	@Override
+	public void onPropagate(Throwable source, ErrorTicket ticket) {
+		if (!(source instanceof ErrorTicket)) {
+			record(ticket, source);
+		}
+	}
+
+	/**
+	 * Records a ticket thrown at its own stack trace or caller location.
+	 *
+	 * @param ticket ticket to record
+	 */
+	public void record(ErrorTicket ticket) {
+		record(ticket, ticket);
+	}
+
+	/**
+	 * Records a ticket raised by another throwable.
+	 *
+	 * @param ticket ticket to record
+	 * @param throwSite throwable whose stack identifies the throw site
+	 */
+	public void record(ErrorTicket ticket, Throwable throwSite) {
+		total.increment();
+		long fingerprint = ThrowSites.fingerprint(focuser, ticket, throwSite);
+		long key = ThrowSites.key(ticket, fingerprint);
+		long estimate = Long.MAX_VALUE;
+		for (int row = 0; row < depth; row++) {
+			estimate = Math.min(estimate, sketch.incrementAndGet(row * (widthMask + 1) + index(key, row)));
+		}
+		long now = clock.getAsLong();
+		var entry = entries.get(key);
+		if (null != entry) {
+			entry.hit(estimate, now, ticket);
+		} else if (entries.size() < capacity || estimate > admissionThreshold) {
+			admit(key, fingerprint, estimate, now, ticket, throwSite);
+		}
+	}
+
+	/**
+	 * Returns the most frequent tracked entries.
+	 *
+	 * @param limit maximum number of entries
+	 * @return entries by descending count
+	 */
+	public List<Hotspot> top(int limit) {
+		Preconditions.checkArgument(limit >= 0, "limit must be non-negative");
+		var values = entries.values();
+		var hotspots = new ArrayList<Hotspot>(values.size());
+		for (var entry : values) {
+			hotspots.add(entry.toHotspot());
+		}
+		hotspots.sort(Comparator.comparingLong(Hotspot::count).reversed().thenComparingLong(Hotspot::firstSeen));
+		return List.copyOf(hotspots.subList(0, Math.min(limit, hotspots.size())));
+	}
+
+	/**
+	 * Returns the number of recorded tickets.
+	 *
+	 * @return ticket count
+	 */
+	public long total() {
+		return total.sum();
+	}
+
+	private synchronized void admit(long key, long fingerprint, long estimate, long now, ErrorTicket ticket, Throwable throwSite) {
+		var existing = entries.get(key);
+		if (null != existing) {
+			existing.hit(estimate, now, ticket);
+			return;
+		}
+		if (entries.size() >= capacity) {
+			Entry min = null;
+			for (var candidate : entries.values()) {
+				if (null == min || candidate.count.get() < min.count.get()) {
+					min = candidate;
+				}
+			}
+			long minCount = min.count.get();
+			if (estimate <= minCount) {
+				admissionThreshold = minCount;
+				return;
+			}
+			entries.remove(min.key, min);
+		}
+		entries.putIfAbsent(key, new Entry(key, ticket.getError(), ThrowSites.groupOf(ticket), fingerprint, estimate, now,
+				ticket.getErrorId(), ThrowSites.location(focuser, ticket, throwSite)));
+		if (entries.size() >= capacity) {
+			long minCount = Long.MAX_VALUE;
+			for (var candidate : entries.values()) {
+				minCount = Math.min(minCount, candidate.count.get());
+			}
+			admissionThreshold = minCount;
+		}
+	}
+
+	private int index(long key, int row) {
+		return (int) (ThrowSites.mix(key, row + 1) >>> 32) & widthMask;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("capacity", capacity)
+				.add("depth", depth)
+				.add("width", widthMask + 1)
+				.add("total", total())
+				.toString();
+	}
+
+	/**
+	 * Tracked (error code, throw site) pair.
+	 *
+	 * @param code error code, {@code null} for tickets without one
+	 * @param group error group
+	 * @param fingerprint throw-site fingerprint, {@code 0} when unknown
+	 * @param count estimated occurrences, never below the actual count
+	 * @param firstSeen epoch milliseconds at which the entry started being tracked
+	 * @param lastSeen epoch milliseconds of the latest occurrence
+	 * @param sampleErrorId id of the most recent ticket
+	 * @param location first focused frame outside the library, or {@code null}
+	 */
+	public record Hotspot(ErrorCode code, String group, long fingerprint, long count, long firstSeen, long lastSeen,
+			String sampleErrorId, String location) {
+	}
+
+	private static final class Entry {
+		private final long key;
+		private final ErrorCode code;
+		private final String group;
+		private final long fingerprint;
+		private final long firstSeen;
+		private final String location;
+		private final AtomicLong count;
+		private volatile long lastSeen;
+		private volatile String sampleErrorId;
+
+		private Entry(long key, ErrorCode code, String group, long fingerprint, long count, long now, String errorId, String location) {
+			this.key = key;
+			this.code = code;
+			this.group = group;
+			this.fingerprint = fingerprint;
+			this.firstSeen = now;
+			this.location = location;
+			this.count = new AtomicLong(count);
+			this.lastSeen = now;
+			this.sampleErrorId = errorId;
+		}
+
+		void hit(long estimate, long now, ErrorTicket ticket) {
+			count.accumulateAndGet(estimate, Math::max);
+			lastSeen = now;
+			if (null != ticket.getErrorId()) {
+				sampleErrorId = ticket.getErrorId();
+			}
+		}
+
+		Hotspot toHotspot() {
+			return new Hotspot(code, group, fingerprint, count.get(), firstSeen, lastSeen, sampleErrorId, location);
+		}
+	}
+
+	/**
+	 * Fluent builder for {@link ErrorHotspots}.
+	 */
+	public static final class Builder {
+		private int capacity = 64;
+		private int width = 2048;
+		private int depth = 4;
+		private StackTraceFocuser focuser = StackTraceFocuser.defaultInstance();
+		private LongSupplier clock = System::currentTimeMillis;
+
+		private Builder() {
+		}
+
+		/**
+		 * Number of tracked candidates; keep it a few times larger than the number of entries read
+		 * with {@link ErrorHotspots#top(int)}.
+		 *
+		 * @param capacity positive limit
+		 * @return this builder
+		 */
+		public Builder capacity(int capacity) {
+			Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+			this.capacity = capacity;
+			return this;
+		}
+
+		/**
+		 * Number of counters per sketch row.
+		 *
+		 * @param width positive power of two
+		 * @return this builder
+		 */
+		public Builder width(int width) {
+			Preconditions.checkArgument(width > 0 && Integer.bitCount(width) == 1, "width must be a positive power of two");
+			this.width = width;
+			return this;
+		}
+
+		/**
+		 * Number of sketch rows.
+		 *
+		 * @param depth between {@code 1} and {@code 16}
+		 * @return this builder
+		 */
+		public Builder depth(int depth) {
+			Preconditions.checkArgument(depth > 0 && depth <= 16, "depth must be between 1 and 16");
+			this.depth = depth;
+			return this;
+		}
+
+		/**
+		 * Focuser selecting the frames that make up the throw-site fingerprint.
+		 *
+		 * @param focuser frame filter, {@link StackTraceFocuser#defaultInstance()} by default
+		 * @return this builder
+		 */
+		public Builder focuser(StackTraceFocuser focuser) {
+			this.focuser = Objects.requireNonNull(focuser, "focuser");
+			return this;
+		}
+
+		Builder clock(LongSupplier clock) {
+			this.clock = Objects.requireNonNull(clock, "clock");
+			return this;
+		}
+
+		/**
+		 * Builds the tracker.
+		 *
+		 * @return configured tracker
+		 */
+		public ErrorHotspots build() {
+			return new ErrorHotspots(this);
+		}
+	}
+}
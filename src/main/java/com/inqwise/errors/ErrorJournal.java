@@ -0,0 +1,277 @@
+package com.inqwise.errors;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.inqwise.errors.spi.ErrorTicketListener;
+import com.inqwise.errors.vertx.ProblemJsonWriter;
+
+import io.netty.buffer.Unpooled;
+
+/**
+ * Bounded in-memory journal of the most recent tickets, searchable by error id.
+ *
+ * <p>Tickets are stored in a compact binary form, without exceptions or stack traces, in a ring
+ * of {@link Builder#capacity(int)} slots; the newest ticket overwrites the oldest. Appending claims
+ * a slot with one atomic increment and publishes the record with a compare-and-set, so any number
+ * of threads may append without locking. An open-addressing index maps error ids to their
+ * sequence numbers; entries of overwritten tickets are recognized as stale and reused, so
+ * {@link #find(String)} costs a few probes regardless of the capacity.</p>
+ *
+ * <p>Found and dumped tickets are restored stackless, with their error code resolved through the
+ * {@link ErrorCodeRegistry} or kept by name when it is not registered.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * ErrorJournal journal = ErrorJournal.builder().capacity(8192).build().install();
+ * // support request quoting an errorId
+ * journal.find("etAbC1234").ifPresent(ticket -> log.info("{}", ticket));
+ * // diagnostics endpoint
+ * journal.dump(outputStream);
+ * }</pre>
+ */
+public final class ErrorJournal implements ErrorTicketListener {
+	private static final int MAX_PROBES = 32;
+	private static final int FLUSH_BYTES = 8192;
+
+	private final int capacity;
+	private final int mask;
+	private final int indexMask;
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicReferenceArray<Entry> ring;
+	private final AtomicLongArray index;
+
+	private ErrorJournal(Builder builder) {
+		this.capacity = builder.capacity;
+		this.mask = capacity - 1;
+		this.indexMask = capacity * 2 - 1;
+		this.ring = new AtomicReferenceArray<>(capacity);
+		this.index = new AtomicLongArray(capacity * 2);
+	}
+
+	/**
+	 * Creates a new {@link Builder} keeping the last 4096 tickets.
+	 *
+	 * @return new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Starts journaling every ticket created through {@link ErrorTicket}.
+	 *
+	 * @return this journal
+	 */
+	public ErrorJournal install() {
+		ErrorTicket.addListener(this);
+		return this;
+	}
+
+	/**
+	 * Stops journaling; stored tickets are kept.
+	 *
+	 * @return {@code true} when the journal was installed
+	 */
+	public boolean uninstall() {
+		return ErrorTicket.removeListener(this);
+	}
+
+	@Override
+	public void onBuild(ErrorTicket ticket) {
+		append(ticket);
+	}
+
+	/**
+	 * Stores a ticket, overwriting the oldest one when the journal is full.
+	 *
+	 * @param ticket ticket to store
+	 * @return sequence number of the stored ticket
+	 */
+	public long append(ErrorTicket ticket) {
+		Objects.requireNonNull(ticket, "ticket");
+		var entry = new Entry(sequence.getAndIncrement(), TicketCodec.encode(ticket));
+		int slot = (int) (entry.sequence & mask);
+		for (;;) {
+			var current = ring.get(slot);
+			if (null != current && current.sequence > entry.sequence) {
+				// lapped by a newer writer while encoding; the ticket is already out of the window
+				return entry.sequence;
+			}
+			if (ring.compareAndSet(slot, current, entry)) {
+				break;
+			}
+		}
+		if (null != ticket.getErrorId()) {
+			index(ticket.getErrorId(), entry.sequence);
+		}
+		return entry.sequence;
+	}
+
+	/**
+	 * Looks up a stored ticket.
+	 *
+	 * @param errorId error id of the ticket
+	 * @return the ticket, or empty when it was never stored or has been overwritten
+	 */
+	public Optional<ErrorTicket> find(String errorId) {
+		Objects.requireNonNull(errorId, "errorId");
+		var id = errorId.getBytes(StandardCharsets.UTF_8);
+		long hash = hash(errorId);
+		for (int probe = 0; probe < MAX_PROBES; probe++) {
+			long value = index.get((int) (hash + probe) & indexMask);
+			if (0 == value) {
+				break;
+			}
+			var entry = live(value - 1);
+			if (null != entry && TicketCodec.hasErrorId(entry.data, id)) {
+				return Optional.of(TicketCodec.decode(entry.data));
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Writes the stored tickets as newline-delimited problem JSON, oldest first. Tickets appended
+	 * while dumping may or may not be included.
+	 *
+	 * @param out target stream, not closed
+	 * @return number of written tickets
+	 * @throws IOException when writing fails
+	 */
+	public long dump(OutputStream out) throws IOException {
+		Objects.requireNonNull(out, "out");
+		long head = sequence.get();
+		long written = 0;
+		var buf = Unpooled.buffer(FLUSH_BYTES * 2);
+		try {
+			for (long seq = Math.max(0, head - capacity); seq < head; seq++) {
+				var entry = live(seq);
+				if (null == entry) {
+					continue;
+				}
+				ProblemJsonWriter.write(buf, TicketCodec.decode(entry.data), null);
+				buf.writeByte('\n');
+				written++;
+				if (buf.readableBytes() >= FLUSH_BYTES) {
+					buf.readBytes(out, buf.readableBytes());
+					buf.clear();
+				}
+			}
+			buf.readBytes(out, buf.readableBytes());
+		} finally {
+			buf.release();
+		}
+		out.flush();
+		return written;
+	}
+
+	/**
+	 * Returns the number of stored tickets.
+	 *
+	 * @return tickets in the journal, at most the capacity
+	 */
+	public int size() {
+		return (int) Math.min(sequence.get(), capacity);
+	}
+
+	/**
+	 * Returns the number of appended tickets, including overwritten ones.
+	 *
+	 * @return appended tickets
+	 */
+	public long appended() {
+		return sequence.get();
+	}
+
+	/**
+	 * Returns the number of slots in the ring.
+	 *
+	 * @return capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	private void index(String errorId, long seq) {
+		long hash = hash(errorId);
+		int oldest = -1;
+		long oldestValue = Long.MAX_VALUE;
+		for (int probe = 0; probe < MAX_PROBES; probe++) {
+			int i = (int) (hash + probe) & indexMask;
+			long value = index.get(i);
+			if ((0 == value || null == live(value - 1)) && index.compareAndSet(i, value, seq + 1)) {
+				return;
+			}
+			if (0 != value && value < oldestValue) {
+				oldest = i;
+				oldestValue = value;
+			}
+		}
+		// a full probe window only happens with colliding ids; drop the oldest entry of the window
+		if (-1 != oldest && oldestValue < seq + 1) {
+			index.compareAndSet(oldest, oldestValue, seq + 1);
+		}
+	}
+
+	private Entry live(long seq) {
+		var entry = ring.get((int) (seq & mask));
+		return null != entry && entry.sequence == seq ? entry : null;
+	}
+
+	private static long hash(String errorId) {
+		return ThrowSites.mix(0, errorId.hashCode()) >>> 1;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("capacity", capacity)
+				.add("size", size())
+				.add("appended", appended())
+				.toString();
+	}
+
+	private record Entry(long sequence, byte[] data) {
+	}
+
+	/**
+	 * Fluent builder for {@link ErrorJournal}.
+	 */
+	public static final class Builder {
+		private int capacity = 4096;
+
+		private Builder() {
+		}
+
+		/**
+		 * Number of stored tickets.
+		 *
+		 * @param capacity positive power of two
+		 * @return this builder
+		 */
+		public Builder capacity(int capacity) {
+			Preconditions.checkArgument(capacity > 0 && capacity <= 1 << 29 && Integer.bitCount(capacity) == 1,
+					"capacity must be a positive power of two");
+			this.capacity = capacity;
+			return this;
+		}
+
+		/**
+		 * Builds the journal.
+		 *
+		 * @return configured journal
+		 */
+		public ErrorJournal build() {
+			return new ErrorJournal(this);
+		}
+	}
+}
@@ -0,0 +1,356 @@
+package com.inqwise.errors;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32C;
+
+import com.google.common.base.MoreObjects;
+import com.inqwise.errors.vertx.ProblemJsonWriter;
+
+import io.netty.buffer.Unpooled;
+
+/**
+ * Reads the segment files written by {@link MappedErrorJournal}, also while the journal is open.
+ *
+ * <p>Records are returned in file order, which is append order up to the interleaving of
+ * concurrent writers. Records whose checksum does not match, typically torn by a crash, are
+ * skipped and counted in {@link #corrupted()}. A record whose header was never written leaves no
+ * length to skip by; the reader then scans forward for the next record whose checksum matches and
+ * counts the hole as one corrupted record. {@link #since(Instant)} binary-searches the
+ * segments by the time of their first record and scans from there.</p>
+ *
+ * <p>From the command line, {@code java com.inqwise.errors.ErrorJournalReader <directory> [from]}
+ * exports the journal as newline-delimited problem JSON to the standard output, optionally from an
+ * ISO-8601 instant.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * try (var out = Files.newOutputStream(Path.of("errors.ndjson"))) {
+ *     ErrorJournalReader.open(Path.of("/var/lib/app/errors")).export(out, Instant.parse("2024-05-01T10:00:00Z"));
+ * }
+ * }</pre>
+ */
+public final class ErrorJournalReader {
+	/** Extension carrying the record time in exported lines. */
+	public static final String TIMESTAMP = "timestamp";
+
+	private static final int FLUSH_BYTES = 8192;
+
+	private final Path directory;
+	private final List<Path> segments;
+	private final LongAdder corrupted = new LongAdder();
+
+	private ErrorJournalReader(Path directory, List<Path> segments) {
+		this.directory = directory;
+		this.segments = segments;
+	}
+
+	/**
+	 * Opens the segments currently present in a directory.
+	 *
+	 * @param directory journal directory
+	 * @return reader
+	 * @throws IOException when the directory cannot be listed
+	 */
+	public static ErrorJournalReader open(Path directory) throws IOException {
+		Objects.requireNonNull(directory, "directory");
+		return new ErrorJournalReader(directory, segments(directory));
+	}
+
+	/**
+	 * Exports a journal directory to the standard output.
+	 *
+	 * @param args journal directory and optional ISO-8601 start instant
+	 * @throws IOException when reading fails
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1 || args.length > 2) {
+			System.err.println("usage: ErrorJournalReader <directory> [from]");
+			System.exit(2);
+		}
+		var reader = open(Path.of(args[0]));
+		var from = args.length > 1 ? Instant.parse(args[1]) : Instant.EPOCH;
+		var out = new BufferedOutputStream(System.out);
+		long exported = reader.export(out, from);
+		System.err.printf("exported %d tickets, skipped %d corrupted records%n", exported, reader.corrupted());
+	}
+
+	/**
+	 * Returns the segment files, oldest first.
+	 *
+	 * @return segment paths
+	 */
+	public List<Path> getSegments() {
+		return segments;
+	}
+
+	/**
+	 * Streams all records. The stream maps one segment at a time and must be consumed on one
+	 * thread.
+	 *
+	 * @return records, oldest segment first
+	 */
+	public Stream<Entry> entries() {
+		return scan(0, Long.MIN_VALUE);
+	}
+
+	/**
+	 * Streams the records written at or after an instant.
+	 *
+	 * @param from earliest record time
+	 * @return matching records, oldest segment first
+	 */
+	public Stream<Entry> since(Instant from) {
+		long millis = Objects.requireNonNull(from, "from").toEpochMilli();
+		int low = 0;
+		int high = segments.size() - 1;
+		int start = 0;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (firstTimestamp(segments.get(mid)) <= millis) {
+				start = mid;
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return scan(start, millis);
+	}
+
+	/**
+	 * Writes all records as newline-delimited problem JSON with a {@value #TIMESTAMP} extension.
+	 *
+	 * @param out target stream, flushed but not closed
+	 * @return number of exported tickets
+	 * @throws IOException when writing fails
+	 */
+	public long export(OutputStream out) throws IOException {
+		return export(out, Instant.EPOCH);
+	}
+
+	/**
+	 * Writes the records written at or after an instant as newline-delimited problem JSON with a
+	 * {@value #TIMESTAMP} extension.
+	 *
+	 * @param out target stream, flushed but not closed
+	 * @param from earliest record time
+	 * @return number of exported tickets
+	 * @throws IOException when writing fails
+	 */
+	public long export(OutputStream out, Instant from) throws IOException {
+		Objects.requireNonNull(out, "out");
+		long exported = 0;
+		var buf = Unpooled.buffer(FLUSH_BYTES * 2);
+		try (var entries = since(from)) {
+			var iterator = entries.iterator();
+			while (iterator.hasNext()) {
+				var entry = iterator.next();
+				var ticket = entry.ticket();
+				ticket.extensions.put(TIMESTAMP, entry.timestamp().toString());
+				ProblemJsonWriter.write(buf, ticket, null);
+				buf.writeByte('\n');
+				exported++;
+				if (buf.readableBytes() >= FLUSH_BYTES) {
+					buf.readBytes(out, buf.readableBytes());
+					buf.clear();
+				}
+			}
+			buf.readBytes(out, buf.readableBytes());
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			buf.release();
+		}
+		out.flush();
+		return exported;
+	}
+
+	/**
+	 * Returns the number of skipped records so far.
+	 *
+	 * @return records with a checksum mismatch
+	 */
+	public long corrupted() {
+		return corrupted.sum();
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("directory", directory)
+				.add("segments", segments.size())
+				.add("corrupted", corrupted())
+				.toString();
+	}
+
+	static List<Path> segments(Path directory) throws IOException {
+		var segments = new ArrayList<Path>();
+		try (var files = Files.list(directory)) {
+			files.filter(ErrorJournalReader::isSegment).forEach(segments::add);
+		}
+		segments.sort(null);
+		return segments;
+	}
+
+	static long index(Path segment) {
+		var name = segment.getFileName().toString();
+		return Long.parseLong(name, MappedErrorJournal.PREFIX.length(), name.length() - MappedErrorJournal.SUFFIX.length(), 10);
+	}
+
+	private static boolean isSegment(Path file) {
+		var name = file.getFileName().toString();
+		return name.startsWith(MappedErrorJournal.PREFIX) && name.endsWith(MappedErrorJournal.SUFFIX);
+	}
+
+	private Stream<Entry> scan(int start, long from) {
+		var iterator = new EntryIterator(segments.subList(start, segments.size()), from, true);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	private long firstTimestamp(Path segment) {
+		var iterator = new EntryIterator(List.of(segment), Long.MIN_VALUE, false);
+		return iterator.hasNext() ? iterator.next().timestamp().toEpochMilli() : Long.MAX_VALUE;
+	}
+
+	private static ByteBuffer map(Path segment) {
+		try (var channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+			var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.limit() < MappedErrorJournal.SEGMENT_HEADER
+					|| MappedErrorJournal.MAGIC != buffer.getInt(0)
+					|| MappedErrorJournal.VERSION != buffer.getInt(4)) {
+				return null;
+			}
+			return buffer;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Journal record.
+	 *
+	 * @param timestamp time the ticket was appended
+	 * @param ticket restored stackless ticket
+	 */
+	public record Entry(Instant timestamp, ErrorTicket ticket) {
+	}
+
+	private final class EntryIterator implements Iterator<Entry> {
+		private final Iterator<Path> files;
+		private final long from;
+		private final boolean counting;
+		private final CRC32C crc = new CRC32C();
+		private ByteBuffer buffer;
+		private int offset;
+		private Entry next;
+
+		private EntryIterator(List<Path> files, long from, boolean counting) {
+			this.files = files.iterator();
+			this.from = from;
+			this.counting = counting;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (null == next) {
+				if (null == buffer || !advance()) {
+					if (!files.hasNext()) {
+						return false;
+					}
+					buffer = map(files.next());
+					offset = MappedErrorJournal.SEGMENT_HEADER;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public Entry next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			var entry = next;
+			next = null;
+			return entry;
+		}
+
+		private boolean advance() {
+			while (offset + MappedErrorJournal.RECORD_HEADER <= buffer.limit()) {
+				int record = offset;
+				int length = buffer.getInt(record);
+				if (!fits(record, length)) {
+					// a writer that died between reserving and writing its header leaves a hole;
+					// intact records may still follow it
+					int resumed = resync(record + 8);
+					if (resumed < 0) {
+						return false;
+					}
+					if (counting) {
+						corrupted.increment();
+					}
+					offset = resumed;
+					continue;
+				}
+				offset += MappedErrorJournal.align(MappedErrorJournal.RECORD_HEADER + length);
+				if (!intact(record, length)) {
+					if (counting) {
+						corrupted.increment();
+					}
+					continue;
+				}
+				long timestamp = buffer.getLong(record + 8);
+				if (timestamp < from) {
+					continue;
+				}
+				var data = new byte[length];
+				buffer.get(record + MappedErrorJournal.RECORD_HEADER, data);
+				next = new Entry(Instant.ofEpochMilli(timestamp), TicketCodec.decode(data));
+				return true;
+			}
+			return false;
+		}
+
+		private boolean fits(int record, int length) {
+			return length > 0 && length <= buffer.limit() - record - MappedErrorJournal.RECORD_HEADER;
+		}
+
+		private boolean intact(int record, int length) {
+			crc.reset();
+			crc.update(buffer.slice(record + 8, 8 + length));
+			return (int) crc.getValue() == buffer.getInt(record + 4);
+		}
+
+		/**
+		 * Returns the offset of the next record whose checksum matches, scanning the 8-byte aligned
+		 * offsets from {@code start}, or {@code -1} when the rest of the segment holds none, which
+		 * is the end of its written region.
+		 */
+		private int resync(int start) {
+			for (int candidate = start; candidate + MappedErrorJournal.RECORD_HEADER <= buffer.limit(); candidate += 8) {
+				int length = buffer.getInt(candidate);
+				if (fits(candidate, length) && intact(candidate, length)) {
+					return candidate;
+				}
+			}
+			return -1;
+		}
+	}
+}
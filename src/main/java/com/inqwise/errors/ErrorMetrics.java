@@ -0,0 +1,330 @@
+package com.inqwise.errors;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.MoreObjects;
+import com.inqwise.errors.spi.ErrorTicketListener;
+
+/**
+ * Opt-in counters of created tickets by error code, group and HTTP status.
+ *
+ * <p>Codes known to the {@link ErrorCodeRegistry} are counted in a {@link LongAdder} array indexed
+ * by their dense id. Enum codes missing from the registry get a per-enum array cached in a
+ * {@link ClassValue}, so neither path allocates. Any other undefined code is counted by
+ * {@code group:name} in a bounded map, with an overflow counter once it is full.</p>
+ *
+ * <p>Groups are derived from the codes when taking a {@link #snapshot()}. Snapshots are immutable,
+ * and {@link Snapshot#minus(Snapshot)} gives the counts of an interval.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * ErrorMetrics metrics = ErrorMetrics.create().install();
+ * ErrorMetrics.Snapshot last = metrics.snapshot();
+ * // later
+ * ErrorMetrics.Snapshot delta = metrics.snapshot().minus(last);
+ * }</pre>
+ */
+public final class ErrorMetrics implements ErrorTicketListener {
+	/** Maximum number of distinct undefined, non-enum codes counted by name. */
+	public static final int MAX_UNDEFINED_CODES = 256;
+	/** Key under which undefined codes beyond {@link #MAX_UNDEFINED_CODES} are counted. */
+	public static final String OVERFLOW = "<overflow>";
+	/** Key under which tickets without an error code are counted. */
+	public static final String NO_CODE = "<none>";
+
+	private static final int STATUS_LIMIT = 600;
+	private static final int NO_STATUS = 0;
+
+	private final ErrorCodeRegistry registry;
+	private final LongAdder[] codes;
+	private final ClassValue<LongAdder[]> unregisteredEnums = new ClassValue<>() {
+		@Override
+		protected LongAdder[] computeValue(Class<?> type) {
+			return adders(type.getEnumConstants().length);
+		}
+	};
+	private final Map<Class<?>, Boolean> unregisteredEnumTypes = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, LongAdder> undefined = new ConcurrentHashMap<>();
+	private final AtomicReferenceArray<LongAdder> statuses = new AtomicReferenceArray<>(STATUS_LIMIT);
+
+	private ErrorMetrics(ErrorCodeRegistry registry) {
+		this.registry = registry;
+		this.codes = adders(registry.size());
+	}
+
+	/**
+	 * Creates metrics over {@link ErrorCodeRegistry#getInstance()}.
+	 *
+	 * @return new metrics, not yet installed
+	 */
+	public static ErrorMetrics create() {
+		return create(ErrorCodeRegistry.getInstance());
+	}
+
+	/**
+	 * Creates metrics over the given registry.
+	 *
+	 * @param registry registry assigning code ids
+	 * @return new metrics, not yet installed
+	 */
+	public static ErrorMetrics create(ErrorCodeRegistry registry) {
+		return new ErrorMetrics(Objects.requireNonNull(registry, "registry"));
+	}
+
+	/**
+	 * Starts counting every ticket created through {@link ErrorTicket}.
+	 *
+	 * @return this metrics
+	 */
+	public ErrorMetrics install() {
+		ErrorTicket.addListener(this);
+		return this;
+	}
+
+	/**
+	 * Stops counting; the counters keep their values.
+	 *
+	 * @return {@code true} when the metrics were installed
+	 */
+	public boolean uninstall() {
+		return ErrorTicket.removeListener(this);
+	}
+
+	@Override
+	public void onBuild(ErrorTicket ticket) {
+		record(ticket);
+	}
+
+	/**
+	 * Counts a ticket.
+	 *
+	 * @param ticket ticket to count
+	 */
+	public void record(ErrorTicket ticket) {
+		codeAdder(ticket.getError(), ticket.getErrorGroup()).increment();
+		var status = ticket.getStatus();
+		statusAdder(null == status ? NO_STATUS : status).increment();
+	}
+
+	/**
+	 * Returns the current count of a code.
+	 *
+	 * @param code error code
+	 * @return tickets counted with the code
+	 */
+	public long count(ErrorCode code) {
+		int id = registry.idOf(code);
+		if (ErrorCodeRegistry.UNKNOWN != id) {
+			return codes[id].sum();
+		}
+		if (code instanceof Enum<?> constant) {
+			var type = constant.getDeclaringClass();
+			return unregisteredEnumTypes.containsKey(type) ? unregisteredEnums.get(type)[constant.ordinal()].sum() : 0;
+		}
+		var adder = undefined.get(undefinedKey(code, null == code ? null : code.group()));
+		return null == adder ? 0 : adder.sum();
+	}
+
+	/**
+	 * Returns the current count of a status class.
+	 *
+	 * @param statusClass leading digit, {@code 1} to {@code 5}
+	 * @return tickets counted with a status of the class
+	 */
+	public long countStatusClass(int statusClass) {
+		long sum = 0;
+		int from = statusClass * 100;
+		for (int status = from; status < from + 100 && status < STATUS_LIMIT; status++) {
+			var adder = statuses.get(status);
+			if (null != adder) {
+				sum += adder.sum();
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Sets all counters back to zero. Tickets counted concurrently may survive the reset.
+	 */
+	public void reset() {
+		for (var adder : codes) {
+			adder.reset();
+		}
+		for (var type : unregisteredEnumTypes.keySet()) {
+			for (var adder : unregisteredEnums.get(type)) {
+				adder.reset();
+			}
+		}
+		undefined.clear();
+		for (int status = 0; status < STATUS_LIMIT; status++) {
+			var adder = statuses.get(status);
+			if (null != adder) {
+				adder.reset();
+			}
+		}
+	}
+
+	/**
+	 * Returns the registry assigning code ids.
+	 *
+	 * @return registry
+	 */
+	public ErrorCodeRegistry getRegistry() {
+		return registry;
+	}
+
+	/**
+	 * Captures the current counters.
+	 *
+	 * @return immutable snapshot
+	 */
+	public Snapshot snapshot() {
+		var byCode = new LinkedHashMap<ErrorCode, Long>();
+		var byGroup = new TreeMap<String, Long>();
+		long total = 0;
+		for (int id = 0; id < codes.length; id++) {
+			long count = codes[id].sum();
+			if (0 != count) {
+				var code = registry.byId(id);
+				byCode.put(code, count);
+				byGroup.merge(String.valueOf(code.group()), count, Long::sum);
+				total += count;
+			}
+		}
+		for (var type : unregisteredEnumTypes.keySet()) {
+			var constants = type.getEnumConstants();
+			var adders = unregisteredEnums.get(type);
+			for (int ordinal = 0; ordinal < adders.length; ordinal++) {
+				long count = adders[ordinal].sum();
+				if (0 != count) {
+					var code = (ErrorCode) constants[ordinal];
+					byCode.put(code, count);
+					byGroup.merge(String.valueOf(code.group()), count, Long::sum);
+					total += count;
+				}
+			}
+		}
+		var byName = new TreeMap<String, Long>();
+		for (var entry : undefined.entrySet()) {
+			long count = entry.getValue().sum();
+			if (0 != count) {
+				byName.put(entry.getKey(), count);
+				var key = entry.getKey();
+				int separator = key.indexOf(':');
+				byGroup.merge(separator < 0 ? key : key.substring(0, separator), count, Long::sum);
+				total += count;
+			}
+		}
+		var byStatus = new TreeMap<Integer, Long>();
+		for (int status = 0; status < STATUS_LIMIT; status++) {
+			var adder = statuses.get(status);
+			if (null != adder) {
+				long count = adder.sum();
+				if (0 != count) {
+					byStatus.put(status, count);
+				}
+			}
+		}
+		return new Snapshot(System.currentTimeMillis(), total, Collections.unmodifiableMap(byCode),
+				Collections.unmodifiableMap(byName), Collections.unmodifiableMap(byGroup),
+				Collections.unmodifiableMap(byStatus));
+	}
+
+	private LongAdder codeAdder(ErrorCode code, String group) {
+		int id = registry.idOf(code);
+		if (ErrorCodeRegistry.UNKNOWN != id) {
+			return codes[id];
+		}
+		if (code instanceof Enum<?> constant) {
+			var type = constant.getDeclaringClass();
+			var adders = unregisteredEnums.get(type);
+			if (!unregisteredEnumTypes.containsKey(type)) {
+				unregisteredEnumTypes.putIfAbsent(type, Boolean.TRUE);
+			}
+			return adders[constant.ordinal()];
+		}
+		var key = undefinedKey(code, null != code && null != code.group() ? code.group() : group);
+		var adder = undefined.get(key);
+		if (null != adder) {
+			return adder;
+		}
+		if (undefined.size() >= MAX_UNDEFINED_CODES) {
+			return undefined.computeIfAbsent(OVERFLOW, k -> new LongAdder());
+		}
+		return undefined.computeIfAbsent(key, k -> new LongAdder());
+	}
+
+	private LongAdder statusAdder(int status) {
+		int slot = status < 0 || status >= STATUS_LIMIT ? NO_STATUS : status;
+		var adder = statuses.get(slot);
+		if (null == adder) {
+			statuses.compareAndSet(slot, null, new LongAdder());
+			adder = statuses.get(slot);
+		}
+		return adder;
+	}
+
+	private static String undefinedKey(ErrorCode code, String group) {
+		if (null == code) {
+			return NO_CODE;
+		}
+		return (null == group ? "" : group) + ':' + code;
+	}
+
+	private static LongAdder[] adders(int size) {
+		var adders = new LongAdder[size];
+		for (int i = 0; i < size; i++) {
+			adders[i] = new LongAdder();
+		}
+		return adders;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).add("registry", registry).toString();
+	}
+
+	/**
+	 * Point-in-time copy of the counters. Only non-zero counts are included.
+	 *
+	 * @param timestamp capture time in epoch milliseconds
+	 * @param total number of tickets
+	 * @param codes counts of defined codes, registry order first
+	 * @param undefinedCodes counts of other codes by {@code group:name}, {@link ErrorMetrics#NO_CODE}
+	 *        or {@link ErrorMetrics#OVERFLOW}
+	 * @param groups counts by group
+	 * @param statuses counts by HTTP status, {@code 0} for tickets without a status
+	 */
+	public record Snapshot(long timestamp, long total, Map<ErrorCode, Long> codes, Map<String, Long> undefinedCodes,
+			Map<String, Long> groups, Map<Integer, Long> statuses) {
+
+		/**
+		 * Returns the counts accumulated since an earlier snapshot of the same metrics.
+		 *
+		 * @param earlier earlier snapshot
+		 * @return delta snapshot stamped with this snapshot's time
+		 */
+		public Snapshot minus(Snapshot earlier) {
+			return new Snapshot(timestamp, total - earlier.total, delta(codes, earlier.codes, new LinkedHashMap<>()),
+					delta(undefinedCodes, earlier.undefinedCodes, new TreeMap<>()),
+					delta(groups, earlier.groups, new TreeMap<>()), delta(statuses, earlier.statuses, new TreeMap<>()));
+		}
+
+		private static <K> Map<K, Long> delta(Map<K, Long> current, Map<K, Long> earlier, Map<K, Long> result) {
+			for (var entry : current.entrySet()) {
+				long count = entry.getValue() - earlier.getOrDefault(entry.getKey(), 0L);
+				if (0 != count) {
+					result.put(entry.getKey(), count);
+				}
+			}
+			return Collections.unmodifiableMap(result);
+		}
+	}
+}
@@ -0,0 +1,423 @@
+package com.inqwise.errors;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.inqwise.errors.spi.ErrorTicketListener;
+
+/**
+ * Sliding window of ticket counts by group and HTTP status class, kept in a fixed ring of time
+ * buckets (60 buckets of one second by default).
+ *
+ * <p>Recording increments one slot of the current bucket for all tickets and one for the ticket's
+ * group; a bucket is reused by the first caller that reaches it in a later round. Each ring keeps
+ * running totals per status class, adjusted when a bucket is reused or leaves the window, so counts,
+ * rates and ratios are read in constant time amortized over elapsed buckets; {@link #isBurst} also
+ * reads its recent buckets. Memory stays constant apart from at most
+ * {@link Builder#maxTrackedGroups(int)} group rings. Rollover is lock-free and approximate:
+ * increments racing the reset of a bucket may be lost.</p>
+ *
+ * <p>Status classes are the leading digit of the status, {@code 1} to {@code 5}; tickets without
+ * a status are counted in class {@code 0}.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * ErrorRateWindow window = ErrorRateWindow.builder().build().install();
+ * if (window.ratio(5) > 0.2 || window.isBurst(5, 5, 3.0)) {
+ *     shedLoad();
+ * }
+ * }</pre>
+ */
+public final class ErrorRateWindow implements ErrorTicketListener {
+	private static final int CLASSES = 6;
+	private static final int ALL = -1;
+
+	private final int buckets;
+	private final long bucketNanos;
+	private final int maxTrackedGroups;
+	private final LongSupplier ticker;
+	private final long origin;
+	private final Ring all;
+	private final ConcurrentMap<String, Ring> groups = new ConcurrentHashMap<>();
+
+	private ErrorRateWindow(Builder builder) {
+		this.buckets = builder.buckets;
+		this.bucketNanos = builder.bucketDuration.toNanos();
+		this.maxTrackedGroups = builder.maxTrackedGroups;
+		this.ticker = builder.ticker;
+		this.origin = ticker.getAsLong();
+		this.all = new Ring(buckets);
+	}
+
+	/**
+	 * Creates a new {@link Builder} with defaults of 60 buckets of one second.
+	 *
+	 * @return new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Starts recording every ticket created through {@link ErrorTicket}.
+	 *
+	 * @return this window
+	 */
+	public ErrorRateWindow install() {
+		ErrorTicket.addListener(this);
+		return this;
+	}
+
+	/**
+	 * Stops recording; the ring keeps its counts until they expire.
+	 *
+	 * @return {@code true} when the window was installed
+	 */
+	public boolean uninstall() {
+		return ErrorTicket.removeListener(this);
+	}
+
+	@Override
+	public void onBuild(ErrorTicket ticket) {
+		record(ticket);
+	}
+
+	/**
+	 * Records a ticket in the current bucket.
+	 *
+	 * @param ticket ticket to record
+	 */
+	public void record(ErrorTicket ticket) {
+		long tick = tick();
+		int statusClass = statusClass(ticket.getStatus());
+		all.add(tick, statusClass);
+		var ring = ringFor(ThrowSites.groupOf(ticket));
+		if (null != ring) {
+			ring.add(tick, statusClass);
+		}
+	}
+
+	/**
+	 * Returns the number of tickets of a status class in the window.
+	 *
+	 * @param statusClass {@code 0} to {@code 5}
+	 * @return ticket count
+	 */
+	public long count(int statusClass) {
+		return all.total(tick(), checkStatusClass(statusClass));
+	}
+
+	/**
+	 * Returns the number of tickets of a group and status class in the window.
+	 *
+	 * @param group error group
+	 * @param statusClass {@code 0} to {@code 5}
+	 * @return ticket count, {@code 0} for untracked groups
+	 */
+	public long count(String group, int statusClass) {
+		checkStatusClass(statusClass);
+		var ring = groups.get(Objects.requireNonNull(group, "group"));
+		return null == ring ? 0 : ring.total(tick(), statusClass);
+	}
+
+	/**
+	 * Returns the number of tickets in the window.
+	 *
+	 * @return ticket count
+	 */
+	public long total() {
+		return all.total(tick(), ALL);
+	}
+
+	/**
+	 * Returns the number of tickets of a group in the window.
+	 *
+	 * @param group error group
+	 * @return ticket count, {@code 0} for untracked groups
+	 */
+	public long total(String group) {
+		var ring = groups.get(Objects.requireNonNull(group, "group"));
+		return null == ring ? 0 : ring.total(tick(), ALL);
+	}
+
+	/**
+	 * Returns the average rate of a status class over the window.
+	 *
+	 * @param statusClass {@code 0} to {@code 5}
+	 * @return tickets per second
+	 */
+	public double rate(int statusClass) {
+		return perSecond(count(statusClass), buckets);
+	}
+
+	/**
+	 * Returns the average rate of a group and status class over the window.
+	 *
+	 * @param group error group
+	 * @param statusClass {@code 0} to {@code 5}
+	 * @return tickets per second
+	 */
+	public double rate(String group, int statusClass) {
+		return perSecond(count(group, statusClass), buckets);
+	}
+
+	/**
+	 * Returns the share of a status class among all tickets in the window.
+	 *
+	 * @param statusClass {@code 0} to {@code 5}
+	 * @return ratio between {@code 0} and {@code 1}, {@code 0} for an empty window
+	 */
+	public double ratio(int statusClass) {
+		return ratio(all, checkStatusClass(statusClass));
+	}
+
+	/**
+	 * Returns the share of a status class among the tickets of a group in the window.
+	 *
+	 * @param group error group
+	 * @param statusClass {@code 0} to {@code 5}
+	 * @return ratio between {@code 0} and {@code 1}, {@code 0} for an empty or untracked group
+	 */
+	public double ratio(String group, int statusClass) {
+		checkStatusClass(statusClass);
+		var ring = groups.get(Objects.requireNonNull(group, "group"));
+		return null == ring ? 0 : ratio(ring, statusClass);
+	}
+
+	/**
+	 * Indicates whether the rate of a status class over the most recent buckets exceeds the
+	 * window average by a factor.
+	 *
+	 * @param statusClass {@code 0} to {@code 5}
+	 * @param recentBuckets number of most recent buckets, less than the bucket count
+	 * @param factor rate multiplier, at least {@code 1}
+	 * @return {@code true} during a burst
+	 */
+	public boolean isBurst(int statusClass, int recentBuckets, double factor) {
+		checkStatusClass(statusClass);
+		Preconditions.checkArgument(recentBuckets > 0 && recentBuckets < buckets, "recentBuckets must be between 1 and %s", buckets - 1);
+		Preconditions.checkArgument(factor >= 1, "factor must be at least 1");
+		long now = tick();
+		long recent = all.recent(now, recentBuckets, statusClass);
+		if (0 == recent) {
+			return false;
+		}
+		long window = all.total(now, statusClass);
+		return (double) recent / recentBuckets > factor * window / buckets;
+	}
+
+	/**
+	 * Returns the covered time span.
+	 *
+	 * @return bucket count times bucket duration
+	 */
+	public Duration getWindow() {
+		return Duration.ofNanos(bucketNanos * buckets);
+	}
+
+	private double ratio(Ring ring, int statusClass) {
+		long now = tick();
+		long total = ring.total(now, ALL);
+		return 0 == total ? 0 : (double) ring.total(now, statusClass) / total;
+	}
+
+	private double perSecond(long count, int span) {
+		return count * 1e9 / ((double) bucketNanos * span);
+	}
+
+	private long tick() {
+		return (ticker.getAsLong() - origin) / bucketNanos;
+	}
+
+	private Ring ringFor(String group) {
+		if (null == group) {
+			return null;
+		}
+		var ring = groups.get(group);
+		if (null != ring || groups.size() >= maxTrackedGroups) {
+			return ring;
+		}
+		return groups.computeIfAbsent(group, g -> new Ring(buckets));
+	}
+
+	private static int statusClass(Integer status) {
+		if (null == status || status < 100 || status >= 600) {
+			return 0;
+		}
+		return status / 100;
+	}
+
+	private static int checkStatusClass(int statusClass) {
+		Preconditions.checkArgument(statusClass >= 0 && statusClass < CLASSES, "statusClass must be between 0 and 5");
+		return statusClass;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("buckets", buckets)
+				.add("bucketNanos", bucketNanos)
+				.add("trackedGroups", groups.size())
+				.toString();
+	}
+
+	private static final class Ring {
+		private final int size;
+		private final AtomicLongArray ticks;
+		private final AtomicLongArray counts;
+		// sum of counts per class over all buckets, adjusted whenever a bucket is cleared
+		private final AtomicLongArray totals = new AtomicLongArray(CLASSES);
+		private final AtomicLong expiredThrough = new AtomicLong(-1);
+
+		private Ring(int size) {
+			this.size = size;
+			this.ticks = new AtomicLongArray(size);
+			this.counts = new AtomicLongArray(size * CLASSES);
+			for (int bucket = 0; bucket < size; bucket++) {
+				ticks.set(bucket, -1);
+			}
+		}
+
+		void add(long tick, int statusClass) {
+			int bucket = (int) (tick % size);
+			long current = ticks.get(bucket);
+			if (current != tick) {
+				if (current > tick) {
+					return;
+				}
+				if (ticks.compareAndSet(bucket, current, tick)) {
+					clear(bucket);
+				}
+			}
+			counts.incrementAndGet(bucket * CLASSES + statusClass);
+			totals.incrementAndGet(statusClass);
+		}
+
+		/**
+		 * Returns the count of the whole window; clears the buckets that left it since the last
+		 * call, so the cost is amortized over elapsed buckets rather than the ring size.
+		 */
+		long total(long now, int statusClass) {
+			expire(now);
+			if (ALL != statusClass) {
+				return totals.get(statusClass);
+			}
+			long sum = 0;
+			for (int i = 0; i < CLASSES; i++) {
+				sum += totals.get(i);
+			}
+			return sum;
+		}
+
+		/**
+		 * Returns the count of the {@code span} most recent buckets, reading only those buckets.
+		 */
+		long recent(long now, int span, int statusClass) {
+			long sum = 0;
+			for (long tick = Math.max(0, now - span + 1); tick <= now; tick++) {
+				int bucket = (int) (tick % size);
+				if (ticks.get(bucket) == tick) {
+					sum += counts.get(bucket * CLASSES + statusClass);
+				}
+			}
+			return sum;
+		}
+
+		private void expire(long now) {
+			long target = now - size;
+			long done = expiredThrough.get();
+			if (done >= target) {
+				return;
+			}
+			for (long tick = Math.max(done + 1, target - size + 1); tick <= target; tick++) {
+				int bucket = (int) (tick % size);
+				long current = ticks.get(bucket);
+				if (current >= 0 && current <= target && ticks.compareAndSet(bucket, current, -1)) {
+					clear(bucket);
+				}
+			}
+			expiredThrough.accumulateAndGet(target, Math::max);
+		}
+
+		private void clear(int bucket) {
+			for (int i = 0; i < CLASSES; i++) {
+				long stale = counts.getAndSet(bucket * CLASSES + i, 0);
+				if (0 != stale) {
+					totals.addAndGet(i, -stale);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Fluent builder for {@link ErrorRateWindow}.
+	 */
+	public static final class Builder {
+		private int buckets = 60;
+		private Duration bucketDuration = Duration.ofSeconds(1);
+		private int maxTrackedGroups = 64;
+		private LongSupplier ticker = System::nanoTime;
+
+		private Builder() {
+		}
+
+		/**
+		 * Number of buckets in the ring.
+		 *
+		 * @param buckets at least {@code 2}
+		 * @return this builder
+		 */
+		public Builder buckets(int buckets) {
+			Preconditions.checkArgument(buckets > 1, "buckets must be at least 2");
+			this.buckets = buckets;
+			return this;
+		}
+
+		/**
+		 * Time span of one bucket.
+		 *
+		 * @param bucketDuration positive duration
+		 * @return this builder
+		 */
+		public Builder bucketDuration(Duration bucketDuration) {
+			Objects.requireNonNull(bucketDuration, "bucketDuration");
+			Preconditions.checkArgument(!bucketDuration.isNegative() && !bucketDuration.isZero(), "bucketDuration must be positive");
+			this.bucketDuration = bucketDuration;
+			return this;
+		}
+
+		/**
+		 * Upper bound of groups with their own ring; tickets of further groups are only counted in
+		 * the totals.
+		 *
+		 * @param maxTrackedGroups non-negative limit
+		 * @return this builder
+		 */
+		public Builder maxTrackedGroups(int maxTrackedGroups) {
+			Preconditions.checkArgument(maxTrackedGroups >= 0, "maxTrackedGroups must be non-negative");
+			this.maxTrackedGroups = maxTrackedGroups;
+			return this;
+		}
+
+		Builder ticker(LongSupplier ticker) {
+			this.ticker = Objects.requireNonNull(ticker, "ticker");
+			return this;
+		}
+
+		/**
+		 * Builds the window.
+		 *
+		 * @return configured window
+		 */
+		public ErrorRateWindow build() {
+			return new ErrorRateWindow(this);
+		}
+	}
+}
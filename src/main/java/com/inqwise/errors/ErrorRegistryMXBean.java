@@ -0,0 +1,96 @@
+package com.inqwise.errors;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link ErrorRegistryManagement}, registered as
+ * {@value ErrorRegistryManagement#OBJECT_NAME}.
+ */
+public interface ErrorRegistryMXBean {
+	/**
+	 * @return number of {@link com.inqwise.errors.spi.ErrorCodeProvider}s currently loaded
+	 */
+	int getProviderCount();
+
+	/**
+	 * @return number of enumerated codes by provider group
+	 */
+	Map<String, Integer> getGroups();
+
+	/**
+	 * @return number of codes with an id in the {@link ErrorCodeRegistry}
+	 */
+	int getRegisteredCodes();
+
+	/**
+	 * @return entries of the registry's group and name index
+	 */
+	int getResolutionIndexSize();
+
+	/**
+	 * @return lookups by group and name that found a registered code
+	 */
+	long getResolutionHits();
+
+	/**
+	 * @return lookups by group and name that found no registered code
+	 */
+	long getResolutionMisses();
+
+	/**
+	 * @return share of lookups by group and name that found a registered code
+	 */
+	double getResolutionHitRatio();
+
+	/**
+	 * @return cached per-class decisions of the {@link StackTraceFocuser}
+	 */
+	int getFocuserDecisionCacheSize();
+
+	/**
+	 * @return maximum number of cached per-class decisions
+	 */
+	int getFocuserDecisionCacheCapacity();
+
+	/**
+	 * @return frames decided from the cache
+	 */
+	long getFocuserDecisionHits();
+
+	/**
+	 * @return frames decided by matching the class-name patterns
+	 */
+	long getFocuserDecisionMisses();
+
+	/**
+	 * @return share of frames decided from the cache
+	 */
+	double getFocuserDecisionHitRatio();
+
+	/**
+	 * @return number of tickets counted by the attached {@link ErrorMetrics}, {@code 0} without
+	 */
+	long getTotalTickets();
+
+	/**
+	 * @return ticket counts by {@code group:code}, empty without attached {@link ErrorMetrics}
+	 */
+	Map<String, Long> getCodeCounts();
+
+	/**
+	 * @return ticket counts by group, empty without attached {@link ErrorMetrics}
+	 */
+	Map<String, Long> getGroupCounts();
+
+	/**
+	 * Looks up the {@link com.inqwise.errors.spi.ErrorCodeProvider}s again; code ids are kept.
+	 *
+	 * @return number of providers found
+	 */
+	int reloadProviders();
+
+	/**
+	 * Sets the ticket counters and the cache hit counts back to zero.
+	 */
+	void resetCounters();
+}
@@ -0,0 +1,204 @@
+package com.inqwise.errors;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Platform MXBean exposing the runtime state of this library to JMC and {@code jconsole}: the
+ * loaded providers and their groups, the size and hit ratio of the registry's name index and of
+ * the {@link StackTraceFocuser} decision cache, and, when {@link ErrorMetrics} are attached, the
+ * ticket counts by code and group.
+ *
+ * <p>Nothing is registered by default. Attributes are computed when read, so an idle MXBean costs
+ * nothing; the hit counters are {@link java.util.concurrent.atomic.LongAdder}s updated by the
+ * lookups themselves.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * ErrorRegistryManagement.register(ErrorMetrics.create().install());
+ * // JMC or jconsole: MBeans > com.inqwise.errors > ErrorRegistry
+ * }</pre>
+ */
+public final class ErrorRegistryManagement implements ErrorRegistryMXBean {
+	/** Object name under which {@link #register(ErrorMetrics)} registers the MXBean. */
+	public static final String OBJECT_NAME = "com.inqwise.errors:type=ErrorRegistry";
+
+	private final ErrorCodeRegistry registry;
+	private final ErrorMetrics metrics;
+	private final StackTraceFocuser focuser;
+
+	ErrorRegistryManagement(ErrorCodeRegistry registry, ErrorMetrics metrics, StackTraceFocuser focuser) {
+		this.registry = registry;
+		this.metrics = metrics;
+		this.focuser = focuser;
+	}
+
+	/**
+	 * Registers the MXBean over the shared registry and default focuser, without ticket counts.
+	 *
+	 * @return registered MXBean
+	 */
+	public static ErrorRegistryManagement register() {
+		return register(null);
+	}
+
+	/**
+	 * Registers the MXBean over the shared registry and default focuser, replacing a previously
+	 * registered one.
+	 *
+	 * @param metrics counters exposed as code counts, may be {@code null}
+	 * @return registered MXBean
+	 */
+	public static ErrorRegistryManagement register(ErrorMetrics metrics) {
+		var registry = null == metrics ? ErrorCodeRegistry.getInstance() : metrics.getRegistry();
+		var management = new ErrorRegistryManagement(registry, metrics, StackTraceFocuser.defaultInstance());
+		var server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			var name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(management, name);
+		} catch (JMException e) {
+			throw new IllegalStateException("failed to register " + OBJECT_NAME, e);
+		}
+		return management;
+	}
+
+	/**
+	 * Removes the MXBean registered under {@link #OBJECT_NAME}.
+	 *
+	 * @return {@code true} when an MXBean was registered
+	 */
+	public static boolean unregister() {
+		var server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			var name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name)) {
+				return false;
+			}
+			server.unregisterMBean(name);
+			return true;
+		} catch (JMException e) {
+			throw new IllegalStateException("failed to unregister " + OBJECT_NAME, e);
+		}
+	}
+
+	@Override
+	public int getProviderCount() {
+		return ErrorCodeProviders.getAll().size();
+	}
+
+	@Override
+	public Map<String, Integer> getGroups() {
+		var groups = new TreeMap<String, Integer>();
+		for (var provider : ErrorCodeProviders.getAll()) {
+			groups.merge(String.valueOf(provider.group()), provider.values().size(), Integer::sum);
+		}
+		return groups;
+	}
+
+	@Override
+	public int getRegisteredCodes() {
+		return registry.size();
+	}
+
+	@Override
+	public int getResolutionIndexSize() {
+		return registry.findStats().size();
+	}
+
+	@Override
+	public long getResolutionHits() {
+		return registry.findStats().hits();
+	}
+
+	@Override
+	public long getResolutionMisses() {
+		return registry.findStats().misses();
+	}
+
+	@Override
+	public double getResolutionHitRatio() {
+		return registry.findStats().hitRatio();
+	}
+
+	@Override
+	public int getFocuserDecisionCacheSize() {
+		return decisionCache().size();
+	}
+
+	@Override
+	public int getFocuserDecisionCacheCapacity() {
+		return decisionCache().capacity();
+	}
+
+	@Override
+	public long getFocuserDecisionHits() {
+		return decisionCache().hits();
+	}
+
+	@Override
+	public long getFocuserDecisionMisses() {
+		return decisionCache().misses();
+	}
+
+	@Override
+	public double getFocuserDecisionHitRatio() {
+		return decisionCache().hitRatio();
+	}
+
+	@Override
+	public long getTotalTickets() {
+		return null == metrics ? 0 : metrics.snapshot().total();
+	}
+
+	@Override
+	public Map<String, Long> getCodeCounts() {
+		var counts = new TreeMap<String, Long>();
+		if (null != metrics) {
+			var snapshot = metrics.snapshot();
+			snapshot.codes().forEach((code, count) -> counts.put(code.group() + ':' + code, count));
+			counts.putAll(snapshot.undefinedCodes());
+		}
+		return counts;
+	}
+
+	@Override
+	public Map<String, Long> getGroupCounts() {
+		return null == metrics ? Map.of() : metrics.snapshot().groups();
+	}
+
+	@Override
+	public int reloadProviders() {
+		return ErrorCodeProviders.reload();
+	}
+
+	@Override
+	public void resetCounters() {
+		if (null != metrics) {
+			metrics.reset();
+		}
+		registry.resetFindStats();
+		focuser.resetDecisionCacheStats();
+	}
+
+	private CacheStats decisionCache() {
+		var stats = focuser.decisionCacheStats();
+		return null == stats ? new CacheStats(0, 0, 0, 0) : stats;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("registry", registry)
+				.add("metrics", null != metrics)
+				.toString();
+	}
+}
@@ -0,0 +1,379 @@
+package com.inqwise.errors;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.inqwise.errors.spi.ErrorSink;
+import com.inqwise.errors.spi.ErrorTicketListener;
+
+/**
+ * Forwards tickets to an {@link ErrorSink} in batches, off the reporting thread.
+ *
+ * <p>{@link #report(ErrorTicket)} places the ticket in a bounded lock-free queue and returns; a
+ * single drainer thread (a virtual thread by default) sends a batch once
+ * {@link Builder#maxBatchSize(int)} tickets are queued or the oldest queued ticket has waited
+ * {@link Builder#maxDelay(Duration)}. A slow or failing sink therefore never delays the reporting
+ * thread: when the queue is full the {@link DropPolicy} decides which tickets are lost, and every
+ * lost ticket is counted in {@link #dropped()}.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * ErrorReporter reporter = ErrorReporter.builder(HttpErrorSink.builder(incidentsUri).build())
+ *         .dropPolicy(ErrorReporter.DropPolicy.DROP_OLDEST)
+ *         .build()
+ *         .install();
+ * }</pre>
+ */
+public final class ErrorReporter implements ErrorTicketListener, AutoCloseable {
+	private static final Logger logger = LogManager.getLogger(ErrorReporter.class);
+	private static final int RUNNING = 0;
+	private static final int AWAITING_TICKET = 1;
+	private static final int AWAITING_BATCH = 2;
+
+	/**
+	 * Decides which tickets are lost when the sink falls behind.
+	 */
+	public enum DropPolicy {
+		/** Rejects new tickets while the queue is full. */
+		DROP_NEWEST,
+		/** Evicts the oldest queued tickets to make room for new ones. */
+		DROP_OLDEST,
+		/**
+		 * Keeps one in {@link Builder#sampleRate(int) sample rate} new tickets once the queue is half
+		 * full, and rejects new tickets while it is full.
+		 */
+		SAMPLE
+	}
+
+	private final ErrorSink sink;
+	private final BoundedQueue<ErrorTicket> queue;
+	private final DropPolicy dropPolicy;
+	private final int maxBatchSize;
+	private final long maxDelayNanos;
+	private final int sampleRate;
+	private final int sampleThreshold;
+	private final AtomicLong sampled = new AtomicLong();
+	private final LongAdder submitted = new LongAdder();
+	private final LongAdder delivered = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final Thread drainer;
+	private volatile int waiting = RUNNING;
+	private volatile boolean closed;
+
+	private ErrorReporter(Builder builder) {
+		this.sink = builder.sink;
+		this.queue = new BoundedQueue<>(builder.queueCapacity);
+		this.dropPolicy = builder.dropPolicy;
+		this.maxBatchSize = builder.maxBatchSize;
+		this.maxDelayNanos = builder.maxDelay.toNanos();
+		this.sampleRate = builder.sampleRate;
+		this.sampleThreshold = builder.queueCapacity / 2;
+		this.drainer = builder.threadFactory.newThread(this::drain);
+		drainer.start();
+	}
+
+	/**
+	 * Creates a new {@link Builder} with a queue of 1024 tickets, batches of up to 100 tickets or
+	 * one second, and {@link DropPolicy#DROP_NEWEST}.
+	 *
+	 * @param sink batch destination
+	 * @return new builder
+	 */
+	public static Builder builder(ErrorSink sink) {
+		return new Builder(sink);
+	}
+
+	/**
+	 * Starts reporting every ticket created through {@link ErrorTicket}.
+	 *
+	 * @return this reporter
+	 */
+	public ErrorReporter install() {
+		ErrorTicket.addListener(this);
+		return this;
+	}
+
+	/**
+	 * Stops reporting created tickets; queued tickets are still sent.
+	 *
+	 * @return {@code true} when the reporter was installed
+	 */
+	public boolean uninstall() {
+		return ErrorTicket.removeListener(this);
+	}
+
+	@Override
+	public void onBuild(ErrorTicket ticket) {
+		report(ticket);
+	}
+
+	/**
+	 * Queues a ticket for the sink without blocking.
+	 *
+	 * @param ticket ticket to report
+	 * @return {@code false} when the ticket was dropped
+	 */
+	public boolean report(ErrorTicket ticket) {
+		Objects.requireNonNull(ticket, "ticket");
+		submitted.increment();
+		if (closed || !enqueue(ticket)) {
+			dropped.increment();
+			return false;
+		}
+		int state = waiting;
+		if (AWAITING_TICKET == state || AWAITING_BATCH == state && queue.size() >= maxBatchSize) {
+			LockSupport.unpark(drainer);
+		}
+		return true;
+	}
+
+	private boolean enqueue(ErrorTicket ticket) {
+		switch (dropPolicy) {
+		case DROP_OLDEST:
+			while (!queue.offer(ticket)) {
+				if (null != queue.poll()) {
+					dropped.increment();
+				}
+			}
+			return true;
+		case SAMPLE:
+			if (queue.size() >= sampleThreshold && 0 != sampled.getAndIncrement() % sampleRate) {
+				return false;
+			}
+			return queue.offer(ticket);
+		default:
+			return queue.offer(ticket);
+		}
+	}
+
+	/**
+	 * Returns the number of reported tickets, including dropped ones.
+	 *
+	 * @return reported tickets
+	 */
+	public long submitted() {
+		return submitted.sum();
+	}
+
+	/**
+	 * Returns the number of tickets in batches the sink accepted.
+	 *
+	 * @return delivered tickets
+	 */
+	public long delivered() {
+		return delivered.sum();
+	}
+
+	/**
+	 * Returns the number of tickets lost to the drop policy or reported after closing.
+	 *
+	 * @return dropped tickets
+	 */
+	public long dropped() {
+		return dropped.sum();
+	}
+
+	/**
+	 * Returns the number of tickets in batches the sink failed to deliver.
+	 *
+	 * @return failed tickets
+	 */
+	public long failed() {
+		return failed.sum();
+	}
+
+	/**
+	 * Returns the number of queued tickets.
+	 *
+	 * @return approximate queue length
+	 */
+	public int pending() {
+		return queue.size();
+	}
+
+	/**
+	 * Stops accepting tickets, sends the queued ones and waits up to ten seconds for the drainer
+	 * to finish.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		uninstall();
+		LockSupport.unpark(drainer);
+		try {
+			drainer.join(TimeUnit.SECONDS.toMillis(10));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void drain() {
+		var batch = new ArrayList<ErrorTicket>(maxBatchSize);
+		while (!closed || queue.size() > 0) {
+			if (0 == queue.size()) {
+				park(AWAITING_TICKET, 1, maxDelayNanos);
+				continue;
+			}
+			long deadline = System.nanoTime() + maxDelayNanos;
+			for (long remaining; !closed && queue.size() < maxBatchSize && (remaining = deadline - System.nanoTime()) > 0;) {
+				park(AWAITING_BATCH, maxBatchSize, remaining);
+			}
+			for (ErrorTicket ticket; batch.size() < maxBatchSize && null != (ticket = queue.poll());) {
+				batch.add(ticket);
+			}
+			send(batch);
+			batch.clear();
+		}
+	}
+
+	private void park(int state, int threshold, long nanos) {
+		waiting = state;
+		// re-check after publishing the state, a producer may have missed it
+		if (!closed && queue.size() < threshold) {
+			LockSupport.parkNanos(this, nanos);
+		}
+		waiting = RUNNING;
+	}
+
+	private void send(ArrayList<ErrorTicket> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		try {
+			sink.send(batch);
+			delivered.add(batch.size());
+		} catch (Exception e) {
+			failed.add(batch.size());
+			logger.warn("failed to send {} error tickets to {}", batch.size(), sink, e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("sink", sink)
+				.add("dropPolicy", dropPolicy)
+				.add("pending", pending())
+				.add("delivered", delivered())
+				.add("dropped", dropped())
+				.add("failed", failed())
+				.toString();
+	}
+
+	/**
+	 * Fluent builder for {@link ErrorReporter}.
+	 */
+	public static final class Builder {
+		private final ErrorSink sink;
+		private int queueCapacity = 1024;
+		private int maxBatchSize = 100;
+		private Duration maxDelay = Duration.ofSeconds(1);
+		private DropPolicy dropPolicy = DropPolicy.DROP_NEWEST;
+		private int sampleRate = 10;
+		private ThreadFactory threadFactory = Thread.ofVirtual().name("error-reporter").factory();
+
+		private Builder(ErrorSink sink) {
+			this.sink = Objects.requireNonNull(sink, "sink");
+		}
+
+		/**
+		 * Number of tickets the queue holds.
+		 *
+		 * @param queueCapacity power of two of at least {@code 2}
+		 * @return this builder
+		 */
+		public Builder queueCapacity(int queueCapacity) {
+			Preconditions.checkArgument(queueCapacity > 1 && Integer.bitCount(queueCapacity) == 1,
+					"queueCapacity must be a power of two of at least 2");
+			this.queueCapacity = queueCapacity;
+			return this;
+		}
+
+		/**
+		 * Number of queued tickets that triggers a batch.
+		 *
+		 * @param maxBatchSize positive limit, at most {@link #queueCapacity(int)}
+		 * @return this builder
+		 */
+		public Builder maxBatchSize(int maxBatchSize) {
+			Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+			this.maxBatchSize = maxBatchSize;
+			return this;
+		}
+
+		/**
+		 * Time after which queued tickets are sent even if the batch is not full.
+		 *
+		 * @param maxDelay positive duration
+		 * @return this builder
+		 */
+		public Builder maxDelay(Duration maxDelay) {
+			Objects.requireNonNull(maxDelay, "maxDelay");
+			Preconditions.checkArgument(!maxDelay.isNegative() && !maxDelay.isZero(), "maxDelay must be positive");
+			this.maxDelay = maxDelay;
+			return this;
+		}
+
+		/**
+		 * Policy applied when the queue is full.
+		 *
+		 * @param dropPolicy drop policy, {@link DropPolicy#DROP_NEWEST} by default
+		 * @return this builder
+		 */
+		public Builder dropPolicy(DropPolicy dropPolicy) {
+			this.dropPolicy = Objects.requireNonNull(dropPolicy, "dropPolicy");
+			return this;
+		}
+
+		/**
+		 * One in how many tickets {@link DropPolicy#SAMPLE} keeps under pressure.
+		 *
+		 * @param sampleRate positive rate, {@code 10} by default
+		 * @return this builder
+		 */
+		public Builder sampleRate(int sampleRate) {
+			Preconditions.checkArgument(sampleRate > 0, "sampleRate must be positive");
+			this.sampleRate = sampleRate;
+			return this;
+		}
+
+		/**
+		 * Factory of the drainer thread, for example one handing out Vert.x worker threads.
+		 *
+		 * @param threadFactory thread factory, virtual threads by default
+		 * @return this builder
+		 */
+		public Builder threadFactory(ThreadFactory threadFactory) {
+			this.threadFactory = Objects.requireNonNull(threadFactory, "threadFactory");
+			return this;
+		}
+
+		/**
+		 * Builds the reporter and starts its drainer.
+		 *
+		 * @return running reporter
+		 * @throws IllegalArgumentException if {@code maxBatchSize} exceeds {@code queueCapacity},
+		 *         since such a batch could never fill
+		 */
+		public ErrorReporter build() {
+			Preconditions.checkArgument(maxBatchSize <= queueCapacity,
+					"maxBatchSize %s exceeds queueCapacity %s", maxBatchSize, queueCapacity);
+			return new ErrorReporter(this);
+		}
+	}
+}
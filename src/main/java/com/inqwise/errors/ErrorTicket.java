@@ -5,6 +5,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import org.apache.logging.log4j.message.ParameterizedMessage;
@@ -16,7 +17,11 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.google.common.base.Enums;
 import com.google.common.base.MoreObjects;
+import com.inqwise.errors.jfr.ErrorTicketCreatedEvent;
+import com.inqwise.errors.jfr.ErrorTicketPropagatedEvent;
 import com.inqwise.errors.spi.ErrorCodeProvider;
+import com.inqwise.errors.spi.ErrorTicketListener;
+import com.inqwise.errors.spi.ExceptionMapper;
 
 import io.vertx.core.json.JsonObject;
 
@@ -32,6 +37,8 @@ public class ErrorTicket extends RuntimeException {
 	private static final long serialVersionUID = 3636672196437415424L;
 	
 	private final static int UNIQUE_IDENTIFIER = 2057221941;
+	
+	private static volatile StackCapturePolicy stackCapturePolicy = StackCapturePolicy.always();
 
 	/**
 	* Returns a deterministic identifier useful for schema evolution guards.
@@ -42,6 +49,44 @@ public class ErrorTicket extends RuntimeException {
 		return UNIQUE_IDENTIFIER;
 	}
 
+	/**
+	* Installs the policy deciding whether built tickets capture a stack trace.
+	*
+	* @param policy policy to use, never {@code null}
+	*/
+	public static void setStackCapturePolicy(StackCapturePolicy policy) {
+		stackCapturePolicy = Objects.requireNonNull(policy, "policy");
+	}
+
+	/**
+	* Returns the active stack capture policy.
+	*
+	* @return current policy
+	*/
+	public static StackCapturePolicy getStackCapturePolicy() {
+		return stackCapturePolicy;
+	}
+
+	/**
+	* Registers a listener notified of every ticket created by {@link Builder#build()} and
+	* {@link #propagate(Throwable)}.
+	*
+	* @param listener listener to add, never {@code null}
+	*/
+	public static void addListener(ErrorTicketListener listener) {
+		ErrorTicketListeners.add(listener);
+	}
+
+	/**
+	* Unregisters a listener added by {@link #addListener(ErrorTicketListener)}.
+	*
+	* @param listener listener to remove
+	* @return {@code true} when the listener was registered
+	*/
+	public static boolean removeListener(ErrorTicketListener listener) {
+		return ErrorTicketListeners.remove(listener);
+	}
+
 	/** Field names used when serializing {@link ErrorTicket}. */
 	public static class Keys {
 		/** Public constructor for reflective/test usage. */
@@ -66,6 +111,10 @@ public class ErrorTicket extends RuntimeException {
 		public static final String DETAIL = "detail";
 		/** Instance field name. */
 		public static final String INSTANCE = "instance";
+		/** Caller location extension field name. */
+		public static final String SOURCE = "source";
+		/** RFC 7807 extension listing the violations collected by {@link Validation}. */
+		public static final String INVALID_PARAMS = "invalid-params";
 		
 		// OAuth 2.0 fields (RFC 6749)
 		/** OAuth error field. */
@@ -122,11 +171,22 @@ public class ErrorTicket extends RuntimeException {
 	/** Reference URI identifying this specific occurrence. */
 	@JsonProperty(Keys.INSTANCE)
 	protected String instance;
+	/** Location that raised the ticket when captured instead of a full stack trace. */
+	@JsonProperty(Keys.SOURCE)
+	protected String source;
 	
 	/** Additional metadata appended as RFC 7807 extensions. */
 	protected Map<String, Object> extensions;
 
-	private ErrorTicket(Builder builder) {
+	/** Whether the stack trace is writable; stackless tickets ignore {@link #setStackTrace}. */
+	private final boolean stackTraceWritable;
+	/** Tracks an empty stack trace so that {@link #hasStackTrace()} need not copy it. */
+	private boolean stackTraceEmpty;
+
+	private ErrorTicket(Builder builder, boolean captureStackTrace) {
+		super(null, builder.cause, true, captureStackTrace);
+		this.stackTraceWritable = captureStackTrace;
+		this.stackTraceEmpty = !captureStackTrace;
 		this.errorId = builder.errorId;
 		this.errorDetails = builder.errorDetails;
 		this.error = builder.error;
@@ -135,6 +195,7 @@ public class ErrorTicket extends RuntimeException {
 		this.type = builder.type;
 		this.title = builder.title;
 		this.instance = builder.instance;
+		this.source = builder.source;
 		this.extensions = builder.extensions;
 	}
 
@@ -173,6 +234,7 @@ public class ErrorTicket extends RuntimeException {
 		builder.withErrorDetails(json.getString(Keys.DETAIL));
 		builder.withErrorId(json.getString(Keys.ERROR_ID));
 		builder.withStatusCode(json.getInteger(Keys.STATUS));
+		builder.withSource(json.getString(Keys.SOURCE));
 		String errorGroup;
 		builder.withErrorGroup(errorGroup = json.getString(Keys.ERROR_GROUP, defaultGroup));
 		
@@ -206,6 +268,7 @@ public class ErrorTicket extends RuntimeException {
 	* @param json serialized ticket
 	*/
 	public ErrorTicket(JsonObject json) {
+		this.stackTraceWritable = true;
 		this.errorDetails = json.getString(Keys.DETAIL);
 		this.errorId = json.getString(Keys.ERROR_ID);
 		this.statusCode = json.getInteger(Keys.STATUS);
@@ -229,6 +292,7 @@ public class ErrorTicket extends RuntimeException {
 		this.type = json.getString(Keys.TYPE);
 		this.title = json.getString(Keys.TITLE);
 		this.instance = json.getString(Keys.INSTANCE);
+		this.source = json.getString(Keys.SOURCE);
 		this.extensions = json.getJsonObject(errorCodeName, new JsonObject()).getMap();
 	}
 	
@@ -309,6 +373,33 @@ public class ErrorTicket extends RuntimeException {
 		return errorDetails;
 	}
 	
+	/**
+	* Returns the caller location ({@code class.method(File.java:line)}) recorded when the ticket
+	* was built with source capture.
+	*
+	* @return caller location or {@code null}
+	*/
+	public String getSource() {
+		return source;
+	}
+
+	/**
+	* Tells whether the ticket has stack frames, without the copy made by {@link #getStackTrace()}.
+	*
+	* @return {@code false} for stackless tickets
+	*/
+	boolean hasStackTrace() {
+		return !stackTraceEmpty;
+	}
+
+	@Override
+	public void setStackTrace(StackTraceElement[] stackTrace) {
+		super.setStackTrace(stackTrace);
+		if (stackTraceWritable) {
+			stackTraceEmpty = 0 == stackTrace.length;
+		}
+	}
+	
 	/**
 	* Returns the group identifier used to resolve {@link ErrorCodeProvider}s.
 	*
@@ -318,6 +409,62 @@ public class ErrorTicket extends RuntimeException {
 		return errorGroup;
 	}
 
+	/**
+	* Returns the RFC 7807 type URI.
+	*
+	* @return type URI or {@code null}
+	*/
+	public String getType() {
+		return type;
+	}
+
+	/**
+	* Returns the short human-readable summary.
+	*
+	* @return title or {@code null}
+	*/
+	public String getTitle() {
+		return title;
+	}
+
+	/**
+	* Returns the reference URI of this occurrence.
+	*
+	* @return instance URI or {@code null}
+	*/
+	public String getInstance() {
+		return instance;
+	}
+
+	/**
+	* Returns the RFC 7807 extension members.
+	*
+	* @return read-only extensions, empty when none were added
+	*/
+	public Map<String, Object> getExtensions() {
+		return null == extensions ? Map.of() : java.util.Collections.unmodifiableMap(extensions);
+	}
+
+	/**
+	* Checks whether the ticket carries extension members, without wrapping them.
+	*
+	* @return {@code true} when at least one extension was added
+	*/
+	public boolean hasExtensions() {
+		return null != extensions && !extensions.isEmpty();
+	}
+
+	/**
+	* Passes each extension member to {@code action}, without wrapping or copying them.
+	*
+	* @param action receiver of the extension names and values
+	*/
+	public void forEachExtension(BiConsumer<? super String, ? super Object> action) {
+		if (null != extensions) {
+			extensions.forEach(action);
+		}
+	}
+
 	/**
 	* Checks that the stored error does not match any excluded codes.
 	*
@@ -391,6 +538,10 @@ public class ErrorTicket extends RuntimeException {
 			json.put(Keys.INSTANCE, instance);
 		}
 		
+		if(null != source) {
+			json.put(Keys.SOURCE, source);
+		}
+		
 		// Add any extensions
 		if (null != extensions) {
 			extensions.forEach(json::put);
@@ -429,22 +580,36 @@ public class ErrorTicket extends RuntimeException {
 		Map<String, String> headers = new java.util.HashMap<>();
 		
 		// Add WWW-Authenticate header for OAuth errors
-		if ("oauth".equals(errorGroup) && statusCode != null && statusCode == 401) {
-			StringBuilder wwwAuth = new StringBuilder("Bearer");
-			if (error != null) {
-				wwwAuth.append(" error=\"").append(error.toString()).append("\"");
-			}
-			if (errorDetails != null) {
-				wwwAuth.append(" error_description=\"").append(errorDetails).append("\"");
-			}
-			if (type != null) {
-				wwwAuth.append(" error_uri=\"").append(type).append("\"");
-			}
-			headers.put("WWW-Authenticate", wwwAuth.toString());
+		var wwwAuthenticate = getWwwAuthenticate();
+		if (null != wwwAuthenticate) {
+			headers.put("WWW-Authenticate", wwwAuthenticate);
 		}
 		
 		return headers;
 	}
+
+	/**
+	* Returns the {@code WWW-Authenticate} challenge for OAuth {@code 401} errors without building
+	* the header map of {@link #getResponseHeaders()}.
+	*
+	* @return bearer challenge, or {@code null} when no challenge applies
+	*/
+	public String getWwwAuthenticate() {
+		if (!"oauth".equals(errorGroup) || statusCode == null || statusCode != 401) {
+			return null;
+		}
+		StringBuilder wwwAuth = new StringBuilder("Bearer");
+		if (error != null) {
+			wwwAuth.append(" error=\"").append(error.toString()).append("\"");
+		}
+		if (errorDetails != null) {
+			wwwAuth.append(" error_description=\"").append(errorDetails).append("\"");
+		}
+		if (type != null) {
+			wwwAuth.append(" error_uri=\"").append(type).append("\"");
+		}
+		return wwwAuth.toString();
+	}
 	
 	/**
 	* Indicates whether localization is supported.
@@ -483,6 +648,8 @@ public class ErrorTicket extends RuntimeException {
 
 	/**
 	* Normalizes {@link Throwable}s into {@link ErrorTicket}s, optionally mutating via callback.
+	* Foreign exceptions are classified by the {@link com.inqwise.errors.spi.ExceptionMapper}s
+	* registered for their class, falling back to {@link ErrorCodes#GeneralError}.
 	*
 	* @param t the throwable to convert
 	* @param creator optional callback to customize the builder
@@ -491,28 +658,26 @@ public class ErrorTicket extends RuntimeException {
 	public static ErrorTicket propagate(Throwable t, Consumer<ErrorTicket.Builder> creator){
 		
 		ErrorTicket.Builder builder;
+		Object mapping;
 		
 		if(t instanceof ErrorTicket){
 			builder = builderFrom((ErrorTicket)t);
+			mapping = "ErrorTicket";
 		}else if(t instanceof ProvidesErrorTicket) {
 			builder = ((ProvidesErrorTicket) t).getErrorTicketBuilder();
+			mapping = "ProvidesErrorTicket";
 		} else {
-			builder = builder().withError(ErrorCodes.GeneralError);
-			if(null == t.getMessage()) {
-				if(t instanceof NullPointerException) {
-					builder.withDetails("NullPointer");
-				} else {
-					builder.withDetails(t.getClass().getName());
-				}
-			} else {
-				builder.withDetails("{}:{}", t.getClass().getName(), t.getMessage());
-			}
+			builder = ExceptionMappers.builderFor(t);
+			mapping = null == builder.mapper ? "default" : builder.mapper;
 		}
 		
 		if(null != creator) { 
 			creator.accept(builder);
 		}
-		return builder.build();
+		var ticket = builder.create();
+		ErrorTicketPropagatedEvent.emit(t, ticket, mapping);
+		ErrorTicketListeners.propagated(t, ticket);
+		return ticket;
 	}
 
 	/**
@@ -564,10 +729,20 @@ public class ErrorTicket extends RuntimeException {
 		private String type;
 		private String title;
 		private String instance;
+		private String source;
+		private boolean captureSource;
 		
 		// Extensions for RFC 7807 and OAuth 2.0
 		private Map<String, Object> extensions = new java.util.HashMap<>();
 		
+		// null defers to the active StackCapturePolicy
+		private Boolean captureStackTrace;
+
+		private Throwable cause;
+
+		// mapper that produced this builder in propagate, reported to JFR
+		ExceptionMapper mapper;
+		
 	static String generate(int size, boolean preventFirstCharDigit) {
 			StringBuilder sb = new StringBuilder(size);
 			
@@ -618,6 +793,7 @@ public class ErrorTicket extends RuntimeException {
 			this.instance = errorTicket.instance;
 			this.type = errorTicket.type;
 			this.title = errorTicket.title;
+			this.source = errorTicket.source;
 			if(null != errorTicket.extensions) {
 				this.extensions.putAll(errorTicket.extensions);
 			}
@@ -753,6 +929,52 @@ public class ErrorTicket extends RuntimeException {
 			return this;
 		}
 
+		/**
+		* Sets the caller location explicitly.
+		*
+		* @param source location text, typically {@code class.method(File.java:line)}
+		* @return this builder
+		*/
+		public Builder withSource(String source) {
+			this.source = source;
+			return this;
+		}
+
+		/**
+		* Records the first frame outside this library as {@link Keys#SOURCE} when building. Pair with
+		* {@code withStackTrace(false)} to keep the raising line at a fraction of the cost of a full
+		* stack trace.
+		*
+		* @return this builder
+		*/
+		public Builder withCallerLocation() {
+			this.captureSource = true;
+			return this;
+		}
+
+		/**
+		* Forces or suppresses stack trace capture, bypassing the active {@link StackCapturePolicy}.
+		*
+		* @param captureStackTrace {@code false} to build a stackless ticket
+		* @return this builder
+		*/
+		public Builder withStackTrace(boolean captureStackTrace) {
+			this.captureStackTrace = captureStackTrace;
+			return this;
+		}
+
+		/**
+		* Chains the exception the ticket was derived from, so a stackless ticket still reports
+		* where the original failure happened.
+		*
+		* @param cause underlying exception, may be {@code null}
+		* @return this builder
+		*/
+		public Builder withCause(Throwable cause) {
+			this.cause = cause;
+			return this;
+		}
+
 		/**
 		* Formats the detail string via {@link ParameterizedMessage}.
 		*
@@ -776,14 +998,38 @@ public class ErrorTicket extends RuntimeException {
 
 		/**
 		* Creates the {@link ErrorTicket}, inferring status from the {@link ErrorCode} when omitted.
+		* The stack trace is captured unless suppressed via {@link #withStackTrace(boolean)} or the
+		* active {@link StackCapturePolicy}; stackless tickets may record their caller location instead.
+		* Registered {@link ErrorTicketListener}s are notified of the new ticket.
 		*
 		* @return immutable {@link ErrorTicket}
 		*/
 		public ErrorTicket build() {
+			var ticket = create();
+			ErrorTicketListeners.built(ticket);
+			return ticket;
+		}
+
+		ErrorTicket create() {
 			if(null == statusCode && null != error && 0 != error.statusCode()) {
 				statusCode = error.statusCode();
 			}
-			return new ErrorTicket(this);
+			var policy = stackCapturePolicy;
+			boolean capture = null != captureStackTrace ? captureStackTrace : policy.shouldCapture(error);
+			if(null == source && (captureSource || (!capture && policy.shouldCaptureSource(error)))) {
+				source = CallerLocation.capture();
+			}
+			var ticket = new ErrorTicket(this, capture);
+			ErrorTicketCreatedEvent.emit(ticket, capture);
+			return ticket;
+		}
+
+		/**
+		* Recreates a stackless ticket from stored fields as they are, without inferring the status
+		* or notifying listeners.
+		*/
+		ErrorTicket restore() {
+			return new ErrorTicket(this, false);
 		}
 	}
 
@@ -802,6 +1048,7 @@ public class ErrorTicket extends RuntimeException {
 				.add("type", type)
 				.add("title", title)
 				.add("instance", instance)
+				.add("source", source)
 				.add("extensions", extensions)
 				.toString();
 	}
@@ -0,0 +1,131 @@
+package com.inqwise.errors;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+
+/**
+ * Adapters between Vert.x {@link Future}s and {@link ErrorTicket}s.
+ *
+ * <p>Failures are unboxed with {@link Unboxer#defaultInstance()}; an {@link ErrorTicket} found at
+ * the bottom is passed through as is instead of being rebuilt through
+ * {@link ErrorTicket#builderFrom(ErrorTicket)}, and any other throwable is converted by
+ * {@link ErrorTicket#propagate(Throwable)} into a stackless ticket with the throwable chained as
+ * its cause, so the stack trace of an unexpected failure is kept without capturing a second
+ * one.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * repository.find(id)
+ *     .recover(ErrorTicketFutures.recover(ErrorCodes.NotFound, ticket -> User.guest()))
+ *     .transform(ErrorTicketFutures.transform());
+ * }</pre>
+ */
+public final class ErrorTicketFutures {
+	private static final Function<Throwable, Future<Object>> PROPAGATE = failure -> Future.failedFuture(toTicket(failure));
+
+	private static final Function<Throwable, Object> RETHROW = failure -> {
+		throw toTicket(failure);
+	};
+
+	private static final Function<AsyncResult<Object>, Future<Object>> TRANSFORM = ErrorTicketFutures::transform;
+
+	private ErrorTicketFutures() {
+	}
+
+	/**
+	 * Converts a failure into a ticket, passing existing tickets through unchanged.
+	 *
+	 * @param failure failure to convert
+	 * @return the unboxed ticket, or a stackless ticket describing the failure and caused by it
+	 */
+	public static ErrorTicket toTicket(Throwable failure) {
+		Objects.requireNonNull(failure, "failure");
+		var unboxed = Unboxer.defaultInstance().unbox(failure);
+		if (unboxed instanceof ErrorTicket ticket) {
+			return ticket;
+		}
+		return ErrorTicket.propagate(unboxed, builder -> builder.withStackTrace(false).withCause(unboxed));
+	}
+
+	/**
+	 * Mapper for {@link Future#recover(Function)} failing the future with the failure's ticket.
+	 *
+	 * @param <T> value type
+	 * @return shared mapper
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static <T> Function<Throwable, Future<T>> propagate() {
+		return (Function) PROPAGATE;
+	}
+
+	/**
+	 * Mapper for {@link Future#otherwise(Function)} that rethrows the failure's ticket, leaving the
+	 * future failed with it.
+	 *
+	 * @param <T> value type
+	 * @return shared mapper
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static <T> Function<Throwable, T> rethrow() {
+		return (Function) RETHROW;
+	}
+
+	/**
+	 * Mapper for {@link Future#transform(Function)} that keeps successes and replaces failures with
+	 * their ticket. A future already failed with a ticket is returned as is.
+	 *
+	 * @param <T> value type
+	 * @return shared mapper
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static <T> Function<AsyncResult<T>, Future<T>> transform() {
+		return (Function) TRANSFORM;
+	}
+
+	/**
+	 * Mapper for {@link Future#recover(Function)} turning failures with the given error code into a
+	 * value; all other failures are propagated as tickets.
+	 *
+	 * @param error error code to recover from
+	 * @param recovery maps the ticket to a value
+	 * @param <T> value type
+	 * @return recovering mapper
+	 */
+	public static <T> Function<Throwable, Future<T>> recover(ErrorCode error, Function<? super ErrorTicket, ? extends T> recovery) {
+		Objects.requireNonNull(error, ErrorTicket.Keys.CODE);
+		Objects.requireNonNull(recovery, "recovery");
+		return failure -> {
+			var ticket = toTicket(failure);
+			if (ticket.hasError(error)) {
+				return Future.succeededFuture(recovery.apply(ticket));
+			}
+			return Future.failedFuture(ticket);
+		};
+	}
+
+	/**
+	 * Creates a future failed with a stackless ticket.
+	 *
+	 * @param errorCode error code of the ticket
+	 * @param details failure description
+	 * @param <T> value type
+	 * @return failed future
+	 */
+	public static <T> Future<T> failedFuture(ErrorCode errorCode, String details) {
+		return Future.failedFuture(ErrorTickets.stackless(errorCode, details));
+	}
+
+	private static Future<Object> transform(AsyncResult<Object> result) {
+		if (result.succeeded()) {
+			return result instanceof Future<Object> future ? future : Future.succeededFuture(result.result());
+		}
+		var cause = result.cause();
+		if (cause instanceof ErrorTicket && result instanceof Future<Object> future) {
+			return future;
+		}
+		return Future.failedFuture(toTicket(cause));
+	}
+}
@@ -0,0 +1,73 @@
+package com.inqwise.errors;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.inqwise.errors.spi.ErrorTicketListener;
+
+/**
+ * Copy-on-write registry of {@link ErrorTicketListener}s. Notification reads a single volatile
+ * array, so creating tickets with no listener registered costs one load and a length check.
+ */
+final class ErrorTicketListeners {
+	private static final Logger logger = LogManager.getLogger(ErrorTicketListeners.class);
+	private static final ErrorTicketListener[] NONE = new ErrorTicketListener[0];
+
+	private static volatile ErrorTicketListener[] listeners = NONE;
+
+	private ErrorTicketListeners() {
+	}
+
+	static synchronized void add(ErrorTicketListener listener) {
+		Objects.requireNonNull(listener, "listener");
+		var current = listeners;
+		var updated = Arrays.copyOf(current, current.length + 1);
+		updated[current.length] = listener;
+		listeners = updated;
+	}
+
+	static synchronized boolean remove(ErrorTicketListener listener) {
+		var current = listeners;
+		for (int i = 0; i < current.length; i++) {
+			if (current[i] == listener) {
+				var updated = new ErrorTicketListener[current.length - 1];
+				System.arraycopy(current, 0, updated, 0, i);
+				System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+				listeners = updated;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	static void built(ErrorTicket ticket) {
+		var current = listeners;
+		if (0 == current.length) {
+			return;
+		}
+		for (ErrorTicketListener listener : current) {
+			try {
+				listener.onBuild(ticket);
+			} catch (RuntimeException e) {
+				logger.warn("ErrorTicketListener {} failed", listener, e);
+			}
+		}
+	}
+
+	static void propagated(Throwable source, ErrorTicket ticket) {
+		var current = listeners;
+		if (0 == current.length) {
+			return;
+		}
+		for (ErrorTicketListener listener : current) {
+			try {
+				listener.onPropagate(source, ticket);
+			} catch (RuntimeException e) {
+				logger.warn("ErrorTicketListener {} failed", listener, e);
+			}
+		}
+	}
+}
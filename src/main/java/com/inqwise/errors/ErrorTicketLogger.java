@@ -0,0 +1,362 @@
+package com.inqwise.errors;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Deduplicating Log4j2 logger for {@link ErrorTicket}s.
+ *
+ * <p>The first occurrence of each (error code, throw site) pair is logged with the throw site as the
+ * event's throwable, so the layout renders it, for example focused by {@code %focusedEx} or as
+ * structured fields by the {@code errorTicket} JSON resolver; the throw site is fingerprinted as in
+ * {@link ErrorHotspots}. Repeats are only counted, and
+ * the count is logged as a {@code repeated N times since T} line by the first repeat after each
+ * {@link Builder#summaryInterval(Duration) summary interval}, or by {@link #flush()}. Pairs are
+ * held in a table keyed by primitive {@code long}s, so a suppressed repeat of a stackless ticket
+ * costs one lock-free probe, one counter increment and one clock read, and allocates nothing; a
+ * ticket with a stack trace also pays for reading its frames into the fingerprint.</p>
+ *
+ * <p>At most {@link Builder#maxTrackedKeys(int)} pairs are tracked. Pairs idle for longer than
+ * {@link Builder#idleTimeout(Duration)} are evicted, after logging their pending repeats, by
+ * {@link #flush()} and, when the table is full, by a sweep run at most once per summary interval;
+ * while it stays full, new pairs are logged without being deduplicated.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * ErrorTicketLogger errors = ErrorTicketLogger.builder().build();
+ * future.onFailure(failure -> errors.log(ErrorTicketFutures.toTicket(failure)));
+ * }</pre>
+ */
+public final class ErrorTicketLogger {
+	private final Logger logger;
+	private final Level level;
+	private final long intervalNanos;
+	private final long idleNanos;
+	private final int maxTrackedKeys;
+	private final StackTraceFocuser focuser;
+	private final LongSupplier ticker;
+	private final LongSupplier clock;
+	private final LongKeyedTable<Entry> entries;
+	/** Repeats of evicted pairs; {@link #suppressed()} adds those of the tracked ones. */
+	private final AtomicLong evictedRepeats = new AtomicLong();
+	private final AtomicLong nextSweep;
+
+	private ErrorTicketLogger(Builder builder) {
+		this.logger = builder.logger;
+		this.level = builder.level;
+		this.intervalNanos = builder.summaryInterval.toNanos();
+		this.idleNanos = builder.idleTimeout.toNanos();
+		this.maxTrackedKeys = builder.maxTrackedKeys;
+		this.focuser = builder.focuser;
+		this.ticker = builder.ticker;
+		this.clock = builder.clock;
+		this.entries = new LongKeyedTable<>(builder.maxTrackedKeys);
+		this.nextSweep = new AtomicLong(ticker.getAsLong());
+	}
+
+	/**
+	 * Creates a new {@link Builder} logging at {@code ERROR} to the {@code ErrorTicketLogger}
+	 * logger, with one-minute summaries.
+	 *
+	 * @return new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Logs a ticket raised at its own stack trace or caller location.
+	 *
+	 * @param ticket ticket to log
+	 */
+	public void log(ErrorTicket ticket) {
+		log(ticket, ticket);
+	}
+
+	/**
+	 * Logs a ticket raised by another throwable.
+	 *
+	 * @param ticket ticket to log
+	 * @param throwSite throwable whose stack identifies the throw site
+	 */
+	public void log(ErrorTicket ticket, Throwable throwSite) {
+		Objects.requireNonNull(ticket, "ticket");
+		Objects.requireNonNull(throwSite, "throwSite");
+		if (!logger.isEnabled(level)) {
+			return;
+		}
+		long key = ThrowSites.key(ticket, ThrowSites.fingerprint(focuser, ticket, throwSite));
+		var entry = entries.get(key);
+		if (null != entry) {
+			repeat(entry);
+			return;
+		}
+		long now = ticker.getAsLong();
+		if (entries.size() >= maxTrackedKeys) {
+			sweep(now);
+		}
+		if (entries.size() < maxTrackedKeys) {
+			var created = new Entry(key, ticket, ThrowSites.location(focuser, ticket, throwSite), now, clock.getAsLong());
+			entry = entries.putIfAbsent(key, created);
+			if (null != entry && created != entry) {
+				repeat(entry);
+				return;
+			}
+		}
+		logger.log(level, first(ticket, throwSite), throwSite);
+	}
+
+	/**
+	 * Logs the pending repeats of every tracked pair and evicts idle pairs.
+	 *
+	 * @return number of summary lines logged
+	 */
+	public int flush() {
+		long now = ticker.getAsLong();
+		int summaries = 0;
+		for (var entry : entries.values()) {
+			if (summarize(entry, now, true)) {
+				summaries++;
+			}
+		}
+		evictIdle(now);
+		return summaries;
+	}
+
+	/**
+	 * Returns the number of repeats that were counted instead of logged.
+	 *
+	 * @return suppressed repeats
+	 */
+	public long suppressed() {
+		long suppressed = evictedRepeats.get();
+		for (var entry : entries.values()) {
+			suppressed += entry.repeats.sum();
+		}
+		return suppressed;
+	}
+
+	/**
+	 * Returns the number of tracked (error code, throw site) pairs.
+	 *
+	 * @return tracked pairs
+	 */
+	public int trackedKeys() {
+		return entries.size();
+	}
+
+	private void repeat(Entry entry) {
+		entry.repeats.increment();
+		long now = ticker.getAsLong();
+		entry.lastSeen = now;
+		if (now - entry.windowStart.get() >= intervalNanos) {
+			summarize(entry, now, false);
+		}
+	}
+
+	private boolean summarize(Entry entry, long now, boolean force) {
+		long windowStart = entry.windowStart.get();
+		if (!force && now - windowStart < intervalNanos || !entry.windowStart.compareAndSet(windowStart, now)) {
+			return false;
+		}
+		long since = entry.windowStartMillis;
+		entry.windowStartMillis = clock.getAsLong();
+		long total = entry.repeats.sum();
+		long repeats = total - entry.reported.getAndAccumulate(total, Math::max);
+		if (repeats <= 0) {
+			return false;
+		}
+		logger.log(level, "{} at {} repeated {} times since {} (first errorId {})", entry.code, entry.location, repeats,
+				Instant.ofEpochMilli(since), entry.errorId);
+		return true;
+	}
+
+	/**
+	 * Evicts idle pairs of a full table, at most once per summary interval so that a storm of new
+	 * pairs does not scan the table on every call.
+	 */
+	private void sweep(long now) {
+		long due = nextSweep.get();
+		if (now - due >= 0 && nextSweep.compareAndSet(due, now + intervalNanos)) {
+			evictIdle(now);
+		}
+	}
+
+	private void evictIdle(long now) {
+		for (var entry : entries.values()) {
+			if (now - entry.lastSeen >= idleNanos && entries.remove(entry.key, entry)) {
+				summarize(entry, now, true);
+				evictedRepeats.addAndGet(entry.repeats.sum());
+			}
+		}
+	}
+
+	private String first(ErrorTicket ticket, Throwable throwSite) {
+		var sb = new StringBuilder(128);
+		sb.append(ThrowSites.groupOf(ticket)).append(':').append(ticket.getError());
+		if (null != ticket.getStatus()) {
+			sb.append(" (").append(ticket.getStatus()).append(')');
+		}
+		if (null != ticket.getErrorId()) {
+			sb.append(" [").append(ticket.getErrorId()).append(']');
+		}
+		if (null != ticket.getErrorDetails()) {
+			sb.append(' ').append(ticket.getErrorDetails());
+		}
+		if (throwSite == ticket && null != ticket.getSource() && !ticket.hasStackTrace()) {
+			sb.append(" at ").append(ticket.getSource());
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("logger", logger.getName())
+				.add("level", level)
+				.add("intervalNanos", intervalNanos)
+				.add("trackedKeys", entries.size())
+				.toString();
+	}
+
+	private static final class Entry {
+		private final long key;
+		private final String code;
+		private final String location;
+		private final String errorId;
+		/** Repeats since the pair was tracked, of which {@code reported} were summarized. */
+		private final LongAdder repeats = new LongAdder();
+		private final AtomicLong reported = new AtomicLong();
+		private final AtomicLong windowStart;
+		private volatile long windowStartMillis;
+		private volatile long lastSeen;
+
+		private Entry(long key, ErrorTicket ticket, String location, long now, long nowMillis) {
+			this.key = key;
+			this.code = ThrowSites.groupOf(ticket) + ':' + ticket.getError();
+			this.location = location;
+			this.errorId = ticket.getErrorId();
+			this.windowStart = new AtomicLong(now);
+			this.windowStartMillis = nowMillis;
+			this.lastSeen = now;
+		}
+	}
+
+	/**
+	 * Fluent builder for {@link ErrorTicketLogger}.
+	 */
+	public static final class Builder {
+		private Logger logger = LogManager.getLogger(ErrorTicketLogger.class);
+		private Level level = Level.ERROR;
+		private Duration summaryInterval = Duration.ofMinutes(1);
+		private Duration idleTimeout = Duration.ofMinutes(10);
+		private int maxTrackedKeys = 1024;
+		private StackTraceFocuser focuser = StackTraceFocuser.defaultInstance();
+		private LongSupplier ticker = System::nanoTime;
+		private LongSupplier clock = System::currentTimeMillis;
+
+		private Builder() {
+		}
+
+		/**
+		 * Logger receiving the lines.
+		 *
+		 * @param logger target logger
+		 * @return this builder
+		 */
+		public Builder logger(Logger logger) {
+			this.logger = Objects.requireNonNull(logger, "logger");
+			return this;
+		}
+
+		/**
+		 * Level of first occurrences and summaries.
+		 *
+		 * @param level log level, {@code ERROR} by default
+		 * @return this builder
+		 */
+		public Builder level(Level level) {
+			this.level = Objects.requireNonNull(level, "level");
+			return this;
+		}
+
+		/**
+		 * Minimum time between two summary lines of the same pair.
+		 *
+		 * @param summaryInterval positive duration
+		 * @return this builder
+		 */
+		public Builder summaryInterval(Duration summaryInterval) {
+			Objects.requireNonNull(summaryInterval, "summaryInterval");
+			Preconditions.checkArgument(!summaryInterval.isNegative() && !summaryInterval.isZero(), "summaryInterval must be positive");
+			this.summaryInterval = summaryInterval;
+			return this;
+		}
+
+		/**
+		 * Time after its last occurrence at which a pair may be evicted.
+		 *
+		 * @param idleTimeout positive duration
+		 * @return this builder
+		 */
+		public Builder idleTimeout(Duration idleTimeout) {
+			Objects.requireNonNull(idleTimeout, "idleTimeout");
+			Preconditions.checkArgument(!idleTimeout.isNegative() && !idleTimeout.isZero(), "idleTimeout must be positive");
+			this.idleTimeout = idleTimeout;
+			return this;
+		}
+
+		/**
+		 * Upper bound of tracked pairs.
+		 *
+		 * @param maxTrackedKeys positive limit
+		 * @return this builder
+		 */
+		public Builder maxTrackedKeys(int maxTrackedKeys) {
+			Preconditions.checkArgument(maxTrackedKeys > 0, "maxTrackedKeys must be positive");
+			this.maxTrackedKeys = maxTrackedKeys;
+			return this;
+		}
+
+		/**
+		 * Focuser applied to logged stack traces and throw-site fingerprints.
+		 *
+		 * @param focuser frame filter, {@link StackTraceFocuser#defaultInstance()} by default
+		 * @return this builder
+		 */
+		public Builder focuser(StackTraceFocuser focuser) {
+			this.focuser = Objects.requireNonNull(focuser, "focuser");
+			return this;
+		}
+
+		Builder ticker(LongSupplier ticker) {
+			this.ticker = Objects.requireNonNull(ticker, "ticker");
+			return this;
+		}
+
+		Builder clock(LongSupplier clock) {
+			this.clock = Objects.requireNonNull(clock, "clock");
+			return this;
+		}
+
+		/**
+		 * Builds the logger.
+		 *
+		 * @return configured logger
+		 */
+		public ErrorTicketLogger build() {
+			return new ErrorTicketLogger(this);
+		}
+	}
+}
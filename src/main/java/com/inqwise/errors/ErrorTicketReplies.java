@@ -0,0 +1,185 @@
+package com.inqwise.errors;
+
+import java.util.Objects;
+
+import com.inqwise.errors.ErrorTicket.Keys;
+import com.inqwise.errors.jfr.ErrorTicketSerializedEvent;
+
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Maps {@link ErrorTicket}s to and from event-bus {@link ReplyException}s.
+ *
+ * <p>The {@code failureCode} packs a marker bit, the {@link ErrorCodeRegistry} id of the error
+ * code and the HTTP status:</p>
+ * <pre>
+ *  bit 30      bits 10..29    bits 0..9
+ *  marker      id + 1         status
+ * </pre>
+ * <p>The message carries the remaining members of the ticket as compact JSON, including the code
+ * name. Receivers resolve the code with {@link ErrorCodeRegistry#byId(int)} and keep it only when
+ * its name matches, so a peer whose registry assigns different ids, for example during a rolling
+ * deploy that adds codes to a group, still decodes the right code. Otherwise, and for codes of
+ * providers that do not enumerate them, the code is resolved by group and name through
+ * {@link ErrorCodeRegistry#find(String, String)} and then the group's
+ * {@link com.inqwise.errors.spi.ErrorCodeProvider}.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * // consumer
+ * ErrorTicketReplies.fail(message, ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(false).build());
+ * // sender
+ * vertx.eventBus().request(address, body).recover(ErrorTicketFutures.propagate());
+ * }</pre>
+ */
+public final class ErrorTicketReplies {
+	private static final int MARKER = 1 << 30;
+	private static final int MARKER_MASK = 0b11 << 30;
+	private static final int STATUS_BITS = 10;
+	private static final int STATUS_MASK = (1 << STATUS_BITS) - 1;
+	private static final int MAX_ID = (1 << 20) - 2;
+
+	private ErrorTicketReplies() {
+	}
+
+	/**
+	 * Computes the {@code failureCode} for a ticket.
+	 *
+	 * @param ticket ticket to encode
+	 * @return packed failure code
+	 */
+	public static int failureCode(ErrorTicket ticket) {
+		int id = ErrorCodeRegistry.getInstance().idOf(ticket.getError());
+		int slot = id < 0 || id > MAX_ID ? 0 : id + 1;
+		var status = ticket.getStatus();
+		int statusBits = null == status || status < 0 || status > STATUS_MASK ? 0 : status;
+		return MARKER | slot << STATUS_BITS | statusBits;
+	}
+
+	/**
+	 * Indicates whether a failure code was produced by {@link #failureCode(ErrorTicket)}.
+	 *
+	 * @param failureCode reply failure code
+	 * @return {@code true} for ticket failure codes
+	 */
+	public static boolean isTicketCode(int failureCode) {
+		return (failureCode & MARKER_MASK) == MARKER;
+	}
+
+	/**
+	 * Encodes the ticket as the message of a {@link ReplyException}.
+	 *
+	 * @param ticket ticket to encode
+	 * @return compact JSON without the members carried by the failure code
+	 */
+	public static String message(ErrorTicket ticket) {
+		var event = ErrorTicketSerializedEvent.start();
+		var json = ticket.toJson();
+		json.remove(Keys.STATUS);
+		if ("oauth".equals(ticket.getErrorGroup())) {
+			json.remove(Keys.ERROR);
+			json.remove(Keys.ERROR_DESCRIPTION);
+			json.remove(Keys.ERROR_URI);
+		}
+		var message = json.encode();
+		event.finish(ticket, "event-bus", message);
+		return message;
+	}
+
+	/**
+	 * Creates the reply exception for a ticket.
+	 *
+	 * @param ticket ticket to encode
+	 * @return {@link ReplyFailure#RECIPIENT_FAILURE} exception
+	 */
+	public static ReplyException toReplyException(ErrorTicket ticket) {
+		return new ReplyException(ReplyFailure.RECIPIENT_FAILURE, failureCode(ticket), message(ticket));
+	}
+
+	/**
+	 * Fails an event-bus message with a ticket.
+	 *
+	 * @param message message to reply to
+	 * @param ticket failure ticket
+	 */
+	public static void fail(Message<?> message, ErrorTicket ticket) {
+		message.fail(failureCode(ticket), message(ticket));
+	}
+
+	/**
+	 * Converts a reply exception into a stackless ticket. Exceptions not produced by this class
+	 * are classified by {@link ReplyFailure}, keeping a failure code in the 4xx/5xx range as the
+	 * status.
+	 *
+	 * @param exception reply exception
+	 * @return decoded ticket
+	 */
+	public static ErrorTicket toTicket(ReplyException exception) {
+		return builderFor(exception).withStackTrace(false).build();
+	}
+
+	static ErrorTicket.Builder builderFor(ReplyException exception) {
+		Objects.requireNonNull(exception, "exception");
+		int failureCode = exception.failureCode();
+		if (!isTicketCode(failureCode)) {
+			return foreignBuilder(exception);
+		}
+		var builder = ErrorTicket.builder();
+		int status = failureCode & STATUS_MASK;
+		if (0 != status) {
+			builder.withStatusCode(status);
+		}
+		var error = ErrorCodeRegistry.getInstance().byId(((failureCode & ~MARKER_MASK) >>> STATUS_BITS) - 1);
+		var message = exception.getMessage();
+		JsonObject json = null == message ? new JsonObject() : new JsonObject(message);
+		for (var member : json) {
+			var value = member.getValue();
+			switch (member.getKey()) {
+			case Keys.DETAIL -> builder.withErrorDetails((String) value);
+			case Keys.ERROR_ID -> builder.withErrorId((String) value);
+			case Keys.ERROR_GROUP -> builder.withErrorGroup((String) value);
+			case Keys.TYPE -> builder.type((String) value);
+			case Keys.TITLE -> builder.title((String) value);
+			case Keys.INSTANCE -> builder.instance((String) value);
+			case Keys.SOURCE -> builder.withSource((String) value);
+			case Keys.CODE -> {
+				var name = (String) value;
+				if (null == error || !name.equals(error.toString())) {
+					error = resolve(json.getString(Keys.ERROR_GROUP, ErrorCodes.GROUP), name);
+				}
+			}
+			default -> builder.addExtension(member.getKey(), value);
+			}
+		}
+		builder.withError(null == error ? ErrorCodes.GeneralError : error);
+		return builder;
+	}
+
+	private static ErrorCode resolve(String group, String name) {
+		var error = ErrorCodeRegistry.getInstance().find(group, name);
+		if (null == error) {
+			var provider = ErrorCodeProviders.get(group);
+			error = null == provider ? null : provider.valueOf(name);
+		}
+		return error;
+	}
+
+	private static ErrorTicket.Builder foreignBuilder(ReplyException exception) {
+		var builder = ErrorTicket.builder().withErrorDetails(exception.getMessage());
+		return switch (exception.failureType()) {
+		case TIMEOUT -> builder.withError(ErrorCodes.Timeout);
+		case NO_HANDLERS -> builder.withError(ErrorCodes.GeneralError).withStatusCode(503);
+		default -> {
+			builder.withError(ErrorCodes.GeneralError);
+			int failureCode = exception.failureCode();
+			if (failureCode >= 400 && failureCode < 600) {
+				builder.withStatusCode(failureCode);
+			}
+			yield builder;
+		}
+		};
+	}
+}
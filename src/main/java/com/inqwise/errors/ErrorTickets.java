@@ -1,16 +1,15 @@
 package com.inqwise.errors;
 
 import java.util.List;
-import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.logging.log4j.message.ParameterizedMessage;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
 
 /**
  * Convenience guard/validation helpers that throw {@link ErrorTicket}s.
@@ -51,7 +50,9 @@ public final class ErrorTickets {
 	 * @param errorMessage message used when throwing
 	 */
 	public static void checkAnyNotNull(Object[] values, Object errorMessage) {
-		checkAnyNotNull(Lists.newArrayList(values), errorMessage);
+		if (values == null || allNull(values)) {
+			throw argumentNull(errorMessage);
+		}
 	}
 
 	/**
@@ -61,9 +62,67 @@ public final class ErrorTickets {
 	 * @param errorMessage message used when throwing
 	 */
 	public static void checkAnyNotNull(Iterable<Object> values, Object errorMessage) {
+		if (values == null || allNull(values)) {
+			throw argumentNull(errorMessage);
+		}
+	}
 
-		if (values == null || Iterables.all(values, Objects::isNull)) {
-			throw ErrorTicket.builder().withError(ErrorCodes.ArgumentNull).withErrorDetails(String.valueOf(errorMessage)).build();
+	/**
+	 * Throws {@link ErrorTicket} when both values are {@code null}. Unlike the array overload no
+	 * varargs array is allocated, so the success path is allocation-free.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param errorMessage message used when throwing
+	 */
+	public static void checkAnyNotNull(Object v1, Object v2, Object errorMessage) {
+		if (v1 == null && v2 == null) {
+			throw argumentNull(errorMessage);
+		}
+	}
+
+	/**
+	 * Three-value variant of {@link #checkAnyNotNull(Object, Object, Object)}.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param v3 third value
+	 * @param errorMessage message used when throwing
+	 */
+	public static void checkAnyNotNull(Object v1, Object v2, Object v3, Object errorMessage) {
+		if (v1 == null && v2 == null && v3 == null) {
+			throw argumentNull(errorMessage);
+		}
+	}
+
+	/**
+	 * Four-value variant of {@link #checkAnyNotNull(Object, Object, Object)}.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param v3 third value
+	 * @param v4 fourth value
+	 * @param errorMessage message used when throwing
+	 */
+	public static void checkAnyNotNull(Object v1, Object v2, Object v3, Object v4, Object errorMessage) {
+		if (v1 == null && v2 == null && v3 == null && v4 == null) {
+			throw argumentNull(errorMessage);
+		}
+	}
+
+	/**
+	 * Five-value variant of {@link #checkAnyNotNull(Object, Object, Object)}.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param v3 third value
+	 * @param v4 fourth value
+	 * @param v5 fifth value
+	 * @param errorMessage message used when throwing
+	 */
+	public static void checkAnyNotNull(Object v1, Object v2, Object v3, Object v4, Object v5, Object errorMessage) {
+		if (v1 == null && v2 == null && v3 == null && v4 == null && v5 == null) {
+			throw argumentNull(errorMessage);
 		}
 	}
 
@@ -74,7 +133,9 @@ public final class ErrorTickets {
 	 * @param consumer builder customizer
 	 */
 	public static void checkAnyNotNull(Object[] values, Consumer<ErrorTicket.Builder> consumer) {
-		checkAnyNotNull(List.of(values), consumer);
+		if (values == null || allNull(values)) {
+			throw argumentNull(consumer);
+		}
 	}
 
 	/**
@@ -84,10 +145,20 @@ public final class ErrorTickets {
 	 * @param consumer builder customizer
 	 */
 	public static void checkAnyNotNull(Iterable<Object> values, Consumer<ErrorTicket.Builder> consumer) {
-		if (values == null || Iterables.all(values, Objects::isNull)) {
-			var builder = ErrorTicket.builder().withError(ErrorCodes.ArgumentNull);
-			consumer.accept(builder);
-			throw builder.build();
+		if (values == null || allNull(values)) {
+			throw argumentNull(consumer);
+		}
+	}
+
+	/**
+	 * Ensures no element of the array is {@code null}.
+	 *
+	 * @param values values to inspect
+	 * @param errorMessage message used when throwing
+	 */
+	public static void checkAllNotNull(Object[] values, Object errorMessage) {
+		if (values == null || anyNull(values)) {
+			throw argumentNull(errorMessage);
 		}
 	}
 
@@ -98,8 +169,67 @@ public final class ErrorTickets {
 	 * @param errorMessage message used when throwing
 	 */
 	public static void checkAllNotNull(Iterable<?> values, Object errorMessage) {
-		if (values == null || Iterables.any(values, Objects::isNull)) {
-			throw ErrorTicket.builder().withError(ErrorCodes.ArgumentNull).withErrorDetails(String.valueOf(errorMessage)).build();
+		if (values == null || anyNull(values)) {
+			throw argumentNull(errorMessage);
+		}
+	}
+
+	/**
+	 * Throws {@link ErrorTicket} when either value is {@code null}. Unlike the array overload no
+	 * varargs array is allocated, so the success path is allocation-free.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param errorMessage message used when throwing
+	 */
+	public static void checkAllNotNull(Object v1, Object v2, Object errorMessage) {
+		if (v1 == null || v2 == null) {
+			throw argumentNull(errorMessage);
+		}
+	}
+
+	/**
+	 * Three-value variant of {@link #checkAllNotNull(Object, Object, Object)}.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param v3 third value
+	 * @param errorMessage message used when throwing
+	 */
+	public static void checkAllNotNull(Object v1, Object v2, Object v3, Object errorMessage) {
+		if (v1 == null || v2 == null || v3 == null) {
+			throw argumentNull(errorMessage);
+		}
+	}
+
+	/**
+	 * Four-value variant of {@link #checkAllNotNull(Object, Object, Object)}.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param v3 third value
+	 * @param v4 fourth value
+	 * @param errorMessage message used when throwing
+	 */
+	public static void checkAllNotNull(Object v1, Object v2, Object v3, Object v4, Object errorMessage) {
+		if (v1 == null || v2 == null || v3 == null || v4 == null) {
+			throw argumentNull(errorMessage);
+		}
+	}
+
+	/**
+	 * Five-value variant of {@link #checkAllNotNull(Object, Object, Object)}.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param v3 third value
+	 * @param v4 fourth value
+	 * @param v5 fifth value
+	 * @param errorMessage message used when throwing
+	 */
+	public static void checkAllNotNull(Object v1, Object v2, Object v3, Object v4, Object v5, Object errorMessage) {
+		if (v1 == null || v2 == null || v3 == null || v4 == null || v5 == null) {
+			throw argumentNull(errorMessage);
 		}
 	}
 	
@@ -110,7 +240,9 @@ public final class ErrorTickets {
 	 * @param consumer builder customizer
 	 */
 	public static void checkAllNotNull(Object[] values, Consumer<ErrorTicket.Builder> consumer) {
-		checkAllNotNull(List.of(values), consumer);
+		if (values == null || anyNull(values)) {
+			throw argumentNull(consumer);
+		}
 	}
 	
 	/**
@@ -120,11 +252,71 @@ public final class ErrorTickets {
 	 * @param consumer builder customizer
 	 */
 	public static void checkAllNotNull(Iterable<?> values, Consumer<ErrorTicket.Builder> consumer) {
-		if (values == null || Iterables.any(values, Objects::isNull)) {
-			var builder = ErrorTicket.builder().withError(ErrorCodes.ArgumentNull);
-			consumer.accept(builder);
-			throw builder.build();
+		if (values == null || anyNull(values)) {
+			throw argumentNull(consumer);
+		}
+	}
+
+	private static ErrorTicket argumentNull(Object errorMessage) {
+		return ErrorTicket.builder().withError(ErrorCodes.ArgumentNull).withErrorDetails(String.valueOf(errorMessage)).build();
+	}
+
+	private static ErrorTicket argumentNull(Consumer<ErrorTicket.Builder> consumer) {
+		var builder = ErrorTicket.builder().withError(ErrorCodes.ArgumentNull);
+		consumer.accept(builder);
+		return builder.build();
+	}
+
+	private static boolean allNull(Object[] values) {
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				return false;
+			}
 		}
+		return true;
+	}
+
+	private static boolean anyNull(Object[] values) {
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] == null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean allNull(Iterable<?> values) {
+		if (values instanceof List<?> list && values instanceof RandomAccess) {
+			for (int i = 0, size = list.size(); i < size; i++) {
+				if (list.get(i) != null) {
+					return false;
+				}
+			}
+			return true;
+		}
+		for (Object value : values) {
+			if (value != null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean anyNull(Iterable<?> values) {
+		if (values instanceof List<?> list && values instanceof RandomAccess) {
+			for (int i = 0, size = list.size(); i < size; i++) {
+				if (list.get(i) == null) {
+					return true;
+				}
+			}
+			return false;
+		}
+		for (Object value : values) {
+			if (value == null) {
+				return true;
+			}
+		}
+		return false;
 	}
 	
 	/**
@@ -159,6 +351,82 @@ public final class ErrorTickets {
 		return reference;
 	}
 
+	/**
+	 * Custom error-code guard whose message is only produced when {@code reference} is
+	 * {@code null}. Example: {@code checkNotNull(user, ErrorCodes.NotFound, () -> "user " + id);}
+	 *
+	 * @param reference value to inspect
+	 * @param errorCode custom error code
+	 * @param messageSupplier supplies the message when throwing
+	 * @param <T> value type
+	 * @return reference when non-null
+	 */
+	public static <T> T checkNotNull(T reference, ErrorCode errorCode, Supplier<String> messageSupplier) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (reference == null) {
+			throw withCode(errorCode, messageSupplier.get());
+		}
+		return reference;
+	}
+
+	/**
+	 * Custom error-code guard with a {@code {}}-style message template that is formatted only when
+	 * {@code reference} is {@code null}. Example: {@code checkNotNull(user, ErrorCodes.NotFound, "user {} not found", id);}
+	 *
+	 * @param reference value to inspect
+	 * @param errorCode custom error code
+	 * @param template message template using {@code {}} placeholders
+	 * @param arg1 template argument
+	 * @param <T> value type
+	 * @return reference when non-null
+	 */
+	public static <T> T checkNotNull(T reference, ErrorCode errorCode, String template, Object arg1) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (reference == null) {
+			throw withCode(errorCode, format(template, arg1));
+		}
+		return reference;
+	}
+
+	/**
+	 * Two-argument variant of {@link #checkNotNull(Object, ErrorCode, String, Object)}.
+	 *
+	 * @param reference value to inspect
+	 * @param errorCode custom error code
+	 * @param template message template using {@code {}} placeholders
+	 * @param arg1 first template argument
+	 * @param arg2 second template argument
+	 * @param <T> value type
+	 * @return reference when non-null
+	 */
+	public static <T> T checkNotNull(T reference, ErrorCode errorCode, String template, Object arg1, Object arg2) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (reference == null) {
+			throw withCode(errorCode, format(template, arg1, arg2));
+		}
+		return reference;
+	}
+
+	/**
+	 * Three-argument variant of {@link #checkNotNull(Object, ErrorCode, String, Object)}.
+	 *
+	 * @param reference value to inspect
+	 * @param errorCode custom error code
+	 * @param template message template using {@code {}} placeholders
+	 * @param arg1 first template argument
+	 * @param arg2 second template argument
+	 * @param arg3 third template argument
+	 * @param <T> value type
+	 * @return reference when non-null
+	 */
+	public static <T> T checkNotNull(T reference, ErrorCode errorCode, String template, Object arg1, Object arg2, Object arg3) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (reference == null) {
+			throw withCode(errorCode, format(template, arg1, arg2, arg3));
+		}
+		return reference;
+	}
+
 	/**
 	 * Customizable version of {@link #checkNotNull(Object, Object)}.
 	 *
@@ -205,7 +473,67 @@ public final class ErrorTickets {
 	 * @param details failure description
 	 */
 	public static void checkArgument(boolean expression, Object details) {
-		checkArgument(expression, b -> b.withErrorDetails(details.toString()));
+		if (! expression) {
+			throw ErrorTicket.builder().withError(ErrorCodes.ArgumentWrong).withErrorDetails(details.toString()).build();
+		}
+	}
+
+	/**
+	 * Variant of {@link #checkArgument(boolean, Object)} whose message is only produced when the
+	 * expression is false. Example: {@code checkArgumentLazy(age >= 0, () -> "negative age " + age);}
+	 * It is not a {@code checkArgument} overload, which would make {@code checkArgument(expr, null)}
+	 * ambiguous with {@link #checkArgument(boolean, Consumer)}.
+	 *
+	 * @param expression condition to validate
+	 * @param detailsSupplier supplies the failure description
+	 */
+	public static void checkArgumentLazy(boolean expression, Supplier<String> detailsSupplier) {
+		if (! expression) {
+			throw ErrorTicket.builder().withError(ErrorCodes.ArgumentWrong).withErrorDetails(detailsSupplier.get()).build();
+		}
+	}
+
+	/**
+	 * Variant of {@link #checkArgument(boolean, Object)} with a {@code {}}-style message template,
+	 * formatted only when the expression is false. Example: {@code checkArgument(age >= 0, "negative age {}", age);}
+	 *
+	 * @param expression condition to validate
+	 * @param template failure description template using {@code {}} placeholders
+	 * @param arg1 template argument
+	 */
+	public static void checkArgument(boolean expression, String template, Object arg1) {
+		if (! expression) {
+			throw ErrorTicket.builder().withError(ErrorCodes.ArgumentWrong).withErrorDetails(format(template, arg1)).build();
+		}
+	}
+
+	/**
+	 * Two-argument variant of {@link #checkArgument(boolean, String, Object)}.
+	 *
+	 * @param expression condition to validate
+	 * @param template failure description template using {@code {}} placeholders
+	 * @param arg1 first template argument
+	 * @param arg2 second template argument
+	 */
+	public static void checkArgument(boolean expression, String template, Object arg1, Object arg2) {
+		if (! expression) {
+			throw ErrorTicket.builder().withError(ErrorCodes.ArgumentWrong).withErrorDetails(format(template, arg1, arg2)).build();
+		}
+	}
+
+	/**
+	 * Three-argument variant of {@link #checkArgument(boolean, String, Object)}.
+	 *
+	 * @param expression condition to validate
+	 * @param template failure description template using {@code {}} placeholders
+	 * @param arg1 first template argument
+	 * @param arg2 second template argument
+	 * @param arg3 third template argument
+	 */
+	public static void checkArgument(boolean expression, String template, Object arg1, Object arg2, Object arg3) {
+		if (! expression) {
+			throw ErrorTicket.builder().withError(ErrorCodes.ArgumentWrong).withErrorDetails(format(template, arg1, arg2, arg3)).build();
+		}
 	}
 	
 	/**
@@ -226,6 +554,165 @@ public final class ErrorTickets {
 		}
 	}
 
+	/**
+	 * Custom error-code version of {@link #checkArgument(boolean, Object)} for string details.
+	 * Resolves the overlap between {@link #checkArgument(boolean, Object, ErrorCode)} and
+	 * {@link #checkArgument(boolean, String, Object)}, so an {@link ErrorCode} in third position is
+	 * always the ticket's code rather than a template argument.
+	 *
+	 * @param expression condition to validate
+	 * @param details failure description
+	 * @param errorCode custom error code
+	 */
+	public static void checkArgument(boolean expression, String details, ErrorCode errorCode) {
+		checkArgument(expression, (Object) details, errorCode);
+	}
+
+	/**
+	 * Custom error-code version of {@link #checkArgumentLazy(boolean, Supplier)}.
+	 *
+	 * @param expression condition to validate
+	 * @param errorCode custom error code
+	 * @param detailsSupplier supplies the failure description
+	 */
+	public static void checkArgument(boolean expression, ErrorCode errorCode, Supplier<String> detailsSupplier) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (! expression) {
+			throw withCode(errorCode, detailsSupplier.get());
+		}
+	}
+
+	/**
+	 * Custom error-code version of {@link #checkArgument(boolean, String, Object)}.
+	 *
+	 * @param expression condition to validate
+	 * @param errorCode custom error code
+	 * @param template failure description template using {@code {}} placeholders
+	 * @param arg1 template argument
+	 */
+	public static void checkArgument(boolean expression, ErrorCode errorCode, String template, Object arg1) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (! expression) {
+			throw withCode(errorCode, format(template, arg1));
+		}
+	}
+
+	/**
+	 * Custom error-code version of {@link #checkArgument(boolean, String, Object, Object)}.
+	 *
+	 * @param expression condition to validate
+	 * @param errorCode custom error code
+	 * @param template failure description template using {@code {}} placeholders
+	 * @param arg1 first template argument
+	 * @param arg2 second template argument
+	 */
+	public static void checkArgument(boolean expression, ErrorCode errorCode, String template, Object arg1, Object arg2) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (! expression) {
+			throw withCode(errorCode, format(template, arg1, arg2));
+		}
+	}
+
+	/**
+	 * Custom error-code version of {@link #checkArgument(boolean, String, Object, Object, Object)}.
+	 *
+	 * @param expression condition to validate
+	 * @param errorCode custom error code
+	 * @param template failure description template using {@code {}} placeholders
+	 * @param arg1 first template argument
+	 * @param arg2 second template argument
+	 * @param arg3 third template argument
+	 */
+	public static void checkArgument(boolean expression, ErrorCode errorCode, String template, Object arg1, Object arg2, Object arg3) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (! expression) {
+			throw withCode(errorCode, format(template, arg1, arg2, arg3));
+		}
+	}
+
+	/**
+	 * Non-throwing counterpart of {@link #checkNotNull(Object, Object)}.
+	 *
+	 * @param reference value to inspect
+	 * @param errorMessage message of the failure
+	 * @param <T> value type
+	 * @return success with the reference, or failure with a stackless {@link ErrorCodes#ArgumentNull} ticket
+	 */
+	public static <T> Outcome<T> checkNotNullOutcome(T reference, Object errorMessage) {
+		if (reference == null) {
+			return Outcome.failure(ErrorCodes.ArgumentNull, String.valueOf(errorMessage));
+		}
+		return Outcome.success(reference);
+	}
+
+	/**
+	 * Non-throwing counterpart of {@link #checkNotNull(Object, ErrorCode, Supplier)}.
+	 * Example: {@code checkNotNullOutcome(cache.get(id), ErrorCodes.NotFound, () -> "user " + id)}
+	 *
+	 * @param reference value to inspect
+	 * @param errorCode custom error code
+	 * @param messageSupplier supplies the message of the failure
+	 * @param <T> value type
+	 * @return success with the reference, or failure with a stackless ticket
+	 */
+	public static <T> Outcome<T> checkNotNullOutcome(T reference, ErrorCode errorCode, Supplier<String> messageSupplier) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (reference == null) {
+			return Outcome.failure(errorCode, messageSupplier.get());
+		}
+		return Outcome.success(reference);
+	}
+
+	/**
+	 * Non-throwing counterpart of {@link #checkArgument(boolean, Object)}.
+	 *
+	 * @param expression condition to validate
+	 * @param details failure description
+	 * @return cached {@code success(null)}, or failure with a stackless {@link ErrorCodes#ArgumentWrong} ticket
+	 */
+	public static Outcome<Void> checkArgumentOutcome(boolean expression, Object details) {
+		if (! expression) {
+			return Outcome.failure(ErrorCodes.ArgumentWrong, String.valueOf(details));
+		}
+		return Outcome.success(null);
+	}
+
+	/**
+	 * Non-throwing counterpart of {@link #checkArgument(boolean, ErrorCode, Supplier)}.
+	 *
+	 * @param expression condition to validate
+	 * @param errorCode custom error code
+	 * @param detailsSupplier supplies the failure description
+	 * @return cached {@code success(null)}, or failure with a stackless ticket
+	 */
+	public static Outcome<Void> checkArgumentOutcome(boolean expression, ErrorCode errorCode, Supplier<String> detailsSupplier) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (! expression) {
+			return Outcome.failure(errorCode, detailsSupplier.get());
+		}
+		return Outcome.success(null);
+	}
+
+	private static ErrorTicket withCode(ErrorCode errorCode, String details) {
+		return ErrorTicket.builder().withError(errorCode).withErrorGroup(errorCode.group()).withErrorDetails(details).build();
+	}
+
+	/**
+	 * Builds a ticket without a stack trace, setting the group of codes outside {@link ErrorCodes}.
+	 */
+	static ErrorTicket stackless(ErrorCode errorCode, String details) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		var builder = ErrorTicket.builder().withError(errorCode).withErrorDetails(details).withStackTrace(false);
+		if (!(errorCode instanceof ErrorCodes)) {
+			builder.withErrorGroup(errorCode.group());
+		}
+		return builder.build();
+	}
+
+	static String format(String template, Object... arguments) {
+		return ParameterizedMessage.format(template, arguments);
+	}
+
 	/**
 	 * Allows caller to mutate the {@link ErrorTicket} when the expression is false.
 	 *
@@ -0,0 +1,196 @@
+package com.inqwise.errors;
+
+import java.net.SocketTimeoutException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.inqwise.errors.spi.ExceptionMapper;
+
+import io.vertx.core.eventbus.ReplyException;
+
+/**
+ * Resolves {@link ExceptionMapper}s for {@link ErrorTicket#propagate(Throwable)}. Mappers found
+ * through {@link ServiceLoader} take precedence over the built-in rules at the same specificity;
+ * the ordered mappers of each exception class are computed once and cached in a {@link ClassValue}.
+ */
+final class ExceptionMappers {
+	private static final Logger logger = LogManager.getLogger(ExceptionMappers.class);
+	private static final ExceptionMapper[] NONE = new ExceptionMapper[0];
+	private static final int INTERFACE_DISTANCE = Integer.MAX_VALUE / 2;
+
+	private static final List<ExceptionMapper> MAPPERS = load();
+
+	private static final ClassValue<ExceptionMapper[]> RESOLVED = new ClassValue<>() {
+		@Override
+		protected ExceptionMapper[] computeValue(Class<?> type) {
+			return resolve(type);
+		}
+	};
+
+	private ExceptionMappers() {
+	}
+
+	/**
+	 * Creates the builder for a throwable that is neither an {@link ErrorTicket} nor a
+	 * {@link ProvidesErrorTicket}.
+	 */
+	static ErrorTicket.Builder builderFor(Throwable t) {
+		for (ExceptionMapper mapper : RESOLVED.get(t.getClass())) {
+			var builder = mapper.map(t);
+			if (null != builder) {
+				builder.mapper = mapper;
+				return builder;
+			}
+		}
+		return defaultBuilder(t, ErrorCodes.GeneralError);
+	}
+
+	static ErrorTicket.Builder defaultBuilder(Throwable t, ErrorCode error) {
+		var builder = ErrorTicket.builder().withError(error);
+		if(null == t.getMessage()) {
+			if(t instanceof NullPointerException) {
+				builder.withDetails("NullPointer");
+			} else {
+				builder.withDetails(t.getClass().getName());
+			}
+		} else {
+			builder.withDetails("{}:{}", t.getClass().getName(), t.getMessage());
+		}
+		return builder;
+	}
+
+	private static List<ExceptionMapper> load() {
+		var mappers = new ArrayList<ExceptionMapper>();
+		try {
+			for (ExceptionMapper mapper : ServiceLoader.load(ExceptionMapper.class)) {
+				mappers.add(mapper);
+			}
+		} catch (ServiceConfigurationError e) {
+			logger.warn("failed to load ExceptionMapper providers", e);
+		}
+		logger.debug("found {} ExceptionMapper provider(s)", mappers.size());
+		mappers.add(new CodeMapper(TimeoutException.class, ErrorCodes.Timeout));
+		mappers.add(new CodeMapper(SocketTimeoutException.class, ErrorCodes.Timeout));
+		mappers.add(new CodeMapper(IllegalArgumentException.class, ErrorCodes.ArgumentWrong));
+		mappers.add(new SqlStateMapper());
+		mappers.add(new ReplyExceptionMapper());
+		return List.copyOf(mappers);
+	}
+
+	private static ExceptionMapper[] resolve(Class<?> type) {
+		var applicable = new ArrayList<ExceptionMapper>();
+		for (ExceptionMapper mapper : MAPPERS) {
+			if (mapper.exceptionType().isAssignableFrom(type)) {
+				applicable.add(mapper);
+			}
+		}
+		if (applicable.isEmpty()) {
+			return NONE;
+		}
+		// stable sort keeps service mappers ahead of built-ins on ties
+		applicable.sort(Comparator.<ExceptionMapper>comparingInt(mapper -> distance(type, mapper.exceptionType()))
+				.thenComparing(Comparator.comparingInt(ExceptionMapper::priority).reversed()));
+		return applicable.toArray(ExceptionMapper[]::new);
+	}
+
+	private static int distance(Class<?> type, Class<?> mapped) {
+		if (mapped.isInterface()) {
+			return INTERFACE_DISTANCE;
+		}
+		int distance = 0;
+		for (Class<?> current = type; current != mapped; current = current.getSuperclass()) {
+			distance++;
+		}
+		return distance;
+	}
+
+	/**
+	 * Maps an exception type to a fixed {@link ErrorCode}.
+	 */
+	private record CodeMapper(Class<? extends Throwable> exceptionType, ErrorCode error) implements ExceptionMapper {
+		@Override
+		public ErrorTicket.Builder map(Throwable throwable) {
+			return defaultBuilder(throwable, error);
+		}
+
+		@Override
+		public String toString() {
+			return exceptionType.getSimpleName() + "->" + error;
+		}
+	}
+
+	/**
+	 * Decodes event-bus {@link ReplyException}s, including tickets sent through
+	 * {@link ErrorTicketReplies}.
+	 */
+	private static final class ReplyExceptionMapper implements ExceptionMapper {
+		@Override
+		public Class<? extends Throwable> exceptionType() {
+			return ReplyException.class;
+		}
+
+		@Override
+		public ErrorTicket.Builder map(Throwable throwable) {
+			return ErrorTicketReplies.builderFor((ReplyException) throwable);
+		}
+
+		@Override
+		public String toString() {
+			return "ReplyExceptionMapper";
+		}
+	}
+
+	/**
+	 * Maps {@link SQLException}s by SQLState class (the first two characters); unknown states
+	 * defer to the default {@link ErrorCodes#GeneralError} handling.
+	 */
+	private static final class SqlStateMapper implements ExceptionMapper {
+		@Override
+		public Class<? extends Throwable> exceptionType() {
+			return SQLException.class;
+		}
+
+		@Override
+		public ErrorTicket.Builder map(Throwable throwable) {
+			var state = ((SQLException) throwable).getSQLState();
+			if (null == state || state.length() < 2) {
+				return null;
+			}
+			switch (state) {
+			case "23505":
+				return defaultBuilder(throwable, ErrorCodes.AlreadyExist);
+			case "57014":
+			case "HYT00":
+			case "HYT01":
+				return defaultBuilder(throwable, ErrorCodes.Timeout);
+			default:
+				break;
+			}
+			switch (state.substring(0, 2)) {
+			case "22":
+				return defaultBuilder(throwable, ErrorCodes.ArgumentWrong);
+			case "23":
+				return defaultBuilder(throwable, ErrorCodes.GeneralError).withStatusCode(409);
+			case "08":
+				return defaultBuilder(throwable, ErrorCodes.GeneralError).withStatusCode(503);
+			case "28":
+				return defaultBuilder(throwable, ErrorCodes.NotPermitted);
+			default:
+				return null;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "SqlStateMapper";
+		}
+	}
+}
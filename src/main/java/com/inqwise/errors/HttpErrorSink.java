@@ -0,0 +1,140 @@
+package com.inqwise.errors;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.inqwise.errors.spi.ErrorSink;
+import com.inqwise.errors.vertx.ProblemJsonWriter;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * {@link ErrorSink} posting each batch to an HTTP endpoint as newline-delimited problem JSON
+ * ({@code application/x-ndjson}). Any status outside {@code 2xx} fails the batch.
+ *
+ * <p>Batches are encoded with {@link ProblemJsonWriter} into a buffer reused across batches, as
+ * sinks are called from a single drainer thread.</p>
+ */
+public final class HttpErrorSink implements ErrorSink {
+	/** Content type of the request body. */
+	public static final String CONTENT_TYPE = "application/x-ndjson";
+
+	private final URI endpoint;
+	private final HttpClient client;
+	private final Duration timeout;
+	private final Map<String, String> headers;
+	private final ByteBuf buffer = Unpooled.buffer(4096);
+
+	private HttpErrorSink(Builder builder) {
+		this.endpoint = builder.endpoint;
+		this.client = null != builder.client ? builder.client : HttpClient.newBuilder().connectTimeout(builder.timeout).build();
+		this.timeout = builder.timeout;
+		this.headers = Map.copyOf(builder.headers);
+	}
+
+	/**
+	 * Creates a new {@link Builder} with a ten-second timeout.
+	 *
+	 * @param endpoint URI receiving the batches
+	 * @return new builder
+	 */
+	public static Builder builder(URI endpoint) {
+		return new Builder(endpoint);
+	}
+
+	@Override
+	public void send(List<ErrorTicket> batch) throws IOException, InterruptedException {
+		buffer.clear();
+		for (var ticket : batch) {
+			ProblemJsonWriter.write(buffer, ticket, null);
+			buffer.writeByte('\n');
+		}
+		var request = HttpRequest.newBuilder(endpoint)
+				.timeout(timeout)
+				.header("Content-Type", CONTENT_TYPE)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(buffer.array(), buffer.arrayOffset(), buffer.readableBytes()));
+		headers.forEach(request::header);
+		var response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+		if (response.statusCode() / 100 != 2) {
+			throw new IOException(endpoint + " responded with status " + response.statusCode());
+		}
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("endpoint", endpoint)
+				.add("timeout", timeout)
+				.toString();
+	}
+
+	/**
+	 * Fluent builder for {@link HttpErrorSink}.
+	 */
+	public static final class Builder {
+		private final URI endpoint;
+		private HttpClient client;
+		private Duration timeout = Duration.ofSeconds(10);
+		private final Map<String, String> headers = new LinkedHashMap<>();
+
+		private Builder(URI endpoint) {
+			this.endpoint = Objects.requireNonNull(endpoint, "endpoint");
+		}
+
+		/**
+		 * Client sending the requests.
+		 *
+		 * @param client HTTP client, a new one by default
+		 * @return this builder
+		 */
+		public Builder client(HttpClient client) {
+			this.client = Objects.requireNonNull(client, "client");
+			return this;
+		}
+
+		/**
+		 * Connect and request timeout.
+		 *
+		 * @param timeout positive duration
+		 * @return this builder
+		 */
+		public Builder timeout(Duration timeout) {
+			Objects.requireNonNull(timeout, "timeout");
+			Preconditions.checkArgument(!timeout.isNegative() && !timeout.isZero(), "timeout must be positive");
+			this.timeout = timeout;
+			return this;
+		}
+
+		/**
+		 * Adds a request header, such as an API key.
+		 *
+		 * @param name header name
+		 * @param value header value
+		 * @return this builder
+		 */
+		public Builder header(String name, String value) {
+			headers.put(Objects.requireNonNull(name, "name"), Objects.requireNonNull(value, "value"));
+			return this;
+		}
+
+		/**
+		 * Builds the sink.
+		 *
+		 * @return configured sink
+		 */
+		public HttpErrorSink build() {
+			return new HttpErrorSink(this);
+		}
+	}
+}
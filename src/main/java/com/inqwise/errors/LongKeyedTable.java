@@ -0,0 +1,154 @@
+package com.inqwise.errors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Bounded open-addressing hash table keyed by primitive {@code long}s, for the per-ticket lookups
+ * of {@link ErrorTicketLogger} and {@link ErrorHotspots}.
+ *
+ * <p>Keys are expected to be well-mixed hashes. Lookups are lock-free and neither box the key nor
+ * allocate; insertions and removals synchronize on the table, and removals shift the following
+ * entries back instead of leaving tombstones. A lookup racing a removal may miss an entry that was
+ * being moved, so callers confirm a miss through {@link #putIfAbsent(long, Object)}.</p>
+ *
+ * @param <V> value type
+ */
+final class LongKeyedTable<V> {
+	private static final int MAX_SIZE = 1 << 28;
+
+	private final int maxSize;
+	private final int mask;
+	private final AtomicReferenceArray<Node<V>> slots;
+	private volatile int size;
+
+	/**
+	 * Creates a table holding at most {@code maxSize} entries in at least twice as many slots.
+	 *
+	 * @param maxSize positive limit
+	 */
+	LongKeyedTable(int maxSize) {
+		Preconditions.checkArgument(maxSize > 0 && maxSize <= MAX_SIZE, "maxSize must be between 1 and %s", MAX_SIZE);
+		this.maxSize = maxSize;
+		int capacity = Integer.highestOneBit(maxSize) << 2;
+		this.mask = capacity - 1;
+		this.slots = new AtomicReferenceArray<>(capacity);
+	}
+
+	/**
+	 * Returns the value of the key.
+	 *
+	 * @param key the key
+	 * @return value, or {@code null} when absent
+	 */
+	V get(long key) {
+		for (int i = index(key), probes = 0; probes <= mask; i = i + 1 & mask, probes++) {
+			var node = slots.get(i);
+			if (null == node) {
+				return null;
+			}
+			if (node.key == key) {
+				return node.value;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Inserts the value unless the key is present or the table is full.
+	 *
+	 * @param key the key
+	 * @param value value to insert
+	 * @return the present value, {@code value} itself when inserted, or {@code null} when full
+	 */
+	synchronized V putIfAbsent(long key, V value) {
+		int i = index(key);
+		for (Node<V> node; null != (node = slots.get(i)); i = i + 1 & mask) {
+			if (node.key == key) {
+				return node.value;
+			}
+		}
+		if (size >= maxSize) {
+			return null;
+		}
+		slots.set(i, new Node<>(key, value));
+		size++;
+		return value;
+	}
+
+	/**
+	 * Removes the key if it maps to the value.
+	 *
+	 * @param key the key
+	 * @param value expected value
+	 * @return {@code true} when removed
+	 */
+	synchronized boolean remove(long key, V value) {
+		int i = index(key);
+		for (Node<V> node; null != (node = slots.get(i)); i = i + 1 & mask) {
+			if (node.key == key) {
+				if (node.value != value) {
+					return false;
+				}
+				shiftBack(i);
+				size--;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the number of entries.
+	 *
+	 * @return size
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns a snapshot of the values.
+	 *
+	 * @return values in slot order
+	 */
+	synchronized List<V> values() {
+		var values = new ArrayList<V>(size);
+		for (int i = 0; i <= mask; i++) {
+			var node = slots.get(i);
+			if (null != node) {
+				values.add(node.value);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Empties slot {@code hole} by moving back each following entry of the run that may not stay
+	 * where it is once the hole no longer separates it from its home slot.
+	 */
+	private void shiftBack(int hole) {
+		for (int i = hole + 1 & mask;; i = i + 1 & mask) {
+			var node = slots.get(i);
+			if (null == node) {
+				break;
+			}
+			int home = index(node.key);
+			if ((i - home & mask) >= (i - hole & mask)) {
+				slots.set(hole, node);
+				hole = i;
+			}
+		}
+		slots.set(hole, null);
+	}
+
+	private int index(long key) {
+		return (int) (key ^ key >>> 32) & mask;
+	}
+
+	private record Node<V>(long key, V value) {
+	}
+}
@@ -0,0 +1,438 @@
+package com.inqwise.errors;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32C;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.inqwise.errors.spi.ErrorTicketListener;
+
+/**
+ * Append-only on-disk journal of tickets in rolling memory-mapped segment files, for post-mortems
+ * after a crash. Read the files with {@link ErrorJournalReader}.
+ *
+ * <p>Appending encodes the ticket as in {@link ErrorJournal}, claims space in the current segment
+ * with one atomic add and copies the record into the mapping; it never performs file I/O. A
+ * background thread prepares the next segment ahead of time, forces written pages to disk every
+ * {@link Builder#forceInterval(Duration) force interval} (group commit) and deletes the oldest
+ * segments beyond {@link Builder#maxSegments(int)}. When a segment fills up before its successor
+ * is ready, or a record exceeds the segment size, the ticket is dropped and counted in
+ * {@link #dropped()}. Records written since the last force survive a process crash but may be lost
+ * when the machine fails.</p>
+ *
+ * <p>Segment files are named {@code errors-<index>.journal} and start with a 16-byte header
+ * (magic, version, index). Each record is aligned to 8 bytes:</p>
+ * <pre>
+ * length:i32  crc32c:i32  timestamp:i64  payload[length]
+ * </pre>
+ * <p>The checksum covers the timestamp and the payload and is written last, so torn records are
+ * detected and skipped by the reader.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * MappedErrorJournal journal = MappedErrorJournal.builder(Path.of("/var/lib/app/errors")).build().install();
+ * Runtime.getRuntime().addShutdownHook(new Thread(journal::close));
+ * }</pre>
+ */
+public final class MappedErrorJournal implements ErrorTicketListener, Closeable {
+	private static final Logger logger = LogManager.getLogger(MappedErrorJournal.class);
+	private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+	static final int MAGIC = 0x49514A4C;
+	static final int VERSION = 1;
+	static final int SEGMENT_HEADER = 16;
+	static final int RECORD_HEADER = 16;
+	static final String PREFIX = "errors-";
+	static final String SUFFIX = ".journal";
+
+	private final Path directory;
+	private final int segmentSize;
+	private final int maxSegments;
+	private final LongSupplier clock;
+	private final ScheduledExecutorService scheduler;
+	private final AtomicReference<Segment> current = new AtomicReference<>();
+	private final AtomicReference<Segment> spare = new AtomicReference<>();
+	private final AtomicBoolean preparing = new AtomicBoolean();
+	private final Queue<Segment> sealed = new ConcurrentLinkedQueue<>();
+	private final ArrayDeque<Path> files = new ArrayDeque<>();
+	private final LongAdder appended = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private long nextIndex;
+
+	private MappedErrorJournal(Builder builder) throws IOException {
+		this.directory = builder.directory;
+		this.segmentSize = builder.segmentSize;
+		this.maxSegments = builder.maxSegments;
+		this.clock = builder.clock;
+		Files.createDirectories(directory);
+		for (var file : ErrorJournalReader.segments(directory)) {
+			files.add(file);
+			nextIndex = Math.max(nextIndex, ErrorJournalReader.index(file) + 1);
+		}
+		current.set(createSegment());
+		spare.set(createSegment());
+		deleteExpired();
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			var thread = new Thread(runnable, "error-journal-" + directory.getFileName());
+			thread.setDaemon(true);
+			return thread;
+		});
+		long interval = builder.forceInterval.toNanos();
+		scheduler.scheduleWithFixedDelay(this::force, interval, interval, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Creates a new {@link Builder} writing 16 MiB segments to a directory, keeping at most 8 of
+	 * them and forcing every 100 ms.
+	 *
+	 * @param directory segment directory, created when missing
+	 * @return new builder
+	 */
+	public static Builder builder(Path directory) {
+		return new Builder(directory);
+	}
+
+	/**
+	 * Starts journaling every ticket created through {@link ErrorTicket}.
+	 *
+	 * @return this journal
+	 */
+	public MappedErrorJournal install() {
+		ErrorTicket.addListener(this);
+		return this;
+	}
+
+	/**
+	 * Stops journaling; the journal stays open.
+	 *
+	 * @return {@code true} when the journal was installed
+	 */
+	public boolean uninstall() {
+		return ErrorTicket.removeListener(this);
+	}
+
+	@Override
+	public void onBuild(ErrorTicket ticket) {
+		append(ticket);
+	}
+
+	/**
+	 * Appends a ticket to the current segment.
+	 *
+	 * @param ticket ticket to append
+	 * @return {@code false} when the ticket was dropped
+	 */
+	public boolean append(ErrorTicket ticket) {
+		Objects.requireNonNull(ticket, "ticket");
+		var data = TicketCodec.encode(ticket);
+		int size = align(RECORD_HEADER + data.length);
+		if (size > segmentSize - SEGMENT_HEADER) {
+			dropped.increment();
+			return false;
+		}
+		long timestamp = clock.getAsLong();
+		for (;;) {
+			var segment = current.get();
+			if (null == segment) {
+				dropped.increment();
+				return false;
+			}
+			long offset = segment.cursor.getAndAdd(size);
+			if (offset + size <= segmentSize) {
+				segment.write((int) offset, timestamp, data);
+				appended.increment();
+				return true;
+			}
+			if (!roll(segment)) {
+				dropped.increment();
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of appended tickets.
+	 *
+	 * @return appended tickets
+	 */
+	public long appended() {
+		return appended.sum();
+	}
+
+	/**
+	 * Returns the number of tickets dropped because no segment space was available.
+	 *
+	 * @return dropped tickets
+	 */
+	public long dropped() {
+		return dropped.sum();
+	}
+
+	/**
+	 * Returns the segment directory.
+	 *
+	 * @return directory
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Stops appending, forces all segments, releases their files and deletes the unused prepared
+	 * segment. Tickets appended concurrently with closing may be lost.
+	 */
+	@Override
+	public void close() {
+		var last = current.getAndSet(null);
+		if (null == last) {
+			return;
+		}
+		uninstall();
+		scheduler.shutdown();
+		try {
+			scheduler.awaitTermination(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		sealed.add(last);
+		force();
+		var unused = spare.getAndSet(null);
+		if (null != unused) {
+			unused.close();
+			try {
+				Files.deleteIfExists(unused.file);
+			} catch (IOException e) {
+				logger.warn("failed to delete error journal segment {}", unused.file, e);
+			}
+		}
+	}
+
+	private boolean roll(Segment full) {
+		if (current.get() != full) {
+			return true;
+		}
+		var next = spare.getAndSet(null);
+		if (null == next) {
+			prepareLater();
+			return current.get() != full;
+		}
+		if (!current.compareAndSet(full, next)) {
+			if (!spare.compareAndSet(null, next)) {
+				sealed.add(next);
+			}
+			return true;
+		}
+		sealed.add(full);
+		prepareLater();
+		return true;
+	}
+
+	private void prepareLater() {
+		if (preparing.compareAndSet(false, true)) {
+			try {
+				scheduler.execute(this::prepare);
+			} catch (RuntimeException e) {
+				// closed
+				preparing.set(false);
+			}
+		}
+	}
+
+	private void prepare() {
+		try {
+			if (null == spare.get() && null != current.get()) {
+				spare.set(createSegment());
+				deleteExpired();
+			}
+		} catch (IOException e) {
+			logger.warn("failed to prepare error journal segment in {}", directory, e);
+		} finally {
+			preparing.set(false);
+		}
+	}
+
+	private void force() {
+		for (Segment segment; null != (segment = sealed.poll());) {
+			segment.close();
+		}
+		var segment = current.get();
+		if (null != segment) {
+			segment.force();
+		}
+	}
+
+	private Segment createSegment() throws IOException {
+		var file = directory.resolve(String.format("%s%016d%s", PREFIX, nextIndex, SUFFIX));
+		var channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+			buffer.putInt(0, MAGIC);
+			buffer.putInt(4, VERSION);
+			buffer.putLong(8, nextIndex);
+			nextIndex++;
+			files.add(file);
+			return new Segment(file, channel, buffer);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private void deleteExpired() {
+		while (files.size() > maxSegments) {
+			var file = files.poll();
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				logger.warn("failed to delete error journal segment {}", file, e);
+			}
+		}
+	}
+
+	static int align(int size) {
+		return (size + 7) & ~7;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("directory", directory)
+				.add("segmentSize", segmentSize)
+				.add("maxSegments", maxSegments)
+				.add("appended", appended())
+				.add("dropped", dropped())
+				.toString();
+	}
+
+	private static final class Segment {
+		private final Path file;
+		private final FileChannel channel;
+		private final MappedByteBuffer buffer;
+		private final AtomicLong cursor = new AtomicLong(SEGMENT_HEADER);
+
+		private Segment(Path file, FileChannel channel, MappedByteBuffer buffer) {
+			this.file = file;
+			this.channel = channel;
+			this.buffer = buffer;
+		}
+
+		void write(int offset, long timestamp, byte[] data) {
+			buffer.putInt(offset, data.length);
+			buffer.putLong(offset + 8, timestamp);
+			buffer.put(offset + RECORD_HEADER, data);
+			var crc = new CRC32C();
+			crc.update(buffer.slice(offset + 8, 8 + data.length));
+			INT.setRelease(buffer, offset + 4, (int) crc.getValue());
+		}
+
+		void force() {
+			try {
+				buffer.force();
+			} catch (UncheckedIOException e) {
+				logger.warn("failed to force error journal segment {}", file, e);
+			}
+		}
+
+		void close() {
+			force();
+			try {
+				channel.close();
+			} catch (IOException e) {
+				logger.warn("failed to close error journal segment {}", file, e);
+			}
+		}
+	}
+
+	/**
+	 * Fluent builder for {@link MappedErrorJournal}.
+	 */
+	public static final class Builder {
+		private final Path directory;
+		private int segmentSize = 16 << 20;
+		private int maxSegments = 8;
+		private Duration forceInterval = Duration.ofMillis(100);
+		private LongSupplier clock = System::currentTimeMillis;
+
+		private Builder(Path directory) {
+			this.directory = Objects.requireNonNull(directory, "directory");
+		}
+
+		/**
+		 * Size of each segment file.
+		 *
+		 * @param segmentSize bytes, at least 4 KiB
+		 * @return this builder
+		 */
+		public Builder segmentSize(int segmentSize) {
+			Preconditions.checkArgument(segmentSize >= 4096, "segmentSize must be at least 4096");
+			this.segmentSize = align(segmentSize);
+			return this;
+		}
+
+		/**
+		 * Number of segment files kept on disk, including the current and the prepared one.
+		 *
+		 * @param maxSegments at least {@code 2}
+		 * @return this builder
+		 */
+		public Builder maxSegments(int maxSegments) {
+			Preconditions.checkArgument(maxSegments >= 2, "maxSegments must be at least 2");
+			this.maxSegments = maxSegments;
+			return this;
+		}
+
+		/**
+		 * Interval between two forces of written pages to disk.
+		 *
+		 * @param forceInterval positive duration
+		 * @return this builder
+		 */
+		public Builder forceInterval(Duration forceInterval) {
+			Objects.requireNonNull(forceInterval, "forceInterval");
+			Preconditions.checkArgument(!forceInterval.isNegative() && !forceInterval.isZero(), "forceInterval must be positive");
+			this.forceInterval = forceInterval;
+			return this;
+		}
+
+		Builder clock(LongSupplier clock) {
+			this.clock = Objects.requireNonNull(clock, "clock");
+			return this;
+		}
+
+		/**
+		 * Opens the journal, starting a new segment after any existing ones.
+		 *
+		 * @return open journal
+		 * @throws IOException when the directory or the first segments cannot be created
+		 */
+		public MappedErrorJournal build() throws IOException {
+			return new MappedErrorJournal(this);
+		}
+	}
+}
@@ -0,0 +1,387 @@
+package com.inqwise.errors;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Validator compiled once per record or POJO class from {@link NotNull}, {@link Range} and
+ * {@link Matches} annotations. Property accessors are bound as {@link MethodHandle}s when the
+ * validator is created, so validating an instance involves no reflection; primitive numeric
+ * properties are read without boxing.
+ *
+ * <p>Violations are reported through {@link Validation} with {@link ErrorCodes#ArgumentNull},
+ * {@link ErrorCodes#ArgumentOutOfRange} and {@link ErrorCodes#ArgumentWrong} respectively.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * record CreateUser(@ObjectValidator.NotNull @ObjectValidator.Matches(".+@.+") String email,
+ *                   @ObjectValidator.Range(min = 18, max = 130) int age) {}
+ *
+ * ObjectValidator.of(CreateUser.class).check(request); // throws one ErrorTicket listing all violations
+ * }</pre>
+ *
+ * @param <T> validated type
+ */
+public final class ObjectValidator<T> {
+	private static final ClassValue<ObjectValidator<?>> VALIDATORS = new ClassValue<>() {
+		@Override
+		protected ObjectValidator<?> computeValue(Class<?> type) {
+			return new ObjectValidator<>(type);
+		}
+	};
+	private static final MethodType REFERENCE_GETTER = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType LONG_GETTER = MethodType.methodType(long.class, Object.class);
+	private static final MethodType DOUBLE_GETTER = MethodType.methodType(double.class, Object.class);
+
+	private final Class<T> type;
+	private final Property[] properties;
+
+	private ObjectValidator(Class<T> type) {
+		this.type = type;
+		this.properties = compile(type);
+	}
+
+	/**
+	 * Returns the validator of the given class, compiling it on first use.
+	 *
+	 * @param type record or POJO class
+	 * @param <T> validated type
+	 * @return cached validator
+	 * @throws IllegalArgumentException when a constraint is placed on an unsupported property type
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> ObjectValidator<T> of(Class<T> type) {
+		Objects.requireNonNull(type, "type");
+		return (ObjectValidator<T>) VALIDATORS.get(type);
+	}
+
+	/**
+	 * Validates the value with the validator of its runtime class and throws on violations.
+	 *
+	 * @param value value to validate
+	 * @param <T> value type
+	 * @return the value when valid
+	 * @throws ErrorTicket listing every violation when invalid, or {@link ErrorCodes#ArgumentNull}
+	 *         when the value itself is {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T checkValid(T value) {
+		ErrorTickets.checkNotNull(value, "value");
+		((ObjectValidator<T>) VALIDATORS.get(value.getClass())).check(value);
+		return value;
+	}
+
+	/**
+	 * Validates the value and throws a single {@link ErrorTicket} listing every violation.
+	 *
+	 * @param value value to validate, never {@code null}
+	 */
+	public void check(T value) {
+		validate(value).throwIfInvalid();
+	}
+
+	/**
+	 * Validates the value into a new {@link Validation#collectAll() collecting} validation.
+	 *
+	 * @param value value to validate, never {@code null}
+	 * @return validation holding the violations
+	 */
+	public Validation validate(T value) {
+		return validate(value, Validation.collectAll());
+	}
+
+	/**
+	 * Validates the value into an existing validation, e.g. to combine with hand-written checks.
+	 *
+	 * @param value value to validate, never {@code null}
+	 * @param validation receives the violations
+	 * @return the given validation
+	 */
+	public Validation validate(T value, Validation validation) {
+		Objects.requireNonNull(value, "value");
+		for (Property property : properties) {
+			property.check(value, validation);
+		}
+		return validation;
+	}
+
+	/**
+	 * Returns the names of the constrained properties, in declaration order.
+	 *
+	 * @return property names
+	 */
+	public List<String> getPropertyNames() {
+		var names = new ArrayList<String>(properties.length);
+		for (Property property : properties) {
+			names.add(property.name);
+		}
+		return names;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("type", type.getName())
+				.add("properties", getPropertyNames())
+				.toString();
+	}
+
+	private static Property[] compile(Class<?> type) {
+		var compiled = new ArrayList<Property>();
+		if (type.isRecord()) {
+			for (RecordComponent component : type.getRecordComponents()) {
+				addProperty(compiled, component.getName(), component.getType(), component, component.getAccessor());
+			}
+		} else {
+			var hierarchy = new ArrayList<Class<?>>();
+			for (Class<?> current = type; null != current && Object.class != current; current = current.getSuperclass()) {
+				hierarchy.add(0, current);
+			}
+			for (Class<?> current : hierarchy) {
+				for (Field field : current.getDeclaredFields()) {
+					if (!Modifier.isStatic(field.getModifiers())) {
+						addProperty(compiled, field.getName(), field.getType(), field, field);
+					}
+				}
+			}
+		}
+		return compiled.toArray(Property[]::new);
+	}
+
+	private static void addProperty(List<Property> compiled, String name, Class<?> valueType,
+			AnnotatedElement annotated, Member accessor) {
+		NotNull notNull = annotated.getAnnotation(NotNull.class);
+		Range range = annotated.getAnnotation(Range.class);
+		Matches matches = annotated.getAnnotation(Matches.class);
+		if (null == notNull && null == range && null == matches) {
+			return;
+		}
+		Preconditions.checkArgument(null == matches || CharSequence.class.isAssignableFrom(valueType),
+				"@Matches requires a CharSequence property: %s", name);
+		if (null != range) {
+			Preconditions.checkArgument(range.min() <= range.max(), "@Range min exceeds max: %s", name);
+			Preconditions.checkArgument(isNumeric(valueType), "@Range requires a numeric property: %s", name);
+		}
+
+		MethodHandle getter = unreflect(accessor);
+		if (valueType.isPrimitive() && null != range) {
+			if (valueType == double.class || valueType == float.class) {
+				compiled.add(new DoubleProperty(name, getter.asType(DOUBLE_GETTER), range));
+			} else if (valueType != boolean.class) {
+				compiled.add(new LongProperty(name, getter.asType(LONG_GETTER), range));
+			}
+			return;
+		}
+		if (valueType.isPrimitive()) {
+			// primitives are never null and carry no pattern
+			return;
+		}
+		compiled.add(new ReferenceProperty(name, getter.asType(REFERENCE_GETTER), null != notNull, range,
+				null == matches ? null : Pattern.compile(matches.value())));
+	}
+
+	private static boolean isNumeric(Class<?> valueType) {
+		if (valueType.isPrimitive()) {
+			return valueType != boolean.class && valueType != char.class;
+		}
+		return Number.class.isAssignableFrom(valueType);
+	}
+
+	private static MethodHandle unreflect(Member accessor) {
+		var declaringClass = accessor.getDeclaringClass();
+		try {
+			var lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+			return accessor instanceof Method method ? lookup.unreflect(method) : lookup.unreflectGetter((Field) accessor);
+		} catch (IllegalAccessException e) {
+			throw new Bug(e, "cannot access {}.{}; open its package to com.inqwise.errors",
+					declaringClass.getName(), accessor.getName());
+		}
+	}
+
+	private static void outOfRange(Validation validation, String name, Range range) {
+		validation.addViolation(name, ErrorTickets.format("must be between {} and {}", range.min(), range.max()),
+				ErrorCodes.ArgumentOutOfRange);
+	}
+
+	private abstract static class Property {
+		final String name;
+
+		Property(String name) {
+			this.name = name;
+		}
+
+		abstract void check(Object target, Validation validation);
+	}
+
+	private static final class ReferenceProperty extends Property {
+		private final MethodHandle getter;
+		private final boolean notNull;
+		private final Range range;
+		private final Pattern pattern;
+
+		ReferenceProperty(String name, MethodHandle getter, boolean notNull, Range range, Pattern pattern) {
+			super(name);
+			this.getter = getter;
+			this.notNull = notNull;
+			this.range = range;
+			this.pattern = pattern;
+		}
+
+		@Override
+		void check(Object target, Validation validation) {
+			Object value;
+			try {
+				value = (Object) getter.invokeExact(target);
+			} catch (Throwable t) {
+				throw Throws.propagate(t);
+			}
+			if (null == value) {
+				if (notNull) {
+					validation.addViolation(name, "must not be null", ErrorCodes.ArgumentNull);
+				}
+				return;
+			}
+			if (null != range && !inRange((Number) value)) {
+				outOfRange(validation, name, range);
+			}
+			if (null != pattern && !pattern.matcher((CharSequence) value).matches()) {
+				validation.addViolation(name, ErrorTickets.format("must match {}", pattern.pattern()),
+						ErrorCodes.ArgumentWrong);
+			}
+		}
+
+		private boolean inRange(Number value) {
+			if (value instanceof Double || value instanceof Float) {
+				double d = value.doubleValue();
+				return d >= range.min() && d <= range.max();
+			}
+			if (value instanceof BigDecimal decimal) {
+				return decimal.compareTo(BigDecimal.valueOf(range.min())) >= 0
+						&& decimal.compareTo(BigDecimal.valueOf(range.max())) <= 0;
+			}
+			if (value instanceof BigInteger integer) {
+				return integer.compareTo(BigInteger.valueOf(range.min())) >= 0
+						&& integer.compareTo(BigInteger.valueOf(range.max())) <= 0;
+			}
+			long l = value.longValue();
+			return l >= range.min() && l <= range.max();
+		}
+	}
+
+	private static final class LongProperty extends Property {
+		private final MethodHandle getter;
+		private final Range range;
+
+		LongProperty(String name, MethodHandle getter, Range range) {
+			super(name);
+			this.getter = getter;
+			this.range = range;
+		}
+
+		@Override
+		void check(Object target, Validation validation) {
+			long value;
+			try {
+				value = (long) getter.invokeExact(target);
+			} catch (Throwable t) {
+				throw Throws.propagate(t);
+			}
+			if (value < range.min() || value > range.max()) {
+				outOfRange(validation, name, range);
+			}
+		}
+	}
+
+	private static final class DoubleProperty extends Property {
+		private final MethodHandle getter;
+		private final Range range;
+
+		DoubleProperty(String name, MethodHandle getter, Range range) {
+			super(name);
+			this.getter = getter;
+			this.range = range;
+		}
+
+		@Override
+		void check(Object target, Validation validation) {
+			double value;
+			try {
+				value = (double) getter.invokeExact(target);
+			} catch (Throwable t) {
+				throw Throws.propagate(t);
+			}
+			if (!(value >= range.min() && value <= range.max())) {
+				outOfRange(validation, name, range);
+			}
+		}
+	}
+
+	/**
+	 * The property must not be {@code null}; reported as {@link ErrorCodes#ArgumentNull}.
+	 */
+	@Documented
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ ElementType.RECORD_COMPONENT, ElementType.FIELD })
+	public @interface NotNull {
+	}
+
+	/**
+	 * The numeric property must lie within {@code [min, max]}; reported as
+	 * {@link ErrorCodes#ArgumentOutOfRange}. {@code null} values are left to {@link NotNull}.
+	 */
+	@Documented
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ ElementType.RECORD_COMPONENT, ElementType.FIELD })
+	public @interface Range {
+		/**
+		 * Inclusive lower bound.
+		 *
+		 * @return minimum value
+		 */
+		long min() default Long.MIN_VALUE;
+
+		/**
+		 * Inclusive upper bound.
+		 *
+		 * @return maximum value
+		 */
+		long max() default Long.MAX_VALUE;
+	}
+
+	/**
+	 * The character sequence must fully match the regular expression; reported as
+	 * {@link ErrorCodes#ArgumentWrong}. {@code null} values are left to {@link NotNull}.
+	 */
+	@Documented
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ ElementType.RECORD_COMPONENT, ElementType.FIELD })
+	public @interface Matches {
+		/**
+		 * Regular expression the whole value must match.
+		 *
+		 * @return regex
+		 */
+		String value();
+	}
+}
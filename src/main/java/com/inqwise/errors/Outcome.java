@@ -0,0 +1,436 @@
+package com.inqwise.errors;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.common.base.MoreObjects;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+
+/**
+ * Result of an operation that either succeeded with a value or failed with an {@link ErrorTicket},
+ * used for expected failures (not found, validation) without throwing.
+ *
+ * <p>Failures created by {@link #failure(ErrorCode, String)} and the {@code ...Outcome} guards
+ * of {@link ErrorTickets} are stackless, so producing one costs no stack capture. Successes of
+ * {@code null}, {@link Boolean#TRUE} and {@link Boolean#FALSE} are cached singletons.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * Outcome<User> user = repository.find(id)
+ *     .map(User::activate)
+ *     .recover(ticket -> User.guest());
+ * }</pre>
+ *
+ * @param <T> value type
+ */
+public sealed interface Outcome<T> permits Outcome.Success, Outcome.Failure {
+
+	/**
+	 * Creates a successful outcome.
+	 *
+	 * @param value result value, may be {@code null}
+	 * @param <T> value type
+	 * @return success, shared for {@code null}, {@code TRUE} and {@code FALSE}
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> Outcome<T> success(T value) {
+		if (null == value) {
+			return (Outcome<T>) Success.NULL;
+		}
+		if (value instanceof Boolean bool) {
+			return (Outcome<T>) (bool ? Success.TRUE : Success.FALSE);
+		}
+		return new Success<>(value);
+	}
+
+	/**
+	 * Creates a failed outcome carrying the given ticket.
+	 *
+	 * @param error failure ticket
+	 * @param <T> value type
+	 * @return failure
+	 */
+	static <T> Outcome<T> failure(ErrorTicket error) {
+		return new Failure<>(Objects.requireNonNull(error, "error"));
+	}
+
+	/**
+	 * Creates a failed outcome with a stackless ticket.
+	 *
+	 * @param errorCode error code of the ticket
+	 * @param details failure description
+	 * @param <T> value type
+	 * @return failure
+	 */
+	static <T> Outcome<T> failure(ErrorCode errorCode, String details) {
+		return new Failure<>(ErrorTickets.stackless(errorCode, details));
+	}
+
+	/**
+	 * Runs the callable, turning any thrown exception into a failure via
+	 * {@link ErrorTicket#propagate(Throwable)}.
+	 *
+	 * @param callable operation to run
+	 * @param <T> value type
+	 * @return outcome of the call
+	 */
+	static <T> Outcome<T> attempt(Callable<T> callable) {
+		try {
+			return success(callable.call());
+		} catch (Exception e) {
+			return failure(Failure.toTicket(e));
+		}
+	}
+
+	/**
+	 * Converts a completed Vert.x {@link AsyncResult} (such as a completed {@link Future}).
+	 *
+	 * @param result completed async result
+	 * @param <T> value type
+	 * @return success with the result, or failure wrapping the cause
+	 */
+	static <T> Outcome<T> of(AsyncResult<T> result) {
+		return result.succeeded() ? success(result.result()) : failure(Failure.toTicket(result.cause()));
+	}
+
+	/**
+	 * Adapts a Vert.x {@link Future} into one that always succeeds with an outcome.
+	 *
+	 * @param future source future
+	 * @param <T> value type
+	 * @return future of the outcome
+	 */
+	static <T> Future<Outcome<T>> from(Future<T> future) {
+		return future.transform(result -> Future.succeededFuture(of(result)));
+	}
+
+	/**
+	 * Adapts a {@link CompletionStage} into one that always completes normally with an outcome.
+	 *
+	 * @param stage source stage
+	 * @param <T> value type
+	 * @return stage of the outcome
+	 */
+	static <T> CompletionStage<Outcome<T>> from(CompletionStage<T> stage) {
+		return stage.handle((value, error) -> null == error ? success(value) : failure(Failure.toTicket(error)));
+	}
+
+	/**
+	 * Indicates a successful outcome.
+	 *
+	 * @return {@code true} for success
+	 */
+	boolean isSuccess();
+
+	/**
+	 * Indicates a failed outcome.
+	 *
+	 * @return {@code true} for failure
+	 */
+	default boolean isFailure() {
+		return !isSuccess();
+	}
+
+	/**
+	 * Returns the value of a success or throws the ticket of a failure.
+	 *
+	 * @return success value
+	 * @throws ErrorTicket when failed
+	 */
+	T get();
+
+	/**
+	 * Returns the failure ticket.
+	 *
+	 * @return ticket, or {@code null} on success
+	 */
+	ErrorTicket getError();
+
+	/**
+	 * Returns the success value or the given fallback.
+	 *
+	 * @param other fallback value
+	 * @return value or fallback
+	 */
+	T orElse(T other);
+
+	/**
+	 * Returns the success value or a lazily computed fallback.
+	 *
+	 * @param other fallback supplier
+	 * @return value or fallback
+	 */
+	T orElseGet(Supplier<? extends T> other);
+
+	/**
+	 * Transforms the success value.
+	 *
+	 * @param mapper value transformation
+	 * @param <U> new value type
+	 * @return mapped success, or this failure
+	 */
+	<U> Outcome<U> map(Function<? super T, ? extends U> mapper);
+
+	/**
+	 * Chains an operation that itself returns an outcome.
+	 *
+	 * @param mapper next step
+	 * @param <U> new value type
+	 * @return outcome of the next step, or this failure
+	 */
+	<U> Outcome<U> flatMap(Function<? super T, Outcome<U>> mapper);
+
+	/**
+	 * Turns a failure into a success value.
+	 *
+	 * @param recovery maps the ticket to a value
+	 * @return this success, or the recovered success
+	 */
+	Outcome<T> recover(Function<? super ErrorTicket, ? extends T> recovery);
+
+	/**
+	 * Turns a failure into another outcome.
+	 *
+	 * @param recovery maps the ticket to an outcome
+	 * @return this success, or the recovery outcome
+	 */
+	Outcome<T> recoverWith(Function<? super ErrorTicket, Outcome<T>> recovery);
+
+	/**
+	 * Runs the action with the success value.
+	 *
+	 * @param action value consumer
+	 * @return this outcome
+	 */
+	Outcome<T> onSuccess(Consumer<? super T> action);
+
+	/**
+	 * Runs the action with the failure ticket.
+	 *
+	 * @param action ticket consumer
+	 * @return this outcome
+	 */
+	Outcome<T> onFailure(Consumer<? super ErrorTicket> action);
+
+	/**
+	 * Converts to a completed Vert.x {@link Future}.
+	 *
+	 * @return succeeded future, or future failed with the ticket
+	 */
+	Future<T> toFuture();
+
+	/**
+	 * Converts to a completed {@link CompletionStage}.
+	 *
+	 * @return completed stage, or stage failed with the ticket
+	 */
+	CompletionStage<T> toCompletionStage();
+
+	/**
+	 * Successful outcome.
+	 *
+	 * @param <T> value type
+	 */
+	final class Success<T> implements Outcome<T> {
+		private static final Success<Object> NULL = new Success<>(null);
+		private static final Success<Boolean> TRUE = new Success<>(Boolean.TRUE);
+		private static final Success<Boolean> FALSE = new Success<>(Boolean.FALSE);
+
+		private final T value;
+
+		private Success(T value) {
+			this.value = value;
+		}
+
+		@Override
+		public boolean isSuccess() {
+			return true;
+		}
+
+		@Override
+		public T get() {
+			return value;
+		}
+
+		@Override
+		public ErrorTicket getError() {
+			return null;
+		}
+
+		@Override
+		public T orElse(T other) {
+			return value;
+		}
+
+		@Override
+		public T orElseGet(Supplier<? extends T> other) {
+			return value;
+		}
+
+		@Override
+		public <U> Outcome<U> map(Function<? super T, ? extends U> mapper) {
+			return success(mapper.apply(value));
+		}
+
+		@Override
+		public <U> Outcome<U> flatMap(Function<? super T, Outcome<U>> mapper) {
+			return Objects.requireNonNull(mapper.apply(value), "outcome");
+		}
+
+		@Override
+		public Outcome<T> recover(Function<? super ErrorTicket, ? extends T> recovery) {
+			return this;
+		}
+
+		@Override
+		public Outcome<T> recoverWith(Function<? super ErrorTicket, Outcome<T>> recovery) {
+			return this;
+		}
+
+		@Override
+		public Outcome<T> onSuccess(Consumer<? super T> action) {
+			action.accept(value);
+			return this;
+		}
+
+		@Override
+		public Outcome<T> onFailure(Consumer<? super ErrorTicket> action) {
+			return this;
+		}
+
+		@Override
+		public Future<T> toFuture() {
+			return Future.succeededFuture(value);
+		}
+
+		@Override
+		public CompletionStage<T> toCompletionStage() {
+			return CompletableFuture.completedFuture(value);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return this == obj || obj instanceof Success<?> other && Objects.equals(value, other.value);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(value);
+		}
+
+		@Override
+		public String toString() {
+			return MoreObjects.toStringHelper(this).add("value", value).toString();
+		}
+	}
+
+	/**
+	 * Failed outcome.
+	 *
+	 * @param <T> value type
+	 */
+	final class Failure<T> implements Outcome<T> {
+		private final ErrorTicket error;
+
+		private Failure(ErrorTicket error) {
+			this.error = error;
+		}
+
+		private static ErrorTicket toTicket(Throwable t) {
+			return ErrorTicketFutures.toTicket(t);
+		}
+
+		@SuppressWarnings("unchecked")
+		private <U> Outcome<U> cast() {
+			return (Outcome<U>) this;
+		}
+
+		@Override
+		public boolean isSuccess() {
+			return false;
+		}
+
+		@Override
+		public T get() {
+			throw error;
+		}
+
+		@Override
+		public ErrorTicket getError() {
+			return error;
+		}
+
+		@Override
+		public T orElse(T other) {
+			return other;
+		}
+
+		@Override
+		public T orElseGet(Supplier<? extends T> other) {
+			return other.get();
+		}
+
+		@Override
+		public <U> Outcome<U> map(Function<? super T, ? extends U> mapper) {
+			return cast();
+		}
+
+		@Override
+		public <U> Outcome<U> flatMap(Function<? super T, Outcome<U>> mapper) {
+			return cast();
+		}
+
+		@Override
+		public Outcome<T> recover(Function<? super ErrorTicket, ? extends T> recovery) {
+			return success(recovery.apply(error));
+		}
+
+		@Override
+		public Outcome<T> recoverWith(Function<? super ErrorTicket, Outcome<T>> recovery) {
+			return Objects.requireNonNull(recovery.apply(error), "outcome");
+		}
+
+		@Override
+		public Outcome<T> onSuccess(Consumer<? super T> action) {
+			return this;
+		}
+
+		@Override
+		public Outcome<T> onFailure(Consumer<? super ErrorTicket> action) {
+			action.accept(error);
+			return this;
+		}
+
+		@Override
+		public Future<T> toFuture() {
+			return Future.failedFuture(error);
+		}
+
+		@Override
+		public CompletionStage<T> toCompletionStage() {
+			return CompletableFuture.failedFuture(error);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return this == obj || obj instanceof Failure<?> other && error.equals(other.error);
+		}
+
+		@Override
+		public int hashCode() {
+			return error.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return MoreObjects.toStringHelper(this).add("error", error).toString();
+		}
+	}
+}
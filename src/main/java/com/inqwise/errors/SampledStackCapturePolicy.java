@@ -0,0 +1,269 @@
+package com.inqwise.errors;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * {@link StackCapturePolicy} that captures full stacks for the first occurrences of each
+ * {@link ErrorCode} within a time window, then samples one in K and leaves the rest stackless.
+ *
+ * <p>Occurrences are counted per code, and per group and name for unresolved codes parsed from
+ * payloads; codes beyond {@link Builder#maxTrackedCodes(int)} share a single overflow window so
+ * memory stays bounded.
+ * Window rollover is lock-free and approximate: concurrent callers racing a rollover may be
+ * counted against either window.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * ErrorTicket.setStackCapturePolicy(StackCapturePolicy.sampled()
+ *     .firstPerWindow(20)
+ *     .window(Duration.ofMinutes(1))
+ *     .sampleOneIn(1000)
+ *     .build());
+ * }</pre>
+ */
+public final class SampledStackCapturePolicy implements StackCapturePolicy {
+	private static final Object NO_CODE = new Object();
+	private static final Object OVERFLOW = new Object();
+
+	private final long firstPerWindow;
+	private final long windowNanos;
+	private final long sampleOneIn;
+	private final int maxTrackedCodes;
+	private final boolean captureSourceWhenSuppressed;
+	private final LongSupplier ticker;
+	private final ConcurrentMap<Object, Window> windows = new ConcurrentHashMap<>();
+
+	private final LongAdder captured = new LongAdder();
+	private final LongAdder sampled = new LongAdder();
+	private final LongAdder suppressed = new LongAdder();
+
+	private SampledStackCapturePolicy(Builder builder) {
+		this.firstPerWindow = builder.firstPerWindow;
+		this.windowNanos = builder.window.toNanos();
+		this.sampleOneIn = builder.sampleOneIn;
+		this.maxTrackedCodes = builder.maxTrackedCodes;
+		this.captureSourceWhenSuppressed = builder.captureSourceWhenSuppressed;
+		this.ticker = builder.ticker;
+	}
+
+	/**
+	 * Creates a new {@link Builder} with defaults of 10 captures per code per minute and 1-in-100
+	 * sampling afterwards.
+	 *
+	 * @return new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	@Override
+	public boolean shouldCapture(ErrorCode error) {
+		final Window window = windowFor(key(error));
+		final long occurrence = window.next(ticker.getAsLong(), windowNanos);
+		if (occurrence <= firstPerWindow) {
+			captured.increment();
+			return true;
+		}
+		if (sampleOneIn > 0 && (occurrence - firstPerWindow) % sampleOneIn == 0) {
+			sampled.increment();
+			return true;
+		}
+		suppressed.increment();
+		return false;
+	}
+
+	@Override
+	public boolean shouldCaptureSource(ErrorCode error) {
+		return captureSourceWhenSuppressed;
+	}
+
+	/**
+	 * Undefined codes are created per parsed ticket and compare by identity, so they are keyed by
+	 * group and name to share one window.
+	 */
+	private static Object key(ErrorCode error) {
+		if (null == error) {
+			return NO_CODE;
+		}
+		if (error instanceof ErrorTicket.UndefinedErrorCode undefined) {
+			return new UndefinedKey(undefined.group(), undefined.getName());
+		}
+		return error;
+	}
+
+	private Window windowFor(Object key) {
+		Window window = windows.get(key);
+		if (null != window) {
+			return window;
+		}
+		if (windows.size() >= maxTrackedCodes) {
+			key = OVERFLOW;
+		}
+		return windows.computeIfAbsent(key, k -> new Window(ticker.getAsLong()));
+	}
+
+	/**
+	 * Returns a snapshot of the policy counters.
+	 *
+	 * @return current counters
+	 */
+	public Counters counters() {
+		return new Counters(captured.sum(), sampled.sum(), suppressed.sum(), windows.size());
+	}
+
+	/**
+	 * Clears the counters and all tracked windows.
+	 */
+	public void reset() {
+		windows.clear();
+		captured.reset();
+		sampled.reset();
+		suppressed.reset();
+	}
+
+	/**
+	 * Point-in-time view of the policy decisions.
+	 *
+	 * @param captured tickets captured within the per-window budget
+	 * @param sampled tickets captured by 1-in-K sampling
+	 * @param suppressed tickets built without a stack trace
+	 * @param trackedCodes number of tracked windows
+	 */
+	public record Counters(long captured, long sampled, long suppressed, int trackedCodes) {
+		/**
+		 * Total number of decisions made.
+		 *
+		 * @return captured + sampled + suppressed
+		 */
+		public long total() {
+			return captured + sampled + suppressed;
+		}
+	}
+
+	private record UndefinedKey(String group, String name) {
+	}
+
+	private static final class Window {
+		private final AtomicLong start;
+		private final AtomicLong count = new AtomicLong();
+
+		private Window(long now) {
+			this.start = new AtomicLong(now);
+		}
+
+		long next(long now, long windowNanos) {
+			final long windowStart = start.get();
+			if (now - windowStart >= windowNanos && start.compareAndSet(windowStart, now)) {
+				count.set(0);
+			}
+			return count.incrementAndGet();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("firstPerWindow", firstPerWindow)
+				.add("windowNanos", windowNanos)
+				.add("sampleOneIn", sampleOneIn)
+				.add("counters", counters())
+				.toString();
+	}
+
+	/**
+	 * Fluent builder for {@link SampledStackCapturePolicy}.
+	 */
+	public static final class Builder {
+		private long firstPerWindow = 10;
+		private Duration window = Duration.ofMinutes(1);
+		private long sampleOneIn = 100;
+		private int maxTrackedCodes = 1024;
+		private boolean captureSourceWhenSuppressed;
+		private LongSupplier ticker = System::nanoTime;
+
+		private Builder() {
+		}
+
+		/**
+		 * Number of tickets per code that capture a stack in each window.
+		 *
+		 * @param firstPerWindow non-negative budget
+		 * @return this builder
+		 */
+		public Builder firstPerWindow(long firstPerWindow) {
+			Preconditions.checkArgument(firstPerWindow >= 0, "firstPerWindow must be non-negative");
+			this.firstPerWindow = firstPerWindow;
+			return this;
+		}
+
+		/**
+		 * Length of the counting window.
+		 *
+		 * @param window positive duration
+		 * @return this builder
+		 */
+		public Builder window(Duration window) {
+			Objects.requireNonNull(window, "window");
+			Preconditions.checkArgument(!window.isNegative() && !window.isZero(), "window must be positive");
+			this.window = window;
+			return this;
+		}
+
+		/**
+		 * Sampling rate applied once the window budget is exhausted; {@code 0} disables sampling.
+		 *
+		 * @param sampleOneIn capture one in this many tickets
+		 * @return this builder
+		 */
+		public Builder sampleOneIn(long sampleOneIn) {
+			Preconditions.checkArgument(sampleOneIn >= 0, "sampleOneIn must be non-negative");
+			this.sampleOneIn = sampleOneIn;
+			return this;
+		}
+
+		/**
+		 * Upper bound of individually tracked codes.
+		 *
+		 * @param maxTrackedCodes positive limit
+		 * @return this builder
+		 */
+		public Builder maxTrackedCodes(int maxTrackedCodes) {
+			Preconditions.checkArgument(maxTrackedCodes > 0, "maxTrackedCodes must be positive");
+			this.maxTrackedCodes = maxTrackedCodes;
+			return this;
+		}
+
+		/**
+		 * Records the caller location on tickets that are left stackless.
+		 *
+		 * @return this builder
+		 */
+		public Builder captureSourceWhenSuppressed() {
+			this.captureSourceWhenSuppressed = true;
+			return this;
+		}
+
+		Builder ticker(LongSupplier ticker) {
+			this.ticker = Objects.requireNonNull(ticker, "ticker");
+			return this;
+		}
+
+		/**
+		 * Builds the policy.
+		 *
+		 * @return configured policy
+		 */
+		public SampledStackCapturePolicy build() {
+			return new SampledStackCapturePolicy(this);
+		}
+	}
+}
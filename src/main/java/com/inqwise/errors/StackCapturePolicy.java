@@ -0,0 +1,83 @@
+package com.inqwise.errors;
+
+/**
+ * Decides whether an {@link ErrorTicket} captures its stack trace when it is built.
+ *
+ * <p>The active policy is installed through {@link ErrorTicket#setStackCapturePolicy(StackCapturePolicy)}
+ * and is consulted by {@link ErrorTicket.Builder#build()} unless the builder explicitly requested a
+ * stack via {@link ErrorTicket.Builder#withStackTrace(boolean)}.</p>
+ */
+@FunctionalInterface
+public interface StackCapturePolicy {
+
+	/**
+	 * Returns whether a ticket for the given code should capture its stack trace.
+	 *
+	 * @param error the ticket error code, may be {@code null}
+	 * @return {@code true} to fill in the stack trace
+	 */
+	boolean shouldCapture(ErrorCode error);
+
+	/**
+	 * Returns whether a ticket built without a stack trace should record its caller location as
+	 * {@link ErrorTicket.Keys#SOURCE}. Only consulted when {@link #shouldCapture(ErrorCode)} declined.
+	 *
+	 * @param error the ticket error code, may be {@code null}
+	 * @return {@code true} to capture the first frame outside this library
+	 */
+	default boolean shouldCaptureSource(ErrorCode error) {
+		return false;
+	}
+
+	/**
+	 * Policy capturing a stack for every ticket (the default).
+	 *
+	 * @return the shared policy instance
+	 */
+	static StackCapturePolicy always() {
+		return error -> true;
+	}
+
+	/**
+	 * Policy producing stackless tickets only.
+	 *
+	 * @return the shared policy instance
+	 */
+	static StackCapturePolicy never() {
+		return error -> false;
+	}
+
+	/**
+	 * Policy recording only the caller location for client errors (4xx status) and a full stack for
+	 * everything else.
+	 *
+	 * @return the policy instance
+	 */
+	static StackCapturePolicy sourceOnlyForClientErrors() {
+		return new StackCapturePolicy() {
+			@Override
+			public boolean shouldCapture(ErrorCode error) {
+				return !isClientError(error);
+			}
+
+			@Override
+			public boolean shouldCaptureSource(ErrorCode error) {
+				return isClientError(error);
+			}
+
+			private boolean isClientError(ErrorCode error) {
+				return null != error && error.statusCode() >= 400 && error.statusCode() < 500;
+			}
+		};
+	}
+
+	/**
+	 * Starts a {@link SampledStackCapturePolicy} that captures the first occurrences per code in each
+	 * time window and samples the rest.
+	 *
+	 * @return a new builder
+	 */
+	static SampledStackCapturePolicy.Builder sampled() {
+		return SampledStackCapturePolicy.builder();
+	}
+}
@@ -9,8 +9,16 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
@@ -20,12 +28,23 @@ import com.google.common.collect.Lists;
 
 /**
  * Utility that trims exception stack traces by removing frames matched by configurable predicates.
+ *
+ * <p>Instances are immutable and thread-safe. Focusers created through {@link Builder} compile
+ * their class-name patterns into a single matcher and cache per-class decisions, so batch
+ * operations such as {@link #focusAll(Collection)} share that work across worker threads.
+ * Frames are first checked against the ignored module and class-loader names, which are plain
+ * hash lookups, so JDK frames never reach the regular expressions.</p>
  */
 public final class StackTraceFocuser implements Function<Throwable, Throwable> {
 	private static final List<Pattern> DEFAULT_JAVA_CLASS_PATTERNS = asList(compile("^java\\."),
 		compile("^javax\\."), compile("^sun\\."), compile("^com\\.sun\\."));
+	/** Batch size from which {@link #focusAll(Collection)} and {@link #fingerprintAll(Collection)} go parallel. */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 2048;
+	private static final int MIN_CHUNK_SIZE = 256;
+	private static final int MAX_FINGERPRINT_DEPTH = 32;
 	private static volatile StackTraceFocuser defaultInstance;
 	private final Predicate<StackTraceElement> ignore;
+	private final int parallelThreshold;
 
 	/**
 	 * Creates a new {@code StackTraceFocuser} that ignores stack frames whose class names match the
@@ -93,7 +112,27 @@ public final class StackTraceFocuser implements Function<Throwable, Throwable> {
 	 * @param ignores the predicates describing frames to ignore, never {@code null}
 	 */
 	public StackTraceFocuser(final Iterable<Predicate<StackTraceElement>> ignores) {
-		ignore = toPredicate(ignores);
+		this(toPredicate(ignores), DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+	private StackTraceFocuser(final Predicate<StackTraceElement> keep, final int parallelThreshold) {
+		this.ignore = keep;
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * Returns the size and hit counts of the per-class decision cache of focusers created by
+	 * {@link Builder}, or {@code null} for focusers without one.
+	 */
+	CacheStats decisionCacheStats() {
+		return ignore instanceof CompiledFrameFilter filter ? filter.stats() : null;
+	}
+
+	void resetDecisionCacheStats() {
+		if (ignore instanceof CompiledFrameFilter filter) {
+			filter.hits.reset();
+			filter.misses.reset();
+		}
 	}
 
 	private static Predicate<StackTraceElement> toPredicate(final Iterable<Predicate<StackTraceElement>> ignores) {
@@ -170,8 +209,251 @@ public final class StackTraceFocuser implements Function<Throwable, Throwable> {
 	}
 
 	private StackTraceElement[] filteredStack(final StackTraceElement[] stackTrace) {
-		final List<StackTraceElement> found = asList(stackTrace).stream().filter(ignore).collect(toList());
-		return found.toArray(new StackTraceElement[found.size()]);
+		int kept = 0;
+		for (final StackTraceElement frame : stackTrace) {
+			if (ignore.test(frame)) {
+				kept++;
+			}
+		}
+		if (kept == stackTrace.length) {
+			return stackTrace;
+		}
+		final StackTraceElement[] found = new StackTraceElement[kept];
+		int index = 0;
+		for (final StackTraceElement frame : stackTrace) {
+			if (ignore.test(frame)) {
+				found[index++] = frame;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Tests whether the supplied frame survives focusing.
+	 *
+	 * @param frame the stack frame to test, never {@code null}
+	 * @return {@code true} when the frame is kept
+	 */
+	public boolean isFocused(final StackTraceElement frame) {
+		return ignore.test(frame);
+	}
+
+	/**
+	 * Returns the focused frames of the supplied stack without touching any throwable. The input
+	 * array is returned as-is when no frame is dropped.
+	 *
+	 * @param stackTrace the frames to filter, never {@code null}
+	 * @return the kept frames, never {@code null}
+	 */
+	public StackTraceElement[] focusedFrames(final StackTraceElement[] stackTrace) {
+		return filteredStack(stackTrace);
+	}
+
+	/**
+	 * Renders the focused stack trace of the throwable, its causes and suppressed throwables into
+	 * the supplied buffer, following the layout of {@link Throwable#printStackTrace()}. The
+	 * throwable itself is not modified and frames are appended piecewise, without building frame
+	 * strings or filtered arrays. The copies of the frames returned by
+	 * {@link Throwable#getStackTrace()} remain, and an identity set guarding against cause cycles
+	 * is only created for throwables with causes or suppressed throwables.
+	 *
+	 * @param throwable the throwable to render, may be {@code null}
+	 * @param buffer the target buffer, never {@code null}
+	 */
+	public void formatTo(final Throwable throwable, final StringBuilder buffer) {
+		if (throwable == null) {
+			return;
+		}
+		formatTo(throwable, buffer, "", 0, null);
+	}
+
+	private Set<Throwable> formatTo(final Throwable throwable, final StringBuilder buffer, final String caption,
+		final int depth, Set<Throwable> seen) {
+		indent(buffer, depth);
+		buffer.append(caption);
+		if (seen != null && !seen.add(throwable)) {
+			buffer.append("[CIRCULAR REFERENCE: ");
+			appendHeader(throwable, buffer);
+			buffer.append(']').append(System.lineSeparator());
+			return seen;
+		}
+		appendHeader(throwable, buffer);
+		buffer.append(System.lineSeparator());
+		for (final StackTraceElement frame : throwable.getStackTrace()) {
+			if (ignore.test(frame)) {
+				indent(buffer, depth);
+				buffer.append("\tat ");
+				appendFrame(frame, buffer);
+				buffer.append(System.lineSeparator());
+			}
+		}
+		final Throwable[] suppressed = throwable.getSuppressed();
+		final Throwable cause = throwable.getCause();
+		if (seen == null && (suppressed.length > 0 || cause != null)) {
+			// only this throwable has been rendered so far
+			seen = Collections.newSetFromMap(new IdentityHashMap<>());
+			seen.add(throwable);
+		}
+		for (final Throwable next : suppressed) {
+			seen = formatTo(next, buffer, "Suppressed: ", depth + 1, seen);
+		}
+		if (cause != null) {
+			seen = formatTo(cause, buffer, "Caused by: ", depth, seen);
+		}
+		return seen;
+	}
+
+	private static void indent(final StringBuilder buffer, final int depth) {
+		for (int i = 0; i < depth; i++) {
+			buffer.append('\t');
+		}
+	}
+
+	private static void appendHeader(final Throwable throwable, final StringBuilder buffer) {
+		buffer.append(throwable.getClass().getName());
+		final String message = throwable.getLocalizedMessage();
+		if (message != null) {
+			buffer.append(": ").append(message);
+		}
+	}
+
+	private static void appendFrame(final StackTraceElement frame, final StringBuilder buffer) {
+		buffer.append(frame.getClassName()).append('.').append(frame.getMethodName()).append('(');
+		if (frame.isNativeMethod()) {
+			buffer.append("Native Method");
+		} else if (frame.getFileName() == null) {
+			buffer.append("Unknown Source");
+		} else {
+			buffer.append(frame.getFileName());
+			if (frame.getLineNumber() >= 0) {
+				buffer.append(':').append(frame.getLineNumber());
+			}
+		}
+		buffer.append(')');
+	}
+
+	/**
+	 * Focuses every throwable of the batch in place. Batches of at least
+	 * {@link Builder#parallelThreshold(int)} elements are split across the common
+	 * {@link ForkJoinPool}.
+	 *
+	 * @param throwables the throwables to focus, never {@code null}; {@code null} elements are skipped
+	 */
+	public void focusAll(final Collection<? extends Throwable> throwables) {
+		focusAll(throwables, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Focuses every throwable of the batch in place, splitting large batches across the supplied
+	 * executor. The calling thread processes one chunk itself and returns once all chunks finished.
+	 *
+	 * @param throwables the throwables to focus, never {@code null}; {@code null} elements are skipped
+	 * @param executor the executor running the remaining chunks, never {@code null}
+	 */
+	public void focusAll(final Collection<? extends Throwable> throwables, final Executor executor) {
+		final Throwable[] items = throwables.toArray(new Throwable[0]);
+		runChunked(items.length, executor, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				focus(items[i]);
+			}
+		});
+	}
+
+	/**
+	 * Computes the {@link #fingerprint(Throwable)} of every throwable of the batch. Batches of at
+	 * least {@link Builder#parallelThreshold(int)} elements are split across the common
+	 * {@link ForkJoinPool}.
+	 *
+	 * @param throwables the throwables to fingerprint, never {@code null}
+	 * @return fingerprints in the iteration order of the collection
+	 */
+	public long[] fingerprintAll(final Collection<? extends Throwable> throwables) {
+		return fingerprintAll(throwables, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Computes the {@link #fingerprint(Throwable)} of every throwable of the batch, splitting large
+	 * batches across the supplied executor.
+	 *
+	 * @param throwables the throwables to fingerprint, never {@code null}
+	 * @param executor the executor running the remaining chunks, never {@code null}
+	 * @return fingerprints in the iteration order of the collection
+	 */
+	public long[] fingerprintAll(final Collection<? extends Throwable> throwables, final Executor executor) {
+		final Throwable[] items = throwables.toArray(new Throwable[0]);
+		final long[] fingerprints = new long[items.length];
+		runChunked(items.length, executor, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				fingerprints[i] = fingerprint(items[i]);
+			}
+		});
+		return fingerprints;
+	}
+
+	/**
+	 * Computes a 64-bit fingerprint of the focused frames of the throwable and its causes. Two
+	 * throwables of the same types raised through the same focused frames share a fingerprint;
+	 * messages are not part of it.
+	 *
+	 * @param throwable the throwable to fingerprint, may be {@code null}
+	 * @return the fingerprint, {@code 0} for {@code null}
+	 */
+	public long fingerprint(final Throwable throwable) {
+		if (throwable == null) {
+			return 0L;
+		}
+		long hash = 0x9E3779B97F4A7C15L;
+		Throwable current = throwable;
+		for (int depth = 0; current != null && depth < MAX_FINGERPRINT_DEPTH; depth++) {
+			hash = mix(hash, current.getClass().getName().hashCode());
+			for (final StackTraceElement frame : current.getStackTrace()) {
+				if (ignore.test(frame)) {
+					hash = mix(hash, frame.getClassName().hashCode());
+					hash = mix(hash, frame.getMethodName().hashCode());
+					hash = mix(hash, frame.getLineNumber());
+				}
+			}
+			final Throwable cause = current.getCause();
+			current = cause == current ? null : cause;
+		}
+		return finish(hash);
+	}
+
+	private static long mix(final long hash, final int value) {
+		return (hash ^ value) * 0x100000001B3L + 0x9E3779B97F4A7C15L;
+	}
+
+	private static long finish(long hash) {
+		hash ^= hash >>> 33;
+		hash *= 0xFF51AFD7ED558CCDL;
+		hash ^= hash >>> 33;
+		hash *= 0xC4CEB9FE1A85EC53L;
+		return hash ^ (hash >>> 33);
+	}
+
+	private void runChunked(final int size, final Executor executor, final RangeTask task) {
+		if (size < parallelThreshold) {
+			task.run(0, size);
+			return;
+		}
+		final int workers = executor instanceof ForkJoinPool
+			? ((ForkJoinPool) executor).getParallelism()
+			: Runtime.getRuntime().availableProcessors();
+		final int chunkSize = Math.max(MIN_CHUNK_SIZE, (size + workers * 4 - 1) / (workers * 4));
+		final int chunks = (size + chunkSize - 1) / chunkSize;
+		final CompletableFuture<?>[] pending = new CompletableFuture<?>[chunks - 1];
+		for (int chunk = 1; chunk < chunks; chunk++) {
+			final int from = chunk * chunkSize;
+			final int to = Math.min(size, from + chunkSize);
+			pending[chunk - 1] = CompletableFuture.runAsync(() -> task.run(from, to), executor);
+		}
+		task.run(0, Math.min(size, chunkSize));
+		CompletableFuture.allOf(pending).join();
+	}
+
+	@FunctionalInterface
+	private interface RangeTask {
+		void run(int from, int to);
 	}
 
 	/**
@@ -214,6 +496,127 @@ public final class StackTraceFocuser implements Function<Throwable, Throwable> {
 		return frame -> lineNumber.matcher(String.valueOf(frame.getLineNumber())).find();
 	}
 
+	/**
+	 * Keep-predicate built by {@link Builder}: frames from ignored modules or class loaders are
+	 * dropped by name lookup first, class-name patterns sharing the same flags are merged into one
+	 * alternation, and decisions are cached per class name so repeated frames skip the regex
+	 * entirely.
+	 */
+	private static final class CompiledFrameFilter implements Predicate<StackTraceElement> {
+		private static final int MAX_CACHED_DECISIONS = 8192;
+		private final NameMatcher modules;
+		private final NameMatcher classLoaders;
+		private final Pattern[] classPatterns;
+		private final Predicate<StackTraceElement> otherIgnores;
+		private final Map<String, Boolean> classDecisions = new ConcurrentHashMap<>();
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder misses = new LongAdder();
+
+		private CompiledFrameFilter(final NameMatcher modules, final NameMatcher classLoaders,
+			final Collection<Pattern> classPatterns, final List<Predicate<StackTraceElement>> otherIgnores) {
+			this.modules = modules;
+			this.classLoaders = classLoaders;
+			this.classPatterns = merge(classPatterns);
+			this.otherIgnores = otherIgnores.isEmpty() ? null
+				: otherIgnores.stream().reduce(Predicate::or).get();
+		}
+
+		private static Pattern[] merge(final Collection<Pattern> patterns) {
+			final Map<Integer, StringBuilder> byFlags = new LinkedHashMap<>();
+			for (final Pattern pattern : patterns) {
+				final StringBuilder alternation = byFlags.computeIfAbsent(pattern.flags(), flags -> new StringBuilder());
+				if (alternation.length() > 0) {
+					alternation.append('|');
+				}
+				alternation.append("(?:").append(pattern.pattern()).append(')');
+			}
+			return byFlags.entrySet().stream()
+				.map(entry -> compile(entry.getValue().toString(), entry.getKey()))
+				.toArray(Pattern[]::new);
+		}
+
+		@Override
+		public boolean test(final StackTraceElement frame) {
+			if (modules.matches(frame.getModuleName()) || classLoaders.matches(frame.getClassLoaderName())) {
+				return false;
+			}
+			if (isIgnoredClass(frame.getClassName())) {
+				return false;
+			}
+			return otherIgnores == null || !otherIgnores.test(frame);
+		}
+
+		private boolean isIgnoredClass(final String className) {
+			if (classPatterns.length == 0) {
+				return false;
+			}
+			final Boolean cached = classDecisions.get(className);
+			if (cached != null) {
+				hits.increment();
+				return cached;
+			}
+			misses.increment();
+			boolean ignored = false;
+			for (final Pattern pattern : classPatterns) {
+				if (pattern.matcher(className).find()) {
+					ignored = true;
+					break;
+				}
+			}
+			if (classDecisions.size() < MAX_CACHED_DECISIONS) {
+				classDecisions.put(className, ignored);
+			}
+			return ignored;
+		}
+
+		private CacheStats stats() {
+			return new CacheStats(classDecisions.size(), MAX_CACHED_DECISIONS, hits.sum(), misses.sum());
+		}
+	}
+
+	/**
+	 * Set of module or class-loader names. Entries are exact names, or prefixes written as
+	 * {@code "io.netty.*"} which match {@code io.netty} itself and every name below it.
+	 */
+	private static final class NameMatcher {
+		private static final NameMatcher EMPTY = new NameMatcher(Collections.emptySet());
+		private final Set<String> exact = new HashSet<>();
+		private final String[] prefixes;
+
+		private NameMatcher(final Collection<String> names) {
+			final List<String> prefixList = Lists.newArrayList();
+			for (final String name : names) {
+				if (name.endsWith(".*")) {
+					final String root = name.substring(0, name.length() - 2);
+					exact.add(root);
+					prefixList.add(root + '.');
+				} else {
+					exact.add(name);
+				}
+			}
+			this.prefixes = prefixList.toArray(String[]::new);
+		}
+
+		static NameMatcher of(final Collection<String> names) {
+			return names.isEmpty() ? EMPTY : new NameMatcher(names);
+		}
+
+		boolean matches(final String name) {
+			if (name == null) {
+				return false;
+			}
+			if (exact.contains(name)) {
+				return true;
+			}
+			for (final String prefix : prefixes) {
+				if (name.startsWith(prefix)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
 	/**
 	 * Fluent builder for composing {@link StackTraceFocuser} instances.
 	 */
@@ -222,10 +625,14 @@ public final class StackTraceFocuser implements Function<Throwable, Throwable> {
 			"^java\\.lang\\.", "^java\\.util\\.", "^javax\\.", "^sun\\.", "^com\\.sun\\.",
 			"^io\\.vertx\\.core\\.", "^com\\.mysql\\.cj\\.", "^io\\.netty\\.",
 			"^io\\.vertx\\.ext\\.web\\.").stream().map(Pattern::compile).collect(toList());
+		private static final List<String> DEFAULT_MODULES = asList("java.*", "jdk.*");
+		private final Set<String> modules = new HashSet<>();
+		private final Set<String> classLoaders = new HashSet<>();
 		private final Set<Pattern> classNamePatterns = new HashSet<>();
 		private final Set<Pattern> methodNamePatterns = new HashSet<>();
 		private final Set<Pattern> fileNamePatterns = new HashSet<>();
 		private boolean skipDefaultPatterns = false;
+		private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
 
 		private Builder() {
 		}
@@ -381,7 +788,38 @@ public final class StackTraceFocuser implements Function<Throwable, Throwable> {
 		}
 
 		/**
-		 * Skips the built-in default ignore patterns so only user-specified predicates apply.
+		 * Ignores frames whose {@link StackTraceElement#getModuleName() module} is one of the given
+		 * names. A trailing {@code .*} matches the module and every module below it.
+		 * Example: {@code builder.ignoreModules("java.base", "io.netty.*");}
+		 *
+		 * @param moduleNames exact module names or {@code prefix.*} wildcards
+		 * @return this builder
+		 */
+		public Builder ignoreModules(final String... moduleNames) {
+			for (final String moduleName : moduleNames) {
+				this.modules.add(Objects.requireNonNull(moduleName, "moduleName"));
+			}
+			return this;
+		}
+
+		/**
+		 * Ignores frames whose {@link StackTraceElement#getClassLoaderName() class loader} has one of
+		 * the given names. Classes loaded by the bootstrap loader report no loader name; use
+		 * {@link #ignoreModules(String...)} for those.
+		 * Example: {@code builder.ignoreClassLoader("platform");}
+		 *
+		 * @param classLoaderNames exact class-loader names or {@code prefix.*} wildcards
+		 * @return this builder
+		 */
+		public Builder ignoreClassLoader(final String... classLoaderNames) {
+			for (final String classLoaderName : classLoaderNames) {
+				this.classLoaders.add(Objects.requireNonNull(classLoaderName, "classLoaderName"));
+			}
+			return this;
+		}
+
+		/**
+		 * Skips the built-in default ignore patterns and JDK modules so only user-specified predicates apply.
 		 * Example: {@code builder.skipDefaultPatterns().addClass("^com\\.example");}
 		 *
 		 * @return this builder
@@ -391,6 +829,22 @@ public final class StackTraceFocuser implements Function<Throwable, Throwable> {
 			return this;
 		}
 
+		/**
+		 * Sets the batch size from which {@link StackTraceFocuser#focusAll(Collection)} and
+		 * {@link StackTraceFocuser#fingerprintAll(Collection)} split work across threads.
+		 * Example: {@code builder.parallelThreshold(10_000);}
+		 *
+		 * @param parallelThreshold minimum batch size processed in parallel, at least {@code 1}
+		 * @return this builder
+		 */
+		public Builder parallelThreshold(final int parallelThreshold) {
+			if (parallelThreshold < 1) {
+				throw new IllegalArgumentException("parallelThreshold must be positive");
+			}
+			this.parallelThreshold = parallelThreshold;
+			return this;
+		}
+
 		/**
 		 * Builds the {@link StackTraceFocuser} using the configured predicates.
 		 * Example: {@code StackTraceFocuser focuser = builder.addClass("^com\\.app").build();}
@@ -399,18 +853,20 @@ public final class StackTraceFocuser implements Function<Throwable, Throwable> {
 		 */
 		public StackTraceFocuser build() {
 			final Set<Pattern> finalClassPatterns = new HashSet<>(classNamePatterns);
+			final Set<String> finalModules = new HashSet<>(modules);
 			if (!skipDefaultPatterns) {
 				finalClassPatterns.addAll(DEFAULT_CLASS_PATTERNS);
+				finalModules.addAll(DEFAULT_MODULES);
 			}
 
 			final List<Predicate<StackTraceElement>> predicates = Lists.newArrayList();
-			predicates.addAll(finalClassPatterns.stream().map(StackTraceFocuser::ignoreClassName).collect(toList()));
 			predicates.addAll(methodNamePatterns.stream().map(StackTraceFocuser::ignoreMethodName)
 				.collect(toList()));
 			predicates.addAll(fileNamePatterns.stream().map(StackTraceFocuser::ignoreFileName)
 				.collect(toList()));
 
-			return new StackTraceFocuser(predicates);
+			return new StackTraceFocuser(new CompiledFrameFilter(NameMatcher.of(finalModules),
+				NameMatcher.of(classLoaders), finalClassPatterns, predicates), parallelThreshold);
 		}
 	}
 }
@@ -0,0 +1,82 @@
+package com.inqwise.errors;
+
+import java.util.Objects;
+
+/**
+ * Identifies where a ticket was raised, for aggregating repeated failures.
+ *
+ * <p>The throw site is the propagated throwable, the ticket's own stack trace, or its
+ * {@linkplain ErrorTicket#getSource() caller location} when the ticket is stackless.</p>
+ */
+final class ThrowSites {
+	private static final long SEED = 0x9E3779B97F4A7C15L;
+
+	private ThrowSites() {
+	}
+
+	/**
+	 * Fingerprints the throw site of a ticket.
+	 *
+	 * @param focuser frame filter
+	 * @param ticket the ticket
+	 * @param throwSite the ticket itself or the throwable it was propagated from
+	 * @return fingerprint, {@code 0} when the site is unknown
+	 */
+	static long fingerprint(StackTraceFocuser focuser, ErrorTicket ticket, Throwable throwSite) {
+		if (throwSite != ticket || ticket.hasStackTrace()) {
+			return focuser.fingerprint(throwSite);
+		}
+		var source = ticket.getSource();
+		return null == source ? 0 : mix(SEED, source.hashCode());
+	}
+
+	/**
+	 * Combines the error code and the throw-site fingerprint into one key.
+	 *
+	 * @param ticket the ticket
+	 * @param fingerprint throw-site fingerprint
+	 * @return key
+	 */
+	static long key(ErrorTicket ticket, long fingerprint) {
+		return mix(fingerprint, Objects.hashCode(ticket.getError()));
+	}
+
+	/**
+	 * Returns the first focused frame outside this library.
+	 *
+	 * @param focuser frame filter
+	 * @param ticket the ticket
+	 * @param throwSite the ticket itself or the throwable it was propagated from
+	 * @return {@code class.method(File.java:line)}, or {@code null} when unknown
+	 */
+	static String location(StackTraceFocuser focuser, ErrorTicket ticket, Throwable throwSite) {
+		if (throwSite == ticket && null != ticket.getSource()) {
+			return ticket.getSource();
+		}
+		for (var frame : throwSite.getStackTrace()) {
+			if (focuser.isFocused(frame) && !CallerLocation.isLibraryFrame(frame.getClassName())) {
+				return CallerLocation.format(frame);
+			}
+		}
+		return ticket.getSource();
+	}
+
+	/**
+	 * Returns the group of a ticket, falling back to the group of its error code.
+	 *
+	 * @param ticket the ticket
+	 * @return group or {@code null}
+	 */
+	static String groupOf(ErrorTicket ticket) {
+		var group = ticket.getErrorGroup();
+		if (null == group && null != ticket.getError()) {
+			group = ticket.getError().group();
+		}
+		return group;
+	}
+
+	static long mix(long hash, int value) {
+		hash = (hash ^ value) * 0xFF51AFD7ED558CCDL;
+		return hash ^ (hash >>> 33);
+	}
+}
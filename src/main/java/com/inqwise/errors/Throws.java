@@ -1,10 +1,6 @@
 package com.inqwise.errors;
 
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
-
 import com.google.common.base.Throwables;
-import com.google.common.collect.Sets;
 
 /** Utility helpers for common exception workflow patterns. */
 public final class Throws {
@@ -52,7 +48,7 @@ public final class Throws {
 	}
 	
 	/**
-	 * Removes wrapper exceptions of the provided type from the chain.
+	 * Removes wrapper exceptions of the provided type from the chain. Cause cycles end the walk.
 	 *
 	 * @param ex throwable to unwrap
 	 * @param exceptionClass wrapper type to peel
@@ -60,14 +56,23 @@ public final class Throws {
 	 */
 	public static Throwable unbox(Throwable ex, Class<? extends Throwable> exceptionClass) {
 		Throwable resEx = ex;
+		Throwable slow = ex;
+		boolean advanceSlow = false;
 		while(exceptionClass.isInstance(resEx)) {
 			resEx = resEx.getCause();
+			if(advanceSlow) {
+				slow = slow.getCause();
+			}
+			advanceSlow = !advanceSlow;
+			if(slow == resEx) {
+				break;
+			}
 		}
 		return resEx;
 	}
 	
 	/**
-	 * Unwraps when either type matches.
+	 * Unwraps when either type matches. Cause cycles end the walk.
 	 *
 	 * @param ex throwable to unwrap
 	 * @param exceptionClass1 first wrapper type
@@ -76,25 +81,107 @@ public final class Throws {
 	 */
 	public static Throwable unbox(Throwable ex, Class<? extends Throwable> exceptionClass1, Class<? extends Throwable> exceptionClass2) {
 		Throwable resEx = ex;
+		Throwable slow = ex;
+		boolean advanceSlow = false;
 		while(exceptionClass1.isInstance(resEx) || exceptionClass2.isInstance(resEx)) {
 			resEx = resEx.getCause();
+			if(advanceSlow) {
+				slow = slow.getCause();
+			}
+			advanceSlow = !advanceSlow;
+			if(slow == resEx) {
+				break;
+			}
 		}
 		return resEx;
 	}
 	
 	/**
-	 * Unwraps repeatedly while the exception matches any provided type.
+	 * Unwraps repeatedly while the exception matches any provided type and has a cause. For
+	 * a fixed set of wrappers prefer a shared {@link Unboxer}, which caches its decisions.
 	 *
 	 * @param ex throwable to unwrap
 	 * @param elements wrapper types
 	 * @return the first non-matching throwable
 	 */
+	@SafeVarargs
 	public static Throwable unbox(Throwable ex, Class<? extends Throwable>... elements) {
-		AtomicReference<Throwable> resEx = new AtomicReference<>(ex);
-		Set<Class<? extends Throwable>> classes = Sets.newHashSet(elements);
-		while(null != resEx.get().getCause() && classes.stream().anyMatch(t -> t.isInstance(resEx.get()))) {
-			resEx.set(resEx.get().getCause());
+		Throwable resEx = ex;
+		Throwable slow = ex;
+		boolean advanceSlow = false;
+		while(null != resEx.getCause() && isInstance(resEx, elements)) {
+			resEx = resEx.getCause();
+			if(advanceSlow) {
+				slow = slow.getCause();
+			}
+			advanceSlow = !advanceSlow;
+			if(slow == resEx) {
+				break;
+			}
+		}
+		return resEx;
+	}
+
+	/**
+	 * Returns the last throwable of the cause chain. When the chain contains a cycle the walk
+	 * stops at the throwable where the cycle is detected.
+	 *
+	 * @param ex throwable to inspect
+	 * @return root cause, or {@code ex} itself when it has no cause
+	 */
+	public static Throwable rootCause(Throwable ex) {
+		Throwable resEx = ex;
+		Throwable slow = ex;
+		boolean advanceSlow = false;
+		Throwable cause;
+		while(null != (cause = resEx.getCause())) {
+			resEx = cause;
+			if(advanceSlow) {
+				slow = slow.getCause();
+			}
+			advanceSlow = !advanceSlow;
+			if(slow == resEx) {
+				break;
+			}
+		}
+		return resEx;
+	}
+
+	/**
+	 * Finds the first throwable in the cause chain, starting with {@code ex} itself, that is an
+	 * instance of the given type. Cause cycles end the search.
+	 *
+	 * @param ex throwable to inspect, may be {@code null}
+	 * @param type type to look for
+	 * @param <T> type to look for
+	 * @return the matching throwable, or {@code null} when the chain has none
+	 */
+	public static <T extends Throwable> T findCause(Throwable ex, Class<T> type) {
+		Throwable current = ex;
+		Throwable slow = ex;
+		boolean advanceSlow = false;
+		while(null != current) {
+			if(type.isInstance(current)) {
+				return type.cast(current);
+			}
+			current = current.getCause();
+			if(advanceSlow) {
+				slow = slow.getCause();
+			}
+			advanceSlow = !advanceSlow;
+			if(slow == current) {
+				break;
+			}
+		}
+		return null;
+	}
+
+	private static boolean isInstance(Throwable ex, Class<? extends Throwable>[] types) {
+		for(Class<? extends Throwable> type : types) {
+			if(type.isInstance(ex)) {
+				return true;
+			}
 		}
-		return resEx.get();
+		return false;
 	}
 }
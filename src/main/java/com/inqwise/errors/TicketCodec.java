@@ -0,0 +1,186 @@
+package com.inqwise.errors;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.google.common.base.Enums;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Compact binary form of an {@link ErrorTicket}, used to keep recent tickets without holding on
+ * to the exception objects and their stack traces.
+ *
+ * <pre>
+ * version:u8  errorId  code  codeGroup  group  detail  type  title  instance  source  status:varint  extensions
+ * </pre>
+ * <p>Strings are written as a varint of the UTF-8 length plus one ({@code 0} for {@code null})
+ * followed by the bytes; {@code status} is stored plus one. The code is kept by name and group and
+ * resolved through the {@link ErrorCodeRegistry} when decoding. Extensions are a JSON object string.
+ * The error id comes first so it can be compared without decoding the rest.</p>
+ */
+final class TicketCodec {
+	static final int VERSION = 1;
+
+	private byte[] buffer;
+	private int position;
+
+	private TicketCodec(byte[] buffer) {
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Encodes a ticket.
+	 *
+	 * @param ticket ticket to encode
+	 * @return encoded record
+	 */
+	static byte[] encode(ErrorTicket ticket) {
+		var codec = new TicketCodec(new byte[128]);
+		codec.writeByte(VERSION);
+		codec.writeString(ticket.getErrorId());
+		var error = ticket.getError();
+		codec.writeString(null == error ? null : error.toString());
+		codec.writeString(null == error ? null : error.group());
+		codec.writeString(ticket.getErrorGroup());
+		codec.writeString(ticket.getErrorDetails());
+		codec.writeString(ticket.getType());
+		codec.writeString(ticket.getTitle());
+		codec.writeString(ticket.getInstance());
+		codec.writeString(ticket.getSource());
+		var status = ticket.getStatus();
+		codec.writeVarint(null == status ? 0 : status + 1);
+		var extensions = ticket.getExtensions();
+		codec.writeString(extensions.isEmpty() ? null : Json.encode(extensions));
+		return Arrays.copyOf(codec.buffer, codec.position);
+	}
+
+	/**
+	 * Decodes a record into a stackless ticket without notifying listeners.
+	 *
+	 * @param record encoded record
+	 * @return restored ticket
+	 */
+	static ErrorTicket decode(byte[] record) {
+		var codec = new TicketCodec(record);
+		int version = codec.readByte();
+		if (VERSION != version) {
+			throw new Bug("unsupported ticket record version {}", version);
+		}
+		var builder = ErrorTicket.builder().withErrorId(codec.readString());
+		var code = codec.readString();
+		var codeGroup = codec.readString();
+		builder.withErrorGroup(codec.readString())
+				.withErrorDetails(codec.readString())
+				.type(codec.readString())
+				.title(codec.readString())
+				.instance(codec.readString())
+				.withSource(codec.readString());
+		int status = codec.readVarint();
+		if (0 != status) {
+			builder.withStatusCode(status - 1);
+		}
+		var extensions = codec.readString();
+		if (null != extensions) {
+			new JsonObject(extensions).forEach(member -> builder.addExtension(member.getKey(), member.getValue()));
+		}
+		var ticket = builder.restore();
+		if (null != code) {
+			ticket.error = resolve(ticket, codeGroup, code);
+		}
+		return ticket;
+	}
+
+	/**
+	 * Reads the error id of a record.
+	 *
+	 * @param record encoded record
+	 * @return error id or {@code null}
+	 */
+	static String errorId(byte[] record) {
+		var codec = new TicketCodec(record);
+		codec.readByte();
+		return codec.readString();
+	}
+
+	/**
+	 * Compares the error id of a record without creating a string.
+	 *
+	 * @param record encoded record
+	 * @param errorId expected id
+	 * @return {@code true} when the record carries the id
+	 */
+	static boolean hasErrorId(byte[] record, byte[] errorId) {
+		var codec = new TicketCodec(record);
+		codec.readByte();
+		int length = codec.readVarint() - 1;
+		return length == errorId.length
+				&& Arrays.equals(record, codec.position, codec.position + length, errorId, 0, length);
+	}
+
+	private static ErrorCode resolve(ErrorTicket ticket, String group, String code) {
+		ErrorCode error = null == group
+				? Enums.getIfPresent(ErrorCodes.class, code).orNull()
+				: ErrorCodeRegistry.getInstance().find(group, code);
+		return null != error ? error : ticket.new UndefinedErrorCode(code, group);
+	}
+
+	private void writeByte(int value) {
+		ensure(1);
+		buffer[position++] = (byte) value;
+	}
+
+	private void writeVarint(int value) {
+		ensure(5);
+		while ((value & ~0x7F) != 0) {
+			buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buffer[position++] = (byte) value;
+	}
+
+	private void writeString(String value) {
+		if (null == value) {
+			writeVarint(0);
+			return;
+		}
+		var bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarint(bytes.length + 1);
+		ensure(bytes.length);
+		System.arraycopy(bytes, 0, buffer, position, bytes.length);
+		position += bytes.length;
+	}
+
+	private void ensure(int length) {
+		if (position + length > buffer.length) {
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+		}
+	}
+
+	private int readByte() {
+		return buffer[position++] & 0xFF;
+	}
+
+	private int readVarint() {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = readByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new Bug("malformed varint at {}", position);
+	}
+
+	private String readString() {
+		int length = readVarint();
+		if (0 == length) {
+			return null;
+		}
+		var value = new String(buffer, position, length - 1, StandardCharsets.UTF_8);
+		position += length - 1;
+		return value;
+	}
+}
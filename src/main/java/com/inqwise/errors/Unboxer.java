@@ -0,0 +1,115 @@
+package com.inqwise.errors;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Reusable matcher that peels wrapper exceptions off a cause chain. Whether a class counts as a
+ * wrapper is decided once per class and cached in a {@link ClassValue}, so unboxing walks the
+ * chain without allocating. Cause cycles are detected and end the walk.
+ *
+ * Example:
+ * <pre>{@code
+ * private static final Unboxer UNBOXER = Unboxer.of(CompletionException.class, ExecutionException.class);
+ *
+ * Throwable failure = UNBOXER.unbox(ctx.failure());
+ * }</pre>
+ */
+public final class Unboxer {
+	private static final Unboxer DEFAULT = of(CompletionException.class, ExecutionException.class,
+			InvocationTargetException.class, UndeclaredThrowableException.class);
+
+	private final Class<? extends Throwable>[] wrapperTypes;
+	private final ClassValue<Boolean> wrappers = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for (Class<? extends Throwable> wrapperType : wrapperTypes) {
+				if (wrapperType.isAssignableFrom(type)) {
+					return Boolean.TRUE;
+				}
+			}
+			return Boolean.FALSE;
+		}
+	};
+
+	private Unboxer(Class<? extends Throwable>[] wrapperTypes) {
+		this.wrapperTypes = wrapperTypes;
+	}
+
+	/**
+	 * Creates an unboxer peeling the given wrapper types and their subclasses.
+	 *
+	 * @param wrapperTypes wrapper exception types
+	 * @return new unboxer
+	 */
+	@SafeVarargs
+	public static Unboxer of(Class<? extends Throwable>... wrapperTypes) {
+		var types = wrapperTypes.clone();
+		for (Class<? extends Throwable> type : types) {
+			Objects.requireNonNull(type, "wrapperType");
+		}
+		return new Unboxer(types);
+	}
+
+	/**
+	 * Returns the unboxer for the JDK's asynchronous and reflective wrappers:
+	 * {@link CompletionException}, {@link ExecutionException}, {@link InvocationTargetException}
+	 * and {@link UndeclaredThrowableException}.
+	 *
+	 * @return shared default unboxer
+	 */
+	public static Unboxer defaultInstance() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Indicates whether the throwable is one of the configured wrappers.
+	 *
+	 * @param throwable throwable to test, may be {@code null}
+	 * @return {@code true} for a wrapper
+	 */
+	public boolean isWrapper(Throwable throwable) {
+		return null != throwable && wrappers.get(throwable.getClass());
+	}
+
+	/**
+	 * Follows causes while the current throwable is a wrapper. A wrapper without a cause is
+	 * returned as is, and so is the throwable at which a cause cycle is detected.
+	 *
+	 * @param throwable throwable to unwrap, may be {@code null}
+	 * @return the first non-wrapper in the chain
+	 */
+	public Throwable unbox(Throwable throwable) {
+		Throwable current = throwable;
+		Throwable slow = throwable;
+		boolean advanceSlow = false;
+		while (isWrapper(current)) {
+			Throwable cause = current.getCause();
+			if (null == cause) {
+				break;
+			}
+			current = cause;
+			if (advanceSlow) {
+				slow = slow.getCause();
+			}
+			advanceSlow = !advanceSlow;
+			if (slow == current) {
+				break;
+			}
+		}
+		return current;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("wrapperTypes", Arrays.toString(wrapperTypes))
+				.toString();
+	}
+}
@@ -0,0 +1,654 @@
+package com.inqwise.errors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Accumulates validation failures and reports them as a single {@link ErrorTicket} carrying an
+ * RFC 7807 {@value ErrorTicket.Keys#INVALID_PARAMS} extension array.
+ *
+ * <p>Checks mirror {@link ErrorTickets} but record a {@link Violation} instead of throwing, so
+ * at most one ticket, and therefore one stack trace, is created per validation. In
+ * {@link #failFast()} mode the first violation throws immediately. The overloads taking a
+ * {@code Consumer<ErrorTicket.Builder>} have no counterpart, since violations are combined into one
+ * ticket rather than each building its own.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * Validation.collectAll()
+ *     .checkParamNotNull("email", request.email())
+ *     .checkParam("age", request.age() >= 18, "must be at least 18")
+ *     .checkArgument(request.from() < request.to(), "range {}..{} is empty", request.from(), request.to())
+ *     .throwIfInvalid();
+ * }</pre>
+ *
+ * <p>Instances are not thread-safe and are meant to be used for a single validation.</p>
+ */
+public final class Validation {
+	private final boolean failFast;
+	private List<Violation> violations;
+
+	private Validation(boolean failFast) {
+		this.failFast = failFast;
+	}
+
+	/**
+	 * Creates a validation that records every violation until {@link #throwIfInvalid()} or
+	 * {@link #toErrorTicket()} is called.
+	 *
+	 * @return new collecting validation
+	 */
+	public static Validation collectAll() {
+		return new Validation(false);
+	}
+
+	/**
+	 * Creates a validation that throws on the first violation, using the same ticket layout as
+	 * {@link #collectAll()}.
+	 *
+	 * @return new fail-fast validation
+	 */
+	public static Validation failFast() {
+		return new Validation(true);
+	}
+
+	/**
+	 * Records a violation of the named parameter when the expression is false.
+	 *
+	 * @param name parameter name reported in {@value ErrorTicket.Keys#INVALID_PARAMS}
+	 * @param expression condition to validate
+	 * @param reason failure description
+	 * @return this validation
+	 */
+	public Validation checkParam(String name, boolean expression, Object reason) {
+		if (! expression) {
+			add(name, String.valueOf(reason), ErrorCodes.ArgumentWrong);
+		}
+		return this;
+	}
+
+	/**
+	 * Records a violation of the named parameter when the expression is false, formatting the
+	 * reason only on failure.
+	 *
+	 * @param name parameter name reported in {@value ErrorTicket.Keys#INVALID_PARAMS}
+	 * @param expression condition to validate
+	 * @param template reason template using {@code {}} placeholders
+	 * @param arg1 template argument
+	 * @return this validation
+	 */
+	public Validation checkParam(String name, boolean expression, String template, Object arg1) {
+		if (! expression) {
+			add(name, ErrorTickets.format(template, arg1), ErrorCodes.ArgumentWrong);
+		}
+		return this;
+	}
+
+	/**
+	 * Records an {@link ErrorCodes#ArgumentNull} violation of the named parameter when the value is
+	 * {@code null}.
+	 *
+	 * @param name parameter name reported in {@value ErrorTicket.Keys#INVALID_PARAMS}
+	 * @param value value to inspect
+	 * @return this validation
+	 */
+	public Validation checkParamNotNull(String name, Object value) {
+		if (value == null) {
+			add(name, "must not be null", ErrorCodes.ArgumentNull);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkArgument(boolean, Object)}.
+	 *
+	 * @param expression condition to validate
+	 * @param details failure description
+	 * @return this validation
+	 */
+	public Validation checkArgument(boolean expression, Object details) {
+		if (! expression) {
+			add(null, String.valueOf(details), ErrorCodes.ArgumentWrong);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkArgumentLazy(boolean, Supplier)}.
+	 *
+	 * @param expression condition to validate
+	 * @param detailsSupplier supplies the failure description
+	 * @return this validation
+	 */
+	public Validation checkArgumentLazy(boolean expression, Supplier<String> detailsSupplier) {
+		if (! expression) {
+			add(null, detailsSupplier.get(), ErrorCodes.ArgumentWrong);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkArgument(boolean, String, Object)}.
+	 *
+	 * @param expression condition to validate
+	 * @param template failure description template using {@code {}} placeholders
+	 * @param arg1 template argument
+	 * @return this validation
+	 */
+	public Validation checkArgument(boolean expression, String template, Object arg1) {
+		if (! expression) {
+			add(null, ErrorTickets.format(template, arg1), ErrorCodes.ArgumentWrong);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkArgument(boolean, String, Object, Object)}.
+	 *
+	 * @param expression condition to validate
+	 * @param template failure description template using {@code {}} placeholders
+	 * @param arg1 first template argument
+	 * @param arg2 second template argument
+	 * @return this validation
+	 */
+	public Validation checkArgument(boolean expression, String template, Object arg1, Object arg2) {
+		if (! expression) {
+			add(null, ErrorTickets.format(template, arg1, arg2), ErrorCodes.ArgumentWrong);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkArgument(boolean, String, Object, Object, Object)}.
+	 *
+	 * @param expression condition to validate
+	 * @param template failure description template using {@code {}} placeholders
+	 * @param arg1 first template argument
+	 * @param arg2 second template argument
+	 * @param arg3 third template argument
+	 * @return this validation
+	 */
+	public Validation checkArgument(boolean expression, String template, Object arg1, Object arg2, Object arg3) {
+		if (! expression) {
+			add(null, ErrorTickets.format(template, arg1, arg2, arg3), ErrorCodes.ArgumentWrong);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkArgument(boolean, Object, ErrorCode)}.
+	 *
+	 * @param expression condition to validate
+	 * @param details failure description
+	 * @param errorCode custom error code
+	 * @return this validation
+	 */
+	public Validation checkArgument(boolean expression, Object details, ErrorCode errorCode) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (! expression) {
+			add(null, String.valueOf(details), errorCode);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkArgument(boolean, String, ErrorCode)}.
+	 *
+	 * @param expression condition to validate
+	 * @param details failure description
+	 * @param errorCode custom error code
+	 * @return this validation
+	 */
+	public Validation checkArgument(boolean expression, String details, ErrorCode errorCode) {
+		return checkArgument(expression, (Object) details, errorCode);
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkNotNull(Object, Object)}.
+	 *
+	 * @param reference value to inspect
+	 * @param errorMessage failure description
+	 * @return this validation
+	 */
+	public Validation checkNotNull(Object reference, Object errorMessage) {
+		if (reference == null) {
+			add(null, String.valueOf(errorMessage), ErrorCodes.ArgumentNull);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkNotNull(Object, Object, ErrorCode)}.
+	 *
+	 * @param reference value to inspect
+	 * @param errorMessage failure description
+	 * @param errorCode custom error code
+	 * @return this validation
+	 */
+	public Validation checkNotNull(Object reference, Object errorMessage, ErrorCode errorCode) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (reference == null) {
+			add(null, String.valueOf(errorMessage), errorCode);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkNotNull(Object, ErrorCode, Supplier)}.
+	 *
+	 * @param reference value to inspect
+	 * @param errorCode custom error code
+	 * @param messageSupplier supplies the failure description
+	 * @return this validation
+	 */
+	public Validation checkNotNull(Object reference, ErrorCode errorCode, Supplier<String> messageSupplier) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (reference == null) {
+			add(null, messageSupplier.get(), errorCode);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkNotNull(Object, ErrorCode, String, Object)}.
+	 *
+	 * @param reference value to inspect
+	 * @param errorCode custom error code
+	 * @param template failure description template using {@code {}} placeholders
+	 * @param arg1 template argument
+	 * @return this validation
+	 */
+	public Validation checkNotNull(Object reference, ErrorCode errorCode, String template, Object arg1) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (reference == null) {
+			add(null, ErrorTickets.format(template, arg1), errorCode);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkNotNull(Object, ErrorCode, String, Object, Object)}.
+	 *
+	 * @param reference value to inspect
+	 * @param errorCode custom error code
+	 * @param template failure description template using {@code {}} placeholders
+	 * @param arg1 first template argument
+	 * @param arg2 second template argument
+	 * @return this validation
+	 */
+	public Validation checkNotNull(Object reference, ErrorCode errorCode, String template, Object arg1, Object arg2) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (reference == null) {
+			add(null, ErrorTickets.format(template, arg1, arg2), errorCode);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkNotNull(Object, ErrorCode, String, Object, Object, Object)}.
+	 *
+	 * @param reference value to inspect
+	 * @param errorCode custom error code
+	 * @param template failure description template using {@code {}} placeholders
+	 * @param arg1 first template argument
+	 * @param arg2 second template argument
+	 * @param arg3 third template argument
+	 * @return this validation
+	 */
+	public Validation checkNotNull(Object reference, ErrorCode errorCode, String template, Object arg1, Object arg2, Object arg3) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		if (reference == null) {
+			add(null, ErrorTickets.format(template, arg1, arg2, arg3), errorCode);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkAllNotNull(Object, Object, Object)}.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param errorMessage failure description
+	 * @return this validation
+	 */
+	public Validation checkAllNotNull(Object v1, Object v2, Object errorMessage) {
+		if (v1 == null || v2 == null) {
+			add(null, String.valueOf(errorMessage), ErrorCodes.ArgumentNull);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkAllNotNull(Object, Object, Object, Object)}.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param v3 third value
+	 * @param errorMessage failure description
+	 * @return this validation
+	 */
+	public Validation checkAllNotNull(Object v1, Object v2, Object v3, Object errorMessage) {
+		if (v1 == null || v2 == null || v3 == null) {
+			add(null, String.valueOf(errorMessage), ErrorCodes.ArgumentNull);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkAllNotNull(Object, Object, Object, Object, Object)}.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param v3 third value
+	 * @param v4 fourth value
+	 * @param errorMessage failure description
+	 * @return this validation
+	 */
+	public Validation checkAllNotNull(Object v1, Object v2, Object v3, Object v4, Object errorMessage) {
+		if (v1 == null || v2 == null || v3 == null || v4 == null) {
+			add(null, String.valueOf(errorMessage), ErrorCodes.ArgumentNull);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkAllNotNull(Object, Object, Object, Object, Object, Object)}.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param v3 third value
+	 * @param v4 fourth value
+	 * @param v5 fifth value
+	 * @param errorMessage failure description
+	 * @return this validation
+	 */
+	public Validation checkAllNotNull(Object v1, Object v2, Object v3, Object v4, Object v5, Object errorMessage) {
+		if (v1 == null || v2 == null || v3 == null || v4 == null || v5 == null) {
+			add(null, String.valueOf(errorMessage), ErrorCodes.ArgumentNull);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkAllNotNull(Object[], Object)}.
+	 *
+	 * @param values values to inspect
+	 * @param errorMessage failure description
+	 * @return this validation
+	 */
+	public Validation checkAllNotNull(Object[] values, Object errorMessage) {
+		boolean valid = values != null;
+		for (int i = 0; valid && i < values.length; i++) {
+			valid = values[i] != null;
+		}
+		if (! valid) {
+			add(null, String.valueOf(errorMessage), ErrorCodes.ArgumentNull);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkAllNotNull(Iterable, Object)}.
+	 *
+	 * @param values values to inspect
+	 * @param errorMessage failure description
+	 * @return this validation
+	 */
+	public Validation checkAllNotNull(Iterable<?> values, Object errorMessage) {
+		boolean valid = values != null;
+		if (valid) {
+			for (Object value : values) {
+				if (value == null) {
+					valid = false;
+					break;
+				}
+			}
+		}
+		if (! valid) {
+			add(null, String.valueOf(errorMessage), ErrorCodes.ArgumentNull);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkAnyNotNull(Object, Object, Object)}.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param errorMessage failure description
+	 * @return this validation
+	 */
+	public Validation checkAnyNotNull(Object v1, Object v2, Object errorMessage) {
+		if (v1 == null && v2 == null) {
+			add(null, String.valueOf(errorMessage), ErrorCodes.ArgumentNull);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkAnyNotNull(Object, Object, Object, Object)}.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param v3 third value
+	 * @param errorMessage failure description
+	 * @return this validation
+	 */
+	public Validation checkAnyNotNull(Object v1, Object v2, Object v3, Object errorMessage) {
+		if (v1 == null && v2 == null && v3 == null) {
+			add(null, String.valueOf(errorMessage), ErrorCodes.ArgumentNull);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkAnyNotNull(Object, Object, Object, Object, Object)}.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param v3 third value
+	 * @param v4 fourth value
+	 * @param errorMessage failure description
+	 * @return this validation
+	 */
+	public Validation checkAnyNotNull(Object v1, Object v2, Object v3, Object v4, Object errorMessage) {
+		if (v1 == null && v2 == null && v3 == null && v4 == null) {
+			add(null, String.valueOf(errorMessage), ErrorCodes.ArgumentNull);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkAnyNotNull(Object, Object, Object, Object, Object, Object)}.
+	 *
+	 * @param v1 first value
+	 * @param v2 second value
+	 * @param v3 third value
+	 * @param v4 fourth value
+	 * @param v5 fifth value
+	 * @param errorMessage failure description
+	 * @return this validation
+	 */
+	public Validation checkAnyNotNull(Object v1, Object v2, Object v3, Object v4, Object v5, Object errorMessage) {
+		if (v1 == null && v2 == null && v3 == null && v4 == null && v5 == null) {
+			add(null, String.valueOf(errorMessage), ErrorCodes.ArgumentNull);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkAnyNotNull(Object[], Object)}.
+	 *
+	 * @param values values to inspect
+	 * @param errorMessage failure description
+	 * @return this validation
+	 */
+	public Validation checkAnyNotNull(Object[] values, Object errorMessage) {
+		boolean valid = false;
+		for (int i = 0; !valid && null != values && i < values.length; i++) {
+			valid = values[i] != null;
+		}
+		if (! valid) {
+			add(null, String.valueOf(errorMessage), ErrorCodes.ArgumentNull);
+		}
+		return this;
+	}
+
+	/**
+	 * Counterpart of {@link ErrorTickets#checkAnyNotNull(Iterable, Object)}, accepting any element
+	 * type.
+	 *
+	 * @param values values to inspect
+	 * @param errorMessage failure description
+	 * @return this validation
+	 */
+	public Validation checkAnyNotNull(Iterable<?> values, Object errorMessage) {
+		boolean valid = false;
+		if (values != null) {
+			for (Object value : values) {
+				if (value != null) {
+					valid = true;
+					break;
+				}
+			}
+		}
+		if (! valid) {
+			add(null, String.valueOf(errorMessage), ErrorCodes.ArgumentNull);
+		}
+		return this;
+	}
+
+	/**
+	 * Records a violation directly, e.g. from a custom check.
+	 *
+	 * @param name parameter name, or {@code null} for a general violation
+	 * @param reason failure description
+	 * @param errorCode error code of the violation
+	 * @return this validation
+	 */
+	public Validation addViolation(String name, String reason, ErrorCode errorCode) {
+		Preconditions.checkNotNull(errorCode, ErrorTicket.Keys.CODE);
+		add(name, reason, errorCode);
+		return this;
+	}
+
+	private void add(String name, String reason, ErrorCode errorCode) {
+		if (null == violations) {
+			violations = new ArrayList<>(4);
+		}
+		violations.add(new Violation(name, reason, errorCode));
+		if (failFast) {
+			throw toErrorTicket();
+		}
+	}
+
+	/**
+	 * Indicates whether no violation has been recorded.
+	 *
+	 * @return {@code true} when valid
+	 */
+	public boolean isValid() {
+		return null == violations;
+	}
+
+	/**
+	 * Returns the recorded violations in check order.
+	 *
+	 * @return unmodifiable list, empty when valid
+	 */
+	public List<Violation> getViolations() {
+		return null == violations ? Collections.emptyList() : Collections.unmodifiableList(violations);
+	}
+
+	/**
+	 * Throws the combined {@link ErrorTicket} when any violation was recorded.
+	 */
+	public void throwIfInvalid() {
+		if (null != violations) {
+			throw toErrorTicket();
+		}
+	}
+
+	/**
+	 * Builds the combined ticket. Its code is the code shared by all violations, or
+	 * {@link ErrorCodes#ArgumentWrong} when they differ; the detail is the single reason or a
+	 * count of violations.
+	 *
+	 * @return the ticket, or {@code null} when valid
+	 */
+	public ErrorTicket toErrorTicket() {
+		if (null == violations) {
+			return null;
+		}
+		ErrorCode code = violations.get(0).errorCode();
+		var invalidParams = new JsonArray(new ArrayList<>(violations.size()));
+		for (Violation violation : violations) {
+			if (code != violation.errorCode()) {
+				code = ErrorCodes.ArgumentWrong;
+			}
+			invalidParams.add(violation.toJson());
+		}
+		var builder = ErrorTicket.builder()
+				.withError(code)
+				.withErrorDetails(violations.size() == 1 ? violations.get(0).reason()
+						: violations.size() + " validation errors")
+				.addExtension(ErrorTicket.Keys.INVALID_PARAMS, invalidParams);
+		if (!(code instanceof ErrorCodes)) {
+			builder.withErrorGroup(code.group());
+		}
+		return builder.build();
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("failFast", failFast)
+				.add("violations", getViolations())
+				.toString();
+	}
+
+	/**
+	 * Single validation failure.
+	 *
+	 * @param name parameter name, or {@code null} for a general violation
+	 * @param reason failure description
+	 * @param errorCode error code of the violation
+	 */
+	public record Violation(String name, String reason, ErrorCode errorCode) {
+		/**
+		 * Validates the components.
+		 *
+		 * @param name parameter name, or {@code null}
+		 * @param reason failure description
+		 * @param errorCode error code, never {@code null}
+		 */
+		public Violation {
+			Objects.requireNonNull(errorCode, "errorCode");
+		}
+
+		/**
+		 * Serializes the violation as an {@value ErrorTicket.Keys#INVALID_PARAMS} entry with
+		 * {@code name} (when present), {@code reason} and {@code code}.
+		 *
+		 * @return JSON representation
+		 */
+		public JsonObject toJson() {
+			var json = new JsonObject();
+			if (null != name) {
+				json.put("name", name);
+			}
+			json.put("reason", reason);
+			json.put(ErrorTicket.Keys.CODE, errorCode.toString());
+			return json;
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.inqwise.errors.jfr;
+
+import com.inqwise.errors.ErrorTicket;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recorded for every {@link ErrorTicket} created by a builder or by
+ * {@link ErrorTicket#propagate(Throwable)}. Enable it in a recording with
+ * {@code com.inqwise.errors.ErrorTicketCreated#enabled=true}; its stack trace shows where the
+ * ticket was created.
+ */
+@Name(ErrorTicketCreatedEvent.NAME)
+@Label("Error Ticket Created")
+@Category({ "Inqwise", "Errors" })
+@Description("An ErrorTicket was created")
+public final class ErrorTicketCreatedEvent extends Event {
+	/** Event name used in JFR settings. */
+	public static final String NAME = "com.inqwise.errors.ErrorTicketCreated";
+
+	@Label("Code")
+	String code;
+
+	@Label("Group")
+	String group;
+
+	@Label("Status")
+	@Description("HTTP status, 0 when none")
+	int status;
+
+	@Label("Stack Captured")
+	boolean stackCaptured;
+
+	@Label("Error Id")
+	String errorId;
+
+	/**
+	 * Records the event when it is enabled; otherwise does nothing.
+	 *
+	 * @param ticket created ticket
+	 * @param stackCaptured whether the ticket captured a stack trace
+	 */
+	public static void emit(ErrorTicket ticket, boolean stackCaptured) {
+		var event = new ErrorTicketCreatedEvent();
+		if (event.isEnabled()) {
+			var error = ticket.getError();
+			var status = ticket.getStatus();
+			event.code = null == error ? null : error.toString();
+			event.group = null != ticket.getErrorGroup() || null == error ? ticket.getErrorGroup() : error.group();
+			event.status = null == status ? 0 : status;
+			event.stackCaptured = stackCaptured;
+			event.errorId = ticket.getErrorId();
+			event.commit();
+		}
+	}
+}
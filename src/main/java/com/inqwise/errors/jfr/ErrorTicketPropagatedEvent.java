@@ -0,0 +1,54 @@
+package com.inqwise.errors.jfr;
+
+import com.inqwise.errors.ErrorTicket;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recorded when {@link ErrorTicket#propagate(Throwable)} converts a throwable, with the
+ * rule that produced the ticket: {@code ErrorTicket}, {@code ProvidesErrorTicket}, the
+ * {@link com.inqwise.errors.spi.ExceptionMapper} that matched, or {@code default}.
+ */
+@Name(ErrorTicketPropagatedEvent.NAME)
+@Label("Error Ticket Propagated")
+@Category({ "Inqwise", "Errors" })
+@Description("A throwable was converted into an ErrorTicket")
+public final class ErrorTicketPropagatedEvent extends Event {
+	/** Event name used in JFR settings. */
+	public static final String NAME = "com.inqwise.errors.ErrorTicketPropagated";
+
+	@Label("Source Class")
+	Class<?> sourceClass;
+
+	@Label("Mapping")
+	String mapping;
+
+	@Label("Code")
+	String code;
+
+	@Label("Error Id")
+	String errorId;
+
+	/**
+	 * Records the event when it is enabled; otherwise does nothing. The mapping is only converted
+	 * to a string when the event is recorded.
+	 *
+	 * @param source propagated throwable
+	 * @param ticket resulting ticket
+	 * @param mapping rule that produced the ticket, described by its {@code toString()}
+	 */
+	public static void emit(Throwable source, ErrorTicket ticket, Object mapping) {
+		var event = new ErrorTicketPropagatedEvent();
+		if (event.isEnabled()) {
+			event.sourceClass = source.getClass();
+			event.mapping = String.valueOf(mapping);
+			event.code = null == ticket.getError() ? null : ticket.getError().toString();
+			event.errorId = ticket.getErrorId();
+			event.commit();
+		}
+	}
+}
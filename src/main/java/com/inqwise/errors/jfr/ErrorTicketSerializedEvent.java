@@ -0,0 +1,95 @@
+package com.inqwise.errors.jfr;
+
+import com.google.common.base.Utf8;
+import com.inqwise.errors.ErrorTicket;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR duration event timing the encoding of an {@link ErrorTicket}. Only encodings slower than the
+ * threshold are recorded: 1 ms by default, adjustable with
+ * {@code com.inqwise.errors.ErrorTicketSerialized#threshold}.
+ *
+ * Usage:
+ * <pre>{@code
+ * var event = ErrorTicketSerializedEvent.start();
+ * int bytes = encode(ticket);
+ * event.finish(ticket, "problem+json", bytes);
+ * }</pre>
+ */
+@Name(ErrorTicketSerializedEvent.NAME)
+@Label("Error Ticket Serialized")
+@Category({ "Inqwise", "Errors" })
+@Description("An ErrorTicket was encoded")
+@Threshold("1 ms")
+public final class ErrorTicketSerializedEvent extends Event {
+	/** Event name used in JFR settings. */
+	public static final String NAME = "com.inqwise.errors.ErrorTicketSerialized";
+
+	@Label("Format")
+	String format;
+
+	@Label("Bytes")
+	@DataAmount
+	long bytes;
+
+	@Label("Code")
+	String code;
+
+	@Label("Error Id")
+	String errorId;
+
+	/**
+	 * Starts timing an encoding.
+	 *
+	 * @return started event
+	 */
+	public static ErrorTicketSerializedEvent start() {
+		var event = new ErrorTicketSerializedEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Stops timing and records the event when it is enabled and exceeds the threshold.
+	 *
+	 * @param ticket encoded ticket
+	 * @param format output format
+	 * @param bytes encoded size
+	 */
+	public void finish(ErrorTicket ticket, String format, long bytes) {
+		end();
+		if (shouldCommit()) {
+			this.format = format;
+			this.bytes = bytes;
+			this.code = null == ticket.getError() ? null : ticket.getError().toString();
+			this.errorId = ticket.getErrorId();
+			commit();
+		}
+	}
+
+	/**
+	 * Stops timing and records the event with the UTF-8 size of a text encoding, which is only
+	 * computed when the event is recorded.
+	 *
+	 * @param ticket encoded ticket
+	 * @param format output format
+	 * @param encoded encoded text
+	 */
+	public void finish(ErrorTicket ticket, String format, CharSequence encoded) {
+		end();
+		if (shouldCommit()) {
+			this.format = format;
+			this.bytes = Utf8.encodedLength(encoded);
+			this.code = null == ticket.getError() ? null : ticket.getError().toString();
+			this.errorId = ticket.getErrorId();
+			commit();
+		}
+	}
+}
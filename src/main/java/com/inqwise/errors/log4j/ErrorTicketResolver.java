@@ -0,0 +1,252 @@
+package com.inqwise.errors.log4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.layout.template.json.resolver.EventResolver;
+import org.apache.logging.log4j.layout.template.json.resolver.TemplateResolverConfig;
+import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
+
+import com.inqwise.errors.ErrorCode;
+import com.inqwise.errors.ErrorTicket;
+import com.inqwise.errors.ErrorTicket.Keys;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * {@code JsonTemplateLayout} resolver emitting the event throwable, when it is an
+ * {@link ErrorTicket}, as structured fields rather than as a generic exception.
+ *
+ * <p>Template examples:</p>
+ * <pre>{@code
+ * "error": { "$resolver": "errorTicket" },
+ * "errorCode": { "$resolver": "errorTicket", "field": "code" }
+ * }</pre>
+ *
+ * <p>Without {@code field} the resolver writes an object with the {@code code}, {@code group},
+ * {@code status}, {@code id}, {@code detail}, {@code type}, {@code title} and {@code instance}
+ * members that are set, and an {@code extensions} object when the ticket has extensions. With
+ * {@code field} it writes that single value. Events whose throwable is not a ticket are skipped.</p>
+ *
+ * <p>Values are read through the ticket's getters and written straight into the layout's reusable
+ * writer, so neither {@link ErrorTicket#getMessage()} nor {@link ErrorTicket#toString()} is called.
+ * Extensions are visited through {@link ErrorTicket#forEachExtension(BiConsumer)} with a
+ * thread-local visitor, so a ticket whose extensions are plain values is rendered without
+ * allocating. Vert.x {@link JsonObject} and {@link JsonArray} values, such as
+ * {@code invalid-params} or extensions restored from a journal, are written as nested JSON; other
+ * values go through {@link JsonWriter#writeValue(Object)}.</p>
+ */
+public final class ErrorTicketResolver implements EventResolver {
+	static final String FIELD = "field";
+	static final String EXTENSIONS = "extensions";
+
+	private enum Field {
+		CODE(Keys.CODE),
+		GROUP(Keys.ERROR_GROUP),
+		STATUS(Keys.STATUS),
+		ID(Keys.ERROR_ID),
+		DETAIL(Keys.DETAIL),
+		TYPE(Keys.TYPE),
+		TITLE(Keys.TITLE),
+		INSTANCE(Keys.INSTANCE),
+		EXTENSIONS(ErrorTicketResolver.EXTENSIONS);
+
+		private final String key;
+
+		Field(String key) {
+			this.key = key;
+		}
+	}
+
+	/** Shared copy of {@link Field#values()}, which clones the array on every call. */
+	private static final Field[] FIELDS = Field.values();
+
+	private static final ThreadLocal<ExtensionWriter> EXTENSION_WRITER = ThreadLocal.withInitial(ExtensionWriter::new);
+
+	private final Field field;
+
+	ErrorTicketResolver(final TemplateResolverConfig config) {
+		final String name = config.getString(FIELD);
+		this.field = null == name ? null : field(name);
+	}
+
+	private static Field field(final String name) {
+		for (final Field candidate : FIELDS) {
+			if (candidate.key.equals(name)) {
+				return candidate;
+			}
+		}
+		throw new IllegalArgumentException("unknown errorTicket field: " + name);
+	}
+
+	static String getName() {
+		return "errorTicket";
+	}
+
+	@Override
+	public boolean isResolvable(final LogEvent logEvent) {
+		return logEvent.getThrown() instanceof ErrorTicket;
+	}
+
+	@Override
+	public void resolve(final LogEvent logEvent, final JsonWriter jsonWriter) {
+		if (!(logEvent.getThrown() instanceof ErrorTicket ticket)) {
+			jsonWriter.writeNull();
+		} else if (null == field) {
+			writeTicket(ticket, jsonWriter);
+		} else {
+			writeField(ticket, field, jsonWriter);
+		}
+	}
+
+	private static void writeTicket(final ErrorTicket ticket, final JsonWriter jsonWriter) {
+		jsonWriter.writeObjectStart();
+		boolean first = true;
+		for (final Field member : FIELDS) {
+			if (isPresent(ticket, member)) {
+				if (!first) {
+					jsonWriter.writeSeparator();
+				}
+				first = false;
+				jsonWriter.writeObjectKey(member.key);
+				writeField(ticket, member, jsonWriter);
+			}
+		}
+		jsonWriter.writeObjectEnd();
+	}
+
+	private static boolean isPresent(final ErrorTicket ticket, final Field member) {
+		return switch (member) {
+		case CODE -> null != ticket.getError();
+		case GROUP -> null != ticket.getErrorGroup();
+		case STATUS -> null != ticket.getStatus();
+		case ID -> null != ticket.getErrorId();
+		case DETAIL -> null != ticket.getErrorDetails();
+		case TYPE -> null != ticket.getType();
+		case TITLE -> null != ticket.getTitle();
+		case INSTANCE -> null != ticket.getInstance();
+		case EXTENSIONS -> ticket.hasExtensions();
+		};
+	}
+
+	private static void writeField(final ErrorTicket ticket, final Field member, final JsonWriter jsonWriter) {
+		switch (member) {
+		case CODE -> {
+			final ErrorCode error = ticket.getError();
+			if (null == error) {
+				jsonWriter.writeNull();
+			} else {
+				jsonWriter.writeString(error.toString());
+			}
+		}
+		case GROUP -> writeString(ticket.getErrorGroup(), jsonWriter);
+		case STATUS -> {
+			final Integer status = ticket.getStatus();
+			if (null == status) {
+				jsonWriter.writeNull();
+			} else {
+				jsonWriter.writeNumber(status.intValue());
+			}
+		}
+		case ID -> writeString(ticket.getErrorId(), jsonWriter);
+		case DETAIL -> writeString(ticket.getErrorDetails(), jsonWriter);
+		case TYPE -> writeString(ticket.getType(), jsonWriter);
+		case TITLE -> writeString(ticket.getTitle(), jsonWriter);
+		case INSTANCE -> writeString(ticket.getInstance(), jsonWriter);
+		case EXTENSIONS -> writeExtensions(ticket, jsonWriter);
+		}
+	}
+
+	private static void writeString(final String value, final JsonWriter jsonWriter) {
+		if (null == value) {
+			jsonWriter.writeNull();
+		} else {
+			jsonWriter.writeString(value);
+		}
+	}
+
+	private static void writeExtensions(final ErrorTicket ticket, final JsonWriter jsonWriter) {
+		if (!ticket.hasExtensions()) {
+			jsonWriter.writeNull();
+			return;
+		}
+		final ExtensionWriter writer = EXTENSION_WRITER.get();
+		writer.start(jsonWriter);
+		try {
+			ticket.forEachExtension(writer);
+		} finally {
+			writer.end();
+		}
+	}
+
+	private static void writeValue(final Object value, final JsonWriter jsonWriter) {
+		if (value instanceof JsonObject object) {
+			writeObject(object.getMap(), jsonWriter);
+		} else if (value instanceof Map<?, ?> map) {
+			writeObject(map, jsonWriter);
+		} else if (value instanceof JsonArray array) {
+			writeArray(array.getList(), jsonWriter);
+		} else if (value instanceof List<?> list) {
+			writeArray(list, jsonWriter);
+		} else {
+			jsonWriter.writeValue(value);
+		}
+	}
+
+	private static void writeObject(final Map<?, ?> map, final JsonWriter jsonWriter) {
+		jsonWriter.writeObjectStart();
+		boolean first = true;
+		for (final Map.Entry<?, ?> entry : map.entrySet()) {
+			if (!first) {
+				jsonWriter.writeSeparator();
+			}
+			first = false;
+			jsonWriter.writeObjectKey(String.valueOf(entry.getKey()));
+			writeValue(entry.getValue(), jsonWriter);
+		}
+		jsonWriter.writeObjectEnd();
+	}
+
+	private static void writeArray(final List<?> list, final JsonWriter jsonWriter) {
+		jsonWriter.writeArrayStart();
+		for (int i = 0; i < list.size(); i++) {
+			if (i > 0) {
+				jsonWriter.writeSeparator();
+			}
+			writeValue(list.get(i), jsonWriter);
+		}
+		jsonWriter.writeArrayEnd();
+	}
+
+	/**
+	 * Reusable visitor writing extension members as the members of one JSON object.
+	 */
+	private static final class ExtensionWriter implements BiConsumer<String, Object> {
+		private JsonWriter jsonWriter;
+		private boolean first;
+
+		void start(final JsonWriter jsonWriter) {
+			this.jsonWriter = jsonWriter;
+			this.first = true;
+			jsonWriter.writeObjectStart();
+		}
+
+		void end() {
+			jsonWriter.writeObjectEnd();
+			jsonWriter = null;
+		}
+
+		@Override
+		public void accept(final String name, final Object value) {
+			if (!first) {
+				jsonWriter.writeSeparator();
+			}
+			first = false;
+			jsonWriter.writeObjectKey(name);
+			writeValue(value, jsonWriter);
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package com.inqwise.errors.log4j;
+
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.layout.template.json.resolver.EventResolverContext;
+import org.apache.logging.log4j.layout.template.json.resolver.EventResolverFactory;
+import org.apache.logging.log4j.layout.template.json.resolver.TemplateResolverConfig;
+import org.apache.logging.log4j.layout.template.json.resolver.TemplateResolverFactory;
+
+/**
+ * {@link ErrorTicketResolver} factory registered for {@code JsonTemplateLayout}.
+ */
+@Plugin(name = "ErrorTicketResolverFactory", category = TemplateResolverFactory.CATEGORY)
+public final class ErrorTicketResolverFactory implements EventResolverFactory {
+
+	private static final ErrorTicketResolverFactory INSTANCE = new ErrorTicketResolverFactory();
+
+	private ErrorTicketResolverFactory() {
+	}
+
+	/**
+	 * Returns the shared factory instance.
+	 *
+	 * @return the factory, never {@code null}
+	 */
+	@PluginFactory
+	public static ErrorTicketResolverFactory getInstance() {
+		return INSTANCE;
+	}
+
+	@Override
+	public String getName() {
+		return ErrorTicketResolver.getName();
+	}
+
+	@Override
+	public ErrorTicketResolver create(final EventResolverContext context, final TemplateResolverConfig config) {
+		return new ErrorTicketResolver(config);
+	}
+}
@@ -0,0 +1,65 @@
+package com.inqwise.errors.log4j;
+
+import java.util.function.BiConsumer;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.layout.template.json.resolver.EventResolver;
+import org.apache.logging.log4j.layout.template.json.resolver.TemplateResolverConfig;
+import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
+
+import com.inqwise.errors.StackTraceFocuser;
+
+/**
+ * {@code JsonTemplateLayout} resolver emitting the focused stack trace of the event throwable as a
+ * JSON string.
+ *
+ * <p>Template example:</p>
+ * <pre>{@code
+ * "stackTrace": {
+ *   "$resolver": "focusedException",
+ *   "skipDefaultPatterns": false,
+ *   "ignoreClasses": ["^com\\.acme\\.internal\\."],
+ *   "ignoreMethods": ["^lambda\\$"],
+ *   "ignoreFiles": []
+ * }
+ * }</pre>
+ *
+ * <p>The trace is rendered directly into the writer's reusable buffer and escaped in place.</p>
+ */
+public final class FocusedExceptionResolver implements EventResolver {
+	static final String SKIP_DEFAULT_PATTERNS = "skipDefaultPatterns";
+	static final String IGNORE_CLASSES = "ignoreClasses";
+	static final String IGNORE_METHODS = "ignoreMethods";
+	static final String IGNORE_FILES = "ignoreFiles";
+
+	private final StackTraceFocuser focuser;
+	private final BiConsumer<StringBuilder, Throwable> emitter;
+
+	FocusedExceptionResolver(final TemplateResolverConfig config) {
+		this.focuser = FocuserOptions.fromTemplateConfig(
+			config.getBoolean(SKIP_DEFAULT_PATTERNS, false),
+			config.getList(IGNORE_CLASSES, String.class),
+			config.getList(IGNORE_METHODS, String.class),
+			config.getList(IGNORE_FILES, String.class));
+		this.emitter = (buffer, thrown) -> focuser.formatTo(thrown, buffer);
+	}
+
+	static String getName() {
+		return "focusedException";
+	}
+
+	@Override
+	public boolean isResolvable(final LogEvent logEvent) {
+		return logEvent.getThrown() != null;
+	}
+
+	@Override
+	public void resolve(final LogEvent logEvent, final JsonWriter jsonWriter) {
+		final Throwable thrown = logEvent.getThrown();
+		if (thrown == null) {
+			jsonWriter.writeNull();
+		} else {
+			jsonWriter.writeString(emitter, thrown);
+		}
+	}
+}
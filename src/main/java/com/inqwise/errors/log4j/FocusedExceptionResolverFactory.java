@@ -0,0 +1,40 @@
+package com.inqwise.errors.log4j;
+
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.layout.template.json.resolver.EventResolverContext;
+import org.apache.logging.log4j.layout.template.json.resolver.EventResolverFactory;
+import org.apache.logging.log4j.layout.template.json.resolver.TemplateResolverConfig;
+import org.apache.logging.log4j.layout.template.json.resolver.TemplateResolverFactory;
+
+/**
+ * {@link FocusedExceptionResolver} factory registered for {@code JsonTemplateLayout}.
+ */
+@Plugin(name = "FocusedExceptionResolverFactory", category = TemplateResolverFactory.CATEGORY)
+public final class FocusedExceptionResolverFactory implements EventResolverFactory {
+
+	private static final FocusedExceptionResolverFactory INSTANCE = new FocusedExceptionResolverFactory();
+
+	private FocusedExceptionResolverFactory() {
+	}
+
+	/**
+	 * Returns the shared factory instance.
+	 *
+	 * @return the factory, never {@code null}
+	 */
+	@PluginFactory
+	public static FocusedExceptionResolverFactory getInstance() {
+		return INSTANCE;
+	}
+
+	@Override
+	public String getName() {
+		return FocusedExceptionResolver.getName();
+	}
+
+	@Override
+	public FocusedExceptionResolver create(final EventResolverContext context, final TemplateResolverConfig config) {
+		return new FocusedExceptionResolver(config);
+	}
+}
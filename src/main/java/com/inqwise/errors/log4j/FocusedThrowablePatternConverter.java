@@ -0,0 +1,67 @@
+package com.inqwise.errors.log4j;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.pattern.ConverterKeys;
+import org.apache.logging.log4j.core.pattern.LogEventPatternConverter;
+import org.apache.logging.log4j.core.pattern.PatternConverter;
+
+import com.inqwise.errors.StackTraceFocuser;
+
+/**
+ * Log4j2 pattern converter rendering the event throwable through a {@link StackTraceFocuser}.
+ *
+ * <p>Usage: {@code %focusedEx}, optionally configured with converter options, e.g.
+ * {@code %focusedEx{skipDefaults}{class=^com\.acme\.internal\.}{method=^lambda\$}}. Without
+ * options {@link StackTraceFocuser#defaultInstance()} is used. The throwable is never modified;
+ * focused frames are appended straight into the event buffer.</p>
+ */
+@Plugin(name = "FocusedThrowablePatternConverter", category = PatternConverter.CATEGORY)
+@ConverterKeys({ "focusedEx", "focusedThrowable" })
+public final class FocusedThrowablePatternConverter extends LogEventPatternConverter {
+	private final StackTraceFocuser focuser;
+
+	private FocusedThrowablePatternConverter(final StackTraceFocuser focuser) {
+		super("FocusedThrowable", "throwable");
+		this.focuser = focuser;
+	}
+
+	/**
+	 * Creates a converter from the pattern options.
+	 *
+	 * @param config the current configuration, may be {@code null}
+	 * @param options the converter options, may be {@code null}
+	 * @return the converter, never {@code null}
+	 */
+	public static FocusedThrowablePatternConverter newInstance(final Configuration config, final String[] options) {
+		return new FocusedThrowablePatternConverter(FocuserOptions.fromPatternOptions(options));
+	}
+
+	/**
+	 * Returns the focuser applied by this converter.
+	 *
+	 * @return the focuser, never {@code null}
+	 */
+	public StackTraceFocuser getFocuser() {
+		return focuser;
+	}
+
+	@Override
+	public void format(final LogEvent event, final StringBuilder toAppendTo) {
+		final Throwable thrown = event.getThrown();
+		if (thrown == null) {
+			return;
+		}
+		final int length = toAppendTo.length();
+		if (length > 0 && !Character.isWhitespace(toAppendTo.charAt(length - 1))) {
+			toAppendTo.append(' ');
+		}
+		focuser.formatTo(thrown, toAppendTo);
+	}
+
+	@Override
+	public boolean handlesThrowable() {
+		return true;
+	}
+}
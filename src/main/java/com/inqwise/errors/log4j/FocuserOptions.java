@@ -0,0 +1,91 @@
+package com.inqwise.errors.log4j;
+
+import java.util.List;
+
+import com.inqwise.errors.StackTraceFocuser;
+
+/**
+ * Translates Log4j2 plugin configuration into {@link StackTraceFocuser} instances.
+ */
+final class FocuserOptions {
+	static final String SKIP_DEFAULTS = "skipDefaults";
+	static final String CLASS = "class";
+	static final String METHOD = "method";
+	static final String FILE = "file";
+
+	private FocuserOptions() {
+	}
+
+	/**
+	 * Parses pattern converter options such as {@code %focusedEx{class=^com\.acme\.}{skipDefaults}}.
+	 * Supported options are {@code skipDefaults}, {@code class=regex}, {@code method=regex} and
+	 * {@code file=regex}; unknown options are ignored.
+	 *
+	 * @param options converter options, may be {@code null}
+	 * @return the configured focuser, never {@code null}
+	 */
+	static StackTraceFocuser fromPatternOptions(final String[] options) {
+		if (options == null || options.length == 0) {
+			return StackTraceFocuser.defaultInstance();
+		}
+		final StackTraceFocuser.Builder builder = StackTraceFocuser.builder();
+		for (final String option : options) {
+			if (option == null) {
+				continue;
+			}
+			final String trimmed = option.trim();
+			if (SKIP_DEFAULTS.equalsIgnoreCase(trimmed)) {
+				builder.skipDefaultPatterns();
+				continue;
+			}
+			final int separator = trimmed.indexOf('=');
+			if (separator <= 0) {
+				continue;
+			}
+			final String key = trimmed.substring(0, separator).trim();
+			final String regex = trimmed.substring(separator + 1).trim();
+			if (CLASS.equalsIgnoreCase(key)) {
+				builder.addClass(regex);
+			} else if (METHOD.equalsIgnoreCase(key)) {
+				builder.addMethod(regex);
+			} else if (FILE.equalsIgnoreCase(key)) {
+				builder.addFile(regex);
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Builds a focuser from JSON template resolver settings.
+	 *
+	 * @param skipDefaults whether the builder defaults should be skipped
+	 * @param classes class-name regexes, may be {@code null}
+	 * @param methods method-name regexes, may be {@code null}
+	 * @param files file-name regexes, may be {@code null}
+	 * @return the configured focuser, never {@code null}
+	 */
+	static StackTraceFocuser fromTemplateConfig(final boolean skipDefaults, final List<String> classes,
+		final List<String> methods, final List<String> files) {
+		if (!skipDefaults && isEmpty(classes) && isEmpty(methods) && isEmpty(files)) {
+			return StackTraceFocuser.defaultInstance();
+		}
+		final StackTraceFocuser.Builder builder = StackTraceFocuser.builder();
+		if (skipDefaults) {
+			builder.skipDefaultPatterns();
+		}
+		if (!isEmpty(classes)) {
+			builder.addClass(classes.toArray(String[]::new));
+		}
+		if (!isEmpty(methods)) {
+			builder.addMethod(methods.toArray(String[]::new));
+		}
+		if (!isEmpty(files)) {
+			builder.addFile(files.toArray(String[]::new));
+		}
+		return builder.build();
+	}
+
+	private static boolean isEmpty(final List<String> values) {
+		return values == null || values.isEmpty();
+	}
+}
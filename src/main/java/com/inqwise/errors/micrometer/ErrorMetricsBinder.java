@@ -0,0 +1,68 @@
+package com.inqwise.errors.micrometer;
+
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import com.inqwise.errors.ErrorMetrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Micrometer {@link MeterBinder} publishing {@link ErrorMetrics} counters. Micrometer reads the
+ * counters when it scrapes, so ticket creation is not slowed down by the meter registry.
+ *
+ * <p>Meters:</p>
+ * <ul>
+ * <li>{@code errors.tickets} tagged with {@code code} and {@code group}, one per registered code;</li>
+ * <li>{@code errors.tickets.status} tagged with {@code class} ({@code 4xx}, {@code 5xx}, ...).</li>
+ * </ul>
+ *
+ * Example:
+ * <pre>{@code
+ * new ErrorMetricsBinder(ErrorMetrics.create().install()).bindTo(meterRegistry);
+ * }</pre>
+ */
+public final class ErrorMetricsBinder implements MeterBinder {
+	/** Name of the per-code counters. */
+	public static final String TICKETS = "errors.tickets";
+	/** Name of the per-status-class counters. */
+	public static final String TICKETS_BY_STATUS = "errors.tickets.status";
+
+	private final ErrorMetrics metrics;
+
+	/**
+	 * Creates a binder for the given metrics.
+	 *
+	 * @param metrics counters to publish
+	 */
+	public ErrorMetricsBinder(ErrorMetrics metrics) {
+		this.metrics = Objects.requireNonNull(metrics, "metrics");
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		var codes = metrics.getRegistry();
+		for (int id = 0; id < codes.size(); id++) {
+			var code = codes.byId(id);
+			FunctionCounter.builder(TICKETS, metrics, m -> m.count(code))
+					.description("Error tickets created")
+					.tag("code", code.toString())
+					.tag("group", String.valueOf(code.group()))
+					.register(registry);
+		}
+		for (int statusClass = 1; statusClass <= 5; statusClass++) {
+			int current = statusClass;
+			FunctionCounter.builder(TICKETS_BY_STATUS, metrics, m -> m.countStatusClass(current))
+					.description("Error tickets created by HTTP status class")
+					.tag("class", statusClass + "xx")
+					.register(registry);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this).add("metrics", metrics).toString();
+	}
+}
@@ -1,5 +1,7 @@
 package com.inqwise.errors.spi;
 
+import java.util.List;
+
 import com.inqwise.errors.ErrorCode;
 
 /**
@@ -20,4 +22,15 @@ public interface ErrorCodeProvider {
 	 * @return matching error or {@code null}
 	 */
 	ErrorCode valueOf(String errorCodeName);
+
+	/**
+	 * Lists the codes of this group so {@link com.inqwise.errors.ErrorCodeRegistry} can assign
+	 * them dense ids. The order must be stable across releases sharing a wire format; appending
+	 * new codes keeps existing ids.
+	 *
+	 * @return codes of the group, empty when the provider does not enumerate them
+	 */
+	default List<? extends ErrorCode> values() {
+		return List.of();
+	}
 }
@@ -0,0 +1,24 @@
+package com.inqwise.errors.spi;
+
+import java.util.List;
+
+import com.inqwise.errors.ErrorTicket;
+
+/**
+ * Destination of the batches forwarded by {@link com.inqwise.errors.ErrorReporter}, such as an
+ * incident system.
+ *
+ * <p>Batches are delivered one at a time from the reporter's drainer thread, so implementations
+ * may block and need not be thread-safe. A thrown exception marks the whole batch as failed; it is
+ * counted and not retried.</p>
+ */
+@FunctionalInterface
+public interface ErrorSink {
+	/**
+	 * Delivers a batch of tickets.
+	 *
+	 * @param batch tickets in submission order; the list is reused after the call returns
+	 * @throws Exception when the batch could not be delivered
+	 */
+	void send(List<ErrorTicket> batch) throws Exception;
+}
@@ -0,0 +1,34 @@
+package com.inqwise.errors.spi;
+
+import com.inqwise.errors.ErrorTicket;
+
+/**
+ * Observer of ticket creation, registered through {@link ErrorTicket#addListener(ErrorTicketListener)}.
+ *
+ * <p>Callbacks run synchronously on the creating thread, so implementations must be cheap,
+ * thread-safe and must not throw; exceptions are logged and swallowed. Each ticket is reported
+ * once: either by {@link #onBuild(ErrorTicket)} or, when created by
+ * {@link ErrorTicket#propagate(Throwable)}, by {@link #onPropagate(Throwable, ErrorTicket)}.</p>
+ */
+public interface ErrorTicketListener {
+	/**
+	 * Called after {@link ErrorTicket.Builder#build()} created a ticket.
+	 *
+	 * @param ticket new ticket
+	 */
+	void onBuild(ErrorTicket ticket);
+
+	/**
+	 * Called after {@link ErrorTicket#propagate(Throwable)} created a ticket. By default the ticket
+	 * is reported to {@link #onBuild(ErrorTicket)} unless the source already was a ticket, which
+	 * was reported when it was built.
+	 *
+	 * @param source propagated throwable
+	 * @param ticket new ticket
+	 */
+	default void onPropagate(Throwable source, ErrorTicket ticket) {
+		if (!(source instanceof ErrorTicket)) {
+			onBuild(ticket);
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.inqwise.errors.spi;
+
+import com.inqwise.errors.ErrorTicket;
+
+/**
+ * Service-provider interface translating foreign exceptions into {@link ErrorTicket}s when they
+ * are passed to {@link ErrorTicket#propagate(Throwable)}.
+ *
+ * <p>A mapper applies to {@link #exceptionType()} and its subclasses. For each exception class the
+ * applicable mappers are resolved once, most specific type first, and tried in that order until
+ * one returns a builder.</p>
+ */
+public interface ExceptionMapper {
+	/**
+	 * Returns the exception type handled by this mapper, including its subclasses.
+	 *
+	 * @return handled exception type
+	 */
+	Class<? extends Throwable> exceptionType();
+
+	/**
+	 * Creates the ticket builder for the given exception.
+	 *
+	 * @param throwable exception of {@link #exceptionType()}
+	 * @return builder, or {@code null} to defer to the next applicable mapper
+	 */
+	ErrorTicket.Builder map(Throwable throwable);
+
+	/**
+	 * Orders mappers registered for the same exception type; higher values are tried first.
+	 *
+	 * @return priority, {@code 0} by default
+	 */
+	default int priority() {
+		return 0;
+	}
+}
@@ -0,0 +1,205 @@
+package com.inqwise.errors.vertx;
+
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import com.inqwise.errors.ErrorCodes;
+import com.inqwise.errors.ErrorTicket;
+import com.inqwise.errors.Unboxer;
+import com.inqwise.errors.jfr.ErrorTicketSerializedEvent;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.internal.buffer.BufferInternal;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Vert.x Web failure handler answering with the {@link ErrorTicket} of the failure as an
+ * RFC 7807 / OAuth JSON body.
+ *
+ * <p>The failure is unboxed with an {@link Unboxer} and converted through
+ * {@link ErrorTicket#propagate(Throwable)}; failures without a throwable
+ * ({@code ctx.fail(404)}) become a {@link ErrorCodes#GeneralError} ticket with that status. The
+ * body is encoded straight into a pooled buffer that is released once the response is written,
+ * headers are set on the response {@code MultiMap} with pre-encoded content types, and
+ * {@code instance} is filled from the request path when the ticket has none. The ticket's
+ * {@code source} stays out of the body unless {@link Builder#withSource(boolean)} is set, so
+ * internal class names and line numbers reach logs and journals but not HTTP clients.</p>
+ *
+ * Example:
+ * <pre>{@code
+ * router.route().failureHandler(ErrorTicketFailureHandler.create());
+ * }</pre>
+ */
+public final class ErrorTicketFailureHandler implements Handler<RoutingContext> {
+	private static final CharSequence PROBLEM_JSON = HttpHeaders.createOptimized("application/problem+json");
+	private static final CharSequence APPLICATION_JSON = HttpHeaders.createOptimized("application/json");
+	private static final CharSequence WWW_AUTHENTICATE = HttpHeaders.createOptimized("WWW-Authenticate");
+	private static final int DEFAULT_STATUS = 500;
+	private static final int INITIAL_CAPACITY = 256;
+
+	private final Unboxer unboxer;
+	private final ByteBufAllocator allocator;
+	private final boolean instanceFromPath;
+	private final boolean includeSource;
+
+	private ErrorTicketFailureHandler(Builder builder) {
+		this.unboxer = builder.unboxer;
+		this.allocator = builder.allocator;
+		this.instanceFromPath = builder.instanceFromPath;
+		this.includeSource = builder.includeSource;
+	}
+
+	/**
+	 * Creates a handler with the default settings.
+	 *
+	 * @return new handler
+	 */
+	public static ErrorTicketFailureHandler create() {
+		return builder().build();
+	}
+
+	/**
+	 * Creates a new {@link Builder} instance.
+	 *
+	 * @return builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	@Override
+	public void handle(RoutingContext ctx) {
+		HttpServerResponse response = ctx.response();
+		if (response.ended()) {
+			return;
+		}
+		if (response.headWritten()) {
+			response.reset();
+			return;
+		}
+		var ticket = toTicket(ctx);
+		var status = ticket.getStatus();
+		response.setStatusCode(null != status ? status : DEFAULT_STATUS);
+		var headers = response.headers();
+		headers.set(HttpHeaders.CONTENT_TYPE, contentType(ticket));
+		var wwwAuthenticate = ticket.getWwwAuthenticate();
+		if (null != wwwAuthenticate) {
+			headers.set(WWW_AUTHENTICATE, wwwAuthenticate);
+		}
+
+		ByteBuf body = allocator.buffer(INITIAL_CAPACITY);
+		try {
+			var event = ErrorTicketSerializedEvent.start();
+			ProblemJsonWriter.write(body, ticket, instanceFromPath ? ctx.request().path() : null, includeSource);
+			event.finish(ticket, ticket.getContentType(), body.readableBytes());
+			// Vert.x wraps non-heap buffers as unreleasable, so the pooled buffer is returned here
+			response.end(BufferInternal.buffer(body)).onComplete(ar -> body.release());
+		} catch (RuntimeException e) {
+			body.release();
+			throw e;
+		}
+	}
+
+	private ErrorTicket toTicket(RoutingContext ctx) {
+		var failure = ctx.failure();
+		if (null == failure) {
+			int statusCode = -1 == ctx.statusCode() ? DEFAULT_STATUS : ctx.statusCode();
+			return ErrorTicket.builder()
+					.withError(ErrorCodes.GeneralError)
+					.withStatusCode(statusCode)
+					.withErrorDetails(HttpResponseStatus.valueOf(statusCode).reasonPhrase())
+					.withStackTrace(false)
+					.build();
+		}
+		var unboxed = unboxer.unbox(failure);
+		if (unboxed instanceof ErrorTicket ticket) {
+			return ticket;
+		}
+		return ErrorTicket.propagate(unboxed, builder -> builder.withStackTrace(false).withCause(unboxed));
+	}
+
+	private static CharSequence contentType(ErrorTicket ticket) {
+		return "application/problem+json".equals(ticket.getContentType()) ? PROBLEM_JSON : APPLICATION_JSON;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("unboxer", unboxer)
+				.add("instanceFromPath", instanceFromPath)
+				.add("includeSource", includeSource)
+				.toString();
+	}
+
+	/**
+	 * Builder for {@link ErrorTicketFailureHandler}.
+	 */
+	public static final class Builder {
+		private Unboxer unboxer = Unboxer.defaultInstance();
+		private ByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+		private boolean instanceFromPath = true;
+		private boolean includeSource;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the unboxer peeling wrapper exceptions off the failure.
+		 *
+		 * @param unboxer wrapper matcher, {@link Unboxer#defaultInstance()} by default
+		 * @return this builder
+		 */
+		public Builder withUnboxer(Unboxer unboxer) {
+			this.unboxer = Objects.requireNonNull(unboxer, "unboxer");
+			return this;
+		}
+
+		/**
+		 * Sets the allocator of response body buffers.
+		 *
+		 * @param allocator buffer allocator, {@link PooledByteBufAllocator#DEFAULT} by default
+		 * @return this builder
+		 */
+		public Builder withAllocator(ByteBufAllocator allocator) {
+			this.allocator = Objects.requireNonNull(allocator, "allocator");
+			return this;
+		}
+
+		/**
+		 * Controls whether tickets without an {@code instance} report the request path.
+		 *
+		 * @param instanceFromPath {@code true} by default
+		 * @return this builder
+		 */
+		public Builder withInstanceFromPath(boolean instanceFromPath) {
+			this.instanceFromPath = instanceFromPath;
+			return this;
+		}
+
+		/**
+		 * Controls whether the ticket's {@code source} is written to the response body.
+		 *
+		 * @param includeSource {@code false} by default
+		 * @return this builder
+		 */
+		public Builder withSource(boolean includeSource) {
+			this.includeSource = includeSource;
+			return this;
+		}
+
+		/**
+		 * Creates the handler.
+		 *
+		 * @return new handler
+		 */
+		public ErrorTicketFailureHandler build() {
+			return new ErrorTicketFailureHandler(this);
+		}
+	}
+}
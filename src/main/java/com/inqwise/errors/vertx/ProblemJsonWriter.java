@@ -0,0 +1,210 @@
+package com.inqwise.errors.vertx;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import com.inqwise.errors.ErrorTicket;
+import com.inqwise.errors.ErrorTicket.Keys;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.vertx.core.json.Json;
+
+/**
+ * Encodes an {@link ErrorTicket} as UTF-8 JSON straight into a {@link ByteBuf}, producing the same
+ * members as {@link ErrorTicket#toJson()} without the intermediate {@code JsonObject} or
+ * {@code String}. Strings are escaped the way Vert.x's Jackson codec escapes them; extension values
+ * other than strings, booleans and integral numbers are delegated to {@link Json#encode(Object)}.
+ */
+public final class ProblemJsonWriter {
+	private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+	private final ByteBuf out;
+	private final Map<String, Object> extensions;
+	private boolean first = true;
+
+	private ProblemJsonWriter(ByteBuf out, Map<String, Object> extensions) {
+		this.out = out;
+		this.extensions = extensions;
+	}
+
+	/**
+	 * Writes the ticket, using {@code defaultInstance} when the ticket has no instance of its own.
+	 *
+	 * @param out target buffer
+	 * @param ticket ticket to write
+	 * @param defaultInstance fallback instance, may be {@code null}
+	 */
+	public static void write(ByteBuf out, ErrorTicket ticket, String defaultInstance) {
+		write(out, ticket, defaultInstance, true);
+	}
+
+	/**
+	 * Writes the ticket, using {@code defaultInstance} when the ticket has no instance of its own
+	 * and leaving out {@code source} unless {@code includeSource} is set.
+	 *
+	 * @param out target buffer
+	 * @param ticket ticket to write
+	 * @param defaultInstance fallback instance, may be {@code null}
+	 * @param includeSource whether the ticket's {@code source} member is written
+	 */
+	public static void write(ByteBuf out, ErrorTicket ticket, String defaultInstance, boolean includeSource) {
+		var extensions = ticket.getExtensions();
+		var writer = new ProblemJsonWriter(out, extensions);
+		out.writeByte('{');
+		var error = ticket.getError();
+		var details = ticket.getErrorDetails();
+		var group = ticket.getErrorGroup();
+		var type = ticket.getType();
+		if (null != error) {
+			var code = error.toString();
+			writer.member(Keys.CODE, code);
+			if ("oauth".equals(group)) {
+				writer.member(Keys.ERROR, code);
+				writer.member(Keys.ERROR_DESCRIPTION, details);
+				writer.member(Keys.ERROR_URI, type);
+			}
+		}
+		writer.member(Keys.TYPE, type);
+		writer.member(Keys.TITLE, ticket.getTitle());
+		writer.member(Keys.DETAIL, details);
+		writer.member(Keys.ERROR_GROUP, group);
+		writer.member(Keys.ERROR_ID, ticket.getErrorId());
+		var status = ticket.getStatus();
+		if (null != status && writer.name(Keys.STATUS)) {
+			writer.number(status);
+		}
+		var instance = ticket.getInstance();
+		writer.member(Keys.INSTANCE, null != instance ? instance : defaultInstance);
+		if (includeSource) {
+			writer.member(Keys.SOURCE, ticket.getSource());
+		}
+		if (!extensions.isEmpty()) {
+			for (var extension : extensions.entrySet()) {
+				writer.separator();
+				writer.string(extension.getKey());
+				out.writeByte(':');
+				writer.value(extension.getValue());
+			}
+		}
+		out.writeByte('}');
+	}
+
+	private void member(String name, String value) {
+		if (null != value && name(name)) {
+			string(value);
+		}
+	}
+
+	/**
+	 * Writes a member name unless an extension of the same name replaces it, as in
+	 * {@link ErrorTicket#toJson()}.
+	 */
+	private boolean name(String name) {
+		if (!extensions.isEmpty() && extensions.containsKey(name)) {
+			return false;
+		}
+		separator();
+		out.writeByte('"');
+		ByteBufUtil.writeAscii(out, name);
+		out.writeByte('"');
+		out.writeByte(':');
+		return true;
+	}
+
+	private void separator() {
+		if (first) {
+			first = false;
+		} else {
+			out.writeByte(',');
+		}
+	}
+
+	private void value(Object value) {
+		if (null == value) {
+			ByteBufUtil.writeAscii(out, "null");
+		} else if (value instanceof CharSequence text) {
+			string(text);
+		} else if (value instanceof Boolean bool) {
+			ByteBufUtil.writeAscii(out, bool ? "true" : "false");
+		} else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			number(((Number) value).longValue());
+		} else {
+			ByteBufUtil.writeUtf8(out, Json.encode(value));
+		}
+	}
+
+	private void number(long value) {
+		if (value < 0) {
+			out.writeByte('-');
+			if (Long.MIN_VALUE == value) {
+				ByteBufUtil.writeAscii(out, "9223372036854775808");
+				return;
+			}
+			value = -value;
+		}
+		long divisor = 1;
+		while (divisor <= value / 10) {
+			divisor *= 10;
+		}
+		for (; divisor > 0; divisor /= 10) {
+			out.writeByte((int) ('0' + value / divisor % 10));
+		}
+	}
+
+	/**
+	 * Writes a quoted string, copying runs of characters that need no escaping in one UTF-8 pass.
+	 */
+	private void string(CharSequence value) {
+		out.writeByte('"');
+		int length = value.length();
+		int start = 0;
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c >= 0x20 && c != '"' && c != '\\') {
+				continue;
+			}
+			if (start < i) {
+				ByteBufUtil.writeUtf8(out, value, start, i);
+			}
+			escape(c);
+			start = i + 1;
+		}
+		if (start < length) {
+			ByteBufUtil.writeUtf8(out, value, start, length);
+		}
+		out.writeByte('"');
+	}
+
+	private void escape(char c) {
+		out.writeByte('\\');
+		switch (c) {
+		case '"':
+		case '\\':
+			out.writeByte(c);
+			break;
+		case '\n':
+			out.writeByte('n');
+			break;
+		case '\r':
+			out.writeByte('r');
+			break;
+		case '\t':
+			out.writeByte('t');
+			break;
+		case '\b':
+			out.writeByte('b');
+			break;
+		case '\f':
+			out.writeByte('f');
+			break;
+		default:
+			out.writeByte('u');
+			out.writeByte('0');
+			out.writeByte('0');
+			out.writeByte(HEX[c >> 4]);
+			out.writeByte(HEX[c & 0xF]);
+			break;
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class CallerLocationTest {
+
+	@Test
+	void withCallerLocationRecordsFirstNonLibraryFrame() {
+		var ticket = ErrorTicket.builder().withError(ErrorCodes.ArgumentWrong)
+			.withStackTrace(false).withCallerLocation().build();
+
+		assertAll(
+			() -> assertTrue(ticket.getSource().startsWith(
+				CallerLocationTest.class.getName() + ".withCallerLocationRecordsFirstNonLibraryFrame(CallerLocationTest.java:")),
+			() -> assertEquals(0, ticket.getStackTrace().length),
+			() -> assertEquals(ticket.getSource(), ticket.toJson().getString(ErrorTicket.Keys.SOURCE))
+		);
+	}
+
+	@Test
+	void sourceIsOmittedFromJsonWhenNotCaptured() {
+		var ticket = ErrorTicket.builder().withError(ErrorCodes.ArgumentWrong).build();
+
+		assertAll(
+			() -> assertNull(ticket.getSource()),
+			() -> assertFalse(ticket.toJson().containsKey(ErrorTicket.Keys.SOURCE))
+		);
+	}
+
+	@Test
+	void policySkipsErrorTicketsFrames() {
+		var previous = ErrorTicket.getStackCapturePolicy();
+		try {
+			ErrorTicket.setStackCapturePolicy(StackCapturePolicy.sourceOnlyForClientErrors());
+			var clientError = assertThrows(ErrorTicket.class, () -> raiseArgumentError());
+			var serverError = ErrorTickets.general("boom");
+
+			assertAll(
+				() -> assertTrue(clientError.getSource().startsWith(CallerLocationTest.class.getName() + ".raiseArgumentError(")),
+				() -> assertEquals(0, clientError.getStackTrace().length),
+				() -> assertNull(serverError.getSource()),
+				() -> assertTrue(serverError.getStackTrace().length > 0)
+			);
+		} finally {
+			ErrorTicket.setStackCapturePolicy(previous);
+		}
+	}
+
+	@Test
+	void nestedLibraryClassesAreLibraryFrames() {
+		assertAll(
+			() -> assertTrue(CallerLocation.isLibraryFrame(ObjectValidator.class.getName())),
+			() -> assertTrue(CallerLocation.isLibraryFrame(ObjectValidator.class.getName() + "$ReferenceProperty")),
+			() -> assertTrue(CallerLocation.isLibraryFrame(ErrorTicket.Builder.class.getName())),
+			() -> assertFalse(CallerLocation.isLibraryFrame(ObjectValidatorTest.class.getName())),
+			() -> assertFalse(CallerLocation.isLibraryFrame(CallerLocationTest.class.getName()))
+		);
+	}
+
+	@Test
+	void sourceSurvivesCopyAndParse() {
+		var ticket = ErrorTicket.builder().withError(ErrorCodes.NotFound).withSource("a.B.c(B.java:1)").build();
+
+		assertAll(
+			() -> assertEquals("a.B.c(B.java:1)", ErrorTicket.builderFrom(ticket).build().getSource()),
+			() -> assertEquals("a.B.c(B.java:1)", ErrorTicket.parse(ticket.toJson()).getSource()),
+			() -> assertEquals("a.B.c(B.java:1)", new ErrorTicket(ticket.toJson()).getSource())
+		);
+	}
+
+	private static void raiseArgumentError() {
+		ErrorTickets.checkArgument(false, "bad");
+	}
+}
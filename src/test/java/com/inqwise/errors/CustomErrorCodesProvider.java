@@ -0,0 +1,24 @@
+package com.inqwise.errors;
+
+import java.util.List;
+
+import com.google.common.base.Enums;
+import com.inqwise.errors.spi.ErrorCodeProvider;
+
+public class CustomErrorCodesProvider implements ErrorCodeProvider {
+
+	@Override
+	public String group() {
+		return CustomErrorCodes.GROUP;
+	}
+
+	@Override
+	public ErrorCode valueOf(String errorCodeName) {
+		return Enums.getIfPresent(CustomErrorCodes.class, errorCodeName).orNull();
+	}
+
+	@Override
+	public List<CustomErrorCodes> values() {
+		return List.of(CustomErrorCodes.values());
+	}
+}
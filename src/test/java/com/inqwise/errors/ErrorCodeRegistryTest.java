@@ -0,0 +1,95 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ErrorCodeRegistryTest {
+
+	record PlainCode(String name) implements ErrorCode {
+		@Override
+		public String group() {
+			return "plain";
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	@Test
+	void idsAreDenseAndOrderedByGroup() {
+		var registry = ErrorCodeRegistry.of(List.of(new ErrorCodesProvider(), new CustomErrorCodesProvider()));
+
+		assertAll(
+			() -> assertEquals(ErrorCodes.values().length + 1, registry.size()),
+			() -> assertEquals(0, registry.idOf(CustomErrorCodes.Test)),
+			() -> assertEquals(1, registry.idOf(ErrorCodes.GeneralError)),
+			() -> assertSame(ErrorCodes.Timeout, registry.byId(registry.idOf(ErrorCodes.Timeout))),
+			() -> assertNull(registry.byId(registry.size())),
+			() -> assertNull(registry.byId(-1))
+		);
+	}
+
+	@Test
+	void unknownCodesHaveNoId() {
+		var registry = ErrorCodeRegistry.of(List.of(new ErrorCodesProvider()));
+
+		assertAll(
+			() -> assertEquals(ErrorCodeRegistry.UNKNOWN, registry.idOf(CustomErrorCodes.Test)),
+			() -> assertEquals(ErrorCodeRegistry.UNKNOWN, registry.idOf(OAuthErrorCodes.InvalidToken)),
+			() -> assertEquals(ErrorCodeRegistry.UNKNOWN, registry.idOf(null))
+		);
+	}
+
+	@Test
+	void duplicateProvidersDoNotShiftIds() {
+		var registry = ErrorCodeRegistry.of(List.of(new ErrorCodesProvider(), new TestErrorCodeProvider(), new ErrorCodesProvider()));
+
+		assertAll(
+			() -> assertEquals(ErrorCodes.values().length, registry.size()),
+			() -> assertEquals(ErrorCodes.ArgumentWrong.ordinal(), registry.idOf(ErrorCodes.ArgumentWrong))
+		);
+	}
+
+	@Test
+	void nonEnumCodesAndNamesResolve() {
+		var code = new PlainCode("Conflict");
+		var registry = ErrorCodeRegistry.of(List.of(new com.inqwise.errors.spi.ErrorCodeProvider() {
+			@Override
+			public String group() {
+				return "plain";
+			}
+
+			@Override
+			public ErrorCode valueOf(String errorCodeName) {
+				return null;
+			}
+
+			@Override
+			public List<PlainCode> values() {
+				return List.of(code);
+			}
+		}));
+
+		assertAll(
+			() -> assertEquals(0, registry.idOf(code)),
+			() -> assertSame(code, registry.find("PLAIN", "Conflict")),
+			() -> assertNull(registry.find("plain", "Missing"))
+		);
+	}
+
+	@Test
+	void sharedInstanceUsesServiceProviders() {
+		var registry = ErrorCodeRegistry.getInstance();
+
+		assertAll(
+			() -> assertSame(registry, ErrorCodeRegistry.getInstance()),
+			() -> assertNotEquals(ErrorCodeRegistry.UNKNOWN, registry.idOf(ErrorCodes.NotFound)),
+			() -> assertNotEquals(ErrorCodeRegistry.UNKNOWN, registry.idOf(CustomErrorCodes.Test))
+		);
+	}
+}
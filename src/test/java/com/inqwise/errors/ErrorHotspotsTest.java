@@ -0,0 +1,144 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class ErrorHotspotsTest {
+
+	private static IllegalStateException readSite() {
+		return new IllegalStateException("read");
+	}
+
+	private static IllegalStateException writeSite() {
+		return new IllegalStateException("write");
+	}
+
+	@Test
+	void ranksCodeAndThrowSitePairs() {
+		var now = new AtomicLong(1_000);
+		var hotspots = ErrorHotspots.builder().clock(now::get).build();
+		var read = readSite();
+		var write = writeSite();
+		for (int i = 0; i < 30; i++) {
+			hotspots.record(ErrorTickets.stackless(ErrorCodes.Timeout, null), read);
+			now.incrementAndGet();
+		}
+		for (int i = 0; i < 5; i++) {
+			hotspots.record(ErrorTickets.stackless(ErrorCodes.Timeout, null), write);
+		}
+		var last = ErrorTickets.stackless(ErrorCodes.NotFound, null);
+		for (int i = 0; i < 10; i++) {
+			hotspots.record(last, read);
+		}
+
+		var top = hotspots.top(2);
+
+		assertAll(
+			() -> assertEquals(45, hotspots.total()),
+			() -> assertEquals(2, top.size()),
+			() -> assertEquals(ErrorCodes.Timeout, top.get(0).code()),
+			() -> assertEquals(30, top.get(0).count()),
+			() -> assertEquals(1_000, top.get(0).firstSeen()),
+			() -> assertEquals(1_029, top.get(0).lastSeen()),
+			() -> assertTrue(top.get(0).location().contains("readSite"), top.get(0).location()),
+			() -> assertEquals(ErrorCodes.NotFound, top.get(1).code()),
+			() -> assertEquals(last.getErrorId(), top.get(1).sampleErrorId()),
+			() -> assertEquals(ErrorCodes.GROUP, top.get(1).group()),
+			() -> assertEquals(top.get(0).fingerprint(), top.get(1).fingerprint()),
+			() -> assertEquals(3, hotspots.top(10).size())
+		);
+	}
+
+	@Test
+	void stacklessTicketsAreKeyedByCallerLocation() {
+		var hotspots = ErrorHotspots.builder().build();
+		for (int i = 0; i < 3; i++) {
+			hotspots.record(ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(false).withCallerLocation().build());
+		}
+		hotspots.record(ErrorTickets.stackless(ErrorCodes.NotFound, null));
+
+		var top = hotspots.top(2);
+
+		assertAll(
+			() -> assertEquals(3, top.get(0).count()),
+			() -> assertTrue(top.get(0).location().startsWith(ErrorHotspotsTest.class.getName())),
+			() -> assertEquals(1, top.get(1).count()),
+			() -> assertEquals(0, top.get(1).fingerprint())
+		);
+	}
+
+	@Test
+	void heavyHittersReplaceTheSmallestEntry() {
+		var hotspots = ErrorHotspots.builder().capacity(2).build();
+		hotspots.record(ErrorTickets.stackless(ErrorCodes.NotFound, null));
+		hotspots.record(ErrorTickets.stackless(ErrorCodes.ArgumentWrong, null));
+		for (int i = 0; i < 5; i++) {
+			hotspots.record(ErrorTickets.stackless(ErrorCodes.Timeout, null));
+		}
+
+		var top = hotspots.top(5);
+
+		assertAll(
+			() -> assertEquals(2, top.size()),
+			() -> assertEquals(ErrorCodes.Timeout, top.get(0).code()),
+			() -> assertEquals(5, top.get(0).count())
+		);
+	}
+
+	@Test
+	void installedTrackerRecordsThePropagatedThrowSite() {
+		var hotspots = ErrorHotspots.builder().build().install();
+		try {
+			var ticket = ErrorTicket.propagate(writeSite());
+			ErrorTicket.propagate(ticket);
+		} finally {
+			assertTrue(hotspots.uninstall());
+		}
+
+		var top = hotspots.top(1);
+
+		assertAll(
+			() -> assertEquals(1, hotspots.total()),
+			() -> assertTrue(top.get(0).location().contains("writeSite"), top.get(0).location())
+		);
+	}
+
+	@Test
+	void concurrentUpdatesAreCounted() throws Exception {
+		var hotspots = ErrorHotspots.builder().capacity(4).build();
+		var site = readSite();
+		var codes = List.of(ErrorCodes.Timeout, ErrorCodes.NotFound, ErrorCodes.GeneralError, ErrorCodes.ArgumentWrong);
+		var executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (var code : codes) {
+				futures.add(executor.submit(() -> {
+					var ticket = ErrorTickets.stackless(code, null);
+					for (int i = 0; i < 5_000; i++) {
+						hotspots.record(ticket, site);
+					}
+				}));
+			}
+			for (var future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		var top = hotspots.top(4);
+		assertAll(
+			() -> assertEquals(20_000, hotspots.total()),
+			() -> assertEquals(4, top.size()),
+			() -> top.forEach(hotspot -> assertTrue(hotspot.count() >= 5_000, hotspot::toString))
+		);
+	}
+}
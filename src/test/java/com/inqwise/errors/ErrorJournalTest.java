@@ -0,0 +1,162 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+class ErrorJournalTest {
+
+	@Test
+	void findsStoredTicketsByErrorId() {
+		var journal = ErrorJournal.builder().capacity(16).build();
+		var stored = ErrorTicket.builder()
+				.withError(CustomErrorCodes.Test)
+				.withErrorGroup(CustomErrorCodes.GROUP)
+				.withDetails("order {} not found", 42)
+				.withStatusCode(404)
+				.title("Not Found")
+				.instance("/orders/42")
+				.addExtension("orderId", 42)
+				.withStackTrace(false)
+				.withCallerLocation()
+				.build();
+		journal.append(ErrorTickets.stackless(ErrorCodes.Timeout, null));
+		journal.append(stored);
+
+		var found = journal.find(stored.getErrorId()).orElseThrow();
+
+		assertAll(
+			() -> assertEquals(2, journal.size()),
+			() -> assertEquals(stored.getErrorId(), found.getErrorId()),
+			() -> assertSame(CustomErrorCodes.Test, found.getError()),
+			() -> assertEquals(CustomErrorCodes.GROUP, found.getErrorGroup()),
+			() -> assertEquals("order 42 not found", found.getErrorDetails()),
+			() -> assertEquals(404, found.getStatus()),
+			() -> assertEquals("Not Found", found.getTitle()),
+			() -> assertEquals("/orders/42", found.getInstance()),
+			() -> assertEquals(stored.getSource(), found.getSource()),
+			() -> assertEquals(42, found.getExtensions().get("orderId")),
+			() -> assertEquals(0, found.getStackTrace().length),
+			() -> assertTrue(journal.find("etMissing").isEmpty())
+		);
+	}
+
+	@Test
+	void unregisteredCodesAreKeptByName() {
+		var journal = ErrorJournal.builder().capacity(4).build();
+		var stored = ErrorTickets.stackless(OAuthErrorCodes.InvalidToken, null);
+		journal.append(stored);
+
+		var found = journal.find(stored.getErrorId()).orElseThrow();
+
+		assertAll(
+			() -> assertEquals("invalid_token", found.getError().toString()),
+			() -> assertEquals("oauth", found.getError().group()),
+			() -> assertEquals(stored.getStatus(), found.getStatus())
+		);
+	}
+
+	@Test
+	void overwrittenTicketsAreForgotten() {
+		var journal = ErrorJournal.builder().capacity(8).build();
+		var tickets = new ArrayList<ErrorTicket>();
+		for (int i = 0; i < 20; i++) {
+			var ticket = ErrorTickets.stackless(ErrorCodes.NotFound, null);
+			tickets.add(ticket);
+			journal.append(ticket);
+		}
+
+		assertAll(
+			() -> assertEquals(8, journal.size()),
+			() -> assertEquals(20, journal.appended()),
+			() -> assertTrue(journal.find(tickets.get(0).getErrorId()).isEmpty()),
+			() -> assertTrue(journal.find(tickets.get(11).getErrorId()).isEmpty()),
+			() -> tickets.subList(12, 20).forEach(ticket ->
+					assertTrue(journal.find(ticket.getErrorId()).isPresent(), ticket::getErrorId))
+		);
+	}
+
+	@Test
+	void dumpsNewlineDelimitedJsonOldestFirst() throws Exception {
+		var journal = ErrorJournal.builder().capacity(4).build();
+		var tickets = new ArrayList<ErrorTicket>();
+		for (var code : List.of(ErrorCodes.NotFound, ErrorCodes.Timeout, ErrorCodes.ArgumentWrong, ErrorCodes.GeneralError, ErrorCodes.NotFound)) {
+			var ticket = ErrorTickets.stackless(code, null);
+			tickets.add(ticket);
+			journal.append(ticket);
+		}
+		var out = new ByteArrayOutputStream();
+
+		long written = journal.dump(out);
+
+		var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertAll(
+			() -> assertEquals(4, written),
+			() -> assertEquals(4, lines.length),
+			() -> assertEquals(tickets.get(1).toJson(), new JsonObject(lines[0])),
+			() -> assertEquals(tickets.get(4).toJson(), new JsonObject(lines[3]))
+		);
+	}
+
+	@Test
+	void installedJournalStoresBuiltAndPropagatedTickets() {
+		var journal = ErrorJournal.builder().build().install();
+		ErrorTicket built;
+		ErrorTicket propagated;
+		try {
+			built = ErrorTickets.stackless(ErrorCodes.NotFound, null);
+			propagated = ErrorTicket.propagate(new IllegalStateException("boom"));
+			ErrorTicket.propagate(built);
+		} finally {
+			assertTrue(journal.uninstall());
+		}
+
+		assertAll(
+			() -> assertEquals(2, journal.size()),
+			() -> assertTrue(journal.find(built.getErrorId()).isPresent()),
+			() -> assertTrue(journal.find(propagated.getErrorId()).isPresent())
+		);
+	}
+
+	@Test
+	void concurrentAppendsAreAllFound() throws Exception {
+		var journal = ErrorJournal.builder().capacity(1 << 14).build();
+		var executor = Executors.newFixedThreadPool(4);
+		var tickets = new ArrayList<List<ErrorTicket>>();
+		try {
+			List<Future<List<ErrorTicket>>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				futures.add(executor.submit(() -> {
+					var appended = new ArrayList<ErrorTicket>();
+					for (int i = 0; i < 2_000; i++) {
+						var ticket = ErrorTickets.stackless(ErrorCodes.Timeout, null);
+						journal.append(ticket);
+						appended.add(ticket);
+					}
+					return appended;
+				}));
+			}
+			for (var future : futures) {
+				tickets.add(future.get(30, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertAll(
+			() -> assertEquals(8_000, journal.size()),
+			() -> tickets.forEach(list -> list.forEach(ticket ->
+					assertTrue(journal.find(ticket.getErrorId()).isPresent(), ticket::getErrorId)))
+		);
+	}
+}
@@ -0,0 +1,129 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.inqwise.errors.spi.ErrorTicketListener;
+
+import io.vertx.core.json.JsonObject;
+
+class ErrorMetricsTest {
+
+	@Test
+	void countsByCodeGroupAndStatus() {
+		var metrics = ErrorMetrics.create();
+		metrics.record(ErrorTickets.stackless(ErrorCodes.NotFound, null));
+		metrics.record(ErrorTickets.stackless(ErrorCodes.NotFound, null));
+		metrics.record(ErrorTickets.stackless(ErrorCodes.Timeout, null));
+		metrics.record(ErrorTickets.stackless(CustomErrorCodes.Test, null));
+
+		var snapshot = metrics.snapshot();
+
+		assertAll(
+			() -> assertEquals(4, snapshot.total()),
+			() -> assertEquals(2, metrics.count(ErrorCodes.NotFound)),
+			() -> assertEquals(Map.of(ErrorCodes.NotFound, 2L, ErrorCodes.Timeout, 1L, CustomErrorCodes.Test, 1L), snapshot.codes()),
+			() -> assertEquals(Map.of(ErrorCodes.GROUP, 3L, CustomErrorCodes.GROUP, 1L), snapshot.groups()),
+			() -> assertEquals(Map.of(0, 1L, 404, 2L, 504, 1L), snapshot.statuses()),
+			() -> assertEquals(3, metrics.countStatusClass(4) + metrics.countStatusClass(5))
+		);
+	}
+
+	@Test
+	void undefinedCodesAreTrackedSeparately() {
+		var metrics = ErrorMetrics.create();
+		metrics.record(ErrorTickets.stackless(OAuthErrorCodes.InvalidToken, null));
+		metrics.record(ErrorTicket.builder().withErrorDetails("no code").withStackTrace(false).build());
+		metrics.record(new ErrorTicket(new JsonObject().put(ErrorTicket.Keys.CODE, "Legacy").put(ErrorTicket.Keys.ERROR_GROUP, "old")));
+
+		var snapshot = metrics.snapshot();
+
+		assertAll(
+			() -> assertEquals(3, snapshot.total()),
+			() -> assertEquals(1, metrics.count(OAuthErrorCodes.InvalidToken)),
+			() -> assertEquals(Map.of(ErrorMetrics.NO_CODE, 1L, "old:Legacy", 1L), snapshot.undefinedCodes()),
+			() -> assertEquals(1L, snapshot.groups().get("old"))
+		);
+	}
+
+	@Test
+	void snapshotDeltaCoversTheInterval() {
+		var metrics = ErrorMetrics.create();
+		metrics.record(ErrorTickets.stackless(ErrorCodes.NotFound, null));
+		var before = metrics.snapshot();
+		metrics.record(ErrorTickets.stackless(ErrorCodes.NotFound, null));
+		metrics.record(ErrorTickets.stackless(ErrorCodes.ArgumentWrong, null));
+
+		var delta = metrics.snapshot().minus(before);
+
+		assertAll(
+			() -> assertEquals(2, delta.total()),
+			() -> assertEquals(Map.of(ErrorCodes.NotFound, 1L, ErrorCodes.ArgumentWrong, 1L), delta.codes()),
+			() -> assertEquals(Map.of(400, 1L, 404, 1L), delta.statuses())
+		);
+	}
+
+	@Test
+	void installedMetricsCountBuildAndPropagateOnce() {
+		var metrics = ErrorMetrics.create().install();
+		try {
+			var built = ErrorTickets.stackless(ErrorCodes.NotPermitted, null);
+			ErrorTicket.propagate(built);
+			ErrorTicket.propagate(new IllegalArgumentException("bad"));
+		} finally {
+			assertTrue(metrics.uninstall());
+		}
+		ErrorTickets.stackless(ErrorCodes.NotPermitted, null);
+
+		assertAll(
+			() -> assertEquals(1, metrics.count(ErrorCodes.NotPermitted)),
+			() -> assertEquals(1, metrics.count(ErrorCodes.ArgumentWrong)),
+			() -> assertFalse(metrics.uninstall())
+		);
+	}
+
+	@Test
+	void failingListenersDoNotBreakTicketCreation() {
+		ErrorTicketListener failing = ticket -> {
+			throw new IllegalStateException("listener");
+		};
+		ErrorTicket.addListener(failing);
+		try {
+			assertEquals(ErrorCodes.NotFound, ErrorTickets.stackless(ErrorCodes.NotFound, null).getError());
+		} finally {
+			ErrorTicket.removeListener(failing);
+		}
+	}
+
+	@Test
+	void concurrentRecordingIsExact() throws Exception {
+		var metrics = ErrorMetrics.create();
+		var ticket = ErrorTickets.stackless(ErrorCodes.Timeout, null);
+		var executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						metrics.record(ticket);
+					}
+				}));
+			}
+			for (var future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(40_000, metrics.count(ErrorCodes.Timeout));
+	}
+}
@@ -0,0 +1,133 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class ErrorRateWindowTest {
+	private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+	private static void record(ErrorRateWindow window, ErrorCode code, int times) {
+		var ticket = ErrorTickets.stackless(code, null);
+		for (int i = 0; i < times; i++) {
+			window.record(ticket);
+		}
+	}
+
+	@Test
+	void countsByGroupAndStatusClass() {
+		var window = ErrorRateWindow.builder().buckets(10).ticker(() -> 0L).build();
+		record(window, ErrorCodes.NotFound, 3);
+		record(window, ErrorCodes.GeneralError, 1);
+		record(window, CustomErrorCodes.Test, 2);
+
+		assertAll(
+			() -> assertEquals(6, window.total()),
+			() -> assertEquals(3, window.count(4)),
+			() -> assertEquals(1, window.count(5)),
+			() -> assertEquals(2, window.count(0)),
+			() -> assertEquals(4, window.total(ErrorCodes.GROUP)),
+			() -> assertEquals(3, window.count(ErrorCodes.GROUP, 4)),
+			() -> assertEquals(2, window.count(CustomErrorCodes.GROUP, 0)),
+			() -> assertEquals(0, window.total("unknown")),
+			() -> assertEquals(0.25, window.ratio(ErrorCodes.GROUP, 5)),
+			() -> assertEquals(0.5, window.ratio(4)),
+			() -> assertEquals(0.3, window.rate(4), 1e-9)
+		);
+	}
+
+	@Test
+	void oldBucketsExpire() {
+		var now = new AtomicLong();
+		var window = ErrorRateWindow.builder().buckets(5).ticker(now::get).build();
+		record(window, ErrorCodes.NotFound, 2);
+		now.set(2 * SECOND);
+		record(window, ErrorCodes.NotFound, 1);
+
+		assertEquals(3, window.count(4));
+		now.set(5 * SECOND);
+		assertEquals(1, window.count(4));
+		now.set(7 * SECOND);
+		assertEquals(0, window.count(4));
+
+		record(window, ErrorCodes.NotFound, 4);
+		assertAll(
+			() -> assertEquals(4, window.count(4)),
+			() -> assertEquals(4, window.count(ErrorCodes.GROUP, 4))
+		);
+	}
+
+	@Test
+	void runningTotalsFollowReusedAndIdleBuckets() {
+		var now = new AtomicLong();
+		var window = ErrorRateWindow.builder().buckets(4).ticker(now::get).build();
+		record(window, ErrorCodes.NotFound, 2);
+		record(window, ErrorCodes.GeneralError, 2);
+		now.set(4 * SECOND);
+		record(window, ErrorCodes.NotFound, 1);
+		assertAll(
+			() -> assertEquals(1, window.total()),
+			() -> assertEquals(0, window.count(5)),
+			() -> assertEquals(1.0, window.ratio(4))
+		);
+
+		now.set(100 * SECOND);
+		assertEquals(0, window.total());
+		record(window, ErrorCodes.GeneralError, 3);
+		now.set(102 * SECOND);
+		record(window, ErrorCodes.NotFound, 1);
+		assertAll(
+			() -> assertEquals(4, window.total()),
+			() -> assertEquals(0.75, window.ratio(5)),
+			() -> assertEquals(1, window.count(ErrorCodes.GROUP, 4))
+		);
+	}
+
+	@Test
+	void detectsBursts() {
+		var now = new AtomicLong();
+		var window = ErrorRateWindow.builder().buckets(10).ticker(now::get).build();
+		for (int second = 0; second < 8; second++) {
+			now.set(second * SECOND);
+			record(window, ErrorCodes.GeneralError, 1);
+		}
+		assertFalse(window.isBurst(5, 2, 2.0));
+
+		now.set(9 * SECOND);
+		record(window, ErrorCodes.GeneralError, 20);
+		assertAll(
+			() -> assertTrue(window.isBurst(5, 2, 2.0)),
+			() -> assertFalse(window.isBurst(4, 2, 2.0)),
+			() -> assertThrows(IllegalArgumentException.class, () -> window.isBurst(5, 10, 2.0))
+		);
+	}
+
+	@Test
+	void groupsAreBounded() {
+		var window = ErrorRateWindow.builder().maxTrackedGroups(1).ticker(() -> 0L).build();
+		record(window, ErrorCodes.NotFound, 1);
+		record(window, CustomErrorCodes.Test, 1);
+
+		assertAll(
+			() -> assertEquals(2, window.total()),
+			() -> assertEquals(1, window.total(ErrorCodes.GROUP)),
+			() -> assertEquals(0, window.total(CustomErrorCodes.GROUP)),
+			() -> assertEquals(Duration.ofMinutes(1), window.getWindow())
+		);
+	}
+
+	@Test
+	void installedWindowRecordsBuiltTickets() {
+		var window = ErrorRateWindow.builder().ticker(() -> 0L).build().install();
+		try {
+			ErrorTickets.stackless(ErrorCodes.NotFound, null);
+			ErrorTicket.propagate(new IllegalStateException("state"));
+		} finally {
+			assertTrue(window.uninstall());
+		}
+		assertEquals(2, window.total());
+	}
+}
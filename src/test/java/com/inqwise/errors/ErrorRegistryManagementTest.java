@@ -0,0 +1,93 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ErrorRegistryManagementTest {
+
+	private final ErrorMetrics metrics = ErrorMetrics.create();
+
+	@AfterEach
+	void unregister() {
+		ErrorRegistryManagement.unregister();
+	}
+
+	private static Object attribute(String name) throws Exception {
+		return ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName(ErrorRegistryManagement.OBJECT_NAME), name);
+	}
+
+	private static Object value(TabularData table, Object key) {
+		var row = (CompositeData) table.get(new Object[] { key });
+		return null == row ? null : row.get("value");
+	}
+
+	@Test
+	void exposesProvidersAndCodeCounts() throws Exception {
+		ErrorRegistryManagement.register(metrics);
+		metrics.record(ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(false).build());
+		metrics.record(ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(false).build());
+
+		var groups = (TabularData) attribute("Groups");
+		var codes = (TabularData) attribute("CodeCounts");
+
+		assertAll(
+			() -> assertEquals(ErrorCodeProviders.getAll().size(), attribute("ProviderCount")),
+			() -> assertEquals(ErrorCodes.values().length, value(groups, ErrorCodes.GROUP)),
+			() -> assertEquals(ErrorCodeRegistry.getInstance().size(), attribute("RegisteredCodes")),
+			() -> assertEquals(2L, attribute("TotalTickets")),
+			() -> assertEquals(2L, value(codes, ErrorCodes.GROUP + ":NotFound")),
+			() -> assertEquals(2L, value((TabularData) attribute("GroupCounts"), ErrorCodes.GROUP))
+		);
+	}
+
+	@Test
+	void reportsCacheHitRatios() throws Exception {
+		ErrorRegistryManagement.register(metrics);
+		var server = ManagementFactory.getPlatformMBeanServer();
+		server.invoke(new ObjectName(ErrorRegistryManagement.OBJECT_NAME), "resetCounters", null, null);
+		var registry = ErrorCodeRegistry.getInstance();
+		registry.find(ErrorCodes.GROUP, "NotFound");
+		registry.find(ErrorCodes.GROUP, "NotFound");
+		registry.find(ErrorCodes.GROUP, "Missing");
+		var focuser = StackTraceFocuser.defaultInstance();
+		focuser.fingerprint(new IllegalStateException());
+		focuser.fingerprint(new IllegalStateException());
+
+		assertAll(
+			() -> assertEquals(2L, attribute("ResolutionHits")),
+			() -> assertEquals(1L, attribute("ResolutionMisses")),
+			() -> assertEquals(2.0 / 3, (double) attribute("ResolutionHitRatio"), 1e-9),
+			() -> assertTrue((int) attribute("ResolutionIndexSize") >= registry.size()),
+			() -> assertTrue((int) attribute("FocuserDecisionCacheSize") > 0),
+			() -> assertTrue((long) attribute("FocuserDecisionHits") > 0),
+			() -> assertTrue((double) attribute("FocuserDecisionHitRatio") > 0.4)
+		);
+	}
+
+	@Test
+	void operationsReloadProvidersAndResetCounters() throws Exception {
+		ErrorRegistryManagement.register(metrics);
+		metrics.record(ErrorTicket.builder().withError(ErrorCodes.Timeout).withStackTrace(false).build());
+		var server = ManagementFactory.getPlatformMBeanServer();
+		var name = new ObjectName(ErrorRegistryManagement.OBJECT_NAME);
+
+		var providers = server.invoke(name, "reloadProviders", null, null);
+		server.invoke(name, "resetCounters", null, null);
+
+		assertAll(
+			() -> assertEquals(ErrorCodeProviders.getAll().size(), providers),
+			() -> assertEquals(0L, attribute("TotalTickets")),
+			() -> assertEquals(0, metrics.count(ErrorCodes.Timeout)),
+			() -> assertTrue(ErrorRegistryManagement.unregister()),
+			() -> assertFalse(ErrorRegistryManagement.unregister())
+		);
+	}
+}
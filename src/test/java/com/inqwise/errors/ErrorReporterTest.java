@@ -0,0 +1,214 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.inqwise.errors.spi.ErrorSink;
+import com.sun.net.httpserver.HttpServer;
+
+import io.vertx.core.json.JsonObject;
+
+class ErrorReporterTest {
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "timed out");
+			Thread.sleep(5);
+		}
+	}
+
+	/** Sink blocking until released. */
+	private static final class BlockingSink implements ErrorSink {
+		private final CountDownLatch release = new CountDownLatch(1);
+		private final List<ErrorTicket> received = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void send(List<ErrorTicket> batch) throws Exception {
+			release.await();
+			received.addAll(batch);
+		}
+	}
+
+	@Test
+	void rejectsBatchesLargerThanTheQueue() {
+		var builder = ErrorReporter.builder(batch -> {}).queueCapacity(8).maxBatchSize(16);
+		var thrown = assertThrows(IllegalArgumentException.class, builder::build);
+		assertEquals("maxBatchSize 16 exceeds queueCapacity 8", thrown.getMessage());
+	}
+
+	@Test
+	void sendsFullBatchesWithoutWaitingForTheDelay() throws Exception {
+		var batches = new CopyOnWriteArrayList<Integer>();
+		try (var reporter = ErrorReporter.builder(batch -> batches.add(batch.size())).maxBatchSize(10).maxDelay(Duration.ofMinutes(1)).build()) {
+			for (int i = 0; i < 30; i++) {
+				assertTrue(reporter.report(ErrorTickets.stackless(ErrorCodes.NotFound, null)));
+			}
+			await(() -> 30 == reporter.delivered());
+
+			assertAll(
+				() -> assertEquals(List.of(10, 10, 10), batches),
+				() -> assertEquals(0, reporter.dropped())
+			);
+		}
+	}
+
+	@Test
+	void sendsPartialBatchesAfterTheDelay() throws Exception {
+		var received = new CopyOnWriteArrayList<ErrorTicket>();
+		try (var reporter = ErrorReporter.builder(received::addAll).maxDelay(Duration.ofMillis(50)).build()) {
+			var ticket = ErrorTickets.stackless(ErrorCodes.Timeout, null);
+			reporter.report(ticket);
+			await(() -> 1 == reporter.delivered());
+
+			assertSame(ticket, received.get(0));
+		}
+	}
+
+	@Test
+	void dropNewestKeepsTheFirstTicketsWhileTheSinkIsSlow() throws Exception {
+		var sink = new BlockingSink();
+		var tickets = new ArrayList<ErrorTicket>();
+		try (var reporter = ErrorReporter.builder(sink).queueCapacity(8).maxBatchSize(1).build()) {
+			tickets.add(ErrorTickets.stackless(ErrorCodes.NotFound, null));
+			reporter.report(tickets.get(0));
+			await(() -> 0 == reporter.pending());
+			long start = System.nanoTime();
+			for (int i = 0; i < 100; i++) {
+				var ticket = ErrorTickets.stackless(ErrorCodes.NotFound, null);
+				tickets.add(ticket);
+				reporter.report(ticket);
+			}
+			long elapsed = System.nanoTime() - start;
+			sink.release.countDown();
+			await(() -> 9 == reporter.delivered());
+
+			assertAll(
+				() -> assertTrue(elapsed < TimeUnit.SECONDS.toNanos(1), () -> elapsed + "ns"),
+				() -> assertEquals(101, reporter.submitted()),
+				() -> assertEquals(92, reporter.dropped()),
+				() -> assertEquals(tickets.subList(0, 9), sink.received)
+			);
+		}
+	}
+
+	@Test
+	void dropOldestKeepsTheLatestTickets() throws Exception {
+		var sink = new BlockingSink();
+		var tickets = new ArrayList<ErrorTicket>();
+		try (var reporter = ErrorReporter.builder(sink).queueCapacity(8).maxBatchSize(1)
+				.dropPolicy(ErrorReporter.DropPolicy.DROP_OLDEST).build()) {
+			reporter.report(ErrorTickets.stackless(ErrorCodes.NotFound, null));
+			await(() -> 0 == reporter.pending());
+			for (int i = 0; i < 100; i++) {
+				var ticket = ErrorTickets.stackless(ErrorCodes.Timeout, null);
+				tickets.add(ticket);
+				reporter.report(ticket);
+			}
+			sink.release.countDown();
+			await(() -> 9 == reporter.delivered());
+
+			assertAll(
+				() -> assertEquals(92, reporter.dropped()),
+				() -> assertEquals(tickets.subList(92, 100), sink.received.subList(1, 9))
+			);
+		}
+	}
+
+	@Test
+	void sampleKeepsAFractionUnderPressure() throws Exception {
+		var sink = new BlockingSink();
+		try (var reporter = ErrorReporter.builder(sink).queueCapacity(64).maxBatchSize(1)
+				.dropPolicy(ErrorReporter.DropPolicy.SAMPLE).sampleRate(4).build()) {
+			reporter.report(ErrorTickets.stackless(ErrorCodes.NotFound, null));
+			await(() -> 0 == reporter.pending());
+			for (int i = 0; i < 100; i++) {
+				reporter.report(ErrorTickets.stackless(ErrorCodes.Timeout, null));
+			}
+
+			assertAll(
+				() -> assertEquals(32 + 68 / 4, reporter.pending()),
+				() -> assertEquals(100 - 32 - 68 / 4, reporter.dropped())
+			);
+			sink.release.countDown();
+		}
+	}
+
+	@Test
+	void failedBatchesAreCounted() throws Exception {
+		try (var reporter = ErrorReporter.builder(batch -> {
+			throw new IOException("unavailable");
+		}).maxBatchSize(2).build()) {
+			reporter.report(ErrorTickets.stackless(ErrorCodes.NotFound, null));
+			reporter.report(ErrorTickets.stackless(ErrorCodes.NotFound, null));
+			await(() -> 2 == reporter.failed());
+
+			assertEquals(0, reporter.delivered());
+		}
+	}
+
+	@Test
+	void closeFlushesQueuedTickets() {
+		var received = new CopyOnWriteArrayList<ErrorTicket>();
+		var reporter = ErrorReporter.builder(received::addAll).maxDelay(Duration.ofMinutes(1)).build();
+		for (int i = 0; i < 5; i++) {
+			reporter.report(ErrorTickets.stackless(ErrorCodes.NotFound, null));
+		}
+		reporter.close();
+
+		assertAll(
+			() -> assertEquals(5, received.size()),
+			() -> assertFalse(reporter.report(ErrorTickets.stackless(ErrorCodes.NotFound, null))),
+			() -> assertEquals(1, reporter.dropped())
+		);
+	}
+
+	@Test
+	void postsNdjsonBatchesToAnHttpEndpoint() throws Exception {
+		var bodies = new CopyOnWriteArrayList<String>();
+		var contentTypes = new CopyOnWriteArrayList<String>();
+		var server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/incidents", exchange -> {
+			contentTypes.add(exchange.getRequestHeaders().getFirst("Content-Type"));
+			bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+			exchange.sendResponseHeaders(bodies.size() > 1 ? 503 : 202, -1);
+			exchange.close();
+		});
+		server.start();
+		try {
+			var sink = HttpErrorSink.builder(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/incidents")).build();
+			var first = ErrorTickets.stackless(ErrorCodes.NotFound, null);
+			try (var reporter = ErrorReporter.builder(sink).maxBatchSize(2).build().install()) {
+				reporter.report(first);
+				ErrorTickets.stackless(ErrorCodes.Timeout, null);
+				await(() -> 2 == reporter.delivered());
+				ErrorTickets.stackless(ErrorCodes.NotFound, null);
+				ErrorTickets.stackless(ErrorCodes.NotFound, null);
+				await(() -> 2 == reporter.failed());
+			}
+
+			var lines = bodies.get(0).split("\n");
+			assertAll(
+				() -> assertEquals(HttpErrorSink.CONTENT_TYPE, contentTypes.get(0)),
+				() -> assertEquals(2, lines.length),
+				() -> assertEquals(first.toJson(), new JsonObject(lines[0])),
+				() -> assertEquals("Timeout", new JsonObject(lines[1]).getString(ErrorTicket.Keys.CODE))
+			);
+		} finally {
+			server.stop(0);
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+
+class ErrorTicketFuturesTest {
+
+	@Test
+	void existingTicketsPassThroughUnboxed() {
+		var ticket = ErrorTickets.general("failed");
+
+		assertAll(
+			() -> assertSame(ticket, ErrorTicketFutures.toTicket(ticket)),
+			() -> assertSame(ticket, ErrorTicketFutures.toTicket(new CompletionException(new ExecutionException(ticket))))
+		);
+	}
+
+	@Test
+	void foreignFailuresBecomeStacklessTickets() {
+		var cause = new IllegalArgumentException("bad");
+		var ticket = ErrorTicketFutures.toTicket(new CompletionException(cause));
+
+		assertAll(
+			() -> assertEquals(ErrorCodes.ArgumentWrong, ticket.getError()),
+			() -> assertEquals("java.lang.IllegalArgumentException:bad", ticket.getErrorDetails()),
+			() -> assertEquals(0, ticket.getStackTrace().length),
+			() -> assertSame(cause, ticket.getCause()),
+			() -> assertTrue(cause.getStackTrace().length > 0)
+		);
+	}
+
+	@Test
+	void propagateAndRethrowFailWithTheTicket() {
+		var ticket = ErrorTickets.general("failed");
+		var wrapped = Future.<String>failedFuture(new CompletionException(ticket));
+
+		assertAll(
+			() -> assertSame(ticket, wrapped.recover(ErrorTicketFutures.propagate()).cause()),
+			() -> assertSame(ticket, wrapped.otherwise(ErrorTicketFutures.<String>rethrow()).cause()),
+			() -> assertEquals(ErrorCodes.GeneralError, ((ErrorTicket) Future.failedFuture(new IllegalStateException())
+				.recover(ErrorTicketFutures.propagate()).cause()).getError())
+		);
+	}
+
+	@Test
+	void transformKeepsSuccessesAndTicketFailures() {
+		var success = Future.succeededFuture("v");
+		var failed = Future.<String>failedFuture(ErrorTickets.general("failed"));
+		var foreign = Future.<String>failedFuture(new UnsupportedOperationException("nope"));
+
+		assertAll(
+			() -> assertEquals("v", success.transform(ErrorTicketFutures.transform()).result()),
+			() -> assertSame(failed.cause(), failed.transform(ErrorTicketFutures.transform()).cause()),
+			() -> assertInstanceOf(ErrorTicket.class, foreign.transform(ErrorTicketFutures.transform()).cause())
+		);
+	}
+
+	@Test
+	void recoverOnlyHandlesTheGivenCode() {
+		var notFound = ErrorTicketFutures.<String>failedFuture(ErrorCodes.NotFound, "user 1");
+		var wrong = ErrorTicketFutures.<String>failedFuture(ErrorCodes.ArgumentWrong, "bad");
+
+		assertAll(
+			() -> assertEquals("guest", notFound.recover(ErrorTicketFutures.recover(ErrorCodes.NotFound, ticket -> "guest")).result()),
+			() -> assertSame(wrong.cause(), wrong.recover(ErrorTicketFutures.recover(ErrorCodes.NotFound, ticket -> "guest")).cause())
+		);
+	}
+
+	@Test
+	void failedFutureCarriesStacklessTicket() {
+		var future = ErrorTicketFutures.<Void>failedFuture(CustomErrorCodes.values()[0], "custom");
+		var ticket = (ErrorTicket) future.cause();
+
+		assertAll(
+			() -> assertTrue(future.failed()),
+			() -> assertEquals(0, ticket.getStackTrace().length),
+			() -> assertEquals(CustomErrorCodes.values()[0].group(), ticket.getErrorGroup()),
+			() -> assertEquals("custom", ticket.getErrorDetails())
+		);
+	}
+}
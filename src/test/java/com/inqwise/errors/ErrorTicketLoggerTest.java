@@ -0,0 +1,182 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.message.ParameterizedMessageFactory;
+import org.apache.logging.log4j.simple.SimpleLogger;
+import org.apache.logging.log4j.util.PropertiesUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ErrorTicketLoggerTest {
+	private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+	private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+	private final AtomicLong now = new AtomicLong();
+	private SimpleLogger logger;
+
+	@BeforeEach
+	void setUp() {
+		logger = new SimpleLogger("errors", Level.ALL, false, false, false, false, null,
+			ParameterizedMessageFactory.INSTANCE, new PropertiesUtil(new Properties()),
+			new PrintStream(output, true, StandardCharsets.UTF_8));
+	}
+
+	private String[] lines() {
+		var text = output.toString(StandardCharsets.UTF_8);
+		return text.isEmpty() ? new String[0] : text.split("\\R");
+	}
+
+	private ErrorTicketLogger.Builder builder() {
+		return ErrorTicketLogger.builder().logger(logger).ticker(now::get).summaryInterval(Duration.ofSeconds(10));
+	}
+
+	private static ErrorTicket timeout() {
+		return ErrorTicket.builder().withError(ErrorCodes.Timeout).withErrorDetails("slow").withStackTrace(false).build();
+	}
+
+	private static IllegalStateException failure() {
+		return new IllegalStateException("boom");
+	}
+
+	@Test
+	void firstOccurrenceIsLoggedWithTheThrowSiteAsThrowable() {
+		var errors = builder().build();
+		var ticket = timeout();
+
+		errors.log(ticket, failure());
+
+		var lines = lines();
+		assertAll(
+			() -> assertEquals("ERROR default:Timeout (504) [" + ticket.getErrorId() + "] slow", lines[0]),
+			() -> assertEquals("java.lang.IllegalStateException: boom", lines[1].strip()),
+			() -> assertTrue(lines[2].contains("ErrorTicketLoggerTest.failure(")),
+			() -> assertEquals(1, errors.trackedKeys())
+		);
+	}
+
+	@Test
+	void stacklessTicketIsLoggedAsTheThrowable() {
+		var errors = builder().build();
+		var ticket = timeout();
+
+		errors.log(ticket);
+
+		var lines = lines();
+		assertAll(
+			() -> assertTrue(lines[0].startsWith("ERROR default:Timeout (504)"), lines[0]),
+			() -> assertTrue(lines[1].contains(ticket.getErrorId()), lines[1])
+		);
+	}
+
+	@Test
+	void repeatsAreCollapsedIntoSummaries() {
+		var errors = builder().build();
+		var site = failure();
+		for (int i = 0; i < 5; i++) {
+			errors.log(timeout(), site);
+		}
+		assertEquals(1, lines()[0].startsWith("ERROR default:Timeout") ? 1 : 0);
+		var logged = output.size();
+
+		now.set(11 * SECOND);
+		errors.log(timeout(), site);
+
+		var lines = lines();
+		var summary = lines[lines.length - 1];
+		assertAll(
+			() -> assertTrue(output.size() > logged),
+			() -> assertTrue(summary.startsWith("ERROR default:Timeout at " + ErrorTicketLoggerTest.class.getName() + ".failure("), summary),
+			() -> assertTrue(summary.contains("repeated 5 times since"), summary),
+			() -> assertEquals(5, errors.suppressed())
+		);
+	}
+
+	@Test
+	void distinctThrowSitesAreLoggedSeparately() {
+		var errors = builder().build();
+		errors.log(timeout(), failure());
+		errors.log(timeout(), new IllegalStateException("elsewhere"));
+		errors.log(ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(false).withCallerLocation().build());
+
+		assertAll(
+			() -> assertEquals(3, errors.trackedKeys()),
+			() -> assertEquals(0, errors.suppressed())
+		);
+	}
+
+	@Test
+	void flushReportsPendingRepeatsAndEvictsIdlePairs() {
+		var errors = builder().idleTimeout(Duration.ofSeconds(30)).build();
+		var site = failure();
+		errors.log(timeout(), site);
+		errors.log(timeout(), site);
+		errors.log(timeout(), site);
+
+		assertEquals(1, errors.flush());
+		assertTrue(lines()[lines().length - 1].contains("repeated 2 times"));
+		assertEquals(0, errors.flush());
+
+		now.set(31 * SECOND);
+		errors.flush();
+		assertEquals(0, errors.trackedKeys());
+	}
+
+	@Test
+	void fullTableLogsWithoutTracking() {
+		var errors = builder().maxTrackedKeys(1).build();
+		var other = failure();
+		errors.log(timeout(), failure());
+		errors.log(timeout(), other);
+		errors.log(timeout(), other);
+
+		assertAll(
+			() -> assertEquals(1, errors.trackedKeys()),
+			() -> assertEquals(0, errors.suppressed())
+		);
+	}
+
+	@Test
+	void fullTableIsSweptAtMostOncePerSummaryInterval() {
+		var errors = builder().maxTrackedKeys(1).idleTimeout(Duration.ofSeconds(2)).build();
+		var first = failure();
+		errors.log(timeout(), first);
+		now.set(SECOND);
+		errors.log(timeout(), new IllegalStateException("swept, nothing idle"));
+		now.set(5 * SECOND);
+		errors.log(timeout(), new IllegalStateException("not swept"));
+		errors.log(timeout(), first);
+		assertEquals(1, errors.suppressed());
+
+		now.set(12 * SECOND);
+		var last = failure();
+		errors.log(timeout(), last);
+		errors.log(timeout(), last);
+
+		assertAll(
+			() -> assertEquals(1, errors.trackedKeys()),
+			() -> assertEquals(2, errors.suppressed())
+		);
+	}
+
+	@Test
+	void disabledLevelSkipsEverything() {
+		var errors = builder().level(Level.TRACE).logger(new SimpleLogger("errors", Level.INFO, false, false, false, false, null,
+			ParameterizedMessageFactory.INSTANCE, new PropertiesUtil(new Properties()),
+			new PrintStream(output, true, StandardCharsets.UTF_8))).build();
+		errors.log(timeout());
+
+		assertAll(
+			() -> assertEquals(0, output.size()),
+			() -> assertEquals(0, errors.trackedKeys())
+		);
+	}
+}
@@ -0,0 +1,151 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonArray;
+
+class ErrorTicketRepliesTest {
+
+	private static <T> T await(Future<T> future) throws Exception {
+		return future.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void failureCodePacksRegistryIdAndStatus() {
+		var ticket = ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(false).build();
+		int code = ErrorTicketReplies.failureCode(ticket);
+
+		assertAll(
+			() -> assertTrue(ErrorTicketReplies.isTicketCode(code)),
+			() -> assertEquals(404, code & 0x3FF),
+			() -> assertEquals(ErrorCodeRegistry.getInstance().idOf(ErrorCodes.NotFound) + 1, (code >>> 10) & 0xFFFFF),
+			() -> assertFalse(ErrorTicketReplies.isTicketCode(404)),
+			() -> assertFalse(ErrorTicketReplies.isTicketCode(-1))
+		);
+	}
+
+	@Test
+	void ticketRoundTripsThroughReplyException() {
+		var ticket = ErrorTicket.builder()
+			.withError(CustomErrorCodes.Test)
+			.withErrorGroup(CustomErrorCodes.GROUP)
+			.withErrorDetails("custom failure")
+			.withStatusCode(422)
+			.type("https://errors.inqwise.com/custom")
+			.addExtension("fields", new JsonArray().add("name"))
+			.withStackTrace(false)
+			.build();
+
+		var reply = ErrorTicketReplies.toReplyException(ticket);
+		var decoded = ErrorTicketReplies.toTicket(reply);
+
+		assertAll(
+			() -> assertTrue(reply.getMessage().contains("\"code\":\"Test\"")),
+			() -> assertFalse(reply.getMessage().contains("\"status\"")),
+			() -> assertSame(CustomErrorCodes.Test, decoded.getError()),
+			() -> assertEquals(ticket.toJson(), decoded.toJson()),
+			() -> assertEquals(0, decoded.getStackTrace().length)
+		);
+	}
+
+	@Test
+	void unregisteredCodeFallsBackToGeneralError() {
+		var ticket = ErrorTicket.builder()
+			.withError(OAuthErrorCodes.InvalidToken)
+			.withErrorGroup("oauth")
+			.withErrorDetails("expired")
+			.withStatusCode(401)
+			.withStackTrace(false)
+			.build();
+
+		var reply = ErrorTicketReplies.toReplyException(ticket);
+		var decoded = ErrorTicketReplies.toTicket(reply);
+
+		assertAll(
+			() -> assertTrue(reply.getMessage().contains("\"code\":\"invalid_token\"")),
+			() -> assertEquals(ErrorCodes.GeneralError, decoded.getError()),
+			() -> assertEquals(401, decoded.getStatus()),
+			() -> assertEquals("expired", decoded.getErrorDetails()),
+			() -> assertEquals(ticket.getErrorId(), decoded.getErrorId())
+		);
+	}
+
+	@Test
+	void codeOfNonEnumeratingProviderResolvesByName() {
+		var ticket = ErrorTicket.builder()
+			.withError(LegacyErrorCodes.Expired)
+			.withErrorGroup(LegacyErrorCodes.GROUP)
+			.withStackTrace(false)
+			.build();
+
+		var reply = ErrorTicketReplies.toReplyException(ticket);
+
+		assertAll(
+			() -> assertEquals(ErrorCodeRegistry.UNKNOWN, ErrorCodeRegistry.getInstance().idOf(LegacyErrorCodes.Expired)),
+			() -> assertSame(LegacyErrorCodes.Expired, ErrorTicketReplies.toTicket(reply).getError())
+		);
+	}
+
+	@Test
+	void codeNameOverridesMismatchedRegistryId() {
+		var sent = ErrorTicket.builder().withError(ErrorCodes.Timeout).withStackTrace(false).build();
+		// a peer whose registry assigned Timeout's id to NotFound
+		var shifted = ErrorTicketReplies.failureCode(ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(false).build());
+
+		var decoded = ErrorTicketReplies.toTicket(
+			new ReplyException(ReplyFailure.RECIPIENT_FAILURE, shifted, ErrorTicketReplies.message(sent)));
+
+		assertSame(ErrorCodes.Timeout, decoded.getError());
+	}
+
+	@Test
+	void foreignReplyExceptionsAreClassified() {
+		assertAll(
+			() -> assertEquals(ErrorCodes.Timeout,
+				ErrorTicketReplies.toTicket(new ReplyException(ReplyFailure.TIMEOUT, -1, "timed out")).getError()),
+			() -> assertEquals(503,
+				ErrorTicketReplies.toTicket(new ReplyException(ReplyFailure.NO_HANDLERS, -1, "none")).getStatus()),
+			() -> assertEquals(409,
+				ErrorTicketReplies.toTicket(new ReplyException(ReplyFailure.RECIPIENT_FAILURE, 409, "conflict")).getStatus()),
+			() -> assertEquals(ErrorCodes.NotFound,
+				ErrorTicket.propagate(ErrorTicketReplies.toReplyException(
+					ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(false).build())).getError())
+		);
+	}
+
+	@Test
+	void ticketCrossesTheEventBus() throws Exception {
+		var vertx = Vertx.vertx();
+		try {
+			var ticket = ErrorTicket.builder()
+				.withError(ErrorCodes.NotFound)
+				.withErrorDetails("user 7")
+				.withStackTrace(false)
+				.build();
+			vertx.eventBus().consumer("users", message -> ErrorTicketReplies.fail(message, ticket));
+
+			var failure = await(vertx.eventBus().request("users", "7", new DeliveryOptions().setSendTimeout(5_000))
+				.transform(ErrorTicketFutures.transform())
+				.transform(result -> Future.succeededFuture(result.cause())));
+			var decoded = (ErrorTicket) failure;
+
+			assertAll(
+				() -> assertEquals(ErrorCodes.NotFound, decoded.getError()),
+				() -> assertEquals(404, decoded.getStatus()),
+				() -> assertEquals("user 7", decoded.getErrorDetails()),
+				() -> assertEquals(ticket.getErrorId(), decoded.getErrorId())
+			);
+		} finally {
+			await(vertx.close());
+		}
+	}
+}
@@ -485,6 +485,23 @@ class CoreErrorTicketTest {
             assertEquals(404, ticket.optStatusCode().orElseThrow());
         }
 
+        @Test
+        @DisplayName("hasStackTrace should follow the stack trace without copying it")
+        void hasStackTraceFollowsStackTrace() {
+            var stackless = ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(false).build();
+            var captured = ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(true).build();
+            var capturedInitially = captured.hasStackTrace();
+            stackless.setStackTrace(captured.getStackTrace());
+            captured.setStackTrace(new StackTraceElement[0]);
+
+            assertAll("stack trace presence",
+                () -> assertTrue(capturedInitially),
+                () -> assertFalse(stackless.hasStackTrace()),
+                () -> assertFalse(captured.hasStackTrace()),
+                () -> assertTrue(new ErrorTicket(new JsonObject().put("code", "NotFound")).hasStackTrace())
+            );
+        }
+
         @Test
         @DisplayName("toString should include populated fields")
         void toStringIncludesFields() {
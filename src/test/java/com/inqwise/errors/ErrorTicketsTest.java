@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -136,9 +137,54 @@ class ErrorTicketsTest {
 
         @Test
         void checkAnyNotNullArrayWithConsumerAllowsCustomization() {
-            assertThrows(NullPointerException.class,
+            var ex = assertThrows(ErrorTicket.class,
                 () -> ErrorTickets.checkAnyNotNull(new Object[] { null },
                     builder -> builder.withErrorDetails("custom-array").withStatusCode(422)));
+
+            assertAll(
+                () -> assertEquals(ErrorCodes.ArgumentNull, ex.getError()),
+                () -> assertEquals("custom-array", ex.getErrorDetails()),
+                () -> assertEquals(422, ex.getStatus())
+            );
+        }
+
+        @Test
+        void checkAllNotNullArrayWithNullElementThrowsTicket() {
+            var ex = assertThrows(ErrorTicket.class,
+                () -> ErrorTickets.checkAllNotNull(new Object[] { "value", null }, builder -> builder.withErrorDetails("array")));
+
+            assertAll(
+                () -> assertEquals(ErrorCodes.ArgumentNull, ex.getError()),
+                () -> assertEquals("array", ex.getErrorDetails()),
+                () -> assertThrows(ErrorTicket.class, () -> ErrorTickets.checkAllNotNull(new Object[] { null }, "plain")),
+                () -> assertThrows(ErrorTicket.class, () -> ErrorTickets.checkAnyNotNull((Object[]) null, "plain"))
+            );
+        }
+
+        @Test
+        void fixedArityCheckAllNotNullRejectsAnyNullPosition() {
+            assertAll(
+                () -> assertDoesNotThrow(() -> ErrorTickets.checkAllNotNull("a", "b", "msg")),
+                () -> assertDoesNotThrow(() -> ErrorTickets.checkAllNotNull("a", "b", "c", "d", "e", "msg")),
+                () -> assertThrows(ErrorTicket.class, () -> ErrorTickets.checkAllNotNull("a", null, "msg")),
+                () -> assertThrows(ErrorTicket.class, () -> ErrorTickets.checkAllNotNull(null, "b", "c", "msg")),
+                () -> assertThrows(ErrorTicket.class, () -> ErrorTickets.checkAllNotNull("a", "b", "c", null, "msg")),
+                () -> assertEquals("five", assertThrows(ErrorTicket.class,
+                    () -> ErrorTickets.checkAllNotNull("a", "b", "c", "d", null, "five")).getErrorDetails())
+            );
+        }
+
+        @Test
+        void fixedArityCheckAnyNotNullRequiresOneValue() {
+            assertAll(
+                () -> assertDoesNotThrow(() -> ErrorTickets.checkAnyNotNull(null, "b", "msg")),
+                () -> assertDoesNotThrow(() -> ErrorTickets.checkAnyNotNull(null, null, null, null, "e", "msg")),
+                () -> assertThrows(ErrorTicket.class, () -> ErrorTickets.checkAnyNotNull(null, null, "msg")),
+                () -> assertThrows(ErrorTicket.class, () -> ErrorTickets.checkAnyNotNull(null, null, null, "msg")),
+                () -> assertThrows(ErrorTicket.class, () -> ErrorTickets.checkAnyNotNull(null, null, null, null, "msg")),
+                () -> assertEquals(ErrorCodes.ArgumentNull, assertThrows(ErrorTicket.class,
+                    () -> ErrorTickets.checkAnyNotNull(null, null, null, null, null, "msg")).getError())
+            );
         }
 
         @Test
@@ -304,5 +350,76 @@ class ErrorTicketsTest {
         void checkArgumentPassesWhenExpressionTrue() {
             assertDoesNotThrow(() -> ErrorTickets.checkArgument(true, "ignored"));
         }
+
+        @Test
+        void checkArgumentWithNullDetailsStillCompiles() {
+            // resolves to the Consumer overload, as before the lazy variant existed
+            assertDoesNotThrow(() -> ErrorTickets.checkArgument(true, null));
+        }
+
+        @Test
+        void checkArgumentSupplierIsOnlyInvokedOnFailure() {
+            var calls = new AtomicInteger();
+            ErrorTickets.checkArgumentLazy(true, () -> "never " + calls.incrementAndGet());
+
+            var ex = assertThrows(ErrorTicket.class,
+                () -> ErrorTickets.checkArgumentLazy(false, () -> "lazy " + calls.incrementAndGet()));
+
+            assertAll(
+                () -> assertEquals(ErrorCodes.ArgumentWrong, ex.getError()),
+                () -> assertEquals("lazy 1", ex.getErrorDetails()),
+                () -> assertEquals(1, calls.get())
+            );
+        }
+
+        @Test
+        void checkArgumentFormatsTemplateOnFailure() {
+            assertAll(
+                () -> assertDoesNotThrow(() -> ErrorTickets.checkArgument(true, "age {}", -1)),
+                () -> assertEquals("age -1", assertThrows(ErrorTicket.class,
+                    () -> ErrorTickets.checkArgument(false, "age {}", -1)).getErrorDetails()),
+                () -> assertEquals("range 1..2", assertThrows(ErrorTicket.class,
+                    () -> ErrorTickets.checkArgument(false, "range {}..{}", 1, 2)).getErrorDetails()),
+                () -> assertEquals("a-b-c", assertThrows(ErrorTicket.class,
+                    () -> ErrorTickets.checkArgument(false, "{}-{}-{}", "a", "b", "c")).getErrorDetails())
+            );
+        }
+
+        @Test
+        void checkArgumentWithErrorCodeSupportsLazyMessages() {
+            var supplied = assertThrows(ErrorTicket.class,
+                () -> ErrorTickets.checkArgument(false, ErrorCodes.NotPermitted, () -> "denied"));
+            var templated = assertThrows(ErrorTicket.class,
+                () -> ErrorTickets.checkArgument(false, ErrorCodes.NotPermitted, "user {} on {}", 7, "orders"));
+
+            assertAll(
+                () -> assertEquals(ErrorCodes.NotPermitted, supplied.getError()),
+                () -> assertEquals("denied", supplied.getErrorDetails()),
+                () -> assertEquals(ErrorCodes.GROUP, templated.getErrorGroup()),
+                () -> assertEquals("user 7 on orders", templated.getErrorDetails()),
+                () -> assertDoesNotThrow(() -> ErrorTickets.checkArgument(true, ErrorCodes.NotPermitted, "x {}", 1))
+            );
+        }
+
+        @Test
+        void checkNotNullWithErrorCodeSupportsLazyMessages() {
+            var value = UUID.randomUUID();
+            var supplied = assertThrows(ErrorTicket.class,
+                () -> ErrorTickets.checkNotNull(null, ErrorCodes.NotFound, () -> "gone"));
+            var templated = assertThrows(ErrorTicket.class,
+                () -> ErrorTickets.checkNotNull(null, ErrorCodes.NotFound, "{}/{}/{}", "a", "b", "c"));
+
+            assertAll(
+                () -> assertSame(value, ErrorTickets.checkNotNull(value, ErrorCodes.NotFound, "user {}", 1)),
+                () -> assertSame(value, ErrorTickets.checkNotNull(value, ErrorCodes.NotFound, () -> "unused")),
+                () -> assertEquals(ErrorCodes.NotFound, supplied.getError()),
+                () -> assertEquals("gone", supplied.getErrorDetails()),
+                () -> assertEquals("a/b/c", templated.getErrorDetails()),
+                () -> assertEquals("x 1 2", assertThrows(ErrorTicket.class,
+                    () -> ErrorTickets.checkNotNull(null, ErrorCodes.NotFound, "x {} {}", 1, 2)).getErrorDetails()),
+                () -> assertThrows(NullPointerException.class,
+                    () -> ErrorTickets.checkNotNull(value, (ErrorCode) null, () -> "code"))
+            );
+        }
     }
 }
@@ -0,0 +1,73 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+class ExceptionMappersTest {
+
+	@Test
+	void builtInRulesClassifyCommonExceptions() {
+		var timeout = ErrorTicket.propagate(new TimeoutException("slow"));
+		var numberFormat = ErrorTicket.propagate(new NumberFormatException("abc"));
+
+		assertAll(
+			() -> assertEquals(ErrorCodes.Timeout, timeout.getError()),
+			() -> assertEquals(504, timeout.getStatus()),
+			() -> assertEquals("java.util.concurrent.TimeoutException:slow", timeout.getErrorDetails()),
+			() -> assertEquals(ErrorCodes.ArgumentWrong, numberFormat.getError()),
+			() -> assertEquals(400, numberFormat.getStatus())
+		);
+	}
+
+	@Test
+	void sqlExceptionsAreClassifiedBySqlState() {
+		var duplicate = ErrorTicket.propagate(new SQLIntegrityConstraintViolationException("dup", "23505"));
+		var foreignKey = ErrorTicket.propagate(new SQLException("fk", "23503"));
+		var data = ErrorTicket.propagate(new SQLException("too long", "22001"));
+		var connection = ErrorTicket.propagate(new SQLException("down", "08006"));
+		var cancelled = ErrorTicket.propagate(new SQLException("cancel", "57014"));
+		var unknown = ErrorTicket.propagate(new SQLException("other", "XX000"));
+		var noState = ErrorTicket.propagate(new SQLException("none"));
+
+		assertAll(
+			() -> assertEquals(ErrorCodes.AlreadyExist, duplicate.getError()),
+			() -> assertEquals(409, foreignKey.getStatus()),
+			() -> assertEquals(ErrorCodes.ArgumentWrong, data.getError()),
+			() -> assertEquals(503, connection.getStatus()),
+			() -> assertEquals(ErrorCodes.Timeout, cancelled.getError()),
+			() -> assertEquals(ErrorCodes.GeneralError, unknown.getError()),
+			() -> assertEquals(500, unknown.getStatus()),
+			() -> assertEquals(ErrorCodes.GeneralError, noState.getError())
+		);
+	}
+
+	@Test
+	void serviceMappersAreAppliedAndMayDefer() {
+		var mapped = ErrorTicket.propagate(new UncheckedIOException("missing file", new IOException()));
+		var deferred = ErrorTicket.propagate(new UncheckedIOException("defer", new IOException()));
+
+		assertAll(
+			() -> assertEquals(ErrorCodes.NotFound, mapped.getError()),
+			() -> assertEquals("missing file", mapped.getErrorDetails()),
+			() -> assertEquals(ErrorCodes.GeneralError, deferred.getError())
+		);
+	}
+
+	@Test
+	void creatorStillOverridesMappedTicket() {
+		var ticket = ErrorTicket.propagate(new TimeoutException(), builder -> builder.withStatusCode(503));
+
+		assertAll(
+			() -> assertEquals(ErrorCodes.Timeout, ticket.getError()),
+			() -> assertEquals(503, ticket.getStatus()),
+			() -> assertEquals("java.util.concurrent.TimeoutException", ticket.getErrorDetails())
+		);
+	}
+}
@@ -0,0 +1,16 @@
+package com.inqwise.errors;
+
+/**
+ * Codes of a provider that does not enumerate them, as third-party providers written before
+ * {@link com.inqwise.errors.spi.ErrorCodeProvider#values()} existed.
+ */
+public enum LegacyErrorCodes implements ErrorCode {
+	Expired;
+
+	public static final String GROUP = "legacy";
+
+	@Override
+	public String group() {
+		return GROUP;
+	}
+}
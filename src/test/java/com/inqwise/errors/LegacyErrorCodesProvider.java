@@ -0,0 +1,17 @@
+package com.inqwise.errors;
+
+import com.google.common.base.Enums;
+import com.inqwise.errors.spi.ErrorCodeProvider;
+
+public class LegacyErrorCodesProvider implements ErrorCodeProvider {
+
+	@Override
+	public String group() {
+		return LegacyErrorCodes.GROUP;
+	}
+
+	@Override
+	public ErrorCode valueOf(String errorCodeName) {
+		return Enums.getIfPresent(LegacyErrorCodes.class, errorCodeName).orNull();
+	}
+}
@@ -0,0 +1,49 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LongKeyedTableTest {
+
+	@Test
+	void putIfAbsentKeepsThePresentValueAndStopsWhenFull() {
+		var table = new LongKeyedTable<String>(2);
+
+		assertAll(
+			() -> assertEquals("a", table.putIfAbsent(1, "a")),
+			() -> assertEquals("a", table.putIfAbsent(1, "other")),
+			() -> assertEquals("b", table.putIfAbsent(2, "b")),
+			() -> assertNull(table.putIfAbsent(3, "c")),
+			() -> assertEquals(2, table.size()),
+			() -> assertEquals("b", table.get(2)),
+			() -> assertNull(table.get(3))
+		);
+	}
+
+	@Test
+	void removalKeepsCollidingKeysReachable() {
+		var table = new LongKeyedTable<String>(4);
+		// equal low bits: all three keys share a home slot and form one probe run
+		long first = 5;
+		long second = 5 + (1L << 40);
+		long third = 5 + (2L << 40);
+		table.putIfAbsent(first, "first");
+		table.putIfAbsent(second, "second");
+		table.putIfAbsent(third, "third");
+
+		assertAll(
+			() -> assertFalse(table.remove(first, "other")),
+			() -> assertTrue(table.remove(first, "first")),
+			() -> assertNull(table.get(first)),
+			() -> assertEquals("second", table.get(second)),
+			() -> assertEquals("third", table.get(third)),
+			() -> assertTrue(table.remove(third, "third")),
+			() -> assertEquals(List.of("second"), table.values()),
+			() -> assertEquals("d", table.putIfAbsent(7, "d")),
+			() -> assertEquals(2, table.size())
+		);
+	}
+}
@@ -0,0 +1,220 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.vertx.core.json.JsonObject;
+
+class MappedErrorJournalTest {
+
+	@TempDir
+	Path directory;
+
+	private static void appendUntilAccepted(MappedErrorJournal journal, ErrorTicket ticket) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!journal.append(ticket)) {
+			assertTrue(System.nanoTime() < deadline, "next segment was not prepared");
+			Thread.sleep(1);
+		}
+	}
+
+	@Test
+	void readsAppendedTicketsBackInOrder() throws Exception {
+		var tickets = new ArrayList<ErrorTicket>();
+		try (var journal = MappedErrorJournal.builder(directory).build()) {
+			for (var code : List.of(ErrorCodes.NotFound, ErrorCodes.Timeout, ErrorCodes.ArgumentWrong)) {
+				var ticket = ErrorTickets.stackless(code, null);
+				tickets.add(ticket);
+				assertTrue(journal.append(ticket));
+			}
+			assertEquals(3, journal.appended());
+		}
+
+		var reader = ErrorJournalReader.open(directory);
+		var entries = reader.entries().toList();
+
+		assertAll(
+			() -> assertEquals(1, reader.getSegments().size()),
+			() -> assertEquals(3, entries.size()),
+			() -> assertEquals(tickets.get(0).getErrorId(), entries.get(0).ticket().getErrorId()),
+			() -> assertSame(ErrorCodes.Timeout, entries.get(1).ticket().getError()),
+			() -> assertEquals(400, entries.get(2).ticket().getStatus()),
+			() -> assertEquals(0, reader.corrupted())
+		);
+	}
+
+	@Test
+	void rollsSegmentsAndKeepsTheNewest() throws Exception {
+		try (var journal = MappedErrorJournal.builder(directory).segmentSize(4096).maxSegments(3).build()) {
+			for (int i = 0; i < 300; i++) {
+				appendUntilAccepted(journal, ErrorTickets.stackless(ErrorCodes.GeneralError, null));
+			}
+		}
+
+		var reader = ErrorJournalReader.open(directory);
+		var entries = reader.entries().toList();
+
+		assertAll(
+			() -> assertTrue(reader.getSegments().size() <= 3, reader.getSegments()::toString),
+			() -> assertTrue(entries.size() > 0 && entries.size() < 300, () -> String.valueOf(entries.size())),
+			() -> assertEquals(0, reader.corrupted())
+		);
+	}
+
+	@Test
+	void seeksAndExportsByTimestamp() throws Exception {
+		var now = new AtomicLong(1_000_000);
+		try (var journal = MappedErrorJournal.builder(directory).segmentSize(4096).clock(now::get).build()) {
+			for (int i = 0; i < 200; i++) {
+				appendUntilAccepted(journal, ErrorTickets.stackless(ErrorCodes.NotFound, null));
+				now.addAndGet(1_000);
+			}
+		}
+		var reader = ErrorJournalReader.open(directory);
+		var from = Instant.ofEpochMilli(1_000_000 + 150 * 1_000);
+
+		var since = reader.since(from).toList();
+		var out = new ByteArrayOutputStream();
+		long exported = reader.export(out, from);
+		var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+		assertAll(
+			() -> assertTrue(reader.getSegments().size() > 2),
+			() -> assertEquals(50, since.size()),
+			() -> assertEquals(from, since.get(0).timestamp()),
+			() -> assertEquals(50, exported),
+			() -> assertEquals(50, lines.length),
+			() -> assertEquals(from.toString(), new JsonObject(lines[0]).getString(ErrorJournalReader.TIMESTAMP)),
+			() -> assertEquals("NotFound", new JsonObject(lines[49]).getString(ErrorTicket.Keys.CODE))
+		);
+	}
+
+	@Test
+	void skipsCorruptedRecords() throws Exception {
+		try (var journal = MappedErrorJournal.builder(directory).build()) {
+			journal.append(ErrorTickets.stackless(ErrorCodes.NotFound, null));
+			journal.append(ErrorTickets.stackless(ErrorCodes.Timeout, null));
+		}
+		var segment = ErrorJournalReader.open(directory).getSegments().get(0);
+		try (var channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			// flip a payload byte of the first record
+			channel.write(ByteBuffer.wrap(new byte[] { 0x7F }), MappedErrorJournal.SEGMENT_HEADER + MappedErrorJournal.RECORD_HEADER + 4);
+		}
+
+		var reader = ErrorJournalReader.open(directory);
+		var entries = reader.entries().toList();
+
+		assertAll(
+			() -> assertEquals(1, entries.size()),
+			() -> assertSame(ErrorCodes.Timeout, entries.get(0).ticket().getError()),
+			() -> assertEquals(1, reader.corrupted())
+		);
+	}
+
+	@Test
+	void resumesAfterARecordWhoseHeaderWasNeverWritten() throws Exception {
+		try (var journal = MappedErrorJournal.builder(directory).build()) {
+			journal.append(ErrorTickets.stackless(ErrorCodes.NotFound, null));
+			journal.append(ErrorTickets.stackless(ErrorCodes.Timeout, null));
+			journal.append(ErrorTickets.stackless(ErrorCodes.ArgumentWrong, null));
+		}
+		var segment = ErrorJournalReader.open(directory).getSegments().get(0);
+		try (var channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			var header = ByteBuffer.allocate(4);
+			channel.read(header, MappedErrorJournal.SEGMENT_HEADER);
+			int second = MappedErrorJournal.SEGMENT_HEADER + MappedErrorJournal.align(MappedErrorJournal.RECORD_HEADER + header.getInt(0));
+			header.clear();
+			channel.read(header, second);
+			// a writer reserved the second record and died before writing any of it
+			channel.write(ByteBuffer.allocate(MappedErrorJournal.align(MappedErrorJournal.RECORD_HEADER + header.getInt(0))), second);
+		}
+
+		var reader = ErrorJournalReader.open(directory);
+		var entries = reader.entries().toList();
+
+		assertAll(
+			() -> assertEquals(2, entries.size()),
+			() -> assertSame(ErrorCodes.NotFound, entries.get(0).ticket().getError()),
+			() -> assertSame(ErrorCodes.ArgumentWrong, entries.get(1).ticket().getError()),
+			() -> assertEquals(1, reader.corrupted())
+		);
+	}
+
+	@Test
+	void dropsRecordsThatDoNotFit() throws Exception {
+		try (var journal = MappedErrorJournal.builder(directory).segmentSize(4096).build()) {
+			var large = ErrorTicket.builder().withError(ErrorCodes.GeneralError).withDetails("x".repeat(5_000)).withStackTrace(false).build();
+
+			assertAll(
+				() -> assertFalse(journal.append(large)),
+				() -> assertEquals(1, journal.dropped()),
+				() -> assertTrue(journal.append(ErrorTickets.stackless(ErrorCodes.NotFound, null)))
+			);
+		}
+	}
+
+	@Test
+	void concurrentAppendsAreReadBack() throws Exception {
+		var executor = Executors.newFixedThreadPool(4);
+		try (var journal = MappedErrorJournal.builder(directory).build().install()) {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 1_000; i++) {
+						ErrorTickets.stackless(ErrorCodes.Timeout, null);
+					}
+				}));
+			}
+			for (var future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+			assertTrue(journal.uninstall());
+			assertEquals(4_000, journal.appended());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		var reader = ErrorJournalReader.open(directory);
+		assertAll(
+			() -> assertEquals(4_000, reader.entries().count()),
+			() -> assertEquals(0, reader.corrupted())
+		);
+	}
+
+	@Test
+	void reopeningStartsANewSegment() throws Exception {
+		try (var journal = MappedErrorJournal.builder(directory).forceInterval(Duration.ofMillis(10)).build()) {
+			journal.append(ErrorTickets.stackless(ErrorCodes.NotFound, null));
+		}
+		try (var journal = MappedErrorJournal.builder(directory).build()) {
+			journal.append(ErrorTickets.stackless(ErrorCodes.Timeout, null));
+		}
+
+		var reader = ErrorJournalReader.open(directory);
+		var entries = reader.entries().toList();
+
+		assertAll(
+			() -> assertEquals(2, reader.getSegments().size()),
+			() -> assertEquals(1, ErrorJournalReader.index(reader.getSegments().get(1)) - ErrorJournalReader.index(reader.getSegments().get(0))),
+			() -> assertSame(ErrorCodes.NotFound, entries.get(0).ticket().getError()),
+			() -> assertSame(ErrorCodes.Timeout, entries.get(1).ticket().getError())
+		);
+	}
+}
@@ -0,0 +1,135 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.inqwise.errors.ObjectValidator.Matches;
+import com.inqwise.errors.ObjectValidator.NotNull;
+import com.inqwise.errors.ObjectValidator.Range;
+
+class ObjectValidatorTest {
+
+	record CreateUser(@NotNull @Matches("[^@]+@[^@]+") String email,
+			@Range(min = 18, max = 130) int age,
+			@Range(min = 0, max = 1) double ratio,
+			@Range(max = 100) BigDecimal amount,
+			String unchecked) {
+	}
+
+	static class BaseEntity {
+		@NotNull
+		private String id;
+	}
+
+	static class Order extends BaseEntity {
+		@Range(min = 1)
+		private Long quantity;
+		@Matches("[A-Z]{3}")
+		private String currency;
+
+		Order(String id, Long quantity, String currency) {
+			((BaseEntity) this).id = id;
+			this.quantity = quantity;
+			this.currency = currency;
+		}
+	}
+
+	static class Misconfigured {
+		@Range(max = 1)
+		private String text;
+	}
+
+	@Test
+	void validRecordPasses() {
+		var user = new CreateUser("a@b.c", 30, 0.5, BigDecimal.TEN, null);
+
+		assertAll(
+			() -> assertTrue(ObjectValidator.of(CreateUser.class).validate(user).isValid()),
+			() -> assertSame(user, ObjectValidator.checkValid(user))
+		);
+	}
+
+	@Test
+	void recordViolationsAreReportedTogether() {
+		var user = new CreateUser("nope", 12, 1.5, new BigDecimal("100.01"), null);
+
+		var ticket = assertThrows(ErrorTicket.class, () -> ObjectValidator.of(CreateUser.class).check(user));
+		var violations = ObjectValidator.of(CreateUser.class).validate(user).getViolations();
+
+		assertAll(
+			() -> assertEquals(ErrorCodes.ArgumentWrong, ticket.getError()),
+			() -> assertEquals(List.of("email", "age", "ratio", "amount"),
+				violations.stream().map(Validation.Violation::name).toList()),
+			() -> assertEquals(ErrorCodes.ArgumentWrong, violations.get(0).errorCode()),
+			() -> assertEquals(ErrorCodes.ArgumentOutOfRange, violations.get(1).errorCode()),
+			() -> assertEquals("must be between 18 and 130", violations.get(1).reason())
+		);
+	}
+
+	@Test
+	void nullPropertyReportsArgumentNull() {
+		var ticket = assertThrows(ErrorTicket.class,
+			() -> ObjectValidator.checkValid(new CreateUser(null, 20, 0, null, null)));
+
+		assertAll(
+			() -> assertEquals(ErrorCodes.ArgumentNull, ticket.getError()),
+			() -> assertEquals("must not be null", ticket.getErrorDetails())
+		);
+	}
+
+	@Test
+	void pojoFieldsIncludingInheritedOnesAreValidated() {
+		var validator = ObjectValidator.of(Order.class);
+		var violations = validator.validate(new Order(null, 0L, "usd")).getViolations();
+
+		assertAll(
+			() -> assertEquals(List.of("id", "quantity", "currency"), validator.getPropertyNames()),
+			() -> assertEquals(3, violations.size()),
+			() -> assertEquals(ErrorCodes.ArgumentNull, violations.get(0).errorCode()),
+			() -> assertEquals(ErrorCodes.ArgumentOutOfRange, violations.get(1).errorCode()),
+			() -> assertTrue(validator.validate(new Order("o-1", null, null)).isValid())
+		);
+	}
+
+	@Test
+	void validatorsAreCachedPerClass() {
+		assertSame(ObjectValidator.of(Order.class), ObjectValidator.of(Order.class));
+	}
+
+	@Test
+	void validateIntoExistingValidationCombinesChecks() {
+		var validation = Validation.collectAll().checkParam("token", false, "expired");
+
+		ObjectValidator.of(Order.class).validate(new Order(null, 5L, "EUR"), validation);
+
+		assertEquals(2, validation.getViolations().size());
+	}
+
+	@Test
+	void unsupportedConstraintIsRejectedAtCompileTime() {
+		assertAll(
+			() -> assertThrows(IllegalArgumentException.class, () -> ObjectValidator.of(Misconfigured.class)),
+			() -> assertThrows(ErrorTicket.class, () -> ObjectValidator.checkValid(null))
+		);
+	}
+
+	@Test
+	void sourcePointsAtCallerNotObjectValidator() {
+		var previous = ErrorTicket.getStackCapturePolicy();
+		try {
+			ErrorTicket.setStackCapturePolicy(StackCapturePolicy.sourceOnlyForClientErrors());
+			var ticket = assertThrows(ErrorTicket.class, () -> ObjectValidator.checkValid(new Order(null, 5L, "EUR")));
+
+			assertAll(
+				() -> assertTrue(ticket.getSource().startsWith(ObjectValidatorTest.class.getName() + "."), ticket.getSource()),
+				() -> assertEquals(0, ticket.getStackTrace().length)
+			);
+		} finally {
+			ErrorTicket.setStackCapturePolicy(previous);
+		}
+	}
+}
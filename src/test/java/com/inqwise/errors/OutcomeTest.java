@@ -0,0 +1,138 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+
+class OutcomeTest {
+
+	@Test
+	void commonSuccessesAreCachedSingletons() {
+		assertAll(
+			() -> assertSame(Outcome.success(null), Outcome.success(null)),
+			() -> assertSame(Outcome.success(true), Outcome.success(Boolean.TRUE)),
+			() -> assertSame(Outcome.success(false), Outcome.success(Boolean.FALSE)),
+			() -> assertNotSame(Outcome.success(true), Outcome.success(false)),
+			() -> assertEquals(Outcome.success("a"), Outcome.success("a"))
+		);
+	}
+
+	@Test
+	void failuresFromErrorCodesAreStackless() {
+		Outcome<String> outcome = Outcome.failure(ErrorCodes.NotFound, "user 7");
+
+		assertAll(
+			() -> assertTrue(outcome.isFailure()),
+			() -> assertEquals(ErrorCodes.NotFound, outcome.getError().getError()),
+			() -> assertEquals("user 7", outcome.getError().getErrorDetails()),
+			() -> assertEquals(0, outcome.getError().getStackTrace().length),
+			() -> assertSame(outcome.getError(), assertThrows(ErrorTicket.class, outcome::get)),
+			() -> assertEquals("fallback", outcome.orElse("fallback")),
+			() -> assertEquals("lazy", outcome.orElseGet(() -> "lazy"))
+		);
+	}
+
+	@Test
+	void mapAndFlatMapShortCircuitOnFailure() {
+		var success = Outcome.success(2).map(v -> v * 21).flatMap(v -> Outcome.success("v" + v));
+		Outcome<Integer> failure = Outcome.failure(ErrorCodes.ArgumentWrong, "bad");
+		var mapped = failure.map(v -> {
+			throw new AssertionError("not called");
+		});
+
+		assertAll(
+			() -> assertEquals("v42", success.get()),
+			() -> assertSame(failure, mapped),
+			() -> assertSame(failure, failure.flatMap(v -> Outcome.success(v)))
+		);
+	}
+
+	@Test
+	void recoverTurnsFailuresIntoSuccesses() {
+		Outcome<String> failure = Outcome.failure(ErrorCodes.NotFound, "gone");
+		var seen = new AtomicReference<ErrorTicket>();
+
+		var recovered = failure.onFailure(seen::set).recover(ticket -> ticket.getErrorDetails() + "!");
+		var success = Outcome.success("kept");
+
+		assertAll(
+			() -> assertEquals("gone!", recovered.get()),
+			() -> assertSame(failure.getError(), seen.get()),
+			() -> assertSame(success, success.recover(ticket -> "other")),
+			() -> assertEquals("again", failure.recoverWith(ticket -> Outcome.success("again")).get())
+		);
+	}
+
+	@Test
+	void attemptPropagatesThrownExceptions() {
+		var failure = Outcome.attempt(() -> {
+			throw new IllegalStateException("boom");
+		});
+		var ticket = ErrorTickets.general("kept");
+		var ticketFailure = Outcome.attempt(() -> {
+			throw ticket;
+		});
+
+		assertAll(
+			() -> assertEquals(ErrorCodes.GeneralError, failure.getError().getError()),
+			() -> assertSame(ticket, ticketFailure.getError()),
+			() -> assertEquals(5, Outcome.attempt(() -> 5).get())
+		);
+	}
+
+	@Test
+	void interoperatesWithVertxFutures() {
+		var ticket = ErrorTickets.general("failed");
+		var fromFailed = Outcome.from(Future.<String>failedFuture(ticket));
+		var fromPlain = Outcome.of(Future.<String>failedFuture(new IllegalStateException("plain")));
+
+		assertAll(
+			() -> assertEquals("ok", Outcome.success("ok").toFuture().result()),
+			() -> assertSame(ticket, Outcome.failure(ticket).toFuture().cause()),
+			() -> assertTrue(fromFailed.succeeded()),
+			() -> assertSame(ticket, fromFailed.result().getError()),
+			() -> assertEquals(ErrorCodes.GeneralError, fromPlain.getError().getError()),
+			() -> assertEquals("v", Outcome.of(Future.succeededFuture("v")).get())
+		);
+	}
+
+	@Test
+	void interoperatesWithCompletionStages() throws Exception {
+		var ticket = ErrorTickets.general("failed");
+		var failedStage = CompletableFuture.<String>supplyAsync(() -> {
+			throw ticket;
+		});
+
+		var outcome = Outcome.from(failedStage).toCompletableFuture().get();
+		var failed = Outcome.failure(ticket).toCompletionStage().toCompletableFuture();
+
+		assertAll(
+			() -> assertSame(ticket, outcome.getError()),
+			() -> assertEquals("v", Outcome.from(CompletableFuture.completedFuture("v")).toCompletableFuture().get().get()),
+			() -> assertSame(ticket, assertThrows(ExecutionException.class, failed::get).getCause())
+		);
+	}
+
+	@Test
+	void errorTicketsOutcomeGuardsDoNotThrow() {
+		var missing = ErrorTickets.checkNotNullOutcome(null, "missing");
+		var notFound = ErrorTickets.checkNotNullOutcome(null, ErrorCodes.NotFound, () -> "user 1");
+		var wrong = ErrorTickets.checkArgumentOutcome(false, "bad");
+
+		assertAll(
+			() -> assertEquals("x", ErrorTickets.checkNotNullOutcome("x", "unused").get()),
+			() -> assertEquals(ErrorCodes.ArgumentNull, missing.getError().getError()),
+			() -> assertEquals(0, missing.getError().getStackTrace().length),
+			() -> assertEquals(404, notFound.getError().getStatus()),
+			() -> assertEquals(ErrorCodes.ArgumentWrong, wrong.getError().getError()),
+			() -> assertSame(Outcome.success(null), ErrorTickets.checkArgumentOutcome(true, "unused")),
+			() -> assertTrue(ErrorTickets.checkArgumentOutcome(false, ErrorCodes.NotPermitted, () -> "no").isFailure())
+		);
+	}
+}
@@ -0,0 +1,142 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class SampledStackCapturePolicyTest {
+
+	@Test
+	void capturesFirstOccurrencesThenSamples() {
+		var policy = StackCapturePolicy.sampled().firstPerWindow(2).sampleOneIn(3)
+			.ticker(() -> 0L).build();
+
+		var decisions = new boolean[8];
+		for (int i = 0; i < decisions.length; i++) {
+			decisions[i] = policy.shouldCapture(ErrorCodes.NotFound);
+		}
+		var counters = policy.counters();
+
+		assertAll(
+			() -> assertArrayEquals(new boolean[] { true, true, false, false, true, false, false, true }, decisions),
+			() -> assertEquals(2, counters.captured()),
+			() -> assertEquals(2, counters.sampled()),
+			() -> assertEquals(4, counters.suppressed()),
+			() -> assertEquals(8, counters.total()),
+			() -> assertEquals(1, counters.trackedCodes())
+		);
+	}
+
+	@Test
+	void countsCodesIndependently() {
+		var policy = StackCapturePolicy.sampled().firstPerWindow(1).sampleOneIn(0)
+			.ticker(() -> 0L).build();
+
+		assertAll(
+			() -> assertTrue(policy.shouldCapture(ErrorCodes.NotFound)),
+			() -> assertFalse(policy.shouldCapture(ErrorCodes.NotFound)),
+			() -> assertTrue(policy.shouldCapture(ErrorCodes.ArgumentNull)),
+			() -> assertTrue(policy.shouldCapture(null)),
+			() -> assertFalse(policy.shouldCapture(null))
+		);
+	}
+
+	@Test
+	void windowRolloverRestoresBudget() {
+		var now = new AtomicLong();
+		var policy = StackCapturePolicy.sampled().firstPerWindow(1).sampleOneIn(0)
+			.window(Duration.ofSeconds(1)).ticker(now::get).build();
+
+		assertTrue(policy.shouldCapture(ErrorCodes.GeneralError));
+		assertFalse(policy.shouldCapture(ErrorCodes.GeneralError));
+		now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+		assertTrue(policy.shouldCapture(ErrorCodes.GeneralError));
+	}
+
+	@Test
+	void overflowCodesShareOneWindow() {
+		var policy = StackCapturePolicy.sampled().firstPerWindow(1).sampleOneIn(0).maxTrackedCodes(1)
+			.ticker(() -> 0L).build();
+
+		policy.shouldCapture(ErrorCodes.NotFound);
+		var first = policy.shouldCapture(ErrorCodes.ArgumentNull);
+		var second = policy.shouldCapture(ErrorCodes.ArgumentWrong);
+
+		assertAll(
+			() -> assertTrue(first),
+			() -> assertFalse(second),
+			() -> assertEquals(2, policy.counters().trackedCodes())
+		);
+	}
+
+	@Test
+	void undefinedCodesShareAWindowByGroupAndName() {
+		var policy = StackCapturePolicy.sampled().firstPerWindow(1).sampleOneIn(0).maxTrackedCodes(4)
+			.ticker(() -> 0L).build();
+		var ticket = ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(false).build();
+
+		var first = policy.shouldCapture(ticket.new UndefinedErrorCode("quota_exceeded", "billing"));
+		var repeat = policy.shouldCapture(ticket.new UndefinedErrorCode("quota_exceeded", "billing"));
+		var otherGroup = policy.shouldCapture(ticket.new UndefinedErrorCode("quota_exceeded", "other"));
+		for (int i = 0; i < 10; i++) {
+			policy.shouldCapture(ticket.new UndefinedErrorCode("quota_exceeded", "billing"));
+		}
+
+		assertAll(
+			() -> assertTrue(first),
+			() -> assertFalse(repeat),
+			() -> assertTrue(otherGroup),
+			() -> assertEquals(2, policy.counters().trackedCodes()),
+			() -> assertTrue(policy.shouldCapture(ErrorCodes.NotFound))
+		);
+	}
+
+	@Test
+	void resetClearsCounters() {
+		var policy = StackCapturePolicy.sampled().ticker(() -> 0L).build();
+		policy.shouldCapture(ErrorCodes.NotFound);
+
+		policy.reset();
+
+		assertEquals(0, policy.counters().total());
+	}
+
+	@Test
+	void builderRejectsInvalidSettings() {
+		assertAll(
+			() -> assertThrows(IllegalArgumentException.class, () -> StackCapturePolicy.sampled().firstPerWindow(-1)),
+			() -> assertThrows(IllegalArgumentException.class, () -> StackCapturePolicy.sampled().sampleOneIn(-1)),
+			() -> assertThrows(IllegalArgumentException.class, () -> StackCapturePolicy.sampled().window(Duration.ZERO)),
+			() -> assertThrows(IllegalArgumentException.class, () -> StackCapturePolicy.sampled().maxTrackedCodes(0))
+		);
+	}
+
+	@Test
+	void builderHonorsActivePolicy() {
+		var previous = ErrorTicket.getStackCapturePolicy();
+		try {
+			ErrorTicket.setStackCapturePolicy(StackCapturePolicy.never());
+			var stackless = ErrorTicket.builder().withError(ErrorCodes.NotFound).build();
+			var forced = ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(true).build();
+
+			assertAll(
+				() -> assertEquals(0, stackless.getStackTrace().length),
+				() -> assertTrue(forced.getStackTrace().length > 0),
+				() -> assertEquals(404, stackless.getStatus())
+			);
+		} finally {
+			ErrorTicket.setStackCapturePolicy(previous);
+		}
+	}
+
+	@Test
+	void withStackTraceFalseBuildsStacklessTicket() {
+		var ticket = ErrorTicket.builder().withError(ErrorCodes.GeneralError).withStackTrace(false).build();
+
+		assertEquals(0, ticket.getStackTrace().length);
+	}
+}
@@ -2,6 +2,7 @@ package com.inqwise.errors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
@@ -219,6 +220,195 @@ class StackTraceFocuserTest {
 		);
 	}
 
+	@Test
+	void focusedFramesReturnsInputWhenNothingDropped() {
+		var focuser = StackTraceFocuser.builder().skipDefaultPatterns().addClass("^com\\.drop\\.").build();
+		var untouched = new StackTraceElement[] {
+			new StackTraceElement("com.keep.Type", "run", "Type.java", 1)
+		};
+		var mixed = new StackTraceElement[] {
+			new StackTraceElement("com.drop.Type", "run", "Type.java", 1),
+			new StackTraceElement("com.keep.Type", "run", "Type.java", 2)
+		};
+
+		assertAll(
+			() -> assertSame(untouched, focuser.focusedFrames(untouched)),
+			() -> assertEquals(1, focuser.focusedFrames(mixed).length),
+			() -> assertEquals(2, mixed.length),
+			() -> assertTrue(focuser.isFocused(mixed[1])),
+			() -> assertFalse(focuser.isFocused(mixed[0]))
+		);
+	}
+
+	@Test
+	void formatToRendersFocusedFramesWithoutMutatingThrowable() {
+		var cause = new IllegalStateException("inner");
+		cause.setStackTrace(new StackTraceElement[] {
+			new StackTraceElement("java.lang.Thread", "run", "Thread.java", 10),
+			new StackTraceElement("com.keep.Inner", "call", "Inner.java", 20)
+		});
+		var original = new RuntimeException("outer", cause);
+		original.setStackTrace(new StackTraceElement[] {
+			new StackTraceElement("java.util.concurrent.FutureTask", "run", "FutureTask.java", 30),
+			new StackTraceElement("com.keep.Outer", "execute", null, -1)
+		});
+
+		var buffer = new StringBuilder();
+		StackTraceFocuser.defaultInstance().formatTo(original, buffer);
+		var rendered = buffer.toString();
+
+		assertAll(
+			() -> assertTrue(rendered.startsWith("java.lang.RuntimeException: outer")),
+			() -> assertTrue(rendered.contains("\tat com.keep.Outer.execute(Unknown Source)")),
+			() -> assertTrue(rendered.contains("Caused by: java.lang.IllegalStateException: inner")),
+			() -> assertTrue(rendered.contains("\tat com.keep.Inner.call(Inner.java:20)")),
+			() -> assertFalse(rendered.contains("FutureTask")),
+			() -> assertFalse(rendered.contains("java.lang.Thread")),
+			() -> assertEquals(2, original.getStackTrace().length)
+		);
+	}
+
+	@Test
+	void formatToIndentsSuppressedAndStopsAtCycles() {
+		var first = new RuntimeException("first");
+		first.setStackTrace(new StackTraceElement[] { new StackTraceElement("com.keep.A", "a", "A.java", 1) });
+		var second = new IllegalStateException("second", first);
+		second.setStackTrace(new StackTraceElement[] { new StackTraceElement("com.keep.B", "b", "B.java", 2) });
+		first.initCause(second);
+		var suppressed = new IllegalArgumentException("suppressed");
+		suppressed.setStackTrace(new StackTraceElement[] { new StackTraceElement("com.keep.C", "c", "C.java", 3) });
+		first.addSuppressed(suppressed);
+
+		var buffer = new StringBuilder();
+		StackTraceFocuser.defaultInstance().formatTo(first, buffer);
+		var lines = buffer.toString().split("\\R");
+
+		assertArrayEquals(new String[] {
+			"java.lang.RuntimeException: first",
+			"\tat com.keep.A.a(A.java:1)",
+			"\tSuppressed: java.lang.IllegalArgumentException: suppressed",
+			"\t\tat com.keep.C.c(C.java:3)",
+			"Caused by: java.lang.IllegalStateException: second",
+			"\tat com.keep.B.b(B.java:2)",
+			"Caused by: [CIRCULAR REFERENCE: java.lang.RuntimeException: first]"
+		}, lines);
+	}
+
+	@Test
+	void fingerprintIgnoresMessagesAndUnfocusedFrames() {
+		var focuser = StackTraceFocuser.builder().skipDefaultPatterns().addClass("^com\\.drop\\.").build();
+		var first = throwableAt("first", 10, "com.drop.A");
+		var second = throwableAt("second", 10, "com.drop.B");
+		var otherLine = throwableAt("first", 11, "com.drop.A");
+
+		assertAll(
+			() -> assertEquals(focuser.fingerprint(first), focuser.fingerprint(second)),
+			() -> assertNotEquals(focuser.fingerprint(first), focuser.fingerprint(otherLine)),
+			() -> assertNotEquals(focuser.fingerprint(first),
+				focuser.fingerprint(new RuntimeException("wrapped", first))),
+			() -> assertEquals(0L, focuser.fingerprint(null))
+		);
+	}
+
+	@Test
+	void fingerprintAllMatchesSequentialFingerprints() {
+		var focuser = StackTraceFocuser.builder().skipDefaultPatterns().addClass("^com\\.drop\\.")
+			.parallelThreshold(8).build();
+		var batch = new java.util.ArrayList<Throwable>();
+		for (int i = 0; i < 1000; i++) {
+			batch.add(throwableAt("t" + i, i % 17, "com.drop.Frame"));
+		}
+		var executor = java.util.concurrent.Executors.newFixedThreadPool(3);
+		try {
+			var fingerprints = focuser.fingerprintAll(batch, executor);
+
+			assertEquals(batch.size(), fingerprints.length);
+			for (int i = 0; i < batch.size(); i++) {
+				assertEquals(focuser.fingerprint(batch.get(i)), fingerprints[i]);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void focusAllTrimsEveryThrowableOfLargeBatches() {
+		var focuser = StackTraceFocuser.builder().skipDefaultPatterns().addClass("^com\\.drop\\.")
+			.parallelThreshold(8).build();
+		var batch = new java.util.ArrayList<Throwable>();
+		for (int i = 0; i < 1000; i++) {
+			batch.add(throwableAt("t" + i, i, "com.drop.Frame"));
+		}
+		batch.add(null);
+
+		focuser.focusAll(batch);
+
+		for (int i = 0; i < 1000; i++) {
+			var stack = batch.get(i).getStackTrace();
+			assertEquals(1, stack.length);
+			assertEquals(i, stack[0].getLineNumber());
+		}
+	}
+
+	@Test
+	void parallelThresholdMustBePositive() {
+		assertThrows(IllegalArgumentException.class, () -> StackTraceFocuser.builder().parallelThreshold(0));
+	}
+
+	@Test
+	void ignoresFramesByModuleAndClassLoaderName() {
+		var focuser = StackTraceFocuser.builder().skipDefaultPatterns()
+			.ignoreModules("io.netty.*", "com.vendor").ignoreClassLoader("platform").build();
+		var nettyModule = new StackTraceElement("app", "io.netty.transport", null, "io.netty.Channel", "read", "Channel.java", 1);
+		var nettyRoot = new StackTraceElement("app", "io.netty", null, "io.netty.Root", "run", "Root.java", 2);
+		var vendor = new StackTraceElement("app", "com.vendor", null, "com.vendor.Api", "call", "Api.java", 3);
+		var vendorChild = new StackTraceElement("app", "com.vendor.impl", null, "com.vendor.Impl", "call", "Impl.java", 4);
+		var platform = new StackTraceElement("platform", "java.sql", null, "java.sql.DriverManager", "getConnection", "DriverManager.java", 5);
+		var unnamed = new StackTraceElement("app", null, null, "io.netty.Unnamed", "run", "Unnamed.java", 6);
+
+		assertAll(
+			() -> assertFalse(focuser.isFocused(nettyModule)),
+			() -> assertFalse(focuser.isFocused(nettyRoot)),
+			() -> assertFalse(focuser.isFocused(vendor)),
+			() -> assertTrue(focuser.isFocused(vendorChild)),
+			() -> assertFalse(focuser.isFocused(platform)),
+			() -> assertTrue(focuser.isFocused(unnamed))
+		);
+	}
+
+	@Test
+	void defaultFocuserDropsJdkModulesAndRealJdkFrames() {
+		var focuser = StackTraceFocuser.builder().build();
+		var javaIo = new StackTraceElement(null, "java.base", "21", "java.io.FileInputStream", "open", "FileInputStream.java", 1);
+		var jdkHttp = new StackTraceElement(null, "jdk.httpserver", "21", "sun.net.httpserver.ServerImpl", "run", "ServerImpl.java", 2);
+		var application = new StackTraceElement("app", null, null, "com.keep.Type", "run", "Type.java", 3);
+		var reflectionFrames = Arrays.stream(new Throwable().getStackTrace())
+			.filter(frame -> "java.base".equals(frame.getModuleName()))
+			.toList();
+
+		assertAll(
+			() -> assertFalse(focuser.isFocused(javaIo)),
+			() -> assertFalse(focuser.isFocused(jdkHttp)),
+			() -> assertTrue(focuser.isFocused(application)),
+			() -> assertFalse(reflectionFrames.isEmpty()),
+			() -> assertTrue(reflectionFrames.stream().noneMatch(focuser::isFocused))
+		);
+	}
+
+	@Test
+	void ignoreModulesRejectsNullNames() {
+		assertThrows(NullPointerException.class, () -> StackTraceFocuser.builder().ignoreModules("java.base", null));
+	}
+
+	private static RuntimeException throwableAt(String message, int line, String droppedClass) {
+		var throwable = new RuntimeException(message);
+		throwable.setStackTrace(new StackTraceElement[] {
+			new StackTraceElement(droppedClass, "proxy", "Proxy.java", 99),
+			new StackTraceElement("com.keep.Service", "handle", "Service.java", line)
+		});
+		return throwable;
+	}
+
 	static class CustomException extends RuntimeException {
 		private static final long serialVersionUID = 1L;
 
@@ -0,0 +1,21 @@
+package com.inqwise.errors;
+
+import java.io.UncheckedIOException;
+
+import com.inqwise.errors.spi.ExceptionMapper;
+
+public class TestExceptionMapper implements ExceptionMapper {
+
+    @Override
+    public Class<? extends Throwable> exceptionType() {
+        return UncheckedIOException.class;
+    }
+
+    @Override
+    public ErrorTicket.Builder map(Throwable throwable) {
+        if ("defer".equals(throwable.getMessage())) {
+            return null;
+        }
+        return ErrorTicket.builder().withError(ErrorCodes.NotFound).withErrorDetails(throwable.getMessage());
+    }
+}
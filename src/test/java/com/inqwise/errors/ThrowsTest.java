@@ -65,6 +65,50 @@ class ThrowsTest {
         assertSame(deepest, result);
     }
 
+    @Test
+    void unboxStopsOnCauseCycle() {
+        var first = new RuntimeException("first");
+        var second = new IllegalStateException("second", first);
+        first.initCause(second);
+
+        assertAll(
+            () -> assertNotNull(Throws.unbox(first, RuntimeException.class)),
+            () -> assertNotNull(Throws.unbox(first, RuntimeException.class, IllegalStateException.class)),
+            () -> assertNotNull(Throws.unbox(first, RuntimeException.class, IllegalStateException.class,
+                CompletionException.class))
+        );
+    }
+
+    @Test
+    void rootCauseAndFindCauseFollowTheChain() {
+        var deepest = new java.io.IOException("deep");
+        var mid = new IllegalStateException(deepest);
+        var outer = new CompletionException(mid);
+
+        assertAll(
+            () -> assertSame(deepest, Throws.rootCause(outer)),
+            () -> assertSame(deepest, Throws.rootCause(deepest)),
+            () -> assertSame(mid, Throws.findCause(outer, IllegalStateException.class)),
+            () -> assertSame(outer, Throws.findCause(outer, RuntimeException.class)),
+            () -> assertNull(Throws.findCause(outer, java.sql.SQLException.class)),
+            () -> assertNull(Throws.findCause(null, Exception.class))
+        );
+    }
+
+    @Test
+    void rootCauseAndFindCauseTerminateOnCycles() {
+        var first = new RuntimeException("first");
+        var second = new IllegalStateException("second", first);
+        var third = new IllegalArgumentException("third", second);
+        first.initCause(third);
+
+        assertAll(
+            () -> assertNotNull(Throws.rootCause(first)),
+            () -> assertSame(third, Throws.findCause(first, IllegalArgumentException.class)),
+            () -> assertNull(Throws.findCause(first, java.io.IOException.class))
+        );
+    }
+
     @Test
     void notFoundFormatsMessage() {
         var ex = Throws.notFound("user {} missing", 12);
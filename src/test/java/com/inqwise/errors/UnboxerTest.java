@@ -0,0 +1,74 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+class UnboxerTest {
+
+	static class CustomCompletionException extends CompletionException {
+		private static final long serialVersionUID = 1L;
+
+		CustomCompletionException(Throwable cause) {
+			super(cause);
+		}
+	}
+
+	static class LinkException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		LinkException(String message) {
+			super(message);
+		}
+	}
+
+	@Test
+	void unboxPeelsConfiguredWrappersAndSubclasses() {
+		var deepest = new IOException("deep");
+		var wrapped = new CustomCompletionException(new ExecutionException(deepest));
+		var unboxer = Unboxer.of(CompletionException.class, ExecutionException.class);
+
+		assertAll(
+			() -> assertSame(deepest, unboxer.unbox(wrapped)),
+			() -> assertSame(deepest, unboxer.unbox(deepest)),
+			() -> assertNull(unboxer.unbox(null)),
+			() -> assertTrue(unboxer.isWrapper(wrapped)),
+			() -> assertFalse(unboxer.isWrapper(deepest)),
+			() -> assertFalse(unboxer.isWrapper(null))
+		);
+	}
+
+	@Test
+	void wrapperWithoutCauseIsReturned() {
+		var empty = new CompletionException("no cause", null);
+
+		assertSame(empty, Unboxer.defaultInstance().unbox(empty));
+	}
+
+	@Test
+	void defaultInstanceCoversJdkWrappers() {
+		var deepest = new IllegalStateException("deep");
+		var wrapped = new CompletionException(new InvocationTargetException(new ExecutionException(deepest)));
+
+		assertSame(deepest, Unboxer.defaultInstance().unbox(wrapped));
+	}
+
+	@Test
+	void causeCyclesTerminate() {
+		var first = new LinkException("first");
+		var second = new LinkException("second");
+		var third = new LinkException("third");
+		first.initCause(second);
+		second.initCause(third);
+		third.initCause(first);
+
+		var result = Unboxer.of(LinkException.class).unbox(first);
+
+		assertTrue(result == first || result == second || result == third);
+	}
+}
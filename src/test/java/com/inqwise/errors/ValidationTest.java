@@ -0,0 +1,139 @@
+package com.inqwise.errors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonArray;
+
+class ValidationTest {
+
+	@Test
+	void collectAllReportsEveryViolationInOneTicket() {
+		var validation = Validation.collectAll()
+			.checkParamNotNull("email", null)
+			.checkParam("age", false, "must be at least 18")
+			.checkParam("name", true, "unused")
+			.checkArgument(false, "range {}..{} is empty", 5, 3);
+
+		var ticket = assertThrows(ErrorTicket.class, validation::throwIfInvalid);
+		var invalidParams = (JsonArray) ticket.toJson().getValue(ErrorTicket.Keys.INVALID_PARAMS);
+
+		assertAll(
+			() -> assertFalse(validation.isValid()),
+			() -> assertEquals(3, validation.getViolations().size()),
+			() -> assertEquals(ErrorCodes.ArgumentWrong, ticket.getError()),
+			() -> assertEquals(400, ticket.getStatus()),
+			() -> assertEquals("3 validation errors", ticket.getErrorDetails()),
+			() -> assertEquals(3, invalidParams.size()),
+			() -> assertEquals("email", invalidParams.getJsonObject(0).getString("name")),
+			() -> assertEquals("ArgumentNull", invalidParams.getJsonObject(0).getString("code")),
+			() -> assertEquals("must be at least 18", invalidParams.getJsonObject(1).getString("reason")),
+			() -> assertFalse(invalidParams.getJsonObject(2).containsKey("name")),
+			() -> assertEquals("range 5..3 is empty", invalidParams.getJsonObject(2).getString("reason"))
+		);
+	}
+
+	@Test
+	void singleViolationKeepsItsCodeAndReason() {
+		var ticket = Validation.collectAll()
+			.checkNotNull(null, "user missing", ErrorCodes.NotFound)
+			.toErrorTicket();
+
+		assertAll(
+			() -> assertEquals(ErrorCodes.NotFound, ticket.getError()),
+			() -> assertEquals("user missing", ticket.getErrorDetails()),
+			() -> assertEquals(404, ticket.getStatus())
+		);
+	}
+
+	@Test
+	void validValidationProducesNothing() {
+		var validation = Validation.collectAll()
+			.checkArgument(true, "unused")
+			.checkArgumentLazy(true, () -> "unused")
+			.checkAllNotNull("a", "b", "unused")
+			.checkAnyNotNull(null, "b", "unused")
+			.checkAllNotNull(new Object[] { "a" }, "unused")
+			.checkAnyNotNull(new Object[] { null, "b" }, "unused");
+
+		assertAll(
+			() -> assertTrue(validation.isValid()),
+			() -> assertTrue(validation.getViolations().isEmpty()),
+			() -> assertNull(validation.toErrorTicket()),
+			() -> assertDoesNotThrow(validation::throwIfInvalid)
+		);
+	}
+
+	@Test
+	void failFastThrowsOnFirstViolation() {
+		var validation = Validation.failFast().checkParam("id", true, "unused");
+
+		var ticket = assertThrows(ErrorTicket.class, () -> validation
+			.checkParam("id", false, "must be positive")
+			.checkParamNotNull("never", null));
+
+		assertAll(
+			() -> assertEquals(1, validation.getViolations().size()),
+			() -> assertEquals("must be positive", ticket.getErrorDetails()),
+			() -> assertEquals(1, ((JsonArray) ticket.toJson().getValue(ErrorTicket.Keys.INVALID_PARAMS)).size())
+		);
+	}
+
+	@Test
+	void nullChecksRecordArgumentNull() {
+		var validation = Validation.collectAll()
+			.checkAllNotNull("a", null, "pair")
+			.checkAnyNotNull(null, null, null, "triple")
+			.checkAllNotNull((Object[]) null, "array");
+
+		assertAll(
+			() -> assertEquals(3, validation.getViolations().size()),
+			() -> assertEquals(ErrorCodes.ArgumentNull, validation.toErrorTicket().getError()),
+			() -> assertEquals("triple", validation.getViolations().get(1).reason())
+		);
+	}
+
+	@Test
+	void overloadsMatchErrorTickets() {
+		var validation = Validation.collectAll()
+			.checkAllNotNull("a", "b", "c", "d", "quad")
+			.checkAllNotNull("a", "b", "c", "d", null, "five")
+			.checkAnyNotNull(null, null, null, "d", "quad")
+			.checkAnyNotNull(null, null, null, null, null, "five")
+			.checkAllNotNull(List.of("a", "b"), "list")
+			.checkAllNotNull(Arrays.asList("a", null), "list with null")
+			.checkAnyNotNull(Arrays.asList(null, null), "all null")
+			.checkNotNull("user", ErrorCodes.NotFound, () -> "unused")
+			.checkNotNull(null, ErrorCodes.NotFound, () -> "user missing")
+			.checkNotNull(null, ErrorCodes.NotFound, "user {} missing", 7)
+			.checkNotNull(null, ErrorCodes.NotFound, "user {} in {} missing", 7, "eu")
+			.checkNotNull(null, ErrorCodes.NotFound, "user {} in {}/{} missing", 7, "eu", 1);
+		var reasons = validation.getViolations().stream().map(Validation.Violation::reason).toList();
+
+		assertAll(
+			() -> assertEquals(List.of("five", "five", "list with null", "all null", "user missing", "user 7 missing",
+					"user 7 in eu missing", "user 7 in eu/1 missing"), reasons),
+			() -> assertEquals(ErrorCodes.NotFound, validation.getViolations().get(4).errorCode())
+		);
+	}
+
+	@Test
+	void sourcePointsAtCallerNotValidation() {
+		var previous = ErrorTicket.getStackCapturePolicy();
+		try {
+			ErrorTicket.setStackCapturePolicy(StackCapturePolicy.sourceOnlyForClientErrors());
+			var ticket = Validation.collectAll().checkParam("x", false, "bad").toErrorTicket();
+
+			assertAll(
+				() -> assertTrue(ticket.getSource().startsWith(ValidationTest.class.getName() + ".")),
+				() -> assertEquals(0, ticket.getStackTrace().length)
+			);
+		} finally {
+			ErrorTicket.setStackCapturePolicy(previous);
+		}
+	}
+}
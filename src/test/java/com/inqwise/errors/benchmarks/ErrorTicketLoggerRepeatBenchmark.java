@@ -0,0 +1,67 @@
+package com.inqwise.errors.benchmarks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.inqwise.errors.ErrorCodes;
+import com.inqwise.errors.ErrorTicket;
+import com.inqwise.errors.ErrorTicketLogger;
+
+/**
+ * Cost of a suppressed repeat in {@link ErrorTicketLogger}. Run with the GC profiler (as
+ * {@link #main(String[])} does) and check {@code gc.alloc.rate.norm}: it should report
+ * {@code ≈ 0 B/op} for the stackless ticket, while a ticket with a stack trace allocates the copies
+ * of its frames read by the fingerprint.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorTicketLoggerRepeatBenchmark {
+	private ErrorTicketLogger errors;
+	private ErrorTicket stackless;
+	private ErrorTicket withStackTrace;
+
+	@Setup
+	public void setUp() {
+		errors = ErrorTicketLogger.builder().summaryInterval(Duration.ofDays(1)).build();
+		stackless = ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(false).withCallerLocation().build();
+		withStackTrace = ErrorTicket.builder().withError(ErrorCodes.GeneralError).withStackTrace(true).build();
+		errors.log(stackless);
+		errors.log(withStackTrace);
+	}
+
+	@Benchmark
+	public void repeatStackless() {
+		errors.log(stackless);
+	}
+
+	@Benchmark
+	public void repeatWithStackTrace() {
+		errors.log(withStackTrace);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ErrorTicketLoggerRepeatBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
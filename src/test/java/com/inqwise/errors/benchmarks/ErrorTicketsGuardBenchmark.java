@@ -0,0 +1,88 @@
+package com.inqwise.errors.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.inqwise.errors.ErrorCodes;
+import com.inqwise.errors.ErrorTickets;
+
+/**
+ * Success-path cost of the {@link ErrorTickets} guards. Run with the GC profiler (as
+ * {@link #main(String[])} does) and check {@code gc.alloc.rate.norm}: it should report
+ * {@code ≈ 0 B/op} for the fixed-arity, array and list overloads as well as the template and
+ * supplier variants of {@code checkArgument}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorTicketsGuardBenchmark {
+	private final Object first = "first";
+	private final Object second = 2;
+	private final Object third = 3L;
+	private final Object[] array = { first, second, third };
+	private final List<Object> list = List.of(first, second, third);
+
+	@Benchmark
+	public void checkAllNotNullFixedArity() {
+		ErrorTickets.checkAllNotNull(first, second, third, "missing");
+	}
+
+	@Benchmark
+	public void checkAnyNotNullFixedArity() {
+		ErrorTickets.checkAnyNotNull(null, null, third, "missing");
+	}
+
+	@Benchmark
+	public void checkAllNotNullArray() {
+		ErrorTickets.checkAllNotNull(array, "missing");
+	}
+
+	@Benchmark
+	public void checkAnyNotNullArray() {
+		ErrorTickets.checkAnyNotNull(array, "missing");
+	}
+
+	@Benchmark
+	public void checkAllNotNullList() {
+		ErrorTickets.checkAllNotNull(list, "missing");
+	}
+
+	@Benchmark
+	public void checkArgumentTemplate() {
+		ErrorTickets.checkArgument(array.length == 3, "expected 3 values but got {} from {}", array.length, first);
+	}
+
+	@Benchmark
+	public void checkArgumentSupplier() {
+		ErrorTickets.checkArgumentLazy(array.length == 3, () -> "expected 3 values");
+	}
+
+	@Benchmark
+	public Object checkNotNullWithErrorCodeTemplate() {
+		return ErrorTickets.checkNotNull(first, ErrorCodes.NotFound, "missing {}", second);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ErrorTicketsGuardBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
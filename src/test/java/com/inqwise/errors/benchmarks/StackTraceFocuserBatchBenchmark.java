@@ -0,0 +1,109 @@
+package com.inqwise.errors.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.inqwise.errors.StackTraceFocuser;
+
+/**
+ * Measures how {@link StackTraceFocuser#focusAll} and {@link StackTraceFocuser#fingerprintAll}
+ * scale with the pool size on a log-shipper sized batch. The benchmark thread runs one chunk
+ * itself, so a batch is processed by {@code poolParallelism + 1} threads.
+ *
+ * <p>Run {@link #main(String[])} from the IDE, or from the command line with:</p>
+ * <pre>{@code
+ * mvn -q test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test.classpath
+ * java -cp "target/test-classes:target/classes:$(cat target/test.classpath)" \
+ *     com.inqwise.errors.benchmarks.StackTraceFocuserBatchBenchmark
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StackTraceFocuserBatchBenchmark {
+	private static final String[] FRAMEWORK_CLASSES = {
+		"io.netty.channel.AbstractChannelHandlerContext", "io.vertx.core.impl.ContextImpl",
+		"java.util.concurrent.ThreadPoolExecutor", "java.lang.Thread", "io.vertx.ext.web.impl.RoutingContextImpl"
+	};
+
+	/** Parallelism of the pool, not counting the benchmark thread. */
+	@Param({ "1", "2", "4", "8" })
+	public int poolParallelism;
+
+	@Param({ "20000" })
+	public int batchSize;
+
+	private StackTraceFocuser focuser;
+	private ForkJoinPool pool;
+	private List<Throwable> batch;
+	private StackTraceElement[][] originalStacks;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		focuser = StackTraceFocuser.builder().parallelThreshold(1024).build();
+		pool = new ForkJoinPool(poolParallelism);
+		batch = new ArrayList<>(batchSize);
+		originalStacks = new StackTraceElement[batchSize][];
+		for (int i = 0; i < batchSize; i++) {
+			var stack = new StackTraceElement[64];
+			for (int frame = 0; frame < stack.length; frame++) {
+				stack[frame] = frame % 8 == 0
+					? new StackTraceElement("com.acme.service.Handler" + (i % 50), "handle", "Handler.java", frame)
+					: new StackTraceElement(FRAMEWORK_CLASSES[frame % FRAMEWORK_CLASSES.length], "invoke", null, -1);
+			}
+			var throwable = new IllegalStateException("failure " + i);
+			throwable.setStackTrace(stack);
+			originalStacks[i] = stack;
+			batch.add(throwable);
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void restoreStacks() {
+		for (int i = 0; i < batchSize; i++) {
+			batch.get(i).setStackTrace(originalStacks[i]);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		pool.shutdownNow();
+	}
+
+	@Benchmark
+	public List<Throwable> focusAll() {
+		focuser.focusAll(batch, pool);
+		return batch;
+	}
+
+	@Benchmark
+	public long[] fingerprintAll() {
+		return focuser.fingerprintAll(batch, pool);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(StackTraceFocuserBatchBenchmark.class.getSimpleName()).build()).run();
+	}
+}
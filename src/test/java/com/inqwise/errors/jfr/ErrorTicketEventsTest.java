@@ -0,0 +1,103 @@
+package com.inqwise.errors.jfr;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import com.inqwise.errors.ErrorCodes;
+import com.inqwise.errors.ErrorTicket;
+import com.inqwise.errors.ErrorTicketReplies;
+
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class ErrorTicketEventsTest {
+
+	private static List<RecordedEvent> record(Runnable action, String... names) throws Exception {
+		var file = Files.createTempFile("errors", ".jfr");
+		try (var recording = new Recording()) {
+			for (var name : names) {
+				recording.enable(name).withThreshold(Duration.ZERO);
+			}
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+		return events.stream().filter(event -> name.equals(event.getEventType().getName())).toList();
+	}
+
+	@Test
+	void createdTicketsAreRecorded() throws Exception {
+		var ticket = new ErrorTicket[1];
+		var events = record(() -> ticket[0] = ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(false).build(),
+			ErrorTicketCreatedEvent.NAME);
+
+		var created = named(events, ErrorTicketCreatedEvent.NAME);
+		assertEquals(1, created.size());
+		var event = created.get(0);
+		assertAll(
+			() -> assertEquals("NotFound", event.getString("code")),
+			() -> assertEquals(ErrorCodes.GROUP, event.getString("group")),
+			() -> assertEquals(404, event.getInt("status")),
+			() -> assertFalse(event.getBoolean("stackCaptured")),
+			() -> assertEquals(ticket[0].getErrorId(), event.getString("errorId")),
+			() -> assertNotNull(event.getStackTrace())
+		);
+	}
+
+	@Test
+	void propagationRecordsTheMapping() throws Exception {
+		var events = record(() -> {
+			ErrorTicket.propagate(new TimeoutException("slow"));
+			ErrorTicket.propagate(new IllegalStateException("state"));
+			ErrorTicket.propagate(ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(false).build());
+		}, ErrorTicketPropagatedEvent.NAME);
+
+		var propagated = named(events, ErrorTicketPropagatedEvent.NAME);
+		assertEquals(3, propagated.size());
+		assertAll(
+			() -> assertEquals(TimeoutException.class.getName(), propagated.get(0).getClass("sourceClass").getName()),
+			() -> assertEquals("TimeoutException->Timeout", propagated.get(0).getString("mapping")),
+			() -> assertEquals("Timeout", propagated.get(0).getString("code")),
+			() -> assertEquals("default", propagated.get(1).getString("mapping")),
+			() -> assertEquals("ErrorTicket", propagated.get(2).getString("mapping"))
+		);
+	}
+
+	@Test
+	void serializationIsRecordedAboveTheThreshold() throws Exception {
+		var ticket = ErrorTicket.builder().withError(ErrorCodes.Timeout).withErrorDetails("délai dépassé").withStackTrace(false).build();
+		var message = new String[1];
+		var events = record(() -> message[0] = ErrorTicketReplies.message(ticket), ErrorTicketSerializedEvent.NAME);
+
+		var serialized = named(events, ErrorTicketSerializedEvent.NAME);
+		assertEquals(1, serialized.size());
+		assertAll(
+			() -> assertEquals("event-bus", serialized.get(0).getString("format")),
+			() -> assertEquals(message[0].getBytes(StandardCharsets.UTF_8).length, serialized.get(0).getLong("bytes")),
+			() -> assertEquals(ticket.getErrorId(), serialized.get(0).getString("errorId"))
+		);
+	}
+
+	@Test
+	void serializationsHaveADefaultThreshold() {
+		var type = EventType.getEventType(ErrorTicketSerializedEvent.class);
+		var threshold = type.getSettingDescriptors().stream().filter(setting -> "threshold".equals(setting.getName())).findFirst();
+		assertEquals("1 ms", threshold.orElseThrow().getDefaultValue());
+	}
+}
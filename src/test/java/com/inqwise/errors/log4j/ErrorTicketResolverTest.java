@@ -0,0 +1,128 @@
+package com.inqwise.errors.log4j;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.layout.template.json.JsonTemplateLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+
+import com.inqwise.errors.ErrorCodes;
+import com.inqwise.errors.ErrorTicket;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+class ErrorTicketResolverTest {
+
+	private static LogEvent eventWith(Throwable thrown) {
+		return Log4jLogEvent.newBuilder()
+			.setLoggerName("test")
+			.setLevel(Level.ERROR)
+			.setMessage(new SimpleMessage("failed"))
+			.setThrown(thrown)
+			.build();
+	}
+
+	private static JsonObject render(String template, Throwable thrown) {
+		var layout = JsonTemplateLayout.newBuilder()
+			.setConfiguration(new DefaultConfiguration())
+			.setEventTemplate(template)
+			.build();
+		return new JsonObject(layout.toSerializable(eventWith(thrown)));
+	}
+
+	@Test
+	void writesTicketMembersAsStructuredFields() {
+		var ticket = ErrorTicket.builder()
+			.withError(ErrorCodes.NotFound)
+			.withErrorId("err-1")
+			.withStatusCode(404)
+			.withDetails("order 42 \"missing\"")
+			.withTitle("Not Found")
+			.withInstance("/orders/42")
+			.withStackTrace(false)
+			.build();
+
+		var error = render("{\"error\": {\"$resolver\": \"errorTicket\"}}", ticket).getJsonObject("error");
+
+		assertAll(
+			() -> assertEquals("NotFound", error.getString(ErrorTicket.Keys.CODE)),
+			() -> assertEquals(ticket.getErrorGroup(), error.getString(ErrorTicket.Keys.ERROR_GROUP)),
+			() -> assertEquals(404, error.getInteger(ErrorTicket.Keys.STATUS)),
+			() -> assertEquals("err-1", error.getString(ErrorTicket.Keys.ERROR_ID)),
+			() -> assertEquals("order 42 \"missing\"", error.getString(ErrorTicket.Keys.DETAIL)),
+			() -> assertEquals("Not Found", error.getString(ErrorTicket.Keys.TITLE)),
+			() -> assertEquals("/orders/42", error.getString(ErrorTicket.Keys.INSTANCE)),
+			() -> assertFalse(error.containsKey(ErrorTicket.Keys.TYPE)),
+			() -> assertFalse(error.containsKey(ErrorTicketResolver.EXTENSIONS))
+		);
+	}
+
+	@Test
+	void writesExtensionsAsNestedObject() {
+		var ticket = ErrorTicket.builder()
+			.withError(ErrorCodes.ArgumentWrong)
+			.addExtension("field", "email")
+			.addExtension("attempts", 3)
+			.withStackTrace(false)
+			.build();
+
+		var error = render("{\"error\": {\"$resolver\": \"errorTicket\"}}", ticket).getJsonObject("error");
+		var extensions = error.getJsonObject(ErrorTicketResolver.EXTENSIONS);
+
+		assertAll(
+			() -> assertEquals("ArgumentWrong", error.getString(ErrorTicket.Keys.CODE)),
+			() -> assertEquals("email", extensions.getString("field")),
+			() -> assertEquals(3, extensions.getInteger("attempts"))
+		);
+	}
+
+	@Test
+	void writesVertxJsonExtensionsAsNestedJson() {
+		var params = new JsonArray().add(new JsonObject().put("name", "x").put("reason", "required"));
+		var ticket = ErrorTicket.builder()
+			.withError(ErrorCodes.ArgumentWrong)
+			.addExtension(ErrorTicket.Keys.INVALID_PARAMS, params)
+			.addExtension("context", new JsonObject().put("tags", new JsonArray().add("a").add(1)))
+			.withStackTrace(false)
+			.build();
+
+		var extensions = render("{\"error\": {\"$resolver\": \"errorTicket\"}}", ticket)
+			.getJsonObject("error").getJsonObject(ErrorTicketResolver.EXTENSIONS);
+
+		assertAll(
+			() -> assertEquals(params, extensions.getJsonArray(ErrorTicket.Keys.INVALID_PARAMS)),
+			() -> assertEquals(new JsonArray().add("a").add(1), extensions.getJsonObject("context").getJsonArray("tags"))
+		);
+	}
+
+	@Test
+	void writesSingleField() {
+		var ticket = ErrorTicket.builder().withError(ErrorCodes.Timeout).withStatusCode(504).withStackTrace(false).build();
+
+		var json = render("{\"code\": {\"$resolver\": \"errorTicket\", \"field\": \"code\"}, "
+			+ "\"status\": {\"$resolver\": \"errorTicket\", \"field\": \"status\"}}", ticket);
+
+		assertAll(
+			() -> assertEquals("Timeout", json.getString("code")),
+			() -> assertEquals(504, json.getInteger("status"))
+		);
+	}
+
+	@Test
+	void skipsEventsWithoutTicket() {
+		var json = render("{\"error\": {\"$resolver\": \"errorTicket\"}}", new RuntimeException("boom"));
+
+		assertFalse(json.containsKey("error"));
+	}
+
+	@Test
+	void rejectsUnknownField() {
+		assertThrows(RuntimeException.class,
+			() -> render("{\"error\": {\"$resolver\": \"errorTicket\", \"field\": \"message\"}}", null));
+	}
+}
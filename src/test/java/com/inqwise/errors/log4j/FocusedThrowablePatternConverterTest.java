@@ -0,0 +1,125 @@
+package com.inqwise.errors.log4j;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.layout.template.json.JsonTemplateLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+class FocusedThrowablePatternConverterTest {
+
+	private static LogEvent eventWith(Throwable thrown) {
+		return Log4jLogEvent.newBuilder()
+			.setLoggerName("test")
+			.setLevel(Level.ERROR)
+			.setMessage(new SimpleMessage("failed"))
+			.setThrown(thrown)
+			.build();
+	}
+
+	private static RuntimeException sampleThrowable() {
+		var thrown = new RuntimeException("boom");
+		thrown.setStackTrace(new StackTraceElement[] {
+			new StackTraceElement("java.lang.Thread", "run", "Thread.java", 1),
+			new StackTraceElement("com.acme.internal.Proxy", "invoke", "Proxy.java", 2),
+			new StackTraceElement("com.acme.Service", "handle", "Service.java", 3)
+		});
+		return thrown;
+	}
+
+	@Test
+	void formatAppendsFocusedTraceWithDefaults() {
+		var converter = FocusedThrowablePatternConverter.newInstance(null, null);
+		var buffer = new StringBuilder("failed");
+
+		converter.format(eventWith(sampleThrowable()), buffer);
+		var rendered = buffer.toString();
+
+		assertAll(
+			() -> assertTrue(converter.handlesThrowable()),
+			() -> assertTrue(rendered.startsWith("failed java.lang.RuntimeException: boom")),
+			() -> assertTrue(rendered.contains("com.acme.Service.handle(Service.java:3)")),
+			() -> assertTrue(rendered.contains("com.acme.internal.Proxy")),
+			() -> assertFalse(rendered.contains("java.lang.Thread"))
+		);
+	}
+
+	@Test
+	void formatHonorsConverterOptions() {
+		var converter = FocusedThrowablePatternConverter.newInstance(null,
+			new String[] { "skipDefaults", "class=^com\\.acme\\.internal\\." });
+		var buffer = new StringBuilder();
+
+		converter.format(eventWith(sampleThrowable()), buffer);
+		var rendered = buffer.toString();
+
+		assertAll(
+			() -> assertTrue(rendered.contains("java.lang.Thread.run(Thread.java:1)")),
+			() -> assertFalse(rendered.contains("com.acme.internal.Proxy")),
+			() -> assertTrue(rendered.contains("com.acme.Service.handle(Service.java:3)"))
+		);
+	}
+
+	@Test
+	void formatSkipsEventsWithoutThrowable() {
+		var converter = FocusedThrowablePatternConverter.newInstance(null, null);
+		var buffer = new StringBuilder("message");
+
+		converter.format(eventWith(null), buffer);
+
+		assertEquals("message", buffer.toString());
+	}
+
+	@Test
+	void patternLayoutResolvesConverterKey() {
+		var layout = PatternLayout.newBuilder()
+			.withConfiguration(new DefaultConfiguration())
+			.withPattern("%m %focusedEx{skipDefaults}{class=^com\\.acme\\.internal\\.}%n")
+			.build();
+
+		var rendered = layout.toSerializable(eventWith(sampleThrowable()));
+
+		assertAll(
+			() -> assertTrue(rendered.startsWith("failed java.lang.RuntimeException: boom")),
+			() -> assertFalse(rendered.contains("com.acme.internal.Proxy"))
+		);
+	}
+
+	@Test
+	void jsonTemplateResolverWritesFocusedTrace() {
+		var layout = JsonTemplateLayout.newBuilder()
+			.setConfiguration(new DefaultConfiguration())
+			.setEventTemplate("{\"trace\": {\"$resolver\": \"focusedException\", "
+				+ "\"ignoreClasses\": [\"^com\\\\.acme\\\\.internal\\\\.\"]}}")
+			.build();
+
+		var json = new JsonObject(layout.toSerializable(eventWith(sampleThrowable())));
+		var trace = json.getString("trace");
+
+		assertAll(
+			() -> assertTrue(trace.startsWith("java.lang.RuntimeException: boom")),
+			() -> assertTrue(trace.contains("com.acme.Service.handle(Service.java:3)")),
+			() -> assertFalse(trace.contains("com.acme.internal.Proxy")),
+			() -> assertFalse(trace.contains("java.lang.Thread"))
+		);
+	}
+
+	@Test
+	void jsonTemplateResolverSkipsEventsWithoutThrowable() {
+		var layout = JsonTemplateLayout.newBuilder()
+			.setConfiguration(new DefaultConfiguration())
+			.setEventTemplate("{\"trace\": {\"$resolver\": \"focusedException\"}}")
+			.build();
+
+		var json = new JsonObject(layout.toSerializable(eventWith(null)));
+
+		assertFalse(json.containsKey("trace"));
+	}
+}
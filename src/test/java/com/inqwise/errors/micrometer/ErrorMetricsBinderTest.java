@@ -0,0 +1,31 @@
+package com.inqwise.errors.micrometer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.inqwise.errors.ErrorCodes;
+import com.inqwise.errors.ErrorMetrics;
+import com.inqwise.errors.ErrorTicket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ErrorMetricsBinderTest {
+
+	@Test
+	void countersFollowTheMetrics() {
+		var metrics = ErrorMetrics.create();
+		var registry = new SimpleMeterRegistry();
+		new ErrorMetricsBinder(metrics).bindTo(registry);
+
+		metrics.record(ErrorTicket.builder().withError(ErrorCodes.NotFound).withStackTrace(false).build());
+		metrics.record(ErrorTicket.builder().withError(ErrorCodes.GeneralError).withStackTrace(false).build());
+
+		assertAll(
+			() -> assertEquals(1.0, registry.get(ErrorMetricsBinder.TICKETS).tag("code", "NotFound").functionCounter().count()),
+			() -> assertEquals(0.0, registry.get(ErrorMetricsBinder.TICKETS).tag("code", "Timeout").functionCounter().count()),
+			() -> assertEquals(1.0, registry.get(ErrorMetricsBinder.TICKETS_BY_STATUS).tag("class", "5xx").functionCounter().count()),
+			() -> assertEquals(ErrorCodes.GROUP, registry.get(ErrorMetricsBinder.TICKETS).tag("code", "NotFound").functionCounter().getId().getTag("group"))
+		);
+	}
+}
@@ -0,0 +1,209 @@
+package com.inqwise.errors.vertx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.inqwise.errors.ErrorCodes;
+import com.inqwise.errors.ErrorTicket;
+import com.inqwise.errors.OAuthErrorCodes;
+import com.inqwise.errors.StackCapturePolicy;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+
+class ErrorTicketFailureHandlerTest {
+
+	/** Records every body buffer so the test can verify they were all released. */
+	static final class TrackingAllocator extends PooledByteBufAllocator {
+		final List<ByteBuf> allocated = new ArrayList<>();
+
+		TrackingAllocator() {
+			super(true);
+		}
+
+		@Override
+		public synchronized ByteBuf buffer(int initialCapacity) {
+			var buffer = super.buffer(initialCapacity);
+			allocated.add(buffer);
+			return buffer;
+		}
+
+		synchronized long unreleased() {
+			return allocated.stream().filter(buffer -> buffer.refCnt() > 0).count();
+		}
+	}
+
+	record Reply(int status, String contentType, String wwwAuthenticate, JsonObject body) {
+	}
+
+	static Vertx vertx;
+	static HttpServer server;
+	static HttpClient client;
+	static TrackingAllocator allocator = new TrackingAllocator();
+
+	static final ErrorTicket NOT_FOUND = ErrorTicket.builder()
+		.withError(ErrorCodes.NotFound)
+		.withErrorDetails("user 7")
+		.type("https://errors.inqwise.com/not-found")
+		.withStackTrace(false)
+		.build();
+
+	@BeforeAll
+	static void startServer() throws Exception {
+		vertx = Vertx.vertx();
+		var router = Router.router(vertx);
+		router.get("/ticket").handler(ctx -> ctx.fail(NOT_FOUND));
+		router.get("/wrapped").handler(ctx -> ctx.fail(new CompletionException(new IllegalArgumentException("bad id"))));
+		router.get("/status").handler(ctx -> ctx.fail(503));
+		router.get("/oauth").handler(ctx -> {
+			throw ErrorTicket.builder()
+				.withError(OAuthErrorCodes.InvalidToken)
+				.withErrorGroup("oauth")
+				.withErrorDetails("expired")
+				.withStatusCode(401)
+				.withStackTrace(false)
+				.build();
+		});
+		router.get("/sourced").handler(ctx -> ctx.fail(ErrorTicket.builder()
+				.withError(ErrorCodes.ArgumentWrong)
+				.withStackTrace(false)
+				.withCallerLocation()
+				.build()));
+		router.get("/verbose").handler(ctx -> ctx.fail(new IllegalArgumentException("bad id")))
+			.failureHandler(ErrorTicketFailureHandler.builder().withSource(true).build());
+		router.route().failureHandler(ErrorTicketFailureHandler.builder().withAllocator(allocator).build());
+		server = await(vertx.createHttpServer().requestHandler(router).listen(0, "localhost"));
+		client = vertx.createHttpClient(new PoolOptions().setHttp1MaxSize(32));
+	}
+
+	@AfterAll
+	static void stopServer() throws Exception {
+		await(client.close());
+		await(vertx.close());
+	}
+
+	private static <T> T await(Future<T> future) throws Exception {
+		return future.toCompletionStage().toCompletableFuture().get(30, TimeUnit.SECONDS);
+	}
+
+	private static Future<Reply> get(String path) {
+		return client.request(HttpMethod.GET, server.actualPort(), "localhost", path)
+			.compose(request -> request.send()
+				.compose(response -> response.body().map(body -> toReply(response, body))));
+	}
+
+	private static Reply toReply(HttpClientResponse response, Buffer body) {
+		return new Reply(response.statusCode(), response.getHeader("Content-Type"),
+			response.getHeader("WWW-Authenticate"), body.toJsonObject());
+	}
+
+	@Test
+	void ticketFailureIsWrittenAsProblemDetails() throws Exception {
+		var reply = await(get("/ticket"));
+
+		assertAll(
+			() -> assertEquals(404, reply.status()),
+			() -> assertEquals("application/problem+json", reply.contentType()),
+			() -> assertNull(reply.wwwAuthenticate()),
+			() -> assertEquals(NOT_FOUND.toJson().put(ErrorTicket.Keys.INSTANCE, "/ticket"), reply.body())
+		);
+	}
+
+	@Test
+	void wrappedForeignFailureIsUnboxedAndPropagated() throws Exception {
+		var reply = await(get("/wrapped"));
+
+		assertAll(
+			() -> assertEquals(400, reply.status()),
+			() -> assertEquals("application/json", reply.contentType()),
+			() -> assertEquals(ErrorCodes.ArgumentWrong.toString(), reply.body().getString(ErrorTicket.Keys.CODE)),
+			() -> assertEquals("java.lang.IllegalArgumentException:bad id", reply.body().getString(ErrorTicket.Keys.DETAIL))
+		);
+	}
+
+	@Test
+	void statusFailureUsesReasonPhrase() throws Exception {
+		var reply = await(get("/status"));
+
+		assertAll(
+			() -> assertEquals(503, reply.status()),
+			() -> assertEquals("Service Unavailable", reply.body().getString(ErrorTicket.Keys.DETAIL)),
+			() -> assertEquals("/status", reply.body().getString(ErrorTicket.Keys.INSTANCE))
+		);
+	}
+
+	@Test
+	void oauthFailureCarriesChallenge() throws Exception {
+		var reply = await(get("/oauth"));
+
+		assertAll(
+			() -> assertEquals(401, reply.status()),
+			() -> assertEquals("application/json", reply.contentType()),
+			() -> assertEquals("Bearer error=\"invalid_token\" error_description=\"expired\"", reply.wwwAuthenticate()),
+			() -> assertEquals("expired", reply.body().getString(ErrorTicket.Keys.ERROR_DESCRIPTION))
+		);
+	}
+
+	@Test
+	void sourceIsLeftOutOfTheBodyByDefault() throws Exception {
+		var reply = await(get("/sourced"));
+
+		assertAll(
+			() -> assertEquals(400, reply.status()),
+			() -> assertFalse(reply.body().containsKey(ErrorTicket.Keys.SOURCE))
+		);
+	}
+
+	@Test
+	void convertedFailureSourceSkipsTheHandler() throws Exception {
+		var previous = ErrorTicket.getStackCapturePolicy();
+		try {
+			ErrorTicket.setStackCapturePolicy(StackCapturePolicy.sourceOnlyForClientErrors());
+			var source = await(get("/verbose")).body().getString(ErrorTicket.Keys.SOURCE);
+
+			assertAll(
+				() -> assertNotNull(source),
+				() -> assertFalse(source.startsWith(ErrorTicketFailureHandler.class.getName()), source)
+			);
+		} finally {
+			ErrorTicket.setStackCapturePolicy(previous);
+		}
+	}
+
+	@Test
+	void loadTestReleasesEveryBodyBuffer() throws Exception {
+		int requests = 5_000;
+		var paths = new String[] { "/ticket", "/wrapped", "/status", "/oauth" };
+		var replies = new ArrayList<Future<Reply>>(requests);
+		long start = System.nanoTime();
+		for (int i = 0; i < requests; i++) {
+			replies.add(get(paths[i % paths.length]));
+		}
+		await(Future.all(replies));
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertAll(
+			() -> assertTrue(replies.stream().allMatch(reply -> reply.result().status() >= 400),
+				"all replies are errors (" + elapsedMillis + " ms)"),
+			() -> assertEquals(0, allocator.unreleased())
+		);
+	}
+}
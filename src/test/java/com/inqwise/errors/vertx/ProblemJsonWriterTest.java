@@ -0,0 +1,100 @@
+package com.inqwise.errors.vertx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.inqwise.errors.ErrorCodes;
+import com.inqwise.errors.ErrorTicket;
+import com.inqwise.errors.OAuthErrorCodes;
+
+import io.netty.buffer.Unpooled;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+class ProblemJsonWriterTest {
+
+	private static String write(ErrorTicket ticket, String defaultInstance) {
+		var buffer = Unpooled.buffer();
+		ProblemJsonWriter.write(buffer, ticket, defaultInstance);
+		return buffer.toString(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void matchesToJsonEncoding() {
+		var ticket = ErrorTicket.builder()
+			.withError(ErrorCodes.NotFound)
+			.withErrorDetails("user \"7\" \\ missing\n\ttab \u0001 café 😀")
+			.type("https://errors.inqwise.com/not-found")
+			.title("Not Found")
+			.instance("/users/7")
+			.withStackTrace(false)
+			.build();
+
+		var encoded = write(ticket, "/ignored");
+
+		assertAll(
+			() -> assertEquals(ticket.toJson().encode(), encoded),
+			() -> assertEquals(ticket.toJson(), new JsonObject(encoded))
+		);
+	}
+
+	@Test
+	void sourceIsWrittenOnlyWhenIncluded() {
+		var ticket = ErrorTicket.builder().withError(ErrorCodes.ArgumentWrong).withStackTrace(false).withCallerLocation().build();
+		var withoutSource = Unpooled.buffer();
+		ProblemJsonWriter.write(withoutSource, ticket, null, false);
+
+		assertAll(
+			() -> assertNotNull(ticket.getSource()),
+			() -> assertEquals(ticket.getSource(), new JsonObject(write(ticket, null)).getString(ErrorTicket.Keys.SOURCE)),
+			() -> assertFalse(new JsonObject(withoutSource.toString(StandardCharsets.UTF_8)).containsKey(ErrorTicket.Keys.SOURCE))
+		);
+	}
+
+	@Test
+	void defaultInstanceFillsMissingInstance() {
+		var ticket = ErrorTicket.builder().withError(ErrorCodes.ArgumentWrong).withStackTrace(false).build();
+
+		var json = new JsonObject(write(ticket, "/orders"));
+
+		assertAll(
+			() -> assertEquals("/orders", json.getString(ErrorTicket.Keys.INSTANCE)),
+			() -> assertEquals(400, json.getInteger(ErrorTicket.Keys.STATUS)),
+			() -> assertFalse(new JsonObject(write(ticket, null)).containsKey(ErrorTicket.Keys.INSTANCE))
+		);
+	}
+
+	@Test
+	void extensionsAreEncodedAndOverrideStandardMembers() {
+		var ticket = ErrorTicket.builder()
+			.withError(ErrorCodes.ArgumentWrong)
+			.withStatusCode(422)
+			.addExtension("balance", -30L)
+			.addExtension("ratio", 0.25)
+			.addExtension("accounts", new JsonArray().add("/a/1").add(new JsonObject().put("k", true)))
+			.addExtension("note", null)
+			.addExtension(ErrorTicket.Keys.STATUS, 418)
+			.withStackTrace(false)
+			.build();
+
+		var json = new JsonObject(write(ticket, null));
+
+		assertEquals(ticket.toJson(), json);
+	}
+
+	@Test
+	void oauthMembersAreIncluded() {
+		var ticket = ErrorTicket.builder()
+			.withError(OAuthErrorCodes.InvalidClient)
+			.withErrorGroup("oauth")
+			.withErrorDetails("Client authentication failed")
+			.type("https://errors.inqwise.com/oauth/invalid-client")
+			.withStackTrace(false)
+			.build();
+
+		assertEquals(ticket.toJson().encode(), write(ticket, null));
+	}
+}